@@ -62,6 +62,23 @@ public class AsyncConfig {
         return executor;
     }
 
+    /**
+     * Thread pool executor for pushing bid events to stream subscribers.
+     * Each open subscription has at most one pending drain task, so the
+     * queue is sized for the expected number of concurrent connections.
+     */
+    @Bean(name = "bidStreamExecutor")
+    public Executor bidStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(50000);
+        executor.setThreadNamePrefix("bid-stream-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
     /**
      * Task scheduler for scheduled operations like auto-acceptance
      * of old bids, cleanup tasks, and performance monitoring.
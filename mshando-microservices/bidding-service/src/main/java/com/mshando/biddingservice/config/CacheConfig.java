@@ -1,54 +1,67 @@
 package com.mshando.biddingservice.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.Arrays;
+import java.time.Duration;
 
 /**
  * Cache configuration for the Bidding Service.
  * 
  * Configures caching for frequently accessed data like
  * user information, task details, and bid statistics.
- * Uses in-memory caching by default with configurable TTL.
+ * Uses in-memory Caffeine caches with a per-cache TTL.
  *
  * @author Mshando Team
  * @version 1.0.0
  */
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheConfig.CacheProperties.class)
 @ConditionalOnProperty(name = "mshando.bidding.cache.enabled", havingValue = "true", matchIfMissing = true)
 public class CacheConfig {
 
     /**
      * Configure the cache manager for bid-related operations.
-     * Uses simple in-memory caching for development and testing.
+     * Each named cache expires entries after its own TTL so remote
+     * data such as task status never goes stale indefinitely.
      * 
      * In production, consider Redis or Hazelcast for distributed caching.
      */
     @Bean
-    public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+    public CacheManager cacheManager(CacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         
-        // Define cache names for different data types
-        cacheManager.setCacheNames(Arrays.asList(
-            "userCache",           // User information cache
-            "taskCache",           // Task details cache
-            "bidStatsCache",       // Bid statistics cache
-            "configCache"          // Configuration cache
-        ));
-        
-        // Allow dynamic cache creation
+        // Caches created on demand use the default TTL
+        cacheManager.setCaffeine(cacheBuilder(properties.getDefaultTtl(), properties.getMaxCacheSize()));
         cacheManager.setAllowNullValues(false);
         
+        // Define cache names for different data types
+        cacheManager.registerCustomCache("userCache",
+                cacheBuilder(properties.getUserCacheTtl(), properties.getMaxCacheSize()).build());
+        cacheManager.registerCustomCache("taskCache",
+                cacheBuilder(properties.getTaskCacheTtl(), properties.getMaxCacheSize()).build());
+        cacheManager.registerCustomCache("bidStatsCache",
+                cacheBuilder(properties.getBidStatsCacheTtl(), properties.getMaxCacheSize()).build());
+        cacheManager.registerCustomCache("configCache",
+                cacheBuilder(properties.getDefaultTtl(), properties.getMaxCacheSize()).build());
+        
         return cacheManager;
     }
 
+    private Caffeine<Object, Object> cacheBuilder(long ttlSeconds, int maxSize) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize);
+    }
+
     /**
      * Cache configuration properties.
      */
@@ -71,9 +84,10 @@ public class CacheConfig {
         private long userCacheTtl = 1800; // 30 minutes
         
         /**
-         * TTL for task details cache in seconds
+         * TTL for task details cache in seconds. Kept short because task
+         * status read from this cache gates bid creation.
          */
-        private long taskCacheTtl = 900; // 15 minutes
+        private long taskCacheTtl = 30;
         
         /**
          * TTL for bid statistics cache in seconds
@@ -1,7 +1,9 @@
 package com.mshando.biddingservice.controller;
 
 import com.mshando.biddingservice.dto.*;
+import com.mshando.biddingservice.model.BidBulkOperation;
 import com.mshando.biddingservice.model.BidStatus;
+import com.mshando.biddingservice.service.BidBulkService;
 import com.mshando.biddingservice.service.BidService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,9 +21,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 
 
 /**
@@ -42,6 +47,7 @@ import org.springframework.web.bind.annotation.*;
 public class BidController {
 
     private final BidService bidService;
+    private final BidBulkService bidBulkService;
 
     @Operation(
         summary = "📝 Create New Bid",
@@ -410,20 +416,94 @@ public class BidController {
         return ResponseEntity.ok(cancelledBid);
     }
 
+    @Operation(summary = "Apply a bulk operation", description = "Withdraw your pending bids, or reject pending / cancel accepted bids on your tasks, in one request")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Bulk operation applied successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid bulk operation"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<BidBulkResultDTO> applyBulkOperation(
+            @Valid @RequestBody BidBulkOperationDTO bulkOperationDTO,
+            Authentication authentication) {
+        
+        log.info("Applying bulk {} by user {}", bulkOperationDTO.getOperation(), authentication.getName());
+        
+        Long userId = extractUserIdFromAuthentication(authentication);
+        BidBulkFilter.BidBulkFilterBuilder filter = BidBulkFilter.builder()
+                .taskId(bulkOperationDTO.getTaskId())
+                .createdBefore(bulkOperationDTO.getCreatedBefore());
+        if (bulkOperationDTO.getOperation() == BidBulkOperation.WITHDRAW) {
+            filter.taskerId(userId);
+        } else {
+            filter.customerId(userId);
+        }
+        
+        BidBulkResultDTO result = bidBulkService.applyBulkOperation(
+                bulkOperationDTO.getOperation(), filter.build(), bulkOperationDTO.getReason());
+        
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Apply a bulk operation as an operator", description = "Withdraw, reject or cancel bids of any tasker or task, e.g. when a tasker is deactivated or a task is deleted")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Bulk operation applied successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid bulk operation or no filter given"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - admin role required")
+    })
+    @PostMapping("/admin/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BidBulkResultDTO> applyAdminBulkOperation(
+            @Valid @RequestBody BidBulkOperationDTO bulkOperationDTO,
+            @Parameter(description = "Only bids by this tasker") @RequestParam(required = false) Long taskerId,
+            Authentication authentication) {
+        
+        log.info("Applying operator bulk {} for tasker {} and task {} by user {}", bulkOperationDTO.getOperation(),
+                taskerId, bulkOperationDTO.getTaskId(), authentication.getName());
+        
+        BidBulkFilter filter = BidBulkFilter.builder()
+                .taskId(bulkOperationDTO.getTaskId())
+                .taskerId(taskerId)
+                .createdBefore(bulkOperationDTO.getCreatedBefore())
+                .build();
+        
+        BidBulkResultDTO result = bidBulkService.applyBulkOperation(
+                bulkOperationDTO.getOperation(), filter, bulkOperationDTO.getReason());
+        
+        return ResponseEntity.ok(result);
+    }
+
     @Operation(summary = "Get bid statistics", description = "Get bidding statistics for the authenticated tasker")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping("/statistics")
-    public ResponseEntity<Object> getBidStatistics(Authentication authentication) {
+    public ResponseEntity<BidStatisticsDTO> getBidStatistics(Authentication authentication) {
         Long taskerId = extractUserIdFromAuthentication(authentication);
         log.debug("Fetching bid statistics for tasker {}", taskerId);
         
-        Object statistics = bidService.getTaskerBidStatistics(taskerId);
+        BidStatisticsDTO statistics = bidService.getTaskerBidStatistics(taskerId);
         return ResponseEntity.ok(statistics);
     }
 
+    @Operation(summary = "Get tasker leaderboard", description = "Get the top taskers ranked by bid acceptance rate, optionally within a task category")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/statistics/leaderboard")
+    public ResponseEntity<List<TaskerLeaderboardEntryDTO>> getTaskerLeaderboard(
+            @Parameter(description = "Task category name (all categories when omitted)") @RequestParam(required = false) String category,
+            @Parameter(description = "Number of taskers to return (max 100)") @RequestParam(defaultValue = "10") int limit) {
+        
+        log.debug("Fetching tasker leaderboard - category: {}, limit: {}", category, limit);
+        
+        List<TaskerLeaderboardEntryDTO> leaderboard = bidService.getTaskerLeaderboard(category, limit);
+        return ResponseEntity.ok(leaderboard);
+    }
+
     @Operation(summary = "Get bid count for task", description = "Get the total number of bids for a specific task")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Bid count retrieved successfully")
@@ -0,0 +1,91 @@
+package com.mshando.biddingservice.controller;
+
+import com.mshando.biddingservice.service.BidStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller for real-time bid event streams.
+ * 
+ * Exposes Server-Sent Event endpoints so task owners receive bid
+ * events as they happen instead of polling the bid listing endpoints.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/v1/bids/stream")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "📡 Bid Streams", 
+     description = "Server-Sent Event streams of bid created, updated, accepted, rejected and withdrawn events")
+public class BidStreamController {
+
+    private final BidStreamService bidStreamService;
+
+    @Operation(
+        summary = "📡 Stream Task Bids",
+        description = """
+                **Subscribe to bid events for one of your tasks**
+                
+                Opens a Server-Sent Event stream. Each event is named after its type
+                (`CREATED`, `UPDATED`, `ACCEPTED`, `REJECTED`, `WITHDRAWN`, `COMPLETED`, `CANCELLED`)
+                and carries a compact bid snapshot. Slow consumers lose the oldest buffered events.
+                """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "✅ Stream opened"),
+        @ApiResponse(responseCode = "400", description = "❌ Task not found or not owned by caller"),
+        @ApiResponse(responseCode = "401", description = "🔒 Authentication required")
+    })
+    @GetMapping(value = "/task/{taskId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskBids(
+            @Parameter(description = "Task identifier to stream bids for", example = "123")
+            @PathVariable Long taskId,
+            Authentication authentication) {
+        
+        Long customerId = extractUserIdFromAuthentication(authentication);
+        log.debug("Customer {} subscribing to bids for task {}", customerId, taskId);
+        
+        return bidStreamService.subscribeToTask(taskId, customerId);
+    }
+
+    @Operation(
+        summary = "📡 Stream My Task Bids",
+        description = "Subscribe to bid events for all tasks owned by the authenticated customer"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "✅ Stream opened"),
+        @ApiResponse(responseCode = "401", description = "🔒 Authentication required")
+    })
+    @GetMapping(value = "/my-tasks", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMyTaskBids(Authentication authentication) {
+        Long customerId = extractUserIdFromAuthentication(authentication);
+        log.debug("Customer {} subscribing to bids for own tasks", customerId);
+        
+        return bidStreamService.subscribeToCustomer(customerId);
+    }
+
+    /**
+     * Extract user ID from JWT authentication token
+     */
+    private Long extractUserIdFromAuthentication(Authentication authentication) {
+        try {
+            return Long.parseLong(authentication.getName());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid user ID in authentication token", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.mshando.biddingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filter selecting the bids a bulk operation applies to.
+ * Unset fields do not restrict the selection.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BidBulkFilter {
+    
+    private Long taskId;
+    private Long taskerId;
+    private Long customerId;
+    private LocalDateTime createdBefore;
+    
+    /**
+     * Whether at least one restriction is set
+     */
+    public boolean isRestricted() {
+        return taskId != null || taskerId != null || customerId != null || createdBefore != null;
+    }
+}
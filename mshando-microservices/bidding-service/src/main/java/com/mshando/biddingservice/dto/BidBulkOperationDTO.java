@@ -0,0 +1,43 @@
+package com.mshando.biddingservice.dto;
+
+import com.mshando.biddingservice.model.BidBulkOperation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for bulk bid operation requests.
+ * 
+ * The operation is applied to the caller's own bids: bids they placed
+ * for WITHDRAW, bids on their tasks for REJECT and CANCEL.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(name = "BidBulkOperation", description = "Request body for applying a state transition to many bids")
+public class BidBulkOperationDTO {
+    
+    @Schema(description = "Transition to apply", example = "REJECT", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Operation is required")
+    private BidBulkOperation operation;
+    
+    @Schema(description = "Only bids on this task", example = "123")
+    private Long taskId;
+    
+    @Schema(description = "Only bids created before this time", example = "2024-01-01T00:00:00")
+    private LocalDateTime createdBefore;
+    
+    @Schema(description = "Cancellation reason (CANCEL only)", example = "Task was cancelled", maxLength = 500)
+    @Size(max = 500, message = "Cancellation reason cannot exceed 500 characters")
+    private String reason;
+}
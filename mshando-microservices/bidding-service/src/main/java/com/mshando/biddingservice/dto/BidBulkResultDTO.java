@@ -0,0 +1,39 @@
+package com.mshando.biddingservice.dto;
+
+import com.mshando.biddingservice.model.BidBulkOperation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for the aggregated outcome of a bulk bid operation.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(name = "BidBulkResult", description = "Aggregated result of a bulk bid operation")
+public class BidBulkResultDTO {
+    
+    @Schema(description = "Transition that was applied", example = "REJECT")
+    private BidBulkOperation operation;
+    
+    @Schema(description = "Number of bids updated", example = "1250")
+    private Long updatedBids;
+    
+    @Schema(description = "Number of committed chunks", example = "2")
+    private Integer chunks;
+    
+    @Schema(description = "Total processing time in milliseconds", example = "840")
+    private Long durationMs;
+    
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
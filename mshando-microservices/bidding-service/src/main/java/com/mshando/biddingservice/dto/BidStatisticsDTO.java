@@ -22,6 +22,8 @@ import java.time.LocalDateTime;
 @Builder
 public class BidStatisticsDTO {
     
+    private Long taskerId;
+    private String category;
     private Long totalBids;
     private Long pendingBids;
     private Long acceptedBids;
@@ -30,5 +32,6 @@ public class BidStatisticsDTO {
     private Long completedBids;
     private Long cancelledBids;
     private Double averageBidAmount;
+    private Double acceptanceRate;
     private LocalDateTime calculatedAt;
 }
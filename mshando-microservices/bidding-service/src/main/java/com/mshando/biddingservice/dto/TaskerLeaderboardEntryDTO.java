@@ -0,0 +1,28 @@
+package com.mshando.biddingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a single ranked entry of the tasker leaderboard.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskerLeaderboardEntryDTO {
+    
+    private Integer rank;
+    private Long taskerId;
+    private String category;
+    private Double acceptanceRate;
+    private Long totalBids;
+    private Long acceptedBids;
+    private Long completedBids;
+    private Double averageBidAmount;
+}
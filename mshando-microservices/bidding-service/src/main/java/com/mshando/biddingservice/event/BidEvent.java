@@ -0,0 +1,66 @@
+package com.mshando.biddingservice.event;
+
+import com.mshando.biddingservice.model.Bid;
+import com.mshando.biddingservice.model.BidStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Application event describing a change to a bid.
+ * 
+ * Published by the bid service whenever a bid is created, updated or
+ * changes status. The event is a flat snapshot of the bid so listeners
+ * never need to reload the entity or call other services.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BidEvent {
+
+    private BidEventType type;
+    private Long bidId;
+    private Long taskId;
+    private Long taskerId;
+    private Long customerId;
+    private String categoryName;
+    private BigDecimal amount;
+    private BigDecimal previousAmount;
+    private BidStatus previousStatus;
+    private BidStatus status;
+    private LocalDateTime occurredAt;
+
+    /**
+     * Build an event from the current state of a bid
+     */
+    public static BidEvent of(BidEventType type, Bid bid, BidStatus previousStatus) {
+        return of(type, bid, previousStatus, bid.getAmount());
+    }
+
+    /**
+     * Build an event for a bid whose amount may have changed
+     */
+    public static BidEvent of(BidEventType type, Bid bid, BidStatus previousStatus, BigDecimal previousAmount) {
+        return BidEvent.builder()
+                .type(type)
+                .bidId(bid.getId())
+                .taskId(bid.getTaskId())
+                .taskerId(bid.getTaskerId())
+                .customerId(bid.getCustomerId())
+                .categoryName(bid.getCategoryName())
+                .amount(bid.getAmount())
+                .previousAmount(previousAmount)
+                .previousStatus(previousStatus)
+                .status(bid.getStatus())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.mshando.biddingservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Application event carrying the bid events of one bulk operation chunk.
+ * 
+ * Lets listeners handle thousands of changes in one pass instead of
+ * receiving one {@link BidEvent} per bid.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BidEventBatch {
+
+    private List<BidEvent> events;
+}
@@ -0,0 +1,17 @@
+package com.mshando.biddingservice.event;
+
+/**
+ * Types of bid lifecycle events published by the bidding service.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public enum BidEventType {
+    CREATED,
+    UPDATED,
+    ACCEPTED,
+    REJECTED,
+    WITHDRAWN,
+    COMPLETED,
+    CANCELLED
+}
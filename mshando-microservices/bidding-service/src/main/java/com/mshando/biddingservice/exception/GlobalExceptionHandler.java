@@ -2,7 +2,9 @@ package com.mshando.biddingservice.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -37,6 +39,8 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private static final int RETRY_AFTER_SECONDS = 5;
+
     /**
      * Handle bid not found exceptions.
      * Returns 404 NOT FOUND when a requested bid doesn't exist.
@@ -208,6 +212,30 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Handle rejected work on a saturated executor.
+     * Returns 503 SERVICE UNAVAILABLE so clients back off and retry, e.g. when
+     * the task lookups for bid creation exceed the external service pool.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTaskRejectedException(
+            TaskRejectedException ex, WebRequest request) {
+        
+        logger.warn("Executor saturated, rejecting request: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Busy")
+                .message("Too many requests in progress, please retry shortly")
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS))
+                .body(errorResponse);
+    }
+
     /**
      * Handle illegal argument exceptions.
      * Returns 400 BAD REQUEST for invalid arguments.
@@ -0,0 +1,41 @@
+package com.mshando.biddingservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a final-state bid moved out of the hot bids table.
+ * 
+ * Rows keep their original ID and are never modified after archival.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Entity
+@Immutable
+@Table(name = "archived_bids", indexes = {
+    @Index(name = "idx_archived_bids_task", columnList = "task_id"),
+    @Index(name = "idx_archived_bids_tasker_created", columnList = "tasker_id, created_at"),
+    @Index(name = "idx_archived_bids_customer_created", columnList = "customer_id, created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class ArchivedBid extends BaseBid {
+
+    @Id
+    private Long id;
+
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,48 @@
+package com.mshando.biddingservice.model;
+
+import com.mshando.biddingservice.event.BidEventType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * State transitions that can be applied to many bids at once.
+ * 
+ * Each operation moves bids from a single source status to a single
+ * target status; bids in any other status are left untouched.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Schema(description = "Bulk state transition to apply", example = "WITHDRAW")
+public enum BidBulkOperation {
+    
+    @Schema(description = "PENDING -> WITHDRAWN")
+    WITHDRAW(BidStatus.PENDING, BidStatus.WITHDRAWN, BidEventType.WITHDRAWN),
+    
+    @Schema(description = "PENDING -> REJECTED")
+    REJECT(BidStatus.PENDING, BidStatus.REJECTED, BidEventType.REJECTED),
+    
+    @Schema(description = "ACCEPTED -> CANCELLED")
+    CANCEL(BidStatus.ACCEPTED, BidStatus.CANCELLED, BidEventType.CANCELLED);
+    
+    private final BidStatus sourceStatus;
+    private final BidStatus targetStatus;
+    private final BidEventType eventType;
+    
+    BidBulkOperation(BidStatus sourceStatus, BidStatus targetStatus, BidEventType eventType) {
+        this.sourceStatus = sourceStatus;
+        this.targetStatus = targetStatus;
+        this.eventType = eventType;
+    }
+    
+    public BidStatus getSourceStatus() {
+        return sourceStatus;
+    }
+    
+    public BidStatus getTargetStatus() {
+        return targetStatus;
+    }
+    
+    public BidEventType getEventType() {
+        return eventType;
+    }
+}
@@ -0,0 +1,43 @@
+package com.mshando.biddingservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+/**
+ * Read-only view over both active and archived bids.
+ * 
+ * Used for history reads so that archival stays transparent to callers.
+ * Filters on the view are pushed down into both branches of the union,
+ * so each side is still answered from its own indexes.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Entity
+@Immutable
+@Subselect("SELECT " + BidHistory.COLUMNS + " FROM bids " +
+           "UNION ALL " +
+           "SELECT " + BidHistory.COLUMNS + " FROM archived_bids")
+@Synchronize({"bids", "archived_bids"})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class BidHistory extends BaseBid {
+
+    static final String COLUMNS = "id, task_id, tasker_id, customer_id, category_name, amount, message, status, " +
+            "estimated_completion_hours, accepted_at, completed_at, withdrawn_at, rejected_at, " +
+            "cancelled_at, cancellation_reason, created_at, updated_at, version";
+
+    @Id
+    private Long id;
+
+    @Column(name = "version")
+    private Long version;
+}
@@ -0,0 +1,212 @@
+package com.mshando.biddingservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding materialized bid statistics for a tasker.
+ * 
+ * One row is kept per tasker for all categories combined
+ * ({@link #ALL_CATEGORIES}) plus one row per task category the tasker
+ * has bid in. Rows are updated incrementally on bid state changes and
+ * periodically reconciled against the bids table.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "tasker_bid_statistics",
+       uniqueConstraints = @UniqueConstraint(name = "uk_tasker_bid_statistics_tasker_category",
+                                             columnNames = {"tasker_id", "category"}),
+       indexes = @Index(name = "idx_tasker_bid_statistics_leaderboard",
+                        columnList = "category, acceptance_rate, total_bids"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskerBidStatistics {
+
+    /**
+     * Category key for the row aggregating all of a tasker's bids
+     */
+    public static final String ALL_CATEGORIES = "*";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tasker_id", nullable = false)
+    private Long taskerId;
+
+    @Column(name = "category", nullable = false, length = 100)
+    private String category;
+
+    @Column(name = "total_bids", nullable = false)
+    @Builder.Default
+    private long totalBids = 0;
+
+    @Column(name = "pending_bids", nullable = false)
+    @Builder.Default
+    private long pendingBids = 0;
+
+    @Column(name = "accepted_bids", nullable = false)
+    @Builder.Default
+    private long acceptedBids = 0;
+
+    @Column(name = "rejected_bids", nullable = false)
+    @Builder.Default
+    private long rejectedBids = 0;
+
+    @Column(name = "withdrawn_bids", nullable = false)
+    @Builder.Default
+    private long withdrawnBids = 0;
+
+    @Column(name = "completed_bids", nullable = false)
+    @Builder.Default
+    private long completedBids = 0;
+
+    @Column(name = "cancelled_bids", nullable = false)
+    @Builder.Default
+    private long cancelledBids = 0;
+
+    @Column(name = "total_bid_amount", nullable = false, precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal totalBidAmount = BigDecimal.ZERO;
+
+    /**
+     * Share of bids that were ever accepted (accepted, completed or cancelled)
+     */
+    @Column(name = "acceptance_rate", nullable = false)
+    @Builder.Default
+    private double acceptanceRate = 0.0;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Average amount over all bids, or null when the tasker has no bids
+     */
+    public Double getAverageBidAmount() {
+        if (totalBids == 0) {
+            return null;
+        }
+        return totalBidAmount.divide(BigDecimal.valueOf(totalBids), 2, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    /**
+     * Add a bid with the given status and amount to the counters
+     */
+    public void addBid(BidStatus status, long count, BigDecimal amount) {
+        totalBids += count;
+        totalBidAmount = totalBidAmount.add(amount);
+        switch (status) {
+            case PENDING -> pendingBids += count;
+            case ACCEPTED -> acceptedBids += count;
+            case REJECTED -> rejectedBids += count;
+            case WITHDRAWN -> withdrawnBids += count;
+            case COMPLETED -> completedBids += count;
+            case CANCELLED -> cancelledBids += count;
+        }
+        recalculateAcceptanceRate();
+    }
+
+    /**
+     * Apply a delta to the counters of a newly created row
+     */
+    public void apply(Delta delta) {
+        totalBids += delta.getTotalBids();
+        pendingBids += delta.getPendingBids();
+        acceptedBids += delta.getAcceptedBids();
+        rejectedBids += delta.getRejectedBids();
+        withdrawnBids += delta.getWithdrawnBids();
+        completedBids += delta.getCompletedBids();
+        cancelledBids += delta.getCancelledBids();
+        totalBidAmount = totalBidAmount.add(delta.getTotalBidAmount());
+        recalculateAcceptanceRate();
+    }
+
+    /**
+     * Check whether the counters match those of another row
+     */
+    public boolean hasSameCountersAs(TaskerBidStatistics other) {
+        return totalBids == other.totalBids
+                && pendingBids == other.pendingBids
+                && acceptedBids == other.acceptedBids
+                && rejectedBids == other.rejectedBids
+                && withdrawnBids == other.withdrawnBids
+                && completedBids == other.completedBids
+                && cancelledBids == other.cancelledBids
+                && totalBidAmount.compareTo(other.totalBidAmount) == 0;
+    }
+
+    /**
+     * Overwrite the counters with those of another row
+     */
+    public void copyCountersFrom(TaskerBidStatistics other) {
+        totalBids = other.totalBids;
+        pendingBids = other.pendingBids;
+        acceptedBids = other.acceptedBids;
+        rejectedBids = other.rejectedBids;
+        withdrawnBids = other.withdrawnBids;
+        completedBids = other.completedBids;
+        cancelledBids = other.cancelledBids;
+        totalBidAmount = other.totalBidAmount;
+        recalculateAcceptanceRate();
+    }
+
+    public void recalculateAcceptanceRate() {
+        acceptanceRate = totalBids > 0
+                ? (double) (acceptedBids + completedBids + cancelledBids) / totalBids
+                : 0.0;
+    }
+
+    /**
+     * Change to apply to a statistics row for a single bid event
+     */
+    @Data
+    public static class Delta {
+        private long totalBids;
+        private long pendingBids;
+        private long acceptedBids;
+        private long rejectedBids;
+        private long withdrawnBids;
+        private long completedBids;
+        private long cancelledBids;
+        private BigDecimal totalBidAmount = BigDecimal.ZERO;
+
+        public void addStatus(BidStatus status, long count) {
+            switch (status) {
+                case PENDING -> pendingBids += count;
+                case ACCEPTED -> acceptedBids += count;
+                case REJECTED -> rejectedBids += count;
+                case WITHDRAWN -> withdrawnBids += count;
+                case COMPLETED -> completedBids += count;
+                case CANCELLED -> cancelledBids += count;
+            }
+        }
+
+        public Delta add(Delta other) {
+            totalBids += other.totalBids;
+            pendingBids += other.pendingBids;
+            acceptedBids += other.acceptedBids;
+            rejectedBids += other.rejectedBids;
+            withdrawnBids += other.withdrawnBids;
+            completedBids += other.completedBids;
+            cancelledBids += other.cancelledBids;
+            if (other.totalBidAmount != null) {
+                totalBidAmount = totalBidAmount.add(other.totalBidAmount);
+            }
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return totalBids == 0 && pendingBids == 0 && acceptedBids == 0 && rejectedBids == 0
+                    && withdrawnBids == 0 && completedBids == 0 && cancelledBids == 0
+                    && totalBidAmount.signum() == 0;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.mshando.biddingservice.repository;
+
+import com.mshando.biddingservice.model.ArchivedBid;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Repository interface for archived final-state bids.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Repository
+public interface ArchivedBidRepository extends JpaRepository<ArchivedBid, Long> {
+    
+    /**
+     * Copy bids from the hot table into the archive in a single statement
+     */
+    @Modifying
+    @Query(value = "INSERT INTO archived_bids (id, task_id, tasker_id, customer_id, category_name, amount, message, " +
+                   "status, estimated_completion_hours, accepted_at, completed_at, withdrawn_at, rejected_at, " +
+                   "cancelled_at, cancellation_reason, created_at, updated_at, version, archived_at) " +
+                   "SELECT id, task_id, tasker_id, customer_id, category_name, amount, message, " +
+                   "status, estimated_completion_hours, accepted_at, completed_at, withdrawn_at, rejected_at, " +
+                   "cancelled_at, cancellation_reason, created_at, updated_at, version, :archivedAt " +
+                   "FROM bids WHERE id IN (:ids)",
+           nativeQuery = true)
+    int copyFromBids(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -0,0 +1,87 @@
+package com.mshando.biddingservice.repository;
+
+import com.mshando.biddingservice.model.BidHistory;
+import com.mshando.biddingservice.model.BidStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Read-only repository over active and archived bids combined.
+ * 
+ * Mirrors the history queries of {@link BidRepository} so that callers
+ * see the same results whether or not a bid has been archived.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Repository
+public interface BidHistoryRepository extends JpaRepository<BidHistory, Long> {
+    
+    /**
+     * Check if a tasker has ever bid on a task
+     */
+    boolean existsByTaskIdAndTaskerId(Long taskId, Long taskerId);
+    
+    /**
+     * Count bids for a specific task
+     */
+    long countByTaskId(Long taskId);
+    
+    /**
+     * Count all bids on a task and the tasker's own bids on it in one query
+     * (duplicate-bid and max-bids checks for bid creation)
+     */
+    @Query("SELECT COUNT(b) AS totalBids, " +
+           "COALESCE(SUM(CASE WHEN b.taskerId = :taskerId THEN 1 ELSE 0 END), 0) AS taskerBids " +
+           "FROM BidHistory b WHERE b.taskId = :taskId")
+    TaskBidCounts countBidsForTaskAndTasker(@Param("taskId") Long taskId, @Param("taskerId") Long taskerId);
+    
+    /**
+     * Find all bids for a specific task
+     */
+    List<BidHistory> findByTaskIdOrderByCreatedAtDesc(Long taskId);
+    
+    /**
+     * Find all bids for a specific task with pagination
+     */
+    Page<BidHistory> findByTaskIdOrderByCreatedAtDesc(Long taskId, Pageable pageable);
+    
+    /**
+     * Find all bids by a specific tasker
+     */
+    Page<BidHistory> findByTaskerIdOrderByCreatedAtDesc(Long taskerId, Pageable pageable);
+    
+    /**
+     * Find all bids for tasks owned by a specific customer
+     */
+    Page<BidHistory> findByCustomerIdOrderByCreatedAtDesc(Long customerId, Pageable pageable);
+    
+    /**
+     * Find all bids by status
+     */
+    Page<BidHistory> findByStatusOrderByCreatedAtDesc(BidStatus status, Pageable pageable);
+    
+    /**
+     * Find bids by tasker and status
+     */
+    Page<BidHistory> findByTaskerIdAndStatusOrderByCreatedAtDesc(Long taskerId, BidStatus status, Pageable pageable);
+    
+    /**
+     * Find bids by customer and status
+     */
+    Page<BidHistory> findByCustomerIdAndStatusOrderByCreatedAtDesc(Long customerId, BidStatus status, Pageable pageable);
+    
+    /**
+     * Projection for bid counts on a single task
+     */
+    interface TaskBidCounts {
+        Long getTotalBids();
+        Long getTaskerBids();
+    }
+}
@@ -2,14 +2,21 @@ package com.mshando.biddingservice.repository;
 
 import com.mshando.biddingservice.model.Bid;
 import com.mshando.biddingservice.model.BidStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -70,16 +77,6 @@ public interface BidRepository extends JpaRepository<Bid, Long> {
      */
     Optional<Bid> findByTaskIdAndTaskerId(Long taskId, Long taskerId);
     
-    /**
-     * Check if a tasker has already bid on a task
-     */
-    boolean existsByTaskIdAndTaskerId(Long taskId, Long taskerId);
-    
-    /**
-     * Count bids for a specific task
-     */
-    long countByTaskId(Long taskId);
-    
     /**
      * Count bids for a specific task with status
      */
@@ -134,19 +131,95 @@ public interface BidRepository extends JpaRepository<Bid, Long> {
                                             @Param("endDate") LocalDateTime endDate);
     
     /**
-     * Find tasker's bid statistics
+     * Next tasker IDs with active or archived bids, keyset-paged by tasker ID
+     * (chunk boundaries for reconciling tasker statistics)
+     */
+    @Query("SELECT DISTINCT b.taskerId FROM BidHistory b WHERE b.taskerId > :afterTaskerId ORDER BY b.taskerId")
+    List<Long> findTaskerIdsAfter(@Param("afterTaskerId") Long afterTaskerId, Pageable pageable);
+    
+    /**
+     * Aggregate bid counts and amounts per tasker, category and status across
+     * active and archived bids for taskers in (afterTaskerId, upToTaskerId]
+     * (source of truth for reconciling tasker statistics)
      */
-    @Query("SELECT NEW map(" +
-           "COUNT(b) as totalBids, " +
-           "SUM(CASE WHEN b.status = 'ACCEPTED' THEN 1 ELSE 0 END) as acceptedBids, " +
-           "SUM(CASE WHEN b.status = 'REJECTED' THEN 1 ELSE 0 END) as rejectedBids, " +
-           "SUM(CASE WHEN b.status = 'COMPLETED' THEN 1 ELSE 0 END) as completedBids, " +
-           "AVG(b.amount) as averageBidAmount) " +
-           "FROM Bid b WHERE b.taskerId = :taskerId")
-    Object getTaskerBidStatistics(@Param("taskerId") Long taskerId);
+    @Query("SELECT b.taskerId AS taskerId, b.categoryName AS categoryName, b.status AS status, " +
+           "COUNT(b) AS bidCount, SUM(b.amount) AS totalAmount " +
+           "FROM BidHistory b WHERE b.taskerId > :afterTaskerId AND b.taskerId <= :upToTaskerId " +
+           "GROUP BY b.taskerId, b.categoryName, b.status")
+    List<TaskerStatusAggregate> aggregateByTaskerCategoryAndStatus(@Param("afterTaskerId") Long afterTaskerId,
+                                                                   @Param("upToTaskerId") Long upToTaskerId);
+    
+    /**
+     * Lock a batch of final-state bids last changed before the cutoff for archival.
+     * Rows locked by another instance are skipped.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT b FROM Bid b WHERE b.status IN :statuses AND b.updatedAt < :cutoffDate ORDER BY b.id")
+    List<Bid> findArchivableBids(@Param("statuses") Collection<BidStatus> statuses,
+                                 @Param("cutoffDate") LocalDateTime cutoffDate,
+                                 Pageable pageable);
+    
+    /**
+     * Lock the next chunk of bids in a status for a bulk operation, keyset-paged by ID.
+     * Unset filter parameters do not restrict the selection; rows locked elsewhere are skipped.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT b FROM Bid b WHERE b.id > :afterId AND b.status = :status " +
+           "AND (:taskId IS NULL OR b.taskId = :taskId) " +
+           "AND (:taskerId IS NULL OR b.taskerId = :taskerId) " +
+           "AND (:customerId IS NULL OR b.customerId = :customerId) " +
+           "AND (:createdBefore IS NULL OR b.createdAt < :createdBefore) " +
+           "ORDER BY b.id")
+    List<Bid> findBulkOperationChunk(@Param("afterId") Long afterId,
+                                     @Param("status") BidStatus status,
+                                     @Param("taskId") Long taskId,
+                                     @Param("taskerId") Long taskerId,
+                                     @Param("customerId") Long customerId,
+                                     @Param("createdBefore") LocalDateTime createdBefore,
+                                     Pageable pageable);
+    
+    /**
+     * Withdraw a set of bids in one statement
+     */
+    @Modifying
+    @Query("UPDATE Bid b SET b.status = :status, b.withdrawnAt = :now, b.updatedAt = :now, " +
+           "b.version = b.version + 1 WHERE b.id IN :ids")
+    int markWithdrawn(@Param("ids") Collection<Long> ids, @Param("status") BidStatus status,
+                      @Param("now") LocalDateTime now);
+    
+    /**
+     * Reject a set of bids in one statement
+     */
+    @Modifying
+    @Query("UPDATE Bid b SET b.status = :status, b.rejectedAt = :now, b.updatedAt = :now, " +
+           "b.version = b.version + 1 WHERE b.id IN :ids")
+    int markRejected(@Param("ids") Collection<Long> ids, @Param("status") BidStatus status,
+                     @Param("now") LocalDateTime now);
+    
+    /**
+     * Cancel a set of bids in one statement
+     */
+    @Modifying
+    @Query("UPDATE Bid b SET b.status = :status, b.cancelledAt = :now, b.cancellationReason = :reason, " +
+           "b.updatedAt = :now, b.version = b.version + 1 WHERE b.id IN :ids")
+    int markCancelled(@Param("ids") Collection<Long> ids, @Param("status") BidStatus status,
+                      @Param("now") LocalDateTime now, @Param("reason") String reason);
     
     /**
      * Delete bids by task ID (for cleanup when task is deleted)
      */
     void deleteByTaskId(Long taskId);
+    
+    /**
+     * Projection for grouped bid totals of one tasker, category and status
+     */
+    interface TaskerStatusAggregate {
+        Long getTaskerId();
+        String getCategoryName();
+        BidStatus getStatus();
+        Long getBidCount();
+        BigDecimal getTotalAmount();
+    }
 }
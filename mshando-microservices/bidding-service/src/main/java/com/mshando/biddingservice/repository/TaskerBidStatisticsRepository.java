@@ -0,0 +1,74 @@
+package com.mshando.biddingservice.repository;
+
+import com.mshando.biddingservice.model.TaskerBidStatistics;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for materialized tasker bid statistics.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Repository
+public interface TaskerBidStatisticsRepository extends JpaRepository<TaskerBidStatistics, Long> {
+    
+    /**
+     * Find the statistics row for a tasker and category
+     */
+    Optional<TaskerBidStatistics> findByTaskerIdAndCategory(Long taskerId, String category);
+    
+    /**
+     * Top taskers in a category by acceptance rate (served from the leaderboard index)
+     */
+    @Query("SELECT s FROM TaskerBidStatistics s WHERE s.category = :category AND s.totalBids >= :minBids " +
+           "ORDER BY s.acceptanceRate DESC, s.totalBids DESC")
+    List<TaskerBidStatistics> findLeaderboard(@Param("category") String category,
+                                              @Param("minBids") long minBids,
+                                              Pageable pageable);
+    
+    /**
+     * Lock the statistics rows of taskers in (afterTaskerId, upToTaskerId] for reconciliation.
+     * Concurrent deltas to these rows wait until the reconciled counters are committed.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM TaskerBidStatistics s WHERE s.taskerId > :afterTaskerId AND s.taskerId <= :upToTaskerId")
+    List<TaskerBidStatistics> findForUpdateByTaskerIdRange(@Param("afterTaskerId") Long afterTaskerId,
+                                                           @Param("upToTaskerId") Long upToTaskerId);
+    
+    /**
+     * Atomically apply a delta to a statistics row.
+     * All right-hand sides see the pre-update values, so the acceptance
+     * rate is computed from the old counters plus the delta.
+     */
+    @Modifying
+    @Query("UPDATE TaskerBidStatistics s SET " +
+           "s.totalBids = s.totalBids + :#{#delta.totalBids}, " +
+           "s.pendingBids = s.pendingBids + :#{#delta.pendingBids}, " +
+           "s.acceptedBids = s.acceptedBids + :#{#delta.acceptedBids}, " +
+           "s.rejectedBids = s.rejectedBids + :#{#delta.rejectedBids}, " +
+           "s.withdrawnBids = s.withdrawnBids + :#{#delta.withdrawnBids}, " +
+           "s.completedBids = s.completedBids + :#{#delta.completedBids}, " +
+           "s.cancelledBids = s.cancelledBids + :#{#delta.cancelledBids}, " +
+           "s.totalBidAmount = s.totalBidAmount + :#{#delta.totalBidAmount}, " +
+           "s.acceptanceRate = CASE WHEN s.totalBids + :#{#delta.totalBids} > 0 THEN " +
+           "(s.acceptedBids + s.completedBids + s.cancelledBids + :#{#delta.acceptedBids} " +
+           "+ :#{#delta.completedBids} + :#{#delta.cancelledBids}) * 1.0 " +
+           "/ (s.totalBids + :#{#delta.totalBids}) ELSE 0.0 END, " +
+           "s.updatedAt = :now " +
+           "WHERE s.taskerId = :taskerId AND s.category = :category")
+    int applyDelta(@Param("taskerId") Long taskerId,
+                   @Param("category") String category,
+                   @Param("delta") TaskerBidStatistics.Delta delta,
+                   @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,17 @@
+package com.mshando.biddingservice.service;
+
+/**
+ * Service interface for moving final-state bids out of the hot bids table.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public interface BidArchivalService {
+    
+    /**
+     * Archive final-state bids older than the configured retention, in batches
+     * 
+     * @return number of bids archived
+     */
+    int archiveFinalStateBids();
+}
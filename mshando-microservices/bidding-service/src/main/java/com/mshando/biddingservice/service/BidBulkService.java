@@ -0,0 +1,22 @@
+package com.mshando.biddingservice.service;
+
+import com.mshando.biddingservice.dto.BidBulkFilter;
+import com.mshando.biddingservice.dto.BidBulkResultDTO;
+import com.mshando.biddingservice.model.BidBulkOperation;
+
+/**
+ * Service interface for applying state transitions to many bids at once.
+ * 
+ * Bulk operations only change bid rows; unlike the single-bid actions
+ * they do not call the Task Service to update task status.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public interface BidBulkService {
+    
+    /**
+     * Apply a transition to every bid matching the filter, in committed chunks
+     */
+    BidBulkResultDTO applyBulkOperation(BidBulkOperation operation, BidBulkFilter filter, String reason);
+}
@@ -116,7 +116,12 @@ public interface BidService {
     /**
      * Get bid statistics for a tasker
      */
-    Object getTaskerBidStatistics(Long taskerId);
+    BidStatisticsDTO getTaskerBidStatistics(Long taskerId);
+    
+    /**
+     * Get the top taskers by acceptance rate, optionally within a category
+     */
+    List<TaskerLeaderboardEntryDTO> getTaskerLeaderboard(String category, int limit);
     
     /**
      * Process auto-acceptance of old pending bids
@@ -0,0 +1,37 @@
+package com.mshando.biddingservice.service;
+
+import com.mshando.biddingservice.event.BidEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service interface for pushing bid events to connected clients.
+ * 
+ * Maintains Server-Sent Event subscriptions per task and per customer
+ * and fans bid events out to them without dedicating a thread to each
+ * connection.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public interface BidStreamService {
+    
+    /**
+     * Open a stream of bid events for a single task
+     */
+    SseEmitter subscribeToTask(Long taskId, Long customerId);
+    
+    /**
+     * Open a stream of bid events for all tasks owned by a customer
+     */
+    SseEmitter subscribeToCustomer(Long customerId);
+    
+    /**
+     * Deliver a bid event to all matching subscriptions
+     */
+    void publish(BidEvent event);
+    
+    /**
+     * Number of currently open subscriptions
+     */
+    int getActiveSubscriptionCount();
+}
@@ -0,0 +1,44 @@
+package com.mshando.biddingservice.service;
+
+import com.mshando.biddingservice.dto.BidStatisticsDTO;
+import com.mshando.biddingservice.dto.TaskerLeaderboardEntryDTO;
+import com.mshando.biddingservice.event.BidEvent;
+
+import java.util.List;
+
+/**
+ * Service interface for materialized per-tasker bid statistics.
+ * 
+ * Statistics are maintained incrementally from bid events and
+ * periodically reconciled against the bids table.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public interface TaskerStatisticsService {
+    
+    /**
+     * Get overall bid statistics for a tasker
+     */
+    BidStatisticsDTO getStatistics(Long taskerId);
+    
+    /**
+     * Get the top taskers by acceptance rate, optionally within a category
+     */
+    List<TaskerLeaderboardEntryDTO> getLeaderboard(String category, int limit);
+    
+    /**
+     * Apply a bid event to the materialized statistics
+     */
+    void applyEvent(BidEvent event);
+    
+    /**
+     * Apply many bid events, with one update per affected statistics row
+     */
+    void applyEvents(List<BidEvent> events);
+    
+    /**
+     * Rebuild all statistics rows from the bids table
+     */
+    void reconcile();
+}
@@ -0,0 +1,122 @@
+package com.mshando.biddingservice.service.impl;
+
+import com.mshando.biddingservice.model.Bid;
+import com.mshando.biddingservice.model.BidStatus;
+import com.mshando.biddingservice.repository.ArchivedBidRepository;
+import com.mshando.biddingservice.repository.BidRepository;
+import com.mshando.biddingservice.service.BidArchivalService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of BidArchivalService.
+ * 
+ * Each batch locks up to batch-size archivable bids (skipping rows locked
+ * by another instance), copies them into archived_bids with one
+ * INSERT ... SELECT and deletes them from bids, all in one short
+ * transaction. The hot table therefore only grows with active bidding.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class BidArchivalServiceImpl implements BidArchivalService {
+
+    private static final Set<BidStatus> FINAL_STATUSES = EnumSet.of(
+            BidStatus.REJECTED, BidStatus.WITHDRAWN, BidStatus.COMPLETED, BidStatus.CANCELLED);
+
+    private final BidRepository bidRepository;
+    private final ArchivedBidRepository archivedBidRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${bidding.archival.enabled:true}")
+    private boolean archivalEnabled;
+
+    @Value("${bidding.archival.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${bidding.archival.batch-size:500}")
+    private int batchSize;
+
+    @Value("${bidding.archival.batch-pause-ms:100}")
+    private long batchPauseMs;
+
+    public BidArchivalServiceImpl(BidRepository bidRepository,
+                                  ArchivedBidRepository archivedBidRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.bidRepository = bidRepository;
+        this.archivedBidRepository = archivedBidRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Scheduled archival of final-state bids
+     */
+    @Scheduled(cron = "${bidding.archival.cron:0 0 4 * * *}")
+    public void scheduledArchival() {
+        if (!archivalEnabled) {
+            log.debug("Bid archival is disabled");
+            return;
+        }
+        archiveFinalStateBids();
+    }
+
+    @Override
+    public int archiveFinalStateBids() {
+        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(retentionDays);
+        log.info("Archiving final-state bids last updated before {}", cutoffDate);
+        
+        int totalArchived = 0;
+        int archived;
+        do {
+            archived = transactionTemplate.execute(status -> archiveBatch(cutoffDate));
+            totalArchived += archived;
+            
+            if (archived == batchSize && !pause()) {
+                break;
+            }
+        } while (archived == batchSize);
+        
+        log.info("Archived {} final-state bids", totalArchived);
+        return totalArchived;
+    }
+
+    private int archiveBatch(LocalDateTime cutoffDate) {
+        List<Bid> bids = bidRepository.findArchivableBids(FINAL_STATUSES, cutoffDate, PageRequest.of(0, batchSize));
+        if (bids.isEmpty()) {
+            return 0;
+        }
+        
+        List<Long> ids = bids.stream().map(Bid::getId).toList();
+        archivedBidRepository.copyFromBids(ids, LocalDateTime.now());
+        bidRepository.deleteAllByIdInBatch(ids);
+        
+        log.debug("Archived batch of {} bids (IDs {} to {})", ids.size(), ids.get(0), ids.get(ids.size() - 1));
+        return ids.size();
+    }
+
+    private boolean pause() {
+        if (batchPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Bid archival interrupted");
+            return false;
+        }
+    }
+}
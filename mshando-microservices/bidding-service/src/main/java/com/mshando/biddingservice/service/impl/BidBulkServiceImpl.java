@@ -0,0 +1,131 @@
+package com.mshando.biddingservice.service.impl;
+
+import com.mshando.biddingservice.dto.BidBulkFilter;
+import com.mshando.biddingservice.dto.BidBulkResultDTO;
+import com.mshando.biddingservice.event.BidEvent;
+import com.mshando.biddingservice.event.BidEventBatch;
+import com.mshando.biddingservice.exception.InvalidBidOperationException;
+import com.mshando.biddingservice.model.Bid;
+import com.mshando.biddingservice.model.BidBulkOperation;
+import com.mshando.biddingservice.repository.BidRepository;
+import com.mshando.biddingservice.service.BidBulkService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Implementation of BidBulkService.
+ * 
+ * Matching bids are processed in keyset-paged chunks. Each chunk locks its
+ * rows, applies the transition with a single UPDATE and commits on its own,
+ * so a large cleanup never holds one long transaction. Listeners receive one
+ * {@link BidEventBatch} per chunk.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class BidBulkServiceImpl implements BidBulkService {
+
+    private static final String DEFAULT_CANCELLATION_REASON = "Cancelled by bulk operation";
+
+    private final BidRepository bidRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${bidding.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    public BidBulkServiceImpl(BidRepository bidRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager) {
+        this.bidRepository = bidRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public BidBulkResultDTO applyBulkOperation(BidBulkOperation operation, BidBulkFilter filter, String reason) {
+        if (operation == null) {
+            throw new InvalidBidOperationException("Bulk operation is required");
+        }
+        if (filter == null || !filter.isRestricted()) {
+            throw new InvalidBidOperationException("Bulk operations require at least one filter");
+        }
+        String cancellationReason = reason != null && !reason.isBlank() ? reason : DEFAULT_CANCELLATION_REASON;
+        
+        log.info("Applying bulk {} to bids matching {}", operation, filter);
+        LocalDateTime startedAt = LocalDateTime.now();
+        
+        long updatedBids = 0;
+        int chunks = 0;
+        long afterId = 0;
+        while (true) {
+            long lastId = afterId;
+            List<Long> ids = transactionTemplate.execute(status ->
+                    processChunk(operation, filter, cancellationReason, lastId));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            
+            updatedBids += ids.size();
+            chunks++;
+            afterId = ids.get(ids.size() - 1);
+            log.debug("Bulk {} chunk {} committed {} bids", operation, chunks, ids.size());
+            
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+        
+        LocalDateTime completedAt = LocalDateTime.now();
+        log.info("Bulk {} updated {} bids in {} chunks", operation, updatedBids, chunks);
+        
+        return BidBulkResultDTO.builder()
+                .operation(operation)
+                .updatedBids(updatedBids)
+                .chunks(chunks)
+                .durationMs(Duration.between(startedAt, completedAt).toMillis())
+                .startedAt(startedAt)
+                .completedAt(completedAt)
+                .build();
+    }
+
+    private List<Long> processChunk(BidBulkOperation operation, BidBulkFilter filter, String reason, long afterId) {
+        List<Bid> bids = bidRepository.findBulkOperationChunk(afterId, operation.getSourceStatus(),
+                filter.getTaskId(), filter.getTaskerId(), filter.getCustomerId(), filter.getCreatedBefore(),
+                PageRequest.of(0, chunkSize));
+        if (bids.isEmpty()) {
+            return List.of();
+        }
+        
+        List<Long> ids = bids.stream().map(Bid::getId).toList();
+        LocalDateTime now = LocalDateTime.now();
+        switch (operation) {
+            case WITHDRAW -> bidRepository.markWithdrawn(ids, operation.getTargetStatus(), now);
+            case REJECT -> bidRepository.markRejected(ids, operation.getTargetStatus(), now);
+            case CANCEL -> bidRepository.markCancelled(ids, operation.getTargetStatus(), now, reason);
+        }
+        
+        // The loaded entities still hold the source status; events report the new one
+        List<BidEvent> events = bids.stream()
+                .map(bid -> {
+                    BidEvent event = BidEvent.of(operation.getEventType(), bid, operation.getSourceStatus());
+                    event.setStatus(operation.getTargetStatus());
+                    return event;
+                })
+                .toList();
+        eventPublisher.publishEvent(new BidEventBatch(events));
+        
+        return ids;
+    }
+}
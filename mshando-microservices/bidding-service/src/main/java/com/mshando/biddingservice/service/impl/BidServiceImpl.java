@@ -1,23 +1,34 @@
 package com.mshando.biddingservice.service.impl;
 
 import com.mshando.biddingservice.dto.*;
+import com.mshando.biddingservice.event.BidEvent;
+import com.mshando.biddingservice.event.BidEventType;
 import com.mshando.biddingservice.exception.BidNotFoundException;
 import com.mshando.biddingservice.exception.InvalidBidOperationException;
+import com.mshando.biddingservice.model.BaseBid;
 import com.mshando.biddingservice.model.Bid;
 import com.mshando.biddingservice.model.BidStatus;
+import com.mshando.biddingservice.repository.ArchivedBidRepository;
+import com.mshando.biddingservice.repository.BidHistoryRepository;
 import com.mshando.biddingservice.repository.BidRepository;
 import com.mshando.biddingservice.service.BidService;
 import com.mshando.biddingservice.service.ExternalService;
+import com.mshando.biddingservice.service.TaskerStatisticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 /**
@@ -36,7 +47,12 @@ import java.util.stream.Collectors;
 public class BidServiceImpl implements BidService {
     
     private final BidRepository bidRepository;
+    private final BidHistoryRepository bidHistoryRepository;
+    private final ArchivedBidRepository archivedBidRepository;
     private final ExternalService externalService;
+    private final TaskerStatisticsService taskerStatisticsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor externalServiceExecutor;
     
     @Value("${bidding.max-bids-per-task:10}")
     private int maxBidsPerTask;
@@ -51,20 +67,15 @@ public class BidServiceImpl implements BidService {
     public BidResponseDTO createBid(BidCreateDTO bidCreateDTO, Long taskerId) {
         log.info("Creating bid for task {} by tasker {}", bidCreateDTO.getTaskId(), taskerId);
         
-        // Validate bid creation
-        validateBidCreation(bidCreateDTO.getTaskId(), taskerId);
-        
-        // Get task and customer information
-        TaskInfoDTO taskInfo = externalService.getTaskInfo(bidCreateDTO.getTaskId());
-        if (taskInfo == null) {
-            throw new InvalidBidOperationException("Task not found or not available for bidding");
-        }
+        // Validate bid creation and resolve task and customer information
+        TaskInfoDTO taskInfo = resolveTaskForBidCreation(bidCreateDTO.getTaskId(), taskerId);
         
         // Create bid entity
         Bid bid = Bid.builder()
                 .taskId(bidCreateDTO.getTaskId())
                 .taskerId(taskerId)
                 .customerId(taskInfo.getCustomerId())
+                .categoryName(taskInfo.getCategoryName())
                 .amount(bidCreateDTO.getAmount())
                 .message(bidCreateDTO.getMessage())
                 .estimatedCompletionHours(bidCreateDTO.getEstimatedCompletionHours())
@@ -72,6 +83,7 @@ public class BidServiceImpl implements BidService {
                 .build();
         
         Bid savedBid = bidRepository.save(bid);
+        eventPublisher.publishEvent(BidEvent.of(BidEventType.CREATED, savedBid, null, null));
         log.info("Created bid with ID {} for task {} by tasker {}", savedBid.getId(), bidCreateDTO.getTaskId(), taskerId);
         
         return convertToResponseDTO(savedBid);
@@ -93,11 +105,13 @@ public class BidServiceImpl implements BidService {
         }
         
         // Update bid fields
+        BigDecimal previousAmount = bid.getAmount();
         bid.setAmount(bidUpdateDTO.getAmount());
         bid.setMessage(bidUpdateDTO.getMessage());
         bid.setEstimatedCompletionHours(bidUpdateDTO.getEstimatedCompletionHours());
         
         Bid updatedBid = bidRepository.save(bid);
+        eventPublisher.publishEvent(BidEvent.of(BidEventType.UPDATED, updatedBid, updatedBid.getStatus(), previousAmount));
         log.info("Updated bid {}", bidId);
         
         return convertToResponseDTO(updatedBid);
@@ -106,15 +120,18 @@ public class BidServiceImpl implements BidService {
     @Override
     @Transactional(readOnly = true)
     public BidResponseDTO getBidById(Long bidId) {
-        Bid bid = findBidById(bidId);
+        // Archived bids are final, so only fall back to the archive on a miss
+        BaseBid bid = bidRepository.findById(bidId)
+                .<BaseBid>map(b -> b)
+                .or(() -> archivedBidRepository.findById(bidId))
+                .orElseThrow(() -> BidNotFoundException.withId(bidId));
         return convertToResponseDTO(bid);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<BidResponseDTO> getBidsByTaskId(Long taskId) {
-        List<Bid> bids = bidRepository.findByTaskIdOrderByCreatedAtDesc(taskId);
-        return bids.stream()
+        return bidHistoryRepository.findByTaskIdOrderByCreatedAtDesc(taskId).stream()
                 .map(this::convertToResponseDTO)
                 .collect(Collectors.toList());
     }
@@ -122,43 +139,55 @@ public class BidServiceImpl implements BidService {
     @Override
     @Transactional(readOnly = true)
     public Page<BidResponseDTO> getBidsByTaskId(Long taskId, Pageable pageable) {
-        Page<Bid> bids = bidRepository.findByTaskIdOrderByCreatedAtDesc(taskId, pageable);
-        return bids.map(this::convertToResponseDTO);
+        return bidHistoryRepository.findByTaskIdOrderByCreatedAtDesc(taskId, pageable)
+                .map(this::convertToResponseDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<BidResponseDTO> getBidsByTaskerId(Long taskerId, Pageable pageable) {
-        Page<Bid> bids = bidRepository.findByTaskerIdOrderByCreatedAtDesc(taskerId, pageable);
-        return bids.map(this::convertToResponseDTO);
+        return bidHistoryRepository.findByTaskerIdOrderByCreatedAtDesc(taskerId, pageable)
+                .map(this::convertToResponseDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<BidResponseDTO> getBidsByCustomerId(Long customerId, Pageable pageable) {
-        Page<Bid> bids = bidRepository.findByCustomerIdOrderByCreatedAtDesc(customerId, pageable);
-        return bids.map(this::convertToResponseDTO);
+        return bidHistoryRepository.findByCustomerIdOrderByCreatedAtDesc(customerId, pageable)
+                .map(this::convertToResponseDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<BidResponseDTO> getBidsByStatus(BidStatus status, Pageable pageable) {
-        Page<Bid> bids = bidRepository.findByStatusOrderByCreatedAtDesc(status, pageable);
-        return bids.map(this::convertToResponseDTO);
+        if (isActiveStatus(status)) {
+            return bidRepository.findByStatusOrderByCreatedAtDesc(status, pageable)
+                    .map(this::convertToResponseDTO);
+        }
+        return bidHistoryRepository.findByStatusOrderByCreatedAtDesc(status, pageable)
+                .map(this::convertToResponseDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<BidResponseDTO> getBidsByTaskerIdAndStatus(Long taskerId, BidStatus status, Pageable pageable) {
-        Page<Bid> bids = bidRepository.findByTaskerIdAndStatusOrderByCreatedAtDesc(taskerId, status, pageable);
-        return bids.map(this::convertToResponseDTO);
+        if (isActiveStatus(status)) {
+            return bidRepository.findByTaskerIdAndStatusOrderByCreatedAtDesc(taskerId, status, pageable)
+                    .map(this::convertToResponseDTO);
+        }
+        return bidHistoryRepository.findByTaskerIdAndStatusOrderByCreatedAtDesc(taskerId, status, pageable)
+                .map(this::convertToResponseDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<BidResponseDTO> getBidsByCustomerIdAndStatus(Long customerId, BidStatus status, Pageable pageable) {
-        Page<Bid> bids = bidRepository.findByCustomerIdAndStatusOrderByCreatedAtDesc(customerId, status, pageable);
-        return bids.map(this::convertToResponseDTO);
+        if (isActiveStatus(status)) {
+            return bidRepository.findByCustomerIdAndStatusOrderByCreatedAtDesc(customerId, status, pageable)
+                    .map(this::convertToResponseDTO);
+        }
+        return bidHistoryRepository.findByCustomerIdAndStatusOrderByCreatedAtDesc(customerId, status, pageable)
+                .map(this::convertToResponseDTO);
     }
 
     @Override
@@ -186,6 +215,7 @@ public class BidServiceImpl implements BidService {
         bid.setAcceptedAt(LocalDateTime.now());
         
         Bid acceptedBid = bidRepository.save(bid);
+        publishEvent(BidEventType.ACCEPTED, acceptedBid, BidStatus.PENDING);
         
         // Reject all other pending bids for this task
         rejectOtherPendingBids(bid.getTaskId(), bidId);
@@ -218,6 +248,7 @@ public class BidServiceImpl implements BidService {
         bid.setRejectedAt(LocalDateTime.now());
         
         Bid rejectedBid = bidRepository.save(bid);
+        publishEvent(BidEventType.REJECTED, rejectedBid, BidStatus.PENDING);
         log.info("Rejected bid {}", bidId);
         
         return convertToResponseDTO(rejectedBid);
@@ -239,15 +270,17 @@ public class BidServiceImpl implements BidService {
         }
         
         // Update bid status
+        BidStatus previousStatus = bid.getStatus();
         bid.setStatus(BidStatus.WITHDRAWN);
         bid.setWithdrawnAt(LocalDateTime.now());
         
         // If bid was accepted, update task status back to open
-        if (bid.isAccepted()) {
+        if (previousStatus == BidStatus.ACCEPTED) {
             externalService.updateTaskStatus(bid.getTaskId(), "OPEN", null);
         }
         
         Bid withdrawnBid = bidRepository.save(bid);
+        publishEvent(BidEventType.WITHDRAWN, withdrawnBid, previousStatus);
         log.info("Withdrawn bid {}", bidId);
         
         return convertToResponseDTO(withdrawnBid);
@@ -276,6 +309,7 @@ public class BidServiceImpl implements BidService {
         externalService.updateTaskStatus(bid.getTaskId(), "COMPLETED", taskerId);
         
         Bid completedBid = bidRepository.save(bid);
+        publishEvent(BidEventType.COMPLETED, completedBid, BidStatus.ACCEPTED);
         log.info("Completed bid {}", bidId);
         
         return convertToResponseDTO(completedBid);
@@ -305,6 +339,7 @@ public class BidServiceImpl implements BidService {
         externalService.updateTaskStatus(bid.getTaskId(), "OPEN", null);
         
         Bid cancelledBid = bidRepository.save(bid);
+        publishEvent(BidEventType.CANCELLED, cancelledBid, BidStatus.ACCEPTED);
         log.info("Cancelled bid {}", bidId);
         
         return convertToResponseDTO(cancelledBid);
@@ -313,13 +348,13 @@ public class BidServiceImpl implements BidService {
     @Override
     @Transactional(readOnly = true)
     public boolean hasTaskerBidOnTask(Long taskId, Long taskerId) {
-        return bidRepository.existsByTaskIdAndTaskerId(taskId, taskerId);
+        return bidHistoryRepository.existsByTaskIdAndTaskerId(taskId, taskerId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public long getBidCountByTaskId(Long taskId) {
-        return bidRepository.countByTaskId(taskId);
+        return bidHistoryRepository.countByTaskId(taskId);
     }
 
     @Override
@@ -338,8 +373,14 @@ public class BidServiceImpl implements BidService {
 
     @Override
     @Transactional(readOnly = true)
-    public Object getTaskerBidStatistics(Long taskerId) {
-        return bidRepository.getTaskerBidStatistics(taskerId);
+    public BidStatisticsDTO getTaskerBidStatistics(Long taskerId) {
+        return taskerStatisticsService.getStatistics(taskerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskerLeaderboardEntryDTO> getTaskerLeaderboard(String category, int limit) {
+        return taskerStatisticsService.getLeaderboard(category, limit);
     }
 
     @Override
@@ -367,19 +408,35 @@ public class BidServiceImpl implements BidService {
 
     @Override
     public void validateBidCreation(Long taskId, Long taskerId) {
+        resolveTaskForBidCreation(taskId, taskerId);
+    }
+
+    /**
+     * Run all bid creation checks and return the task being bid on.
+     * The task lookup runs on the external service executor while the
+     * duplicate and max-bids checks share a single query on this thread.
+     * When that executor is saturated the submission fails fast with a
+     * TaskRejectedException, which is reported as 503 Service Busy.
+     */
+    private TaskInfoDTO resolveTaskForBidCreation(Long taskId, Long taskerId) {
+        CompletableFuture<TaskInfoDTO> taskInfoFuture = CompletableFuture.supplyAsync(
+                () -> externalService.getTaskInfo(taskId), externalServiceExecutor);
+        
+        // Archived bids still count towards the duplicate and max-bids checks
+        BidHistoryRepository.TaskBidCounts bidCounts = bidHistoryRepository.countBidsForTaskAndTasker(taskId, taskerId);
+        
         // Check if tasker already bid on this task
-        if (hasTaskerBidOnTask(taskId, taskerId)) {
+        if (bidCounts.getTaskerBids() > 0) {
             throw new InvalidBidOperationException("You have already placed a bid on this task");
         }
         
         // Check maximum bids per task
-        long bidCount = getBidCountByTaskId(taskId);
-        if (bidCount >= maxBidsPerTask) {
+        if (bidCounts.getTotalBids() >= maxBidsPerTask) {
             throw new InvalidBidOperationException("Maximum number of bids reached for this task");
         }
         
         // Validate task exists and is available for bidding
-        TaskInfoDTO taskInfo = externalService.getTaskInfo(taskId);
+        TaskInfoDTO taskInfo = awaitTaskInfo(taskInfoFuture);
         if (taskInfo == null) {
             throw new InvalidBidOperationException("Task not found");
         }
@@ -392,6 +449,19 @@ public class BidServiceImpl implements BidService {
         if (taskInfo.getCustomerId().equals(taskerId)) {
             throw new InvalidBidOperationException("You cannot bid on your own task");
         }
+        
+        return taskInfo;
+    }
+
+    private TaskInfoDTO awaitTaskInfo(CompletableFuture<TaskInfoDTO> taskInfoFuture) {
+        try {
+            return taskInfoFuture.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
     @Override
@@ -423,7 +493,16 @@ public class BidServiceImpl implements BidService {
 
     private Bid findBidById(Long bidId) {
         return bidRepository.findById(bidId)
-                .orElseThrow(() -> BidNotFoundException.withId(bidId));
+                .orElseThrow(() -> archivedBidRepository.existsById(bidId)
+                        ? new InvalidBidOperationException("Bid " + bidId + " is archived and can no longer be changed")
+                        : BidNotFoundException.withId(bidId));
+    }
+
+    /**
+     * Active bids are never archived, so their queries only need the hot table
+     */
+    private boolean isActiveStatus(BidStatus status) {
+        return status == BidStatus.PENDING || status == BidStatus.ACCEPTED;
     }
 
     private void rejectOtherPendingBids(Long taskId, Long acceptedBidId) {
@@ -433,11 +512,16 @@ public class BidServiceImpl implements BidService {
                 bid.setStatus(BidStatus.REJECTED);
                 bid.setRejectedAt(LocalDateTime.now());
                 bidRepository.save(bid);
+                publishEvent(BidEventType.REJECTED, bid, BidStatus.PENDING);
             }
         }
     }
 
-    private BidResponseDTO convertToResponseDTO(Bid bid) {
+    private void publishEvent(BidEventType type, Bid bid, BidStatus previousStatus) {
+        eventPublisher.publishEvent(BidEvent.of(type, bid, previousStatus));
+    }
+
+    private BidResponseDTO convertToResponseDTO(BaseBid bid) {
         BidResponseDTO.BidResponseDTOBuilder builder = BidResponseDTO.builder()
                 .id(bid.getId())
                 .taskId(bid.getTaskId())
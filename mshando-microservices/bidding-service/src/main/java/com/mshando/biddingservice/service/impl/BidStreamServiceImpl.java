@@ -0,0 +1,170 @@
+package com.mshando.biddingservice.service.impl;
+
+import com.mshando.biddingservice.dto.TaskInfoDTO;
+import com.mshando.biddingservice.event.BidEvent;
+import com.mshando.biddingservice.event.BidEventBatch;
+import com.mshando.biddingservice.exception.InvalidBidOperationException;
+import com.mshando.biddingservice.service.BidStreamService;
+import com.mshando.biddingservice.service.ExternalService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of BidStreamService backed by Server-Sent Events.
+ * 
+ * Connections are held by the servlet container in async mode, so an idle
+ * subscription costs only its emitter and buffer. Events are fanned out on
+ * the shared bidStreamExecutor, with each subscription drained by at most
+ * one task at a time.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class BidStreamServiceImpl implements BidStreamService {
+
+    private final ExternalService externalService;
+    private final Executor streamExecutor;
+
+    private final Map<Long, Set<BidStreamSubscription>> taskSubscriptions = new ConcurrentHashMap<>();
+    private final Map<Long, Set<BidStreamSubscription>> customerSubscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger activeSubscriptions = new AtomicInteger();
+    private final AtomicLong eventSequence = new AtomicLong();
+
+    @Value("${bidding.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${bidding.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    public BidStreamServiceImpl(ExternalService externalService,
+                                @Qualifier("bidStreamExecutor") Executor streamExecutor) {
+        this.externalService = externalService;
+        this.streamExecutor = streamExecutor;
+    }
+
+    @Override
+    public SseEmitter subscribeToTask(Long taskId, Long customerId) {
+        TaskInfoDTO taskInfo = externalService.getTaskInfo(taskId);
+        if (taskInfo == null) {
+            throw new InvalidBidOperationException("Task not found");
+        }
+        if (!customerId.equals(taskInfo.getCustomerId())) {
+            throw new InvalidBidOperationException("You can only stream bids for your own tasks");
+        }
+        
+        log.debug("Opening bid stream for task {} by customer {}", taskId, customerId);
+        return register(taskSubscriptions, taskId);
+    }
+
+    @Override
+    public SseEmitter subscribeToCustomer(Long customerId) {
+        log.debug("Opening bid stream for customer {}", customerId);
+        return register(customerSubscriptions, customerId);
+    }
+
+    /**
+     * Push bid events only once the originating transaction has committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBidEvent(BidEvent event) {
+        publish(event);
+    }
+
+    /**
+     * Push the events of a committed bulk operation chunk
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBidEventBatch(BidEventBatch batch) {
+        batch.getEvents().forEach(this::publish);
+    }
+
+    @Override
+    public void publish(BidEvent event) {
+        long eventId = eventSequence.incrementAndGet();
+        dispatch(taskSubscriptions.get(event.getTaskId()), eventId, event);
+        dispatch(customerSubscriptions.get(event.getCustomerId()), eventId, event);
+    }
+
+    @Override
+    public int getActiveSubscriptionCount() {
+        return activeSubscriptions.get();
+    }
+
+    /**
+     * Keep idle connections alive through proxies and evict dead clients
+     */
+    @Scheduled(fixedDelayString = "${bidding.stream.heartbeat-interval-ms:25000}")
+    public void sendHeartbeats() {
+        taskSubscriptions.values().forEach(subscriptions -> subscriptions.forEach(BidStreamSubscription::heartbeat));
+        customerSubscriptions.values().forEach(subscriptions -> subscriptions.forEach(BidStreamSubscription::heartbeat));
+    }
+
+    private SseEmitter register(Map<Long, Set<BidStreamSubscription>> index, Long key) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        BidStreamSubscription subscription = new BidStreamSubscription(emitter, bufferSize);
+        
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscription);
+        activeSubscriptions.incrementAndGet();
+        
+        Runnable cleanup = () -> unregister(index, key, subscription);
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(e -> cleanup.run());
+        
+        return emitter;
+    }
+
+    private void unregister(Map<Long, Set<BidStreamSubscription>> index, Long key,
+                            BidStreamSubscription subscription) {
+        index.computeIfPresent(key, (k, subscriptions) -> {
+            if (subscriptions.remove(subscription)) {
+                activeSubscriptions.decrementAndGet();
+                if (subscription.getDroppedEvents() > 0) {
+                    log.debug("Bid stream for key {} dropped {} events", key, subscription.getDroppedEvents());
+                }
+            }
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+        subscription.close();
+    }
+
+    private void dispatch(Set<BidStreamSubscription> subscriptions, long eventId, BidEvent event) {
+        if (subscriptions == null) {
+            return;
+        }
+        for (BidStreamSubscription subscription : subscriptions) {
+            if (subscription.offer(eventId, event)) {
+                scheduleDrain(subscription);
+            }
+        }
+    }
+
+    private void scheduleDrain(BidStreamSubscription subscription) {
+        try {
+            streamExecutor.execute(() -> {
+                if (subscription.drain()) {
+                    scheduleDrain(subscription);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Bid stream executor saturated, closing subscription");
+            subscription.close();
+        }
+    }
+}
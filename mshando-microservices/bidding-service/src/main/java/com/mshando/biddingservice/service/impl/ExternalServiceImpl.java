@@ -6,6 +6,8 @@ import com.mshando.biddingservice.service.ExternalService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
@@ -33,6 +35,7 @@ public class ExternalServiceImpl implements ExternalService {
     private String taskServiceUrl;
 
     @Override
+    @Cacheable(value = "taskCache", key = "#taskId", unless = "#result == null")
     public TaskInfoDTO getTaskInfo(Long taskId) {
         try {
             log.debug("Fetching task info for task ID: {}", taskId);
@@ -77,6 +80,7 @@ public class ExternalServiceImpl implements ExternalService {
     }
 
     @Override
+    @CacheEvict(value = "taskCache", key = "#taskId")
     public void updateTaskStatus(Long taskId, String status, Long assignedTaskerId) {
         try {
             log.debug("Updating task {} status to {} with assigned tasker {}", taskId, status, assignedTaskerId);
@@ -0,0 +1,314 @@
+package com.mshando.biddingservice.service.impl;
+
+import com.mshando.biddingservice.dto.BidStatisticsDTO;
+import com.mshando.biddingservice.dto.TaskerLeaderboardEntryDTO;
+import com.mshando.biddingservice.event.BidEvent;
+import com.mshando.biddingservice.event.BidEventBatch;
+import com.mshando.biddingservice.model.TaskerBidStatistics;
+import com.mshando.biddingservice.repository.BidRepository;
+import com.mshando.biddingservice.repository.TaskerBidStatisticsRepository;
+import com.mshando.biddingservice.service.TaskerStatisticsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of TaskerStatisticsService.
+ * 
+ * Each bid event is turned into a counter delta and applied with a single
+ * atomic UPDATE per statistics row, in its own short transaction after the
+ * bid change has committed. Anything lost along the way (a failed update,
+ * a crash between commit and update) is repaired by the reconciliation job.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class TaskerStatisticsServiceImpl implements TaskerStatisticsService {
+
+    private static final int MAX_LEADERBOARD_SIZE = 100;
+
+    private final TaskerBidStatisticsRepository statisticsRepository;
+    private final BidRepository bidRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${bidding.statistics.leaderboard-min-bids:5}")
+    private long leaderboardMinBids;
+
+    @Value("${bidding.statistics.reconciliation-chunk-size:500}")
+    private int reconciliationChunkSize;
+
+    public TaskerStatisticsServiceImpl(TaskerBidStatisticsRepository statisticsRepository,
+                                       BidRepository bidRepository,
+                                       PlatformTransactionManager transactionManager) {
+        this.statisticsRepository = statisticsRepository;
+        this.bidRepository = bidRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BidStatisticsDTO getStatistics(Long taskerId) {
+        TaskerBidStatistics statistics = statisticsRepository
+                .findByTaskerIdAndCategory(taskerId, TaskerBidStatistics.ALL_CATEGORIES)
+                .orElseGet(() -> TaskerBidStatistics.builder()
+                        .taskerId(taskerId)
+                        .category(TaskerBidStatistics.ALL_CATEGORIES)
+                        .updatedAt(LocalDateTime.now())
+                        .build());
+        
+        return BidStatisticsDTO.builder()
+                .taskerId(taskerId)
+                .totalBids(statistics.getTotalBids())
+                .pendingBids(statistics.getPendingBids())
+                .acceptedBids(statistics.getAcceptedBids())
+                .rejectedBids(statistics.getRejectedBids())
+                .withdrawnBids(statistics.getWithdrawnBids())
+                .completedBids(statistics.getCompletedBids())
+                .cancelledBids(statistics.getCancelledBids())
+                .averageBidAmount(statistics.getAverageBidAmount())
+                .acceptanceRate(statistics.getAcceptanceRate())
+                .calculatedAt(statistics.getUpdatedAt())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskerLeaderboardEntryDTO> getLeaderboard(String category, int limit) {
+        String categoryKey = hasCategory(category) ? category : TaskerBidStatistics.ALL_CATEGORIES;
+        int size = Math.max(1, Math.min(limit, MAX_LEADERBOARD_SIZE));
+        
+        List<TaskerBidStatistics> rows = statisticsRepository.findLeaderboard(
+                categoryKey, leaderboardMinBids, PageRequest.of(0, size));
+        
+        List<TaskerLeaderboardEntryDTO> leaderboard = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            TaskerBidStatistics row = rows.get(i);
+            leaderboard.add(TaskerLeaderboardEntryDTO.builder()
+                    .rank(i + 1)
+                    .taskerId(row.getTaskerId())
+                    .category(hasCategory(category) ? category : null)
+                    .acceptanceRate(row.getAcceptanceRate())
+                    .totalBids(row.getTotalBids())
+                    .acceptedBids(row.getAcceptedBids())
+                    .completedBids(row.getCompletedBids())
+                    .averageBidAmount(row.getAverageBidAmount())
+                    .build());
+        }
+        return leaderboard;
+    }
+
+    /**
+     * Update statistics once the bid change is committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBidEvent(BidEvent event) {
+        try {
+            applyEvent(event);
+        } catch (Exception e) {
+            log.warn("Failed to update statistics for tasker {} from {} event of bid {}: {}",
+                    event.getTaskerId(), event.getType(), event.getBidId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Update statistics once a bulk operation chunk is committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBidEventBatch(BidEventBatch batch) {
+        try {
+            applyEvents(batch.getEvents());
+        } catch (Exception e) {
+            log.warn("Failed to update statistics from batch of {} bid events: {}",
+                    batch.getEvents().size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void applyEvent(BidEvent event) {
+        applyEvents(List.of(event));
+    }
+
+    @Override
+    public void applyEvents(List<BidEvent> events) {
+        // Fold the events into one delta per statistics row before touching the database
+        Map<StatisticsKey, TaskerBidStatistics.Delta> deltas = new LinkedHashMap<>();
+        for (BidEvent event : events) {
+            TaskerBidStatistics.Delta delta = toDelta(event);
+            if (delta.isEmpty()) {
+                continue;
+            }
+            
+            deltas.computeIfAbsent(new StatisticsKey(event.getTaskerId(), TaskerBidStatistics.ALL_CATEGORIES),
+                    key -> new TaskerBidStatistics.Delta()).add(delta);
+            if (hasCategory(event.getCategoryName())) {
+                deltas.computeIfAbsent(new StatisticsKey(event.getTaskerId(), event.getCategoryName()),
+                        key -> new TaskerBidStatistics.Delta()).add(delta);
+            }
+        }
+        
+        deltas.forEach((key, delta) -> {
+            if (!delta.isEmpty()) {
+                applyDelta(key.taskerId(), key.category(), delta);
+            }
+        });
+    }
+
+    /**
+     * Rebuild the statistics from the bids in chunks of taskers, each in its
+     * own transaction. A chunk locks the existing rows of its taskers before
+     * counting their bids, so deltas applied concurrently wait and land on top
+     * of the rebuilt counters instead of being overwritten by them.
+     */
+    @Override
+    @Scheduled(cron = "${bidding.statistics.reconciliation-cron:0 30 3 * * *}")
+    public void reconcile() {
+        log.info("Reconciling tasker bid statistics");
+        
+        ReconcileResult total = new ReconcileResult(0, 0, 0);
+        long afterTaskerId = Long.MIN_VALUE;
+        while (afterTaskerId != Long.MAX_VALUE) {
+            List<Long> taskerIds = bidRepository.findTaskerIdsAfter(afterTaskerId,
+                    PageRequest.of(0, reconciliationChunkSize));
+            // The last chunk also covers rows of taskers past the last one with bids
+            long upToTaskerId = taskerIds.size() < reconciliationChunkSize
+                    ? Long.MAX_VALUE : taskerIds.get(taskerIds.size() - 1);
+            
+            long from = afterTaskerId;
+            try {
+                total = total.add(transactionTemplate.execute(status -> reconcileTaskers(from, upToTaskerId)));
+            } catch (DataIntegrityViolationException e) {
+                // A row was created concurrently by a delta; the next run picks it up
+                log.warn("Skipped reconciling statistics of taskers ({}, {}]: {}",
+                        from, upToTaskerId, e.getMessage());
+            }
+            afterTaskerId = upToTaskerId;
+        }
+        
+        log.info("Reconciled tasker bid statistics: {} corrected, {} created, {} removed",
+                total.corrected(), total.created(), total.removed());
+    }
+
+    private ReconcileResult reconcileTaskers(long afterTaskerId, long upToTaskerId) {
+        List<TaskerBidStatistics> existingRows =
+                statisticsRepository.findForUpdateByTaskerIdRange(afterTaskerId, upToTaskerId);
+        
+        Map<StatisticsKey, TaskerBidStatistics> expected = new HashMap<>();
+        for (BidRepository.TaskerStatusAggregate aggregate
+                : bidRepository.aggregateByTaskerCategoryAndStatus(afterTaskerId, upToTaskerId)) {
+            addAggregate(expected, aggregate.getTaskerId(), TaskerBidStatistics.ALL_CATEGORIES, aggregate);
+            if (hasCategory(aggregate.getCategoryName())) {
+                addAggregate(expected, aggregate.getTaskerId(), aggregate.getCategoryName(), aggregate);
+            }
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        int corrected = 0;
+        int removed = 0;
+        
+        for (TaskerBidStatistics existing : existingRows) {
+            TaskerBidStatistics computed = expected.remove(new StatisticsKey(existing.getTaskerId(), existing.getCategory()));
+            if (computed == null) {
+                statisticsRepository.delete(existing);
+                removed++;
+            } else if (!existing.hasSameCountersAs(computed)) {
+                existing.copyCountersFrom(computed);
+                existing.setUpdatedAt(now);
+                corrected++;
+            }
+        }
+        
+        expected.values().forEach(statistics -> statistics.setUpdatedAt(now));
+        statisticsRepository.saveAllAndFlush(expected.values());
+        return new ReconcileResult(corrected, expected.size(), removed);
+    }
+
+    private TaskerBidStatistics.Delta toDelta(BidEvent event) {
+        TaskerBidStatistics.Delta delta = new TaskerBidStatistics.Delta();
+        
+        if (event.getPreviousStatus() == null) {
+            delta.setTotalBids(1);
+            delta.addStatus(event.getStatus(), 1);
+            delta.setTotalBidAmount(event.getAmount());
+            return delta;
+        }
+        
+        if (event.getPreviousStatus() != event.getStatus()) {
+            delta.addStatus(event.getPreviousStatus(), -1);
+            delta.addStatus(event.getStatus(), 1);
+        }
+        if (event.getPreviousAmount() != null && event.getAmount() != null) {
+            delta.setTotalBidAmount(event.getAmount().subtract(event.getPreviousAmount()));
+        }
+        return delta;
+    }
+
+    private void applyDelta(Long taskerId, String category, TaskerBidStatistics.Delta delta) {
+        if (updateRow(taskerId, category, delta)) {
+            return;
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                TaskerBidStatistics statistics = TaskerBidStatistics.builder()
+                        .taskerId(taskerId)
+                        .category(category)
+                        .updatedAt(LocalDateTime.now())
+                        .build();
+                statistics.apply(delta);
+                statisticsRepository.saveAndFlush(statistics);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Row was created concurrently by another request or instance
+            updateRow(taskerId, category, delta);
+        }
+    }
+
+    private boolean updateRow(Long taskerId, String category, TaskerBidStatistics.Delta delta) {
+        Integer updated = transactionTemplate.execute(status ->
+                statisticsRepository.applyDelta(taskerId, category, delta, LocalDateTime.now()));
+        return updated != null && updated > 0;
+    }
+
+    private void addAggregate(Map<StatisticsKey, TaskerBidStatistics> statistics, Long taskerId, String category,
+                              BidRepository.TaskerStatusAggregate aggregate) {
+        TaskerBidStatistics row = statistics.computeIfAbsent(new StatisticsKey(taskerId, category),
+                key -> TaskerBidStatistics.builder().taskerId(taskerId).category(category).build());
+        BigDecimal amount = aggregate.getTotalAmount() != null ? aggregate.getTotalAmount() : BigDecimal.ZERO;
+        row.addBid(aggregate.getStatus(), aggregate.getBidCount(), amount);
+    }
+
+    private boolean hasCategory(String category) {
+        return category != null && !category.isBlank();
+    }
+
+    private record StatisticsKey(Long taskerId, String category) {
+    }
+
+    private record ReconcileResult(int corrected, int created, int removed) {
+
+        ReconcileResult add(ReconcileResult other) {
+            return new ReconcileResult(corrected + other.corrected, created + other.created,
+                    removed + other.removed);
+        }
+    }
+}
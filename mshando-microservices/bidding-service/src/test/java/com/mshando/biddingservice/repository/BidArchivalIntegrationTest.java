@@ -0,0 +1,94 @@
+package com.mshando.biddingservice.repository;
+
+import com.mshando.biddingservice.TestConfig;
+import com.mshando.biddingservice.TestDataFactory;
+import com.mshando.biddingservice.model.BidHistory;
+import com.mshando.biddingservice.model.BidStatus;
+import com.mshando.biddingservice.service.impl.BidArchivalServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for archiving final-state bids
+ */
+@DataJpaTest
+@Import({TestConfig.class, BidArchivalServiceImpl.class})
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "bidding.archival.retention-days=-1",
+        "bidding.archival.batch-size=2",
+        "bidding.archival.batch-pause-ms=0"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Bid Archival Tests")
+class BidArchivalIntegrationTest {
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private ArchivedBidRepository archivedBidRepository;
+
+    @Autowired
+    private BidHistoryRepository bidHistoryRepository;
+
+    @Autowired
+    private BidArchivalServiceImpl archivalService;
+
+    @BeforeEach
+    void setUp() {
+        bidRepository.deleteAll();
+        archivedBidRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should move final-state bids to the archive in batches")
+    void shouldMoveFinalStateBidsToArchive() {
+        // Given
+        bidRepository.save(TestDataFactory.createValidBid());
+        bidRepository.save(TestDataFactory.createAcceptedBid());
+        bidRepository.save(TestDataFactory.createRejectedBid());
+        bidRepository.save(TestDataFactory.createWithdrawnBid());
+        bidRepository.save(TestDataFactory.createCompletedBid());
+
+        // When
+        int archived = archivalService.archiveFinalStateBids();
+
+        // Then
+        assertThat(archived).isEqualTo(3);
+        assertThat(bidRepository.findAll()).extracting("status")
+                .containsExactlyInAnyOrder(BidStatus.PENDING, BidStatus.ACCEPTED);
+        assertThat(archivedBidRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep archived bids visible through history reads")
+    void shouldKeepArchivedBidsVisibleThroughHistory() {
+        // Given
+        Long taskerId = TestDataFactory.createValidBid().getTaskerId();
+        bidRepository.save(TestDataFactory.createValidBid());
+        bidRepository.save(TestDataFactory.createRejectedBid());
+        archivalService.archiveFinalStateBids();
+
+        // When
+        Page<BidHistory> history = bidHistoryRepository.findByTaskerIdOrderByCreatedAtDesc(
+                taskerId, PageRequest.of(0, 10));
+
+        // Then
+        assertThat(history.getTotalElements()).isEqualTo(2);
+        assertThat(history.getContent()).extracting("status")
+                .containsExactlyInAnyOrder(BidStatus.PENDING, BidStatus.REJECTED);
+    }
+}
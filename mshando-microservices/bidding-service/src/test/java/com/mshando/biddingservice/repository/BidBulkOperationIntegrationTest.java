@@ -0,0 +1,93 @@
+package com.mshando.biddingservice.repository;
+
+import com.mshando.biddingservice.TestConfig;
+import com.mshando.biddingservice.TestDataFactory;
+import com.mshando.biddingservice.dto.BidBulkFilter;
+import com.mshando.biddingservice.dto.BidBulkResultDTO;
+import com.mshando.biddingservice.model.Bid;
+import com.mshando.biddingservice.model.BidBulkOperation;
+import com.mshando.biddingservice.model.BidStatus;
+import com.mshando.biddingservice.service.impl.BidBulkServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for chunked bulk bid operations
+ */
+@DataJpaTest
+@Import({TestConfig.class, BidBulkServiceImpl.class})
+@ActiveProfiles("test")
+@TestPropertySource(properties = "bidding.bulk.chunk-size=2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Bid Bulk Operation Tests")
+class BidBulkOperationIntegrationTest {
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private BidBulkServiceImpl bulkService;
+
+    @BeforeEach
+    void setUp() {
+        bidRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should reject every pending bid of a customer in chunks")
+    void shouldRejectPendingBidsInChunks() {
+        // Given
+        for (long taskId = 1; taskId <= 5; taskId++) {
+            bidRepository.save(TestDataFactory.createBidWithTaskId(taskId));
+        }
+        bidRepository.save(TestDataFactory.createAcceptedBid());
+        bidRepository.save(TestDataFactory.createBidWithCustomerId(999L));
+        BidBulkFilter filter = BidBulkFilter.builder().customerId(200L).build();
+
+        // When
+        BidBulkResultDTO result = bulkService.applyBulkOperation(BidBulkOperation.REJECT, filter, null);
+
+        // Then
+        assertThat(result.getUpdatedBids()).isEqualTo(5);
+        assertThat(result.getChunks()).isEqualTo(3);
+        assertThat(bidRepository.findAll())
+                .filteredOn(bid -> bid.getStatus() == BidStatus.REJECTED)
+                .hasSize(5)
+                .allSatisfy(bid -> assertThat(bid.getCustomerId()).isEqualTo(200L));
+        assertThat(bidRepository.findAll()).extracting("status")
+                .contains(BidStatus.ACCEPTED, BidStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("Should withdraw every pending bid of a deactivated tasker across customers")
+    void shouldWithdrawPendingBidsOfTaskerAcrossCustomers() {
+        // Given
+        for (long customerId = 201; customerId <= 203; customerId++) {
+            Bid bid = TestDataFactory.createBidWithTaskerId(300L);
+            bid.setCustomerId(customerId);
+            bidRepository.save(bid);
+        }
+        bidRepository.save(TestDataFactory.createBidWithTaskerId(301L));
+        BidBulkFilter filter = BidBulkFilter.builder().taskerId(300L).build();
+
+        // When
+        BidBulkResultDTO result = bulkService.applyBulkOperation(BidBulkOperation.WITHDRAW, filter, null);
+
+        // Then
+        assertThat(result.getUpdatedBids()).isEqualTo(3);
+        assertThat(bidRepository.findAll())
+                .filteredOn(bid -> bid.getStatus() == BidStatus.WITHDRAWN)
+                .extracting(Bid::getCustomerId)
+                .containsExactlyInAnyOrder(201L, 202L, 203L);
+    }
+}
@@ -35,6 +35,12 @@ class BidRepositoryTest {
     @Autowired
     private BidRepository bidRepository;
 
+    @Autowired
+    private BidHistoryRepository bidHistoryRepository;
+
+    @Autowired
+    private ArchivedBidRepository archivedBidRepository;
+
     private Bid savedBid;
 
     @BeforeEach
@@ -98,6 +104,61 @@ class BidRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("Count Bids for Task and Tasker")
+    class CountBidsForTaskAndTaskerTests {
+
+        @Test
+        @DisplayName("Should count task bids and tasker bids in one query")
+        void shouldCountTaskBidsAndTaskerBids() {
+            // Given
+            Long taskId = savedBid.getTaskId();
+            Bid otherTaskerBid = TestDataFactory.createBidWithTaskId(taskId);
+            otherTaskerBid.setTaskerId(101L);
+            bidRepository.save(otherTaskerBid);
+
+            // When
+            BidHistoryRepository.TaskBidCounts counts =
+                    bidHistoryRepository.countBidsForTaskAndTasker(taskId, savedBid.getTaskerId());
+
+            // Then
+            assertThat(counts.getTotalBids()).isEqualTo(2L);
+            assertThat(counts.getTaskerBids()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("Should return zero counts for task without bids")
+        void shouldReturnZeroCountsForTaskWithoutBids() {
+            // When
+            BidHistoryRepository.TaskBidCounts counts = bidHistoryRepository.countBidsForTaskAndTasker(999L, 100L);
+
+            // Then
+            assertThat(counts.getTotalBids()).isZero();
+            assertThat(counts.getTaskerBids()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should still count a tasker's bid after it has been archived")
+        void shouldCountArchivedBids() {
+            // Given
+            Long taskId = savedBid.getTaskId();
+            Long taskerId = savedBid.getTaskerId();
+            archivedBidRepository.copyFromBids(List.of(savedBid.getId()), LocalDateTime.now());
+            bidRepository.deleteById(savedBid.getId());
+            bidRepository.flush();
+
+            // When
+            BidHistoryRepository.TaskBidCounts counts = bidHistoryRepository.countBidsForTaskAndTasker(taskId, taskerId);
+
+            // Then
+            assertThat(bidRepository.findById(savedBid.getId())).isEmpty();
+            assertThat(counts.getTotalBids()).isEqualTo(1L);
+            assertThat(counts.getTaskerBids()).isEqualTo(1L);
+            assertThat(bidHistoryRepository.existsByTaskIdAndTaskerId(taskId, taskerId)).isTrue();
+            assertThat(bidHistoryRepository.countByTaskId(taskId)).isEqualTo(1L);
+        }
+    }
+
     @Nested
     @DisplayName("Find by Tasker ID")
     class FindByTaskerIdTests {
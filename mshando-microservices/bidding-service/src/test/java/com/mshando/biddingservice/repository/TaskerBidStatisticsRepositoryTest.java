@@ -0,0 +1,158 @@
+package com.mshando.biddingservice.repository;
+
+import com.mshando.biddingservice.TestConfig;
+import com.mshando.biddingservice.TestDataFactory;
+import com.mshando.biddingservice.event.BidEvent;
+import com.mshando.biddingservice.event.BidEventType;
+import com.mshando.biddingservice.model.Bid;
+import com.mshando.biddingservice.model.BidStatus;
+import com.mshando.biddingservice.model.TaskerBidStatistics;
+import com.mshando.biddingservice.service.impl.TaskerStatisticsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repository tests for materialized tasker bid statistics
+ */
+@DataJpaTest
+@Import({TestConfig.class, TaskerStatisticsServiceImpl.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("TaskerBidStatisticsRepository Tests")
+class TaskerBidStatisticsRepositoryTest {
+
+    @Autowired
+    private TaskerBidStatisticsRepository statisticsRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private TaskerStatisticsServiceImpl statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        statisticsRepository.deleteAll();
+        bidRepository.deleteAll();
+        ReflectionTestUtils.setField(statisticsService, "reconciliationChunkSize", 500);
+    }
+
+    @Test
+    @DisplayName("Should rebuild statistics per tasker and category on reconcile")
+    void shouldRebuildStatisticsOnReconcile() {
+        // Given
+        bidRepository.save(bidInCategory(BidStatus.PENDING, "Cleaning", "100.00"));
+        bidRepository.save(bidInCategory(BidStatus.ACCEPTED, "Cleaning", "200.00"));
+        bidRepository.save(bidInCategory(BidStatus.REJECTED, "Moving", "300.00"));
+
+        // When
+        statisticsService.reconcile();
+
+        // Then
+        TaskerBidStatistics overall = statisticsRepository
+                .findByTaskerIdAndCategory(100L, TaskerBidStatistics.ALL_CATEGORIES).orElseThrow();
+        assertThat(overall.getTotalBids()).isEqualTo(3);
+        assertThat(overall.getAcceptedBids()).isEqualTo(1);
+        assertThat(overall.getAverageBidAmount()).isEqualTo(200.0);
+
+        TaskerBidStatistics cleaning = statisticsRepository
+                .findByTaskerIdAndCategory(100L, "Cleaning").orElseThrow();
+        assertThat(cleaning.getTotalBids()).isEqualTo(2);
+        assertThat(cleaning.getAcceptanceRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should reconcile in chunks of taskers, correcting, creating and removing rows")
+    void shouldReconcileInChunksOfTaskers() {
+        // Given
+        ReflectionTestUtils.setField(statisticsService, "reconciliationChunkSize", 1);
+        bidRepository.save(bidInCategory(BidStatus.ACCEPTED, "Cleaning", "100.00"));
+        Bid otherTasker = bidInCategory(BidStatus.PENDING, "Cleaning", "50.00");
+        otherTasker.setTaskerId(200L);
+        bidRepository.save(otherTasker);
+        statisticsRepository.save(statistics(100L, 7, 3));
+        statisticsRepository.save(statistics(300L, 4, 4));
+
+        // When
+        statisticsService.reconcile();
+
+        // Then
+        assertThat(statisticsRepository.findByTaskerIdAndCategory(100L, "Cleaning").orElseThrow()
+                .getTotalBids()).isEqualTo(1);
+        assertThat(statisticsRepository.findByTaskerIdAndCategory(200L, TaskerBidStatistics.ALL_CATEGORIES)
+                .orElseThrow().getPendingBids()).isEqualTo(1);
+        assertThat(statisticsRepository.findByTaskerIdAndCategory(300L, "Cleaning")).isEmpty();
+        assertThat(statisticsRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should apply bid events incrementally")
+    void shouldApplyBidEventsIncrementally() {
+        // Given
+        Bid bid = bidInCategory(BidStatus.PENDING, "Cleaning", "100.00");
+        bid.setId(1L);
+        statisticsService.applyEvent(BidEvent.of(BidEventType.CREATED, bid, null, null));
+
+        // When
+        bid.setStatus(BidStatus.ACCEPTED);
+        statisticsService.applyEvent(BidEvent.of(BidEventType.ACCEPTED, bid, BidStatus.PENDING));
+
+        // Then
+        TaskerBidStatistics overall = statisticsRepository
+                .findByTaskerIdAndCategory(100L, TaskerBidStatistics.ALL_CATEGORIES).orElseThrow();
+        assertThat(overall.getTotalBids()).isEqualTo(1);
+        assertThat(overall.getPendingBids()).isZero();
+        assertThat(overall.getAcceptedBids()).isEqualTo(1);
+        assertThat(overall.getAcceptanceRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should rank leaderboard by acceptance rate")
+    void shouldRankLeaderboardByAcceptanceRate() {
+        // Given
+        statisticsRepository.save(statistics(1L, 10, 2));
+        statisticsRepository.save(statistics(2L, 10, 8));
+        statisticsRepository.save(statistics(3L, 1, 1));
+
+        // When
+        List<TaskerBidStatistics> leaderboard = statisticsRepository.findLeaderboard(
+                "Cleaning", 5, PageRequest.of(0, 10));
+
+        // Then
+        assertThat(leaderboard).extracting(TaskerBidStatistics::getTaskerId).containsExactly(2L, 1L);
+    }
+
+    private Bid bidInCategory(BidStatus status, String category, String amount) {
+        Bid bid = TestDataFactory.createBidWithStatus(status);
+        bid.setCategoryName(category);
+        bid.setAmount(new BigDecimal(amount));
+        return bid;
+    }
+
+    private TaskerBidStatistics statistics(Long taskerId, long totalBids, long acceptedBids) {
+        TaskerBidStatistics statistics = TaskerBidStatistics.builder()
+                .taskerId(taskerId)
+                .category("Cleaning")
+                .totalBids(totalBids)
+                .acceptedBids(acceptedBids)
+                .pendingBids(totalBids - acceptedBids)
+                .updatedAt(java.time.LocalDateTime.now())
+                .build();
+        statistics.recalculateAcceptanceRate();
+        return statistics;
+    }
+}
@@ -0,0 +1,113 @@
+package com.mshando.biddingservice.service;
+
+import com.mshando.biddingservice.dto.BidCreateDTO;
+import com.mshando.biddingservice.exception.GlobalExceptionHandler;
+import com.mshando.biddingservice.exception.GlobalExceptionHandler.ErrorResponse;
+import com.mshando.biddingservice.repository.ArchivedBidRepository;
+import com.mshando.biddingservice.repository.BidHistoryRepository;
+import com.mshando.biddingservice.repository.BidRepository;
+import com.mshando.biddingservice.service.impl.BidServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for BidServiceImpl bid creation
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BidServiceImpl Tests")
+class BidServiceImplTest {
+
+    @Mock
+    private BidRepository bidRepository;
+
+    @Mock
+    private BidHistoryRepository bidHistoryRepository;
+
+    @Mock
+    private ArchivedBidRepository archivedBidRepository;
+
+    @Mock
+    private ExternalService externalService;
+
+    @Mock
+    private TaskerStatisticsService taskerStatisticsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ThreadPoolTaskExecutor externalServiceExecutor;
+
+    private BidServiceImpl bidService;
+
+    @BeforeEach
+    void setUp() {
+        externalServiceExecutor = new ThreadPoolTaskExecutor();
+        externalServiceExecutor.setCorePoolSize(1);
+        externalServiceExecutor.setMaxPoolSize(1);
+        externalServiceExecutor.setQueueCapacity(0);
+        externalServiceExecutor.initialize();
+        bidService = new BidServiceImpl(bidRepository, bidHistoryRepository, archivedBidRepository,
+                externalService, taskerStatisticsService, eventPublisher, externalServiceExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        externalServiceExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should reject bid creation with 503 when the external service pool is saturated")
+    void shouldRejectBidCreationWhenExternalServicePoolIsSaturated() {
+        // Given
+        externalServiceExecutor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        BidCreateDTO request = BidCreateDTO.builder()
+                .taskId(1L)
+                .amount(new BigDecimal("100.00"))
+                .build();
+
+        // When
+        TaskRejectedException rejected = catchThrowableOfType(
+                () -> bidService.createBid(request, 100L), TaskRejectedException.class);
+        ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler().handleTaskRejectedException(
+                rejected, new ServletWebRequest(new MockHttpServletRequest("POST", "/api/v1/bids")));
+
+        // Then
+        assertThat(rejected).isNotNull();
+        verifyNoInteractions(externalService);
+        verify(bidRepository, never()).save(any());
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+    }
+}
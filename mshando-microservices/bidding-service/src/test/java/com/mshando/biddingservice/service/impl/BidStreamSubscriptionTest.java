@@ -0,0 +1,80 @@
+package com.mshando.biddingservice.service.impl;
+
+import com.mshando.biddingservice.event.BidEvent;
+import com.mshando.biddingservice.event.BidEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for BidStreamSubscription buffering
+ */
+@DisplayName("BidStreamSubscription Tests")
+class BidStreamSubscriptionTest {
+
+    @Test
+    @DisplayName("Should drop oldest events when buffer is full")
+    void shouldDropOldestEventsWhenBufferIsFull() {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        BidStreamSubscription subscription = new BidStreamSubscription(emitter, 3);
+
+        // When
+        boolean firstNeedsDrain = subscription.offer(1, event(1L));
+        for (long id = 2; id <= 5; id++) {
+            assertThat(subscription.offer(id, event(id))).isFalse();
+        }
+        boolean drainAgain = subscription.drain();
+
+        // Then
+        assertThat(firstNeedsDrain).isTrue();
+        assertThat(drainAgain).isFalse();
+        assertThat(emitter.sent).hasSize(3);
+        assertThat(subscription.getDroppedEvents()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should close subscription when write fails")
+    void shouldCloseSubscriptionWhenWriteFails() {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failWrites = true;
+        BidStreamSubscription subscription = new BidStreamSubscription(emitter, 3);
+
+        // When
+        subscription.offer(1, event(1L));
+        subscription.drain();
+
+        // Then
+        assertThat(subscription.isClosed()).isTrue();
+        assertThat(subscription.offer(2, event(2L))).isFalse();
+    }
+
+    private BidEvent event(Long bidId) {
+        return BidEvent.builder()
+                .type(BidEventType.CREATED)
+                .bidId(bidId)
+                .taskId(1L)
+                .customerId(1L)
+                .build();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<SseEventBuilder> sent = new ArrayList<>();
+        private boolean failWrites;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failWrites) {
+                throw new IOException("Broken pipe");
+            }
+            sent.add(builder);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.mshando.notificationservice.client;
+
+import com.mshando.notificationservice.dto.UserPageDTO;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Feign client for the user service.
+ * 
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@FeignClient(name = "user-service", url = "${notification.services.user-service-url:}")
+public interface UserServiceClient {
+
+    /**
+     * Search users by username or email, all users when query is null
+     */
+    @GetMapping("/api/users/search")
+    UserPageDTO searchUsers(@RequestParam(value = "query", required = false) String query,
+                            @RequestParam("page") int page,
+                            @RequestParam("size") int size,
+                            @RequestParam("sort") String sort);
+}
@@ -1,33 +0,0 @@
-package com.mshando.notificationservice.config;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
-
-import java.util.concurrent.Executor;
-
-/**
- * Configuration for asynchronous processing.
- * 
- * @author Mshando Team
- * @version 1.0.0
- */
-@Configuration
-@EnableAsync
-public class AsyncConfig {
-
-    /**
-     * Task executor for async notification processing
-     */
-    @Bean(name = "notificationTaskExecutor")
-    public Executor notificationTaskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(20);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("notification-async-");
-        executor.initialize();
-        return executor;
-    }
-}
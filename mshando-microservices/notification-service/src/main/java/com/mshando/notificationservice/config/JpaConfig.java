@@ -0,0 +1,15 @@
+package com.mshando.notificationservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+/**
+ * JPA Configuration for enabling auditing
+ * 
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableJpaAuditing
+public class JpaConfig {
+}
@@ -0,0 +1,66 @@
+package com.mshando.notificationservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Properties;
+
+/**
+ * Configuration for the SMTP mail sender.
+ *
+ * Replaces the auto-configured JavaMailSenderImpl with a pooled sender built
+ * from the same spring.mail properties.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+@ConditionalOnProperty(name = "notification.email.pool.enabled", havingValue = "true", matchIfMissing = true)
+public class MailConfig {
+
+    @Value("${notification.email.pool.max-connections:8}")
+    private int maxConnections;
+
+    @Value("${notification.email.pool.max-messages-per-connection:100}")
+    private int maxMessagesPerConnection;
+
+    @Value("${notification.email.pool.max-idle-ms:60000}")
+    private long maxIdleMs;
+
+    @Value("${notification.email.pool.validate-after-idle-ms:5000}")
+    private long validateAfterIdleMs;
+
+    @Value("${notification.email.pool.borrow-timeout-ms:10000}")
+    private long borrowTimeoutMs;
+
+    /**
+     * Mail sender reusing authenticated SMTP connections across sends
+     */
+    @Bean
+    public PooledJavaMailSender mailSender(MailProperties mailProperties, MeterRegistry meterRegistry) {
+        PooledJavaMailSender mailSender = new PooledJavaMailSender(maxConnections, maxMessagesPerConnection,
+                maxIdleMs, validateAfterIdleMs, borrowTimeoutMs, meterRegistry);
+        mailSender.setHost(mailProperties.getHost());
+        if (mailProperties.getPort() != null) {
+            mailSender.setPort(mailProperties.getPort());
+        }
+        mailSender.setUsername(mailProperties.getUsername());
+        mailSender.setPassword(mailProperties.getPassword());
+        mailSender.setProtocol(mailProperties.getProtocol());
+        if (mailProperties.getDefaultEncoding() != null) {
+            mailSender.setDefaultEncoding(mailProperties.getDefaultEncoding().name());
+        }
+        if (!mailProperties.getProperties().isEmpty()) {
+            Properties properties = new Properties();
+            properties.putAll(mailProperties.getProperties());
+            mailSender.setJavaMailProperties(properties);
+        }
+        return mailSender;
+    }
+}
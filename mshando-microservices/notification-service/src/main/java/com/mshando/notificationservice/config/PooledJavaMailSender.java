@@ -0,0 +1,279 @@
+package com.mshando.notificationservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JavaMailSender that keeps a pool of connected, authenticated SMTP transports.
+ *
+ * JavaMailSenderImpl connects, authenticates and disconnects for every send
+ * call. Here a transport is borrowed from the pool, used for as many
+ * messages as the call carries and returned, so the TCP, TLS and AUTH
+ * handshakes are paid once per connection instead of once per email.
+ * Connections are closed after a send error, after a configured number of
+ * messages and when they have been idle too long; connections idle for a
+ * shorter while are checked with NOOP before reuse.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Slf4j
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+    private final BlockingDeque<PooledTransport> idleTransports = new LinkedBlockingDeque<>();
+    private final Semaphore connectionPermits;
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final int maxMessagesPerConnection;
+    private final long maxIdleMs;
+    private final long validateAfterIdleMs;
+    private final long borrowTimeoutMs;
+    private volatile boolean closed;
+
+    private final Timer borrowTimer;
+    private final Counter connectionsOpened;
+    private final Counter connectionsRecycled;
+    private final Counter connectionsFailed;
+    private final Counter connectionsExpired;
+    private final Counter messagesSent;
+    private final Counter messagesFailed;
+
+    public PooledJavaMailSender(int maxConnections, int maxMessagesPerConnection, long maxIdleMs,
+                                long validateAfterIdleMs, long borrowTimeoutMs, MeterRegistry meterRegistry) {
+        this.connectionPermits = new Semaphore(maxConnections, true);
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.maxIdleMs = maxIdleMs;
+        this.validateAfterIdleMs = validateAfterIdleMs;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+
+        Gauge.builder("notification.smtp.connections", openConnections, AtomicInteger::get)
+                .tag("state", "open").register(meterRegistry);
+        Gauge.builder("notification.smtp.connections", idleTransports, BlockingDeque::size)
+                .tag("state", "idle").register(meterRegistry);
+        Gauge.builder("notification.smtp.connections.max", () -> maxConnections).register(meterRegistry);
+        this.borrowTimer = Timer.builder("notification.smtp.borrow")
+                .description("Time waiting for a pooled SMTP connection")
+                .register(meterRegistry);
+        this.connectionsOpened = meterRegistry.counter("notification.smtp.connections.opened");
+        this.connectionsRecycled = meterRegistry.counter("notification.smtp.connections.closed", "reason", "recycled");
+        this.connectionsFailed = meterRegistry.counter("notification.smtp.connections.closed", "reason", "error");
+        this.connectionsExpired = meterRegistry.counter("notification.smtp.connections.closed", "reason", "expired");
+        this.messagesSent = meterRegistry.counter("notification.smtp.messages", "outcome", "sent");
+        this.messagesFailed = meterRegistry.counter("notification.smtp.messages", "outcome", "failed");
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        PooledTransport transport = null;
+
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                MimeMessage mimeMessage = mimeMessages[i];
+                Object original = originalMessages != null ? originalMessages[i] : mimeMessage;
+
+                if (transport == null) {
+                    try {
+                        transport = borrow();
+                    } catch (AuthenticationFailedException ex) {
+                        throw new MailAuthenticationException(ex);
+                    } catch (Exception ex) {
+                        // Without a connection none of the remaining messages can be sent
+                        for (int j = i; j < mimeMessages.length; j++) {
+                            failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], ex);
+                        }
+                        messagesFailed.increment(mimeMessages.length - i);
+                        throw new MailSendException("Mail server connection failed", ex, failedMessages);
+                    }
+                }
+
+                try {
+                    prepare(mimeMessage);
+                    Address[] addresses = mimeMessage.getAllRecipients();
+                    transport.transport().sendMessage(mimeMessage, addresses != null ? addresses : new Address[0]);
+                    transport.messagesSent++;
+                    messagesSent.increment();
+                } catch (Exception ex) {
+                    failedMessages.put(original, ex);
+                    messagesFailed.increment();
+                    // The connection state is unknown after an error, so it is not reused
+                    close(transport, connectionsFailed);
+                    transport = null;
+                    continue;
+                }
+
+                if (transport.messagesSent >= maxMessagesPerConnection) {
+                    close(transport, connectionsRecycled);
+                    transport = null;
+                }
+            }
+        } finally {
+            if (transport != null) {
+                release(transport);
+            }
+        }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    /**
+     * Number of open connections, idle or in use
+     */
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    /**
+     * Close all idle connections; connections in use are closed when returned
+     */
+    @Override
+    public void destroy() {
+        closed = true;
+        closeIdle();
+    }
+
+    /**
+     * Take the most recently used idle connection, or open one if the pool has room
+     */
+    private PooledTransport borrow() throws MessagingException, InterruptedException {
+        long start = System.nanoTime();
+        try {
+            PooledTransport transport;
+            while ((transport = idleTransports.pollFirst()) != null) {
+                if (isReusable(transport)) {
+                    return transport;
+                }
+                close(transport, connectionsExpired);
+            }
+
+            if (connectionPermits.tryAcquire()) {
+                return open();
+            }
+
+            // Pool exhausted: wait for a connection to come back or for a slot to open
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMs);
+            while (System.nanoTime() < deadline) {
+                transport = idleTransports.pollFirst(10, TimeUnit.MILLISECONDS);
+                if (transport != null) {
+                    if (isReusable(transport)) {
+                        return transport;
+                    }
+                    close(transport, connectionsExpired);
+                }
+                if (connectionPermits.tryAcquire()) {
+                    return open();
+                }
+            }
+            throw new MessagingException("Timed out after " + borrowTimeoutMs + " ms waiting for an SMTP connection");
+        } finally {
+            borrowTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private PooledTransport open() throws MessagingException {
+        try {
+            Transport transport = connectTransport();
+            openConnections.incrementAndGet();
+            connectionsOpened.increment();
+            log.debug("Opened SMTP connection to {}:{}", getHost(), getPort());
+            return new PooledTransport(transport);
+        } catch (MessagingException | RuntimeException ex) {
+            connectionPermits.release();
+            throw ex;
+        }
+    }
+
+    private void release(PooledTransport transport) {
+        if (closed) {
+            close(transport, connectionsExpired);
+            return;
+        }
+        transport.lastUsedAt = System.currentTimeMillis();
+        idleTransports.offerFirst(transport);
+        if (closed) {
+            // destroy() ran between the check and the offer and may have missed this connection
+            closeIdle();
+        }
+    }
+
+    private void closeIdle() {
+        PooledTransport transport;
+        while ((transport = idleTransports.pollFirst()) != null) {
+            close(transport, connectionsExpired);
+        }
+    }
+
+    private boolean isReusable(PooledTransport transport) {
+        long idleMs = System.currentTimeMillis() - transport.lastUsedAt;
+        if (idleMs > maxIdleMs) {
+            return false;
+        }
+        // SMTP isConnected() sends a NOOP, so only pay for it after a pause
+        return idleMs < validateAfterIdleMs || transport.transport().isConnected();
+    }
+
+    private void close(PooledTransport transport, Counter reason) {
+        try {
+            transport.transport().close();
+        } catch (MessagingException ex) {
+            log.debug("Failed to close SMTP connection cleanly: {}", ex.getMessage());
+        } finally {
+            openConnections.decrementAndGet();
+            connectionPermits.release();
+            reason.increment();
+        }
+    }
+
+    /**
+     * Same header handling JavaMailSenderImpl applies before sending
+     */
+    private static void prepare(MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            // Preserve explicitly specified message id
+            mimeMessage.setHeader("Message-ID", messageId);
+        }
+    }
+
+    private static final class PooledTransport {
+
+        private final Transport transport;
+        private int messagesSent;
+        private long lastUsedAt = System.currentTimeMillis();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        private Transport transport() {
+            return transport;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.mshando.notificationservice.config;
+
+import org.thymeleaf.IEngineConfiguration;
+import org.thymeleaf.cache.AlwaysValidCacheEntryValidity;
+import org.thymeleaf.cache.ICacheEntryValidity;
+import org.thymeleaf.exceptions.TemplateInputException;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.AbstractTemplateResolver;
+import org.thymeleaf.templateresource.ITemplateResource;
+import org.thymeleaf.templateresource.StringTemplateResource;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thymeleaf resolver for notification templates stored in the database.
+ *
+ * Templates are registered under a name that includes their ID and version,
+ * so the engine can cache the parsed template indefinitely: an edited
+ * template gets a new version and therefore a new name, and the old parse
+ * is dropped once its source is released. A source is counted per holder,
+ * the template cache and each render in progress, so evicting a template
+ * does not pull its source from under a render that is still resolving it.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public class StoredTemplateResolver extends AbstractTemplateResolver {
+
+    public static final String NAME_PREFIX = "stored:";
+
+    private final Map<String, Source> sources = new ConcurrentHashMap<>();
+
+    public StoredTemplateResolver() {
+        setName("StoredTemplateResolver");
+        setResolvablePatterns(Set.of(NAME_PREFIX + "*"));
+    }
+
+    /**
+     * Template name for a stored template version
+     */
+    public static String templateName(Long templateId, long version) {
+        return NAME_PREFIX + templateId + "@v" + version;
+    }
+
+    /**
+     * Make template content resolvable under the given name until this holder releases it
+     */
+    public void acquire(String templateName, String content) {
+        sources.compute(templateName, (name, source) -> source != null && source.content() == content
+                ? new Source(content, source.holders() + 1)
+                : new Source(content, 1));
+    }
+
+    /**
+     * Release one holder of template content, removing it with the last holder unless the
+     * name has since been acquired with other content
+     *
+     * @return whether the name is no longer resolvable
+     */
+    public boolean release(String templateName, String content) {
+        return sources.computeIfPresent(templateName, (name, source) -> source.content() != content
+                ? source
+                : source.holders() > 1 ? new Source(content, source.holders() - 1) : null) == null;
+    }
+
+    @Override
+    protected ITemplateResource computeTemplateResource(IEngineConfiguration configuration, String ownerTemplate,
+                                                        String template, Map<String, Object> templateResolutionAttributes) {
+        Source source = sources.get(template);
+        if (source == null) {
+            // Falling through to the string resolver would render the name itself
+            throw new TemplateInputException("Stored template is not registered: " + template);
+        }
+        return new StringTemplateResource(source.content());
+    }
+
+    @Override
+    protected TemplateMode computeTemplateMode(IEngineConfiguration configuration, String ownerTemplate,
+                                               String template, Map<String, Object> templateResolutionAttributes) {
+        return TemplateMode.HTML;
+    }
+
+    @Override
+    protected ICacheEntryValidity computeValidity(IEngineConfiguration configuration, String ownerTemplate,
+                                                  String template, Map<String, Object> templateResolutionAttributes) {
+        return AlwaysValidCacheEntryValidity.INSTANCE;
+    }
+
+    private record Source(String content, int holders) {
+    }
+}
@@ -1,30 +1,46 @@
 package com.mshando.notificationservice.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.cache.StandardCacheManager;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 import org.thymeleaf.templatemode.TemplateMode;
 import org.thymeleaf.templateresolver.StringTemplateResolver;
 
 /**
  * Configuration for Thymeleaf template processing.
- * 
+ *
  * @author Mshando Team
  * @version 1.0.0
  */
 @Configuration
 public class TemplateConfig {
 
+    @Value("${notification.templates.cache.max-size:500}")
+    private int templateCacheMaxSize;
+
+    /**
+     * Resolver for templates stored in the database, parsed once per version
+     */
+    @Bean
+    public StoredTemplateResolver storedTemplateResolver() {
+        StoredTemplateResolver templateResolver = new StoredTemplateResolver();
+        templateResolver.setOrder(1);
+        return templateResolver;
+    }
+
     /**
-     * String template resolver for processing templates from database
+     * String template resolver for processing inline templates
      */
     @Bean
     public StringTemplateResolver stringTemplateResolver() {
         StringTemplateResolver templateResolver = new StringTemplateResolver();
         templateResolver.setTemplateMode(TemplateMode.HTML);
-        templateResolver.setCacheable(false); // Disable caching for dynamic templates
+        templateResolver.setCacheable(false); // Inline content is arbitrary, so it is never cached
+        templateResolver.setOrder(2);
         return templateResolver;
     }
 
@@ -34,7 +50,12 @@ public class TemplateConfig {
     @Bean
     @Primary
     public TemplateEngine notificationTemplateEngine() {
+        StandardCacheManager cacheManager = new StandardCacheManager();
+        cacheManager.setTemplateCacheMaxSize(templateCacheMaxSize);
+
         SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setCacheManager(cacheManager);
+        templateEngine.addTemplateResolver(storedTemplateResolver());
         templateEngine.addTemplateResolver(stringTemplateResolver());
         return templateEngine;
     }
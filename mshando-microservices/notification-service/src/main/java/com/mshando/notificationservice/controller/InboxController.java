@@ -0,0 +1,112 @@
+package com.mshando.notificationservice.controller;
+
+import com.mshando.notificationservice.dto.InboxPageDTO;
+import com.mshando.notificationservice.service.InboxService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for recipients' in-app inboxes.
+ *
+ * Internal API: the recipient ID in the path is trusted and not checked
+ * against the caller. It must only be reachable through the API gateway,
+ * which has to route a user's requests to their own recipient ID.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/notifications/inbox")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Inbox", description = "In-app notification inbox API")
+public class InboxController {
+
+    private final InboxService inboxService;
+
+    /**
+     * Get a page of a recipient's inbox
+     */
+    @GetMapping("/{recipientId}")
+    @Operation(summary = "Get inbox", description = "Get a recipient's in-app notifications, newest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Inbox page retrieved")
+    })
+    public ResponseEntity<InboxPageDTO> getInbox(
+            @Parameter(description = "Recipient ID") @PathVariable Long recipientId,
+            @Parameter(description = "Return items older than this item ID; use nextBefore of the previous page")
+            @RequestParam(required = false) Long before,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size) {
+
+        return ResponseEntity.ok(inboxService.getInbox(recipientId, before, size));
+    }
+
+    /**
+     * Get a recipient's unread count
+     */
+    @GetMapping("/{recipientId}/unread-count")
+    @Operation(summary = "Get unread count", description = "Get the number of unread items in a recipient's inbox")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Unread count retrieved")
+    })
+    public ResponseEntity<Map<String, Long>> getUnreadCount(
+            @Parameter(description = "Recipient ID") @PathVariable Long recipientId) {
+
+        return ResponseEntity.ok(Map.of("unreadCount", inboxService.getUnreadCount(recipientId)));
+    }
+
+    /**
+     * Mark inbox items as read
+     */
+    @PostMapping("/{recipientId}/read")
+    @Operation(summary = "Mark items read", description = "Mark the given inbox items of a recipient as read")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Items marked as read")
+    })
+    public ResponseEntity<Void> markRead(
+            @Parameter(description = "Recipient ID") @PathVariable Long recipientId,
+            @RequestBody List<Long> itemIds) {
+
+        inboxService.markRead(recipientId, itemIds);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Mark a recipient's whole inbox as read
+     */
+    @PostMapping("/{recipientId}/read-all")
+    @Operation(summary = "Mark all read", description = "Mark every item in a recipient's inbox as read")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Inbox marked as read")
+    })
+    public ResponseEntity<Void> markAllRead(
+            @Parameter(description = "Recipient ID") @PathVariable Long recipientId) {
+
+        inboxService.markAllRead(recipientId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Stream inbox changes
+     */
+    @GetMapping(value = "/{recipientId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream inbox",
+               description = "Server-sent events: 'notification' for each new item and 'unread' whenever the unread count changes")
+    public SseEmitter streamInbox(
+            @Parameter(description = "Recipient ID") @PathVariable Long recipientId) {
+
+        return inboxService.subscribe(recipientId);
+    }
+}
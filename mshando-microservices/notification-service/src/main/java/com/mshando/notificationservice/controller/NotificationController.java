@@ -1,10 +1,13 @@
 package com.mshando.notificationservice.controller;
 
 import com.mshando.notificationservice.dto.EmailNotificationDTO;
+import com.mshando.notificationservice.dto.InAppNotificationDTO;
+import com.mshando.notificationservice.dto.InboxItemDTO;
 import com.mshando.notificationservice.dto.NotificationResponseDTO;
 import com.mshando.notificationservice.dto.SmsNotificationDTO;
 import com.mshando.notificationservice.model.NotificationStatus;
 import com.mshando.notificationservice.model.NotificationType;
+import com.mshando.notificationservice.service.InboxService;
 import com.mshando.notificationservice.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,8 +24,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.concurrent.CompletableFuture;
-
 /**
  * REST Controller for notification management.
  * 
@@ -37,6 +38,7 @@ import java.util.concurrent.CompletableFuture;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final InboxService inboxService;
 
     /**
      * Send email notification
@@ -48,14 +50,18 @@ public class NotificationController {
             @ApiResponse(responseCode = "400", description = "Invalid request data"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<CompletableFuture<NotificationResponseDTO>> sendEmailNotification(
+    public ResponseEntity<NotificationResponseDTO> sendEmailNotification(
             @Valid @RequestBody EmailNotificationDTO emailDto) {
         
         log.info("Received email notification request for: {}", emailDto.getRecipientEmail());
         
-        CompletableFuture<NotificationResponseDTO> response = notificationService.sendEmailNotification(emailDto);
-        
-        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        try {
+            NotificationResponseDTO response = notificationService.sendEmailNotification(emailDto);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.error("Invalid email notification request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -68,14 +74,42 @@ public class NotificationController {
             @ApiResponse(responseCode = "400", description = "Invalid request data"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<CompletableFuture<NotificationResponseDTO>> sendSmsNotification(
+    public ResponseEntity<NotificationResponseDTO> sendSmsNotification(
             @Valid @RequestBody SmsNotificationDTO smsDto) {
         
         log.info("Received SMS notification request for: {}", smsDto.getRecipientPhoneNumber());
         
-        CompletableFuture<NotificationResponseDTO> response = notificationService.sendSmsNotification(smsDto);
-        
-        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        try {
+            NotificationResponseDTO response = notificationService.sendSmsNotification(smsDto);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.error("Invalid SMS notification request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Send in-app notification
+     */
+    @PostMapping("/in-app")
+    @Operation(summary = "Send in-app notification", description = "Deliver a notification to a recipient's in-app inbox")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "In-app notification delivered"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<InboxItemDTO> sendInAppNotification(
+            @Valid @RequestBody InAppNotificationDTO inAppDto) {
+
+        log.info("Received in-app notification request for recipient: {}", inAppDto.getRecipientId());
+
+        try {
+            InboxItemDTO response = inboxService.deliver(inAppDto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.error("Invalid in-app notification request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -175,13 +209,13 @@ public class NotificationController {
             @ApiResponse(responseCode = "400", description = "Cannot retry notification"),
             @ApiResponse(responseCode = "404", description = "Notification not found")
     })
-    public ResponseEntity<CompletableFuture<NotificationResponseDTO>> retryNotification(
+    public ResponseEntity<NotificationResponseDTO> retryNotification(
             @Parameter(description = "Notification ID") @PathVariable Long id) {
         
         log.info("Retrying notification with ID: {}", id);
         
         try {
-            CompletableFuture<NotificationResponseDTO> response = notificationService.retryNotification(id);
+            NotificationResponseDTO response = notificationService.retryNotification(id);
             return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
         } catch (IllegalArgumentException e) {
             log.error("Notification not found for retry: {}", id);
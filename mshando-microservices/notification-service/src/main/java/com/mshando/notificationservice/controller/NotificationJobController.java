@@ -0,0 +1,81 @@
+package com.mshando.notificationservice.controller;
+
+import com.mshando.notificationservice.dto.BulkNotificationDTO;
+import com.mshando.notificationservice.dto.NotificationJobDTO;
+import com.mshando.notificationservice.service.BulkNotificationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * REST Controller for bulk notification jobs.
+ * 
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/notifications/jobs")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Notification Jobs", description = "Bulk notification fan-out API")
+public class NotificationJobController {
+
+    private final BulkNotificationService bulkNotificationService;
+
+    /**
+     * Start a bulk notification job
+     */
+    @PostMapping
+    @Operation(summary = "Start bulk notification job",
+               description = "Send one template to a recipient list or a user segment; progress is tracked in the returned job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job accepted for processing"),
+            @ApiResponse(responseCode = "400", description = "Invalid request, or template missing or inactive"),
+            @ApiResponse(responseCode = "503", description = "Too many bulk jobs in progress")
+    })
+    public ResponseEntity<NotificationJobDTO> createJob(@Valid @RequestBody BulkNotificationDTO bulkDto) {
+        
+        log.info("Received bulk {} notification request for template: {}", bulkDto.getType(), bulkDto.getTemplateId());
+        
+        try {
+            NotificationJobDTO job = bulkNotificationService.createJob(bulkDto);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/notifications/jobs/" + job.getId()))
+                    .body(job);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.error("Invalid bulk notification request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (TaskRejectedException e) {
+            log.warn("Rejected bulk notification request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /**
+     * Get bulk notification job progress
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Get bulk notification job", description = "Retrieve the status and progress counters of a bulk job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job found"),
+            @ApiResponse(responseCode = "404", description = "Job not found")
+    })
+    public ResponseEntity<NotificationJobDTO> getJob(
+            @Parameter(description = "Job ID") @PathVariable Long id) {
+        
+        return bulkNotificationService.getJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
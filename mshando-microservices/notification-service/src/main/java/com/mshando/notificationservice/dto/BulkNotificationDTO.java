@@ -0,0 +1,56 @@
+package com.mshando.notificationservice.dto;
+
+import com.mshando.notificationservice.model.NotificationPriority;
+import com.mshando.notificationservice.model.NotificationType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for fanning one template out to many recipients.
+ * 
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkNotificationDTO {
+
+    @NotNull(message = "Notification type is required")
+    private NotificationType type;
+
+    @NotNull(message = "Template ID is required")
+    private Long templateId;
+
+    /**
+     * Parameters shared by all recipients
+     */
+    private Map<String, String> templateParameters;
+
+    @Valid
+    private List<BulkRecipientDTO> recipients;
+
+    private RecipientSegmentDTO segment;
+
+    @Builder.Default
+    private NotificationPriority priority = NotificationPriority.LOW;
+
+    private String referenceType;
+
+    private String referenceId;
+
+    @AssertTrue(message = "Exactly one of recipients or segment is required")
+    private boolean isRecipientSourceValid() {
+        boolean hasRecipients = recipients != null && !recipients.isEmpty();
+        return hasRecipients != (segment != null);
+    }
+}
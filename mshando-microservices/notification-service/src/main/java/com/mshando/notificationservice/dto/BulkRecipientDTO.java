@@ -0,0 +1,34 @@
+package com.mshando.notificationservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO for one recipient of a bulk notification.
+ * 
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRecipientDTO {
+
+    @NotNull(message = "Recipient ID is required")
+    private Long recipientId;
+
+    private String email;
+
+    private String phoneNumber;
+
+    /**
+     * Per-recipient template parameters, overriding the job's common parameters
+     */
+    private Map<String, String> parameters;
+}
@@ -0,0 +1,46 @@
+package com.mshando.notificationservice.dto;
+
+import com.mshando.notificationservice.model.NotificationPriority;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO for creating in-app notifications.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InAppNotificationDTO {
+
+    @NotNull(message = "Recipient ID is required")
+    private Long recipientId;
+
+    @NotBlank(message = "Title is required")
+    @Size(max = 200, message = "Title must not exceed 200 characters")
+    private String title;
+
+    @NotBlank(message = "Content is required")
+    private String content;
+
+    private Long templateId;
+
+    private Map<String, String> templateParameters;
+
+    @Builder.Default
+    private NotificationPriority priority = NotificationPriority.NORMAL;
+
+    private String referenceType;
+
+    private String referenceId;
+}
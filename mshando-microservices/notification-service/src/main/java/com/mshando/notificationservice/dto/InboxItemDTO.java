@@ -0,0 +1,32 @@
+package com.mshando.notificationservice.dto;
+
+import com.mshando.notificationservice.model.NotificationPriority;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for an in-app inbox item.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InboxItemDTO {
+
+    private Long id;
+    private Long notificationId;
+    private String title;
+    private String preview;
+    private NotificationPriority priority;
+    private String referenceType;
+    private String referenceId;
+    private boolean read;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,30 @@
+package com.mshando.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of a user's inbox, newest first.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InboxPageDTO {
+
+    private List<InboxItemDTO> items;
+
+    /**
+     * Value for the before parameter of the next page; null on the last page
+     */
+    private Long nextBefore;
+
+    private long unreadCount;
+}
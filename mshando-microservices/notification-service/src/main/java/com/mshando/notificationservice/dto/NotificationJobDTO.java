@@ -0,0 +1,43 @@
+package com.mshando.notificationservice.dto;
+
+import com.mshando.notificationservice.model.NotificationJobStatus;
+import com.mshando.notificationservice.model.NotificationPriority;
+import com.mshando.notificationservice.model.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for bulk notification job progress.
+ * 
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationJobDTO {
+
+    private Long id;
+    private NotificationType type;
+    private Long templateId;
+    private NotificationPriority priority;
+    private NotificationJobStatus status;
+    private String segment;
+    private long totalRecipients;
+    private long queuedCount;
+    private long sentCount;
+    private long failedCount;
+    private long skippedCount;
+    private String errorMessage;
+    private String referenceType;
+    private String referenceId;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,38 @@
+package com.mshando.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO selecting bulk notification recipients from the user service.
+ * 
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipientSegmentDTO {
+
+    /**
+     * User role to include, e.g. TASKER or CUSTOMER; all roles when empty
+     */
+    private String role;
+
+    /**
+     * Username or email search term passed to the user service
+     */
+    private String query;
+
+    @Builder.Default
+    private boolean activeOnly = true;
+
+    @Override
+    public String toString() {
+        return "role=" + (role != null ? role : "*") + ", query=" + (query != null ? query : "*")
+                + (activeOnly ? ", active" : "");
+    }
+}
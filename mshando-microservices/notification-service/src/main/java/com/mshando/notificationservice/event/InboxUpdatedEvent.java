@@ -0,0 +1,29 @@
+package com.mshando.notificationservice.event;
+
+import com.mshando.notificationservice.dto.InboxItemDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Application event raised when a user's inbox changes.
+ *
+ * Pushed to the user's open streams once the change is committed.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InboxUpdatedEvent {
+
+    private Long recipientId;
+
+    /**
+     * New inbox item, or null when items were marked as read or deleted
+     */
+    private InboxItemDTO item;
+
+    private long unreadDelta;
+}
@@ -0,0 +1,23 @@
+package com.mshando.notificationservice.event;
+
+import com.mshando.notificationservice.model.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Application event raised when notifications become ready for delivery.
+ *
+ * Used to wake the idle queue feeder as soon as the notifications are
+ * committed instead of waiting for its next poll.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationQueuedEvent {
+
+    private NotificationType type;
+}
@@ -0,0 +1,26 @@
+package com.mshando.notificationservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application event raised when a notification is scheduled for later delivery.
+ *
+ * Lets the scheduler put a notification due soon on its timing wheel right
+ * away instead of waiting for its next preload.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationScheduledEvent {
+
+    private Long notificationId;
+
+    private LocalDateTime scheduledFor;
+}
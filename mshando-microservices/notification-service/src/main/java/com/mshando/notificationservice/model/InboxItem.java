@@ -0,0 +1,73 @@
+package com.mshando.notificationservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entry in a user's in-app inbox.
+ *
+ * A compact read model of an IN_APP notification: one narrow row per
+ * item, without the template parameters, read newest first by
+ * (recipient_id, id). The full notification stays in the notifications
+ * table.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "inbox_items", indexes = {
+    @Index(name = "idx_inbox_recipient", columnList = "recipient_id, id"),
+    @Index(name = "idx_inbox_unread", columnList = "recipient_id, read_at"),
+    @Index(name = "idx_inbox_notification", columnList = "notification_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class InboxItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "recipient_id", nullable = false)
+    private Long recipientId;
+
+    @Column(name = "notification_id", nullable = false)
+    private Long notificationId;
+
+    @Column(name = "title", nullable = false, length = 200)
+    private String title;
+
+    /**
+     * Start of the notification content, for the inbox list
+     */
+    @Column(name = "preview", length = 500)
+    private String preview;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority", nullable = false)
+    @Builder.Default
+    private NotificationPriority priority = NotificationPriority.NORMAL;
+
+    @Column(name = "reference_type")
+    private String referenceType;
+
+    @Column(name = "reference_id")
+    private String referenceId;
+
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -19,7 +19,13 @@ import java.util.Map;
  * @version 1.0.0
  */
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notification_job_id", columnList = "job_id"),
+    @Index(name = "idx_notification_queue", columnList = "status, type, priority, created_at"),
+    @Index(name = "idx_notification_schedule", columnList = "status, scheduled_for"),
+    @Index(name = "idx_notification_digest", columnList = "digest_key, created_at"),
+    @Index(name = "idx_notification_created_at", columnList = "created_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -57,8 +63,7 @@ public class Notification {
     @Column(name = "subject")
     private String subject;
 
-    @Lob
-    @Column(name = "content", nullable = false)
+    @Column(name = "content", nullable = false, columnDefinition = "TEXT")
     private String content;
 
     @Column(name = "template_id")
@@ -94,12 +99,42 @@ public class Notification {
     @Column(name = "external_id")
     private String externalId;
 
+    /**
+     * Bulk job that created this notification, if any
+     */
+    @Column(name = "job_id")
+    private Long jobId;
+
     @Column(name = "reference_type")
     private String referenceType;
 
     @Column(name = "reference_id")
     private String referenceId;
 
+    /**
+     * Instance currently holding the delivery claim
+     */
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    /**
+     * Time after which the delivery claim may be taken over by another instance
+     */
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    /**
+     * Recipient, channel and reference type this notification is coalesced under
+     */
+    @Column(name = "digest_key", length = 200)
+    private String digestKey;
+
+    /**
+     * Digest notification this notification was folded into
+     */
+    @Column(name = "digest_id")
+    private Long digestId;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -133,6 +168,14 @@ public class Notification {
         this.retryCount++;
     }
 
+    /**
+     * Claim the notification for delivery until the lease expires
+     */
+    public void claim(String claimedBy, LocalDateTime leaseExpiresAt) {
+        this.claimedBy = claimedBy;
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
     /**
      * Increment retry count
      */
@@ -0,0 +1,123 @@
+package com.mshando.notificationservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity tracking a bulk notification job: one template fanned out to many recipients.
+ * 
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "notification_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class NotificationJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private NotificationType type;
+
+    @Column(name = "template_id", nullable = false)
+    private Long templateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority", nullable = false)
+    @Builder.Default
+    private NotificationPriority priority = NotificationPriority.LOW;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    private NotificationJobStatus status = NotificationJobStatus.QUEUED;
+
+    /**
+     * Recipient segment description, null when an explicit recipient list was given
+     */
+    @Column(name = "segment")
+    private String segment;
+
+    @Column(name = "total_recipients")
+    @Builder.Default
+    private long totalRecipients = 0;
+
+    @Column(name = "queued_count")
+    @Builder.Default
+    private long queuedCount = 0;
+
+    @Column(name = "sent_count")
+    @Builder.Default
+    private long sentCount = 0;
+
+    @Column(name = "failed_count")
+    @Builder.Default
+    private long failedCount = 0;
+
+    @Column(name = "skipped_count")
+    @Builder.Default
+    private long skippedCount = 0;
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    /**
+     * Job request as JSON, kept so that an interrupted job can be resumed
+     */
+    @Column(name = "request", columnDefinition = "TEXT")
+    private String request;
+
+    /**
+     * Recipients (list jobs) or user service pages (segment jobs) already queued
+     */
+    @Column(name = "resume_cursor", nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private int resumeCursor = 0;
+
+    /**
+     * Claim of the run currently processing the job
+     */
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    /**
+     * Time after which the job may be taken over and resumed by any instance
+     */
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "reference_type")
+    private String referenceType;
+
+    @Column(name = "reference_id")
+    private String referenceId;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
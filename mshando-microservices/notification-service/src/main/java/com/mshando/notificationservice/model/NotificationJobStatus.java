@@ -0,0 +1,14 @@
+package com.mshando.notificationservice.model;
+
+/**
+ * Enumeration for bulk notification job status.
+ * 
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public enum NotificationJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -13,5 +13,9 @@ public enum NotificationStatus {
     DELIVERED,
     FAILED,
     BOUNCED,
-    CANCELLED
+    CANCELLED,
+    /** Held back to be folded into a digest when its window closes */
+    HELD,
+    /** Folded into the digest notification referenced by digestId */
+    DIGESTED
 }
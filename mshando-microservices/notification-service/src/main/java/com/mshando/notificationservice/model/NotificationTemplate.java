@@ -58,6 +58,13 @@ public class NotificationTemplate {
     @Builder.Default
     private String language = "en";
 
+    /**
+     * Version for optimistic locking, also keys the compiled template
+     */
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0")
+    private Long version;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
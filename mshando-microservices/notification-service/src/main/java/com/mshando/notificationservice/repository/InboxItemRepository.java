@@ -0,0 +1,55 @@
+package com.mshando.notificationservice.repository;
+
+import com.mshando.notificationservice.model.InboxItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for InboxItem entity operations.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Repository
+public interface InboxItemRepository extends JpaRepository<InboxItem, Long> {
+
+    /**
+     * Find the newest inbox items of a recipient
+     */
+    List<InboxItem> findByRecipientIdOrderByIdDesc(Long recipientId, Pageable pageable);
+
+    /**
+     * Find the inbox items of a recipient older than the given item, newest first
+     */
+    List<InboxItem> findByRecipientIdAndIdLessThanOrderByIdDesc(Long recipientId, Long beforeId, Pageable pageable);
+
+    /**
+     * Count unread inbox items of a recipient
+     */
+    long countByRecipientIdAndReadAtIsNull(Long recipientId);
+
+    /**
+     * Mark inbox items of a recipient as read
+     */
+    @Modifying
+    @Query("UPDATE InboxItem i SET i.readAt = :now " +
+           "WHERE i.recipientId = :recipientId AND i.id IN :ids AND i.readAt IS NULL")
+    int markRead(@Param("recipientId") Long recipientId,
+                 @Param("ids") Collection<Long> ids,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * Mark all inbox items of a recipient as read
+     */
+    @Modifying
+    @Query("UPDATE InboxItem i SET i.readAt = :now WHERE i.recipientId = :recipientId AND i.readAt IS NULL")
+    int markAllRead(@Param("recipientId") Long recipientId, @Param("now") LocalDateTime now);
+}
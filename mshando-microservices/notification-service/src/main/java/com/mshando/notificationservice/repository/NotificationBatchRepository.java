@@ -0,0 +1,385 @@
+package com.mshando.notificationservice.repository;
+
+import com.mshando.notificationservice.model.Notification;
+import com.mshando.notificationservice.model.NotificationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JDBC batch operations on notifications for high-volume paths.
+ *
+ * Notifications use identity keys, which stop Hibernate from batching
+ * inserts, so bulk paths write rows here in one JDBC batch per call and
+ * read the generated IDs back from the driver.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationBatchRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO notifications (recipient_id, recipient_email, recipient_phone_number, type, status,
+                priority, subject, content, template_id, scheduled_for, retry_count, max_retries, error_message,
+                job_id, reference_type, reference_id, claimed_by, lease_expires_at, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_OUTCOME_SQL = """
+            UPDATE notifications SET status = ?, sent_at = ?, external_id = ?, error_message = ?,
+                retry_count = retry_count + ?, claimed_by = NULL, lease_expires_at = NULL, updated_at = ?
+            WHERE id = ? AND claimed_by = ?
+            """;
+
+    private static final String RELEASE_CLAIM_SQL = """
+            UPDATE notifications SET claimed_by = NULL, lease_expires_at = NULL WHERE id = ? AND claimed_by = ?
+            """;
+
+    private static final String SCHEDULED_BEFORE_SQL = """
+            SELECT id, scheduled_for FROM notifications
+            WHERE status = 'SCHEDULED' AND scheduled_for < ?
+            ORDER BY scheduled_for
+            LIMIT ?
+            """;
+
+    private static final String RELEASE_SCHEDULED_SQL = """
+            UPDATE notifications SET status = 'PENDING', updated_at = ?
+            WHERE id = ? AND status = 'SCHEDULED' AND scheduled_for <= ?
+            """;
+
+    private static final String OUTSTANDING_SMS_SQL = """
+            SELECT id, external_id FROM notifications
+            WHERE status = 'SENT' AND type = 'SMS' AND external_id IS NOT NULL
+                AND sent_at >= ? AND sent_at < ? AND id > ?
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String UPDATE_DELIVERY_STATUS_SQL = """
+            UPDATE notifications SET status = ?, delivered_at = ?, error_message = ?,
+                retry_count = retry_count + ?, updated_at = ?
+            WHERE id = ? AND status = 'SENT'
+            """;
+
+    private static final String LAST_CREATED_BEFORE_SQL = """
+            SELECT MAX(id) FROM notifications WHERE created_at < ?
+            """;
+
+    private static final String DELETE_PARAMETERS_SQL = "DELETE FROM notification_parameters WHERE notification_id IN (%s)";
+
+    private static final String LOCK_UNREAD_INBOX_ITEMS_SQL = """
+            SELECT recipient_id FROM inbox_items WHERE notification_id IN (%s) AND read_at IS NULL FOR UPDATE
+            """;
+
+    private static final String DELETE_INBOX_ITEMS_SQL = "DELETE FROM inbox_items WHERE notification_id IN (%s)";
+
+    private static final String DELETE_NOTIFICATIONS_SQL = "DELETE FROM notifications WHERE id IN (%s)";
+
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private static final int SCHEDULED_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert notifications in one batch, setting their generated IDs
+     */
+    public List<Notification> insertAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return notifications;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        return jdbcTemplate.execute((ConnectionCallback<List<Notification>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, new String[] {"id"})) {
+                for (Notification notification : notifications) {
+                    statement.setLong(1, notification.getRecipientId());
+                    statement.setString(2, notification.getRecipientEmail());
+                    statement.setString(3, notification.getRecipientPhoneNumber());
+                    statement.setString(4, notification.getType().name());
+                    statement.setString(5, notification.getStatus().name());
+                    statement.setString(6, notification.getPriority().name());
+                    statement.setString(7, notification.getSubject());
+                    statement.setString(8, notification.getContent());
+                    setNullableLong(statement, 9, notification.getTemplateId());
+                    statement.setTimestamp(10, notification.getScheduledFor() != null
+                            ? Timestamp.valueOf(notification.getScheduledFor()) : null);
+                    statement.setInt(11, notification.getRetryCount());
+                    statement.setInt(12, notification.getMaxRetries());
+                    statement.setString(13, notification.getErrorMessage());
+                    setNullableLong(statement, 14, notification.getJobId());
+                    statement.setString(15, notification.getReferenceType());
+                    statement.setString(16, notification.getReferenceId());
+                    statement.setString(17, notification.getClaimedBy());
+                    statement.setTimestamp(18, notification.getLeaseExpiresAt() != null
+                            ? Timestamp.valueOf(notification.getLeaseExpiresAt()) : null);
+                    statement.setTimestamp(19, now);
+                    statement.setTimestamp(20, now);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    int index = 0;
+                    while (keys.next()) {
+                        notifications.get(index++).setId(keys.getLong(1));
+                    }
+                }
+            }
+            return notifications;
+        });
+    }
+
+    /**
+     * Record send outcomes in one batch, releasing the delivery claims.
+     * Rows whose claim has lapsed and been taken over by another owner are
+     * left alone, since that owner sends them again and records its own outcome.
+     *
+     * @param claimedBy owner of the claims the outcomes were sent under
+     * @return number of outcomes recorded
+     */
+    public int updateOutcomes(List<DeliveryOutcome> outcomes, String claimedBy) {
+        if (outcomes.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_OUTCOME_SQL, outcomes, outcomes.size(), (statement, outcome) -> {
+            boolean failed = outcome.status() == NotificationStatus.FAILED;
+            statement.setString(1, outcome.status().name());
+            statement.setTimestamp(2, failed ? null : now);
+            statement.setString(3, outcome.externalId());
+            statement.setString(4, outcome.errorMessage());
+            statement.setInt(5, failed ? 1 : 0);
+            statement.setTimestamp(6, now);
+            statement.setLong(7, outcome.notificationId());
+            statement.setString(8, claimedBy);
+        });
+        return countUpdated(counts);
+    }
+
+    /**
+     * Drop delivery claims so the notifications can be claimed again right away
+     *
+     * @param claimedBy owner of the claims; claims taken over since are kept
+     */
+    public void releaseClaims(List<Long> notificationIds, String claimedBy) {
+        if (notificationIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(RELEASE_CLAIM_SQL, notificationIds, notificationIds.size(), (statement, notificationId) -> {
+            statement.setLong(1, notificationId);
+            statement.setString(2, claimedBy);
+        });
+    }
+
+    /**
+     * Stream the IDs and due times of scheduled notifications due before the horizon, earliest first.
+     *
+     * Rows are read with a fetch size rather than loaded into a list; PostgreSQL only streams them
+     * inside a transaction, so call this within one.
+     */
+    public void forEachScheduledBefore(LocalDateTime horizon, int limit, ScheduledRowHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SCHEDULED_BEFORE_SQL);
+            statement.setFetchSize(SCHEDULED_FETCH_SIZE);
+            statement.setTimestamp(1, Timestamp.valueOf(horizon));
+            statement.setInt(2, limit);
+            return statement;
+        }, (RowCallbackHandler) rs -> handler.accept(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime()));
+    }
+
+    /**
+     * Move scheduled notifications that are due into the delivery queue.
+     *
+     * A row is only moved while it is still SCHEDULED and due, so when several
+     * instances release the same row exactly one of them succeeds.
+     *
+     * @return IDs of the notifications this call moved
+     */
+    public List<Long> releaseScheduled(List<Long> notificationIds, LocalDateTime now) {
+        if (notificationIds.isEmpty()) {
+            return List.of();
+        }
+        Timestamp timestamp = Timestamp.valueOf(now);
+
+        int[][] counts = jdbcTemplate.batchUpdate(RELEASE_SCHEDULED_SQL, notificationIds, notificationIds.size(),
+                (statement, notificationId) -> {
+                    statement.setTimestamp(1, timestamp);
+                    statement.setLong(2, notificationId);
+                    statement.setTimestamp(3, timestamp);
+                });
+
+        List<Long> released = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // SUCCESS_NO_INFO (-2) means the driver did not report a count; assume the row moved
+                if (count != 0) {
+                    released.add(notificationIds.get(index));
+                }
+                index++;
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Find sent SMS awaiting a delivery report, in ID order after the given ID
+     */
+    public List<OutstandingSms> findOutstandingSms(long afterId, LocalDateTime sentAfter, LocalDateTime sentBefore,
+                                                   int limit) {
+        return jdbcTemplate.query(OUTSTANDING_SMS_SQL,
+                (rs, rowNum) -> new OutstandingSms(rs.getLong(1), rs.getString(2)),
+                Timestamp.valueOf(sentAfter), Timestamp.valueOf(sentBefore), afterId, limit);
+    }
+
+    /**
+     * Record provider delivery reports in one batch.
+     *
+     * A row is only updated while it is still SENT, so a report applied twice,
+     * or by two instances, changes it once.
+     *
+     * @return number of notifications updated
+     */
+    public int updateDeliveryStatuses(List<DeliveryOutcome> outcomes) {
+        if (outcomes.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_DELIVERY_STATUS_SQL, outcomes, outcomes.size(),
+                (statement, outcome) -> {
+                    boolean delivered = outcome.status() == NotificationStatus.DELIVERED;
+                    statement.setString(1, outcome.status().name());
+                    statement.setTimestamp(2, delivered ? now : null);
+                    statement.setString(3, outcome.errorMessage());
+                    // Only FAILED rows are retried, so only they use up a retry
+                    statement.setInt(4, outcome.status() == NotificationStatus.FAILED ? 1 : 0);
+                    statement.setTimestamp(5, now);
+                    statement.setLong(6, outcome.notificationId());
+                });
+
+        return countUpdated(counts);
+    }
+
+    /**
+     * Highest ID of the notifications created before the cutoff, or 0 if there are none
+     */
+    public long findLastIdCreatedBefore(LocalDateTime cutoff) {
+        Long lastId = jdbcTemplate.queryForObject(LAST_CREATED_BEFORE_SQL, Long.class, Timestamp.valueOf(cutoff));
+        return lastId != null ? lastId : 0L;
+    }
+
+    /**
+     * Lock the unread inbox items of the given notifications, so they cannot be marked
+     * as read before they are deleted in the same transaction
+     *
+     * @return recipient ID of each unread item
+     */
+    public List<Long> lockUnreadInboxRecipients(List<Long> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(notificationIds.size(), "?"));
+        return jdbcTemplate.queryForList(LOCK_UNREAD_INBOX_ITEMS_SQL.formatted(placeholders), Long.class,
+                notificationIds.toArray());
+    }
+
+    /**
+     * Delete notifications, their parameters and inbox items by ID
+     *
+     * @return number of notifications deleted
+     */
+    public int deleteAll(List<Long> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(notificationIds.size(), "?"));
+        Object[] args = notificationIds.toArray();
+        jdbcTemplate.update(DELETE_PARAMETERS_SQL.formatted(placeholders), args);
+        jdbcTemplate.update(DELETE_INBOX_ITEMS_SQL.formatted(placeholders), args);
+        return jdbcTemplate.update(DELETE_NOTIFICATIONS_SQL.formatted(placeholders), args);
+    }
+
+    private static int countUpdated(int[][] counts) {
+        int updated = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // SUCCESS_NO_INFO (-2) means the driver did not report a count; assume the row changed
+                if (count != 0) {
+                    updated++;
+                }
+            }
+        }
+        return updated;
+    }
+
+    private static void setNullableLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value != null) {
+            statement.setLong(index, value);
+        } else {
+            statement.setNull(index, Types.BIGINT);
+        }
+    }
+
+    /**
+     * Receives one scheduled notification row
+     */
+    @FunctionalInterface
+    public interface ScheduledRowHandler {
+
+        void accept(long notificationId, LocalDateTime scheduledFor);
+    }
+
+    /**
+     * A sent SMS and its provider message ID
+     */
+    public record OutstandingSms(long notificationId, String externalId) {
+    }
+
+    /**
+     * Result of sending one notification, or of its delivery report
+     */
+    public record DeliveryOutcome(Long notificationId, NotificationStatus status, String externalId,
+                                  String errorMessage) {
+
+        public static DeliveryOutcome sent(Long notificationId, String externalId) {
+            return new DeliveryOutcome(notificationId, NotificationStatus.SENT, externalId, null);
+        }
+
+        public static DeliveryOutcome delivered(Long notificationId) {
+            return new DeliveryOutcome(notificationId, NotificationStatus.DELIVERED, null, null);
+        }
+
+        public static DeliveryOutcome failed(Long notificationId, String errorMessage) {
+            return new DeliveryOutcome(notificationId, NotificationStatus.FAILED, null, truncate(errorMessage));
+        }
+
+        /**
+         * Permanent delivery failure, which is not retried
+         */
+        public static DeliveryOutcome bounced(Long notificationId, String errorMessage) {
+            return new DeliveryOutcome(notificationId, NotificationStatus.BOUNCED, null, truncate(errorMessage));
+        }
+
+        private static String truncate(String errorMessage) {
+            return errorMessage != null && errorMessage.length() > MAX_ERROR_LENGTH
+                    ? errorMessage.substring(0, MAX_ERROR_LENGTH) : errorMessage;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.mshando.notificationservice.repository;
+
+import com.mshando.notificationservice.model.NotificationJob;
+import com.mshando.notificationservice.model.NotificationJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for NotificationJob entity operations.
+ * 
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Repository
+public interface NotificationJobRepository extends JpaRepository<NotificationJob, Long> {
+
+    /**
+     * Add the outcome of one chunk to a job's progress counters
+     */
+    @Modifying
+    @Query("UPDATE NotificationJob j SET j.totalRecipients = j.totalRecipients + :recipients, " +
+           "j.queuedCount = j.queuedCount + :queued, j.sentCount = j.sentCount + :sent, " +
+           "j.failedCount = j.failedCount + :failed, j.skippedCount = j.skippedCount + :skipped, " +
+           "j.updatedAt = CURRENT_TIMESTAMP WHERE j.id = :id")
+    int addProgress(@Param("id") Long id, @Param("recipients") long recipients, @Param("queued") long queued,
+                    @Param("sent") long sent, @Param("failed") long failed, @Param("skipped") long skipped);
+
+    /**
+     * Unfinished jobs whose lease has expired, i.e. whose run was interrupted
+     */
+    @Query("SELECT j.id FROM NotificationJob j WHERE j.status IN :statuses " +
+           "AND (j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now) ORDER BY j.id")
+    List<Long> findAbandonedJobIds(@Param("statuses") Collection<NotificationJobStatus> statuses,
+                                   @Param("now") LocalDateTime now);
+
+    /**
+     * Take over an abandoned job under a new claim; returns 0 if another instance got it first
+     */
+    @Modifying
+    @Query("UPDATE NotificationJob j SET j.claimedBy = :claimedBy, j.leaseExpiresAt = :leaseExpiresAt " +
+           "WHERE j.id = :id AND j.status IN :statuses " +
+           "AND (j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now)")
+    int takeOver(@Param("id") Long id, @Param("statuses") Collection<NotificationJobStatus> statuses,
+                 @Param("claimedBy") String claimedBy, @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * Record a queued chunk and renew the lease; returns 0 if the job was taken over by another claim
+     */
+    @Modifying
+    @Query("UPDATE NotificationJob j SET j.resumeCursor = :resumeCursor, j.leaseExpiresAt = :leaseExpiresAt, " +
+           "j.updatedAt = CURRENT_TIMESTAMP WHERE j.id = :id AND j.claimedBy = :claimedBy")
+    int advanceCursor(@Param("id") Long id, @Param("claimedBy") String claimedBy,
+                      @Param("resumeCursor") int resumeCursor, @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+}
@@ -1,17 +1,25 @@
 package com.mshando.notificationservice.repository;
 
 import com.mshando.notificationservice.model.Notification;
+import com.mshando.notificationservice.model.NotificationPriority;
 import com.mshando.notificationservice.model.NotificationStatus;
 import com.mshando.notificationservice.model.NotificationType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Notification entity operations.
@@ -66,6 +74,63 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("SELECT n FROM Notification n WHERE n.status = 'SCHEDULED' AND n.scheduledFor <= :now")
     List<Notification> findScheduledNotificationsDue(@Param("now") LocalDateTime now);
 
+    /**
+     * Lock the oldest due notifications of one channel and priority awaiting delivery.
+     * Rows locked by another instance are skipped (FOR UPDATE SKIP LOCKED),
+     * and claims whose lease has expired are taken over.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT n FROM Notification n WHERE n.status = 'PENDING' AND n.type = :type AND n.priority = :priority " +
+           "AND (n.scheduledFor IS NULL OR n.scheduledFor <= :now) " +
+           "AND (n.leaseExpiresAt IS NULL OR n.leaseExpiresAt < :now) " +
+           "ORDER BY n.createdAt ASC, n.id ASC")
+    List<Notification> findClaimable(@Param("type") NotificationType type,
+                                     @Param("priority") NotificationPriority priority,
+                                     @Param("now") LocalDateTime now,
+                                     Pageable pageable);
+
+    /**
+     * Put failed notifications with retries left back into the delivery queue, limited to
+     * those that have failed the given number of times and have waited since failing
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = 'PENDING', n.errorMessage = NULL, n.updatedAt = :now " +
+           "WHERE n.status = 'FAILED' AND n.retryCount < n.maxRetries " +
+           "AND n.retryCount >= :minRetryCount AND n.retryCount <= :maxRetryCount " +
+           "AND n.updatedAt <= :failedBefore")
+    int requeueFailedForRetry(@Param("now") LocalDateTime now,
+                              @Param("minRetryCount") int minRetryCount,
+                              @Param("maxRetryCount") int maxRetryCount,
+                              @Param("failedBefore") LocalDateTime failedBefore);
+
+    /**
+     * Release time of the open digest window for a digest key, if any
+     */
+    @Query("SELECT MIN(n.scheduledFor) FROM Notification n WHERE n.digestKey = :digestKey AND n.status = 'HELD'")
+    Optional<LocalDateTime> findOpenDigestReleaseTime(@Param("digestKey") String digestKey);
+
+    /**
+     * Check whether a notification was created under a digest key since the given time
+     */
+    boolean existsByDigestKeyAndCreatedAtAfter(String digestKey, LocalDateTime since);
+
+    /**
+     * Find digest keys whose window has closed
+     */
+    @Query("SELECT DISTINCT n.digestKey FROM Notification n WHERE n.status = 'HELD' AND n.scheduledFor <= :now")
+    List<String> findDueDigestKeys(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Lock the notifications held under a digest key, oldest first.
+     * Keys being flushed by another instance are skipped (FOR UPDATE SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT n FROM Notification n WHERE n.digestKey = :digestKey AND n.status = 'HELD' " +
+           "ORDER BY n.createdAt ASC, n.id ASC")
+    List<Notification> findHeldForDigest(@Param("digestKey") String digestKey);
+
     /**
      * Find notifications by reference type and ID
      */
@@ -93,8 +158,16 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByTypeAndStatus(NotificationType type, NotificationStatus status);
 
     /**
-     * Delete old notifications
+     * Lock the next IDs of notifications in the given statuses created before the cutoff, in ID order.
+     * Rows locked by another instance are skipped (FOR UPDATE SKIP LOCKED).
      */
-    @Query("DELETE FROM Notification n WHERE n.createdAt < :cutoffDate AND n.status IN ('SENT', 'DELIVERED', 'FAILED')")
-    int deleteOldNotifications(@Param("cutoffDate") LocalDateTime cutoffDate);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT n.id FROM Notification n WHERE n.id > :afterId AND n.id <= :maxId " +
+           "AND n.createdAt < :cutoff AND n.status IN :statuses ORDER BY n.id ASC")
+    List<Long> findExpiredIds(@Param("afterId") long afterId,
+                              @Param("maxId") long maxId,
+                              @Param("cutoff") LocalDateTime cutoff,
+                              @Param("statuses") Collection<NotificationStatus> statuses,
+                              Pageable pageable);
 }
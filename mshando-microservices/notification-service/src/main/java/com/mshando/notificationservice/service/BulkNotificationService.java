@@ -0,0 +1,504 @@
+package com.mshando.notificationservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mshando.notificationservice.client.UserServiceClient;
+import com.mshando.notificationservice.dto.BulkNotificationDTO;
+import com.mshando.notificationservice.dto.BulkRecipientDTO;
+import com.mshando.notificationservice.dto.NotificationJobDTO;
+import com.mshando.notificationservice.dto.RecipientSegmentDTO;
+import com.mshando.notificationservice.dto.UserPageDTO;
+import com.mshando.notificationservice.dto.UserSummaryDTO;
+import com.mshando.notificationservice.model.Notification;
+import com.mshando.notificationservice.model.NotificationJob;
+import com.mshando.notificationservice.model.NotificationJobStatus;
+import com.mshando.notificationservice.model.NotificationStatus;
+import com.mshando.notificationservice.model.NotificationType;
+import com.mshando.notificationservice.repository.NotificationBatchRepository;
+import com.mshando.notificationservice.repository.NotificationBatchRepository.DeliveryOutcome;
+import com.mshando.notificationservice.repository.NotificationJobRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Service fanning one notification template out to many recipients.
+ *
+ * A job is accepted immediately and run in the background, one chunk of
+ * recipients at a time. Each chunk is rendered in parallel from the
+ * template's single compiled entry, inserted with one JDBC batch, sent
+ * through the dispatcher at the job's priority and settled with one
+ * batched status update, after which the job's progress counters are
+ * advanced. Recipients come either from the request or from a user
+ * service segment, paged in as the job runs.
+ *
+ * The request is stored with the job, and every chunk commits its rows
+ * together with a cursor past its recipients and a renewed lease. A job
+ * whose lease runs out, e.g. because its instance stopped, is taken over
+ * by the recovery pass of any instance and resumed from the cursor.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class BulkNotificationService {
+
+    private static final Set<NotificationJobStatus> UNFINISHED =
+            EnumSet.of(NotificationJobStatus.QUEUED, NotificationJobStatus.RUNNING);
+
+    private final NotificationJobRepository jobRepository;
+    private final NotificationBatchRepository batchRepository;
+    private final TemplateService templateService;
+    private final EmailService emailService;
+    private final SmsService smsService;
+    private final NotificationDispatcher dispatcher;
+    private final UserServiceClient userServiceClient;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor jobExecutor;
+    private final ForkJoinPool renderPool;
+
+    @Value("${notification.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${notification.bulk.max-recipients:10000}")
+    private int maxRecipients;
+
+    @Value("${notification.queue.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${notification.bulk.job-lease-seconds:600}")
+    private long jobLeaseSeconds;
+
+    public BulkNotificationService(NotificationJobRepository jobRepository,
+                                   NotificationBatchRepository batchRepository,
+                                   TemplateService templateService,
+                                   EmailService emailService,
+                                   SmsService smsService,
+                                   NotificationDispatcher dispatcher,
+                                   UserServiceClient userServiceClient,
+                                   MeterRegistry meterRegistry,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${notification.bulk.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                                   @Value("${notification.bulk.render-parallelism:0}") int renderParallelism) {
+        this.jobRepository = jobRepository;
+        this.batchRepository = batchRepository;
+        this.templateService = templateService;
+        this.emailService = emailService;
+        this.smsService = smsService;
+        this.dispatcher = dispatcher;
+        this.userServiceClient = userServiceClient;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobExecutor = new ThreadPoolTaskExecutor();
+        this.jobExecutor.setCorePoolSize(maxConcurrentJobs);
+        this.jobExecutor.setMaxPoolSize(maxConcurrentJobs);
+        this.jobExecutor.setQueueCapacity(100);
+        this.jobExecutor.setThreadNamePrefix("notification-bulk-");
+        this.jobExecutor.initialize();
+        this.renderPool = new ForkJoinPool(renderParallelism > 0
+                ? renderParallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Accept a bulk notification job and start it in the background
+     */
+    public NotificationJobDTO createJob(BulkNotificationDTO bulkDto) {
+        NotificationType type = bulkDto.getType();
+        if (!dispatcher.supports(type)) {
+            throw new IllegalArgumentException("Bulk notifications support EMAIL and SMS only");
+        }
+        if (bulkDto.getRecipients() != null && bulkDto.getRecipients().size() > maxRecipients) {
+            throw new IllegalArgumentException("At most " + maxRecipients + " recipients per job; use a segment for larger audiences");
+        }
+
+        // Fail fast on a missing, inactive or broken template
+        templateService.renderTemplate(bulkDto.getTemplateId(), bulkDto.getTemplateParameters(), type);
+
+        String claim = newClaim();
+        NotificationJob job = jobRepository.save(NotificationJob.builder()
+                .type(type)
+                .templateId(bulkDto.getTemplateId())
+                .priority(bulkDto.getPriority())
+                .segment(bulkDto.getSegment() != null ? bulkDto.getSegment().toString() : null)
+                .totalRecipients(bulkDto.getRecipients() != null ? bulkDto.getRecipients().size() : 0)
+                .referenceType(bulkDto.getReferenceType())
+                .referenceId(bulkDto.getReferenceId())
+                .request(writeRequest(bulkDto))
+                .claimedBy(claim)
+                .leaseExpiresAt(LocalDateTime.now().plusSeconds(jobLeaseSeconds))
+                .build());
+
+        log.info("Accepted bulk {} job {} for template {}", type, job.getId(), bulkDto.getTemplateId());
+        Long jobId = job.getId();
+        try {
+            jobExecutor.execute(() -> runJob(jobId, claim));
+        } catch (TaskRejectedException e) {
+            updateJob(jobId, claim, rejected -> {
+                rejected.setStatus(NotificationJobStatus.FAILED);
+                rejected.setErrorMessage("Too many bulk jobs in progress");
+            });
+            throw e;
+        }
+        return mapToDTO(job);
+    }
+
+    /**
+     * Get job progress by ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<NotificationJobDTO> getJob(Long jobId) {
+        return jobRepository.findById(jobId).map(this::mapToDTO);
+    }
+
+    /**
+     * Take over and resume jobs whose run was interrupted; runs at startup and then periodically.
+     * Running jobs renew their lease with every chunk, so only jobs idle for a whole lease are taken.
+     */
+    @Scheduled(fixedDelayString = "${notification.bulk.recovery-interval-ms:60000}")
+    public int resumeAbandonedJobs() {
+        int resumed = 0;
+        for (Long jobId : jobRepository.findAbandonedJobIds(UNFINISHED, LocalDateTime.now())) {
+            String claim = newClaim();
+            Integer taken = transactionTemplate.execute(status -> jobRepository.takeOver(jobId, UNFINISHED, claim,
+                    LocalDateTime.now().plusSeconds(jobLeaseSeconds), LocalDateTime.now()));
+            if (taken == null || taken == 0) {
+                continue;
+            }
+
+            try {
+                jobExecutor.execute(() -> runJob(jobId, claim));
+                resumed++;
+            } catch (TaskRejectedException e) {
+                // The lease runs out again and a later pass picks the job up
+                log.warn("No capacity to resume bulk job {}, retrying later", jobId);
+                break;
+            }
+        }
+        if (resumed > 0) {
+            log.info("Resuming {} interrupted bulk jobs", resumed);
+        }
+        return resumed;
+    }
+
+    private void runJob(Long jobId, String claim) {
+        NotificationJob job = transactionTemplate.execute(status -> jobRepository.findById(jobId).orElse(null));
+        if (job == null || !claim.equals(job.getClaimedBy())) {
+            log.info("Bulk job {} was taken over by another run", jobId);
+            return;
+        }
+
+        BulkNotificationDTO bulkDto = readRequest(job);
+        if (bulkDto == null) {
+            updateJob(jobId, claim, failed -> {
+                failed.setStatus(NotificationJobStatus.FAILED);
+                failed.setErrorMessage("Interrupted, and the request was not stored for resuming");
+                failed.setCompletedAt(LocalDateTime.now());
+            });
+            return;
+        }
+
+        int cursor = job.getResumeCursor();
+        updateJob(jobId, claim, running -> {
+            running.setStatus(NotificationJobStatus.RUNNING);
+            if (running.getStartedAt() == null) {
+                running.setStartedAt(LocalDateTime.now());
+            }
+        });
+        if (cursor > 0) {
+            log.info("Resuming bulk job {} at cursor {}", jobId, cursor);
+        }
+
+        try {
+            if (bulkDto.getSegment() != null) {
+                forEachSegmentChunk(bulkDto.getSegment(), cursor, (page, chunk) ->
+                        processChunk(jobId, claim, bulkDto, chunk, chunk.size(), page + 1));
+            } else {
+                List<BulkRecipientDTO> recipients = bulkDto.getRecipients();
+                for (int from = cursor; from < recipients.size(); from += chunkSize) {
+                    int to = Math.min(from + chunkSize, recipients.size());
+                    processChunk(jobId, claim, bulkDto, recipients.subList(from, to), 0, to);
+                }
+            }
+
+            updateJob(jobId, claim, completed -> {
+                completed.setStatus(NotificationJobStatus.COMPLETED);
+                completed.setCompletedAt(LocalDateTime.now());
+            });
+            log.info("Bulk job {} completed", jobId);
+
+        } catch (JobTakenOverException e) {
+            log.warn("Bulk job {} was taken over by another run, stopping", jobId);
+        } catch (Exception e) {
+            log.error("Bulk job {} failed: {}", jobId, e.getMessage(), e);
+            updateJob(jobId, claim, failed -> {
+                failed.setStatus(NotificationJobStatus.FAILED);
+                failed.setErrorMessage(e.getMessage());
+                failed.setCompletedAt(LocalDateTime.now());
+            });
+        }
+    }
+
+    /**
+     * Render, insert, send and settle one chunk
+     *
+     * @param newRecipients recipients to add to the job total; list jobs know their total up front
+     * @param nextCursor cursor to resume from once this chunk is queued
+     */
+    private void processChunk(Long jobId, String claim, BulkNotificationDTO bulkDto, List<BulkRecipientDTO> chunk,
+                              long newRecipients, int nextCursor) {
+        NotificationType type = bulkDto.getType();
+        List<BulkRecipientDTO> reachable = chunk.stream()
+                .filter(recipient -> hasAddress(recipient, type))
+                .toList();
+        long skipped = chunk.size() - reachable.size();
+
+        List<Notification> notifications = renderPool.submit(() -> reachable.parallelStream()
+                        .map(recipient -> render(jobId, bulkDto, recipient))
+                        .toList())
+                .join();
+        // The rows and the cursor past them commit together, so a resumed job neither skips nor repeats recipients
+        transactionTemplate.executeWithoutResult(status -> {
+            batchRepository.insertAll(notifications);
+            if (jobRepository.advanceCursor(jobId, claim, nextCursor,
+                    LocalDateTime.now().plusSeconds(jobLeaseSeconds)) == 0) {
+                throw new JobTakenOverException();
+            }
+            jobRepository.addProgress(jobId, newRecipients, notifications.size(), 0, 0, skipped);
+        });
+
+        List<CompletableFuture<DeliveryOutcome>> deliveries = new ArrayList<>(notifications.size());
+        long renderFailures = 0;
+        for (Notification notification : notifications) {
+            if (notification.getStatus() == NotificationStatus.FAILED) {
+                renderFailures++;
+            } else {
+                // A full queue slows the job down instead of failing messages
+                deliveries.add(dispatcher.submitBlocking(type, bulkDto.getPriority(), () -> deliver(notification)));
+            }
+        }
+        List<DeliveryOutcome> outcomes = deliveries.stream().map(CompletableFuture::join).toList();
+        batchRepository.updateOutcomes(outcomes, claimOwner(jobId));
+
+        long sent = outcomes.stream().filter(outcome -> outcome.status() == NotificationStatus.SENT).count();
+        long failed = outcomes.size() - sent + renderFailures;
+        transactionTemplate.executeWithoutResult(status -> jobRepository.addProgress(jobId, 0, 0, sent, failed, 0));
+
+        meterRegistry.counter("notification.bulk.messages", "type", type.name(), "outcome", "sent").increment(sent);
+        meterRegistry.counter("notification.bulk.messages", "type", type.name(), "outcome", "failed").increment(failed);
+        meterRegistry.counter("notification.bulk.messages", "type", type.name(), "outcome", "skipped").increment(skipped);
+        log.debug("Bulk job {} chunk: {} sent, {} failed, {} skipped", jobId, sent, failed, skipped);
+    }
+
+    /**
+     * Render one recipient's notification; render errors become failed rows so they stay visible
+     */
+    private Notification render(Long jobId, BulkNotificationDTO bulkDto, BulkRecipientDTO recipient) {
+        Notification notification = Notification.builder()
+                .recipientId(recipient.getRecipientId())
+                .recipientEmail(bulkDto.getType() == NotificationType.EMAIL ? recipient.getEmail() : null)
+                .recipientPhoneNumber(bulkDto.getType() == NotificationType.SMS ? recipient.getPhoneNumber() : null)
+                .type(bulkDto.getType())
+                .status(NotificationStatus.PENDING)
+                .priority(bulkDto.getPriority())
+                .jobId(jobId)
+                .referenceType(bulkDto.getReferenceType())
+                .referenceId(bulkDto.getReferenceId())
+                .build();
+        // The job sends it; NotificationQueue only picks it up if the job dies before recording the outcome
+        notification.claim(claimOwner(jobId), LocalDateTime.now().plusSeconds(leaseSeconds));
+
+        Map<String, String> parameters = new HashMap<>();
+        if (bulkDto.getTemplateParameters() != null) {
+            parameters.putAll(bulkDto.getTemplateParameters());
+        }
+        if (recipient.getParameters() != null) {
+            parameters.putAll(recipient.getParameters());
+        }
+
+        try {
+            TemplateService.RenderedTemplate rendered = templateService.renderTemplate(
+                    bulkDto.getTemplateId(), parameters, bulkDto.getType());
+            notification.setSubject(rendered.subject());
+            notification.setContent(rendered.content());
+        } catch (Exception e) {
+            // Re-rendering will not fix it, so it is not retried
+            log.warn("Bulk job {} could not render for recipient {}: {}", jobId, recipient.getRecipientId(), e.getMessage());
+            notification.setContent("");
+            notification.setStatus(NotificationStatus.FAILED);
+            notification.setErrorMessage("Rendering failed");
+            notification.setRetryCount(notification.getMaxRetries());
+        }
+        return notification;
+    }
+
+    private static String claimOwner(Long jobId) {
+        return "bulk-job-" + jobId;
+    }
+
+    private DeliveryOutcome deliver(Notification notification) {
+        try {
+            if (notification.getType() == NotificationType.EMAIL) {
+                emailService.sendRenderedEmail(notification.getRecipientEmail(), notification.getSubject(),
+                        notification.getContent());
+                return DeliveryOutcome.sent(notification.getId(), null);
+            }
+            String sid = smsService.sendRenderedSms(notification.getRecipientPhoneNumber(), notification.getContent());
+            return DeliveryOutcome.sent(notification.getId(), sid);
+
+        } catch (Exception e) {
+            log.warn("Bulk {} to recipient {} failed: {}", notification.getType(), notification.getRecipientId(), e.getMessage());
+            return DeliveryOutcome.failed(notification.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Page through the user service from a page on, passing each page of matching users on as a chunk
+     */
+    private void forEachSegmentChunk(RecipientSegmentDTO segment, int firstPage,
+                                     BiConsumer<Integer, List<BulkRecipientDTO>> chunkConsumer) {
+        int page = firstPage;
+        UserPageDTO users;
+        do {
+            users = userServiceClient.searchUsers(segment.getQuery(), page, chunkSize, "id,asc");
+            if (users == null || users.getContent() == null) {
+                return;
+            }
+            List<BulkRecipientDTO> chunk = users.getContent().stream()
+                    .filter(user -> segment.getRole() == null || segment.getRole().isBlank()
+                            || segment.getRole().equalsIgnoreCase(user.getRole()))
+                    .filter(user -> !segment.isActiveOnly() || user.isActive())
+                    .map(this::toRecipient)
+                    .toList();
+            if (!chunk.isEmpty()) {
+                chunkConsumer.accept(page, chunk);
+            }
+            page++;
+        } while (!users.isLast());
+    }
+
+    private BulkRecipientDTO toRecipient(UserSummaryDTO user) {
+        Map<String, String> parameters = new HashMap<>();
+        putIfPresent(parameters, "username", user.getUsername());
+        putIfPresent(parameters, "firstName", user.getFirstName());
+        putIfPresent(parameters, "lastName", user.getLastName());
+
+        return BulkRecipientDTO.builder()
+                .recipientId(user.getId())
+                .email(user.getEmail())
+                .phoneNumber(user.getPhoneNumber())
+                .parameters(parameters)
+                .build();
+    }
+
+    private static void putIfPresent(Map<String, String> parameters, String key, String value) {
+        if (value != null) {
+            parameters.put(key, value);
+        }
+    }
+
+    private static boolean hasAddress(BulkRecipientDTO recipient, NotificationType type) {
+        String address = type == NotificationType.EMAIL ? recipient.getEmail() : recipient.getPhoneNumber();
+        return address != null && !address.isBlank();
+    }
+
+    /**
+     * Update a job unless it has been taken over by another claim
+     */
+    private void updateJob(Long jobId, String claim, Consumer<NotificationJob> update) {
+        transactionTemplate.executeWithoutResult(status -> jobRepository.findById(jobId)
+                .filter(job -> claim.equals(job.getClaimedBy()))
+                .ifPresent(job -> {
+                    update.accept(job);
+                    jobRepository.save(job);
+                }));
+    }
+
+    private static String newClaim() {
+        return UUID.randomUUID().toString();
+    }
+
+    private String writeRequest(BulkNotificationDTO bulkDto) {
+        try {
+            return objectMapper.writeValueAsString(bulkDto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Bulk request could not be stored: " + e.getMessage(), e);
+        }
+    }
+
+    private BulkNotificationDTO readRequest(NotificationJob job) {
+        if (job.getRequest() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(job.getRequest(), BulkNotificationDTO.class);
+        } catch (JsonProcessingException e) {
+            log.error("Stored request of bulk job {} could not be read: {}", job.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdown();
+        renderPool.shutdown();
+    }
+
+    /**
+     * Thrown when a chunk finds its job claimed by another run; rolls the chunk back
+     */
+    private static class JobTakenOverException extends RuntimeException {
+    }
+
+    /**
+     * Map job entity to DTO
+     */
+    private NotificationJobDTO mapToDTO(NotificationJob job) {
+        return NotificationJobDTO.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .templateId(job.getTemplateId())
+                .priority(job.getPriority())
+                .status(job.getStatus())
+                .segment(job.getSegment())
+                .totalRecipients(job.getTotalRecipients())
+                .queuedCount(job.getQueuedCount())
+                .sentCount(job.getSentCount())
+                .failedCount(job.getFailedCount())
+                .skippedCount(job.getSkippedCount())
+                .errorMessage(job.getErrorMessage())
+                .referenceType(job.getReferenceType())
+                .referenceId(job.getReferenceId())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
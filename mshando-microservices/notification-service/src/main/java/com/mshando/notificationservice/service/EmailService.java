@@ -1,23 +1,19 @@
 package com.mshando.notificationservice.service;
 
 import com.mshando.notificationservice.dto.EmailNotificationDTO;
-import com.mshando.notificationservice.dto.NotificationResponseDTO;
 import com.mshando.notificationservice.model.Notification;
 import com.mshando.notificationservice.model.NotificationStatus;
 import com.mshando.notificationservice.model.NotificationType;
-import com.mshando.notificationservice.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
-import java.util.concurrent.CompletableFuture;
+import java.time.LocalDateTime;
 
 /**
  * Service for handling email notifications.
@@ -31,7 +27,6 @@ import java.util.concurrent.CompletableFuture;
 public class EmailService {
 
     private final JavaMailSender mailSender;
-    private final NotificationRepository notificationRepository;
     private final TemplateService templateService;
 
     @Value("${spring.mail.username}")
@@ -41,56 +36,30 @@ public class EmailService {
     private boolean emailEnabled;
 
     /**
-     * Send email notification asynchronously
+     * Build the notification record for an email, rendering its template if one is given
      */
-    @Async
-    @Transactional
-    public CompletableFuture<NotificationResponseDTO> sendEmailAsync(EmailNotificationDTO emailDto) {
-        log.info("Sending email notification to: {}", emailDto.getRecipientEmail());
-
-        // Create notification record
+    public Notification prepareNotification(EmailNotificationDTO emailDto) {
         Notification notification = createNotificationRecord(emailDto);
-        notification = notificationRepository.save(notification);
-
-        try {
-            if (!emailEnabled) {
-                log.warn("Email sending is disabled. Marking notification as sent for testing purposes.");
-                notification.markAsSent();
-                notificationRepository.save(notification);
-                return CompletableFuture.completedFuture(mapToResponseDTO(notification));
-            }
-
-            // Process template if provided
-            String processedContent = emailDto.getContent();
-            String processedSubject = emailDto.getSubject();
-
-            if (emailDto.getTemplateId() != null) {
-                processedContent = templateService.processTemplate(
-                    emailDto.getTemplateId(), emailDto.getTemplateParameters(), NotificationType.EMAIL);
-                processedSubject = templateService.getTemplateSubject(emailDto.getTemplateId());
-            }
-
-            // Send email
-            sendHtmlEmail(emailDto.getRecipientEmail(), processedSubject, processedContent);
-
-            // Update notification status
-            notification.markAsSent();
-            notification = notificationRepository.save(notification);
-
-            log.info("Email sent successfully to: {}", emailDto.getRecipientEmail());
-            return CompletableFuture.completedFuture(mapToResponseDTO(notification));
 
-        } catch (Exception e) {
-            log.error("Failed to send email to: {}. Error: {}", emailDto.getRecipientEmail(), e.getMessage());
-            notification.markAsFailed(e.getMessage());
-            notificationRepository.save(notification);
-            throw new RuntimeException("Failed to send email", e);
+        if (emailDto.getTemplateId() != null) {
+            TemplateService.RenderedTemplate rendered = templateService.renderTemplate(
+                emailDto.getTemplateId(), emailDto.getTemplateParameters(), NotificationType.EMAIL);
+            notification.setSubject(rendered.subject());
+            notification.setContent(rendered.content());
         }
+        return notification;
     }
 
     /**
-     * Send simple text email
+     * Send an already rendered email on the calling thread, without recording a notification
      */
+    public void sendRenderedEmail(String to, String subject, String content) throws MessagingException {
+        if (!emailEnabled) {
+            log.debug("Email sending is disabled. Skipping email to: {}", to);
+            return;
+        }
+        sendHtmlEmail(to, subject, content);
+    }
 
     /**
      * Send HTML email
@@ -116,7 +85,8 @@ public class EmailService {
                 .recipientId(emailDto.getRecipientId())
                 .recipientEmail(emailDto.getRecipientEmail())
                 .type(NotificationType.EMAIL)
-                .status(NotificationStatus.PENDING)
+                .status(emailDto.getScheduledFor() != null && emailDto.getScheduledFor().isAfter(LocalDateTime.now())
+                        ? NotificationStatus.SCHEDULED : NotificationStatus.PENDING)
                 .priority(emailDto.getPriority())
                 .subject(emailDto.getSubject())
                 .content(emailDto.getContent())
@@ -127,33 +97,4 @@ public class EmailService {
                 .referenceId(emailDto.getReferenceId())
                 .build();
     }
-
-    /**
-     * Map notification entity to response DTO
-     */
-    private NotificationResponseDTO mapToResponseDTO(Notification notification) {
-        return NotificationResponseDTO.builder()
-                .id(notification.getId())
-                .recipientId(notification.getRecipientId())
-                .recipientEmail(notification.getRecipientEmail())
-                .type(notification.getType())
-                .status(notification.getStatus())
-                .priority(notification.getPriority())
-                .subject(notification.getSubject())
-                .content(notification.getContent())
-                .templateId(notification.getTemplateId())
-                .templateParameters(notification.getTemplateParameters())
-                .sentAt(notification.getSentAt())
-                .deliveredAt(notification.getDeliveredAt())
-                .scheduledFor(notification.getScheduledFor())
-                .retryCount(notification.getRetryCount())
-                .maxRetries(notification.getMaxRetries())
-                .errorMessage(notification.getErrorMessage())
-                .externalId(notification.getExternalId())
-                .referenceType(notification.getReferenceType())
-                .referenceId(notification.getReferenceId())
-                .createdAt(notification.getCreatedAt())
-                .updatedAt(notification.getUpdatedAt())
-                .build();
-    }
 }
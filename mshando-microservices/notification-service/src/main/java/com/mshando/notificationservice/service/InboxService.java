@@ -0,0 +1,308 @@
+package com.mshando.notificationservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mshando.notificationservice.dto.InAppNotificationDTO;
+import com.mshando.notificationservice.dto.InboxItemDTO;
+import com.mshando.notificationservice.dto.InboxPageDTO;
+import com.mshando.notificationservice.event.InboxUpdatedEvent;
+import com.mshando.notificationservice.model.InboxItem;
+import com.mshando.notificationservice.model.Notification;
+import com.mshando.notificationservice.model.NotificationPriority;
+import com.mshando.notificationservice.model.NotificationStatus;
+import com.mshando.notificationservice.model.NotificationType;
+import com.mshando.notificationservice.repository.InboxItemRepository;
+import com.mshando.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Service for the in-app notification channel.
+ *
+ * An in-app notification is delivered by writing it to the notifications
+ * table and to the recipient's inbox, a compact read model paged by ID
+ * rather than by offset. Unread counts are kept in memory per recipient:
+ * loaded with one COUNT on first use, then adjusted as items are added and
+ * read, and pushed to the recipient's open streams. Counts are reloaded
+ * after a configured time, which also picks up changes made through other
+ * instances.
+ *
+ * A change is applied to the cached count right after its transaction
+ * commits. A COUNT taken while a change is committed but not yet applied
+ * already includes it, so such a count is returned without being cached;
+ * otherwise the change would be counted twice.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class InboxService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int MAX_PREVIEW_LENGTH = 500;
+
+    private static final int CHANGE_STRIPES = 256;
+
+    private final InboxItemRepository inboxItemRepository;
+    private final NotificationRepository notificationRepository;
+    private final TemplateService templateService;
+    private final InboxStreamService streamService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<Long, AtomicLong> unreadCounts;
+    private final int previewLength;
+
+    /**
+     * Unread count changes in open transactions and applied changes, per stripe of recipients
+     */
+    private final AtomicLongArray pendingChanges = new AtomicLongArray(CHANGE_STRIPES);
+    private final AtomicLongArray appliedChanges = new AtomicLongArray(CHANGE_STRIPES);
+
+    public InboxService(InboxItemRepository inboxItemRepository,
+                        NotificationRepository notificationRepository,
+                        TemplateService templateService,
+                        InboxStreamService streamService,
+                        ApplicationEventPublisher eventPublisher,
+                        MeterRegistry meterRegistry,
+                        @Value("${notification.inbox.preview-length:280}") int previewLength,
+                        @Value("${notification.inbox.unread-cache.max-size:100000}") long cacheMaxSize,
+                        @Value("${notification.inbox.unread-cache.ttl-seconds:60}") long cacheTtlSeconds) {
+        this.inboxItemRepository = inboxItemRepository;
+        this.notificationRepository = notificationRepository;
+        this.templateService = templateService;
+        this.streamService = streamService;
+        this.eventPublisher = eventPublisher;
+        this.previewLength = Math.min(previewLength, MAX_PREVIEW_LENGTH);
+        this.unreadCounts = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, unreadCounts, "notification.inbox.unread");
+    }
+
+    /**
+     * Deliver an in-app notification to the recipient's inbox
+     */
+    @Transactional
+    public InboxItemDTO deliver(InAppNotificationDTO inAppDto) {
+        log.info("Delivering in-app notification to recipient: {}", inAppDto.getRecipientId());
+
+        String title = inAppDto.getTitle();
+        String content = inAppDto.getContent();
+        if (inAppDto.getTemplateId() != null) {
+            TemplateService.RenderedTemplate rendered = templateService.renderTemplate(
+                    inAppDto.getTemplateId(), inAppDto.getTemplateParameters(), NotificationType.IN_APP);
+            content = rendered.content();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Notification notification = notificationRepository.save(Notification.builder()
+                .recipientId(inAppDto.getRecipientId())
+                .type(NotificationType.IN_APP)
+                .status(NotificationStatus.DELIVERED)
+                .priority(inAppDto.getPriority() != null ? inAppDto.getPriority() : NotificationPriority.NORMAL)
+                .subject(title)
+                .content(content)
+                .templateId(inAppDto.getTemplateId())
+                .templateParameters(inAppDto.getTemplateParameters())
+                .referenceType(inAppDto.getReferenceType())
+                .referenceId(inAppDto.getReferenceId())
+                .sentAt(now)
+                .deliveredAt(now)
+                .build());
+
+        InboxItem item = inboxItemRepository.save(InboxItem.builder()
+                .recipientId(notification.getRecipientId())
+                .notificationId(notification.getId())
+                .title(title)
+                .preview(preview(content))
+                .priority(notification.getPriority())
+                .referenceType(notification.getReferenceType())
+                .referenceId(notification.getReferenceId())
+                .build());
+
+        InboxItemDTO itemDto = mapToDTO(item);
+        recordUnreadDelta(item.getRecipientId(), 1);
+        eventPublisher.publishEvent(new InboxUpdatedEvent(item.getRecipientId(), itemDto, 1));
+        return itemDto;
+    }
+
+    /**
+     * Get a page of a recipient's inbox, newest first, starting below the given item ID
+     */
+    @Transactional(readOnly = true)
+    public InboxPageDTO getInbox(Long recipientId, Long before, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageRequest page = PageRequest.of(0, pageSize);
+        List<InboxItem> items = before != null
+                ? inboxItemRepository.findByRecipientIdAndIdLessThanOrderByIdDesc(recipientId, before, page)
+                : inboxItemRepository.findByRecipientIdOrderByIdDesc(recipientId, page);
+
+        return InboxPageDTO.builder()
+                .items(items.stream().map(this::mapToDTO).toList())
+                .nextBefore(items.size() == pageSize ? items.get(items.size() - 1).getId() : null)
+                .unreadCount(getUnreadCount(recipientId))
+                .build();
+    }
+
+    /**
+     * Number of unread items in a recipient's inbox, from memory when known
+     */
+    public long getUnreadCount(Long recipientId) {
+        AtomicLong cached = unreadCounts.getIfPresent(recipientId);
+        if (cached != null) {
+            return cached.get();
+        }
+
+        int stripe = stripe(recipientId);
+        long changesBefore = appliedChanges.get(stripe);
+        long count = inboxItemRepository.countByRecipientIdAndReadAtIsNull(recipientId);
+        // Cache the count only if no change of this stripe was pending or applied around the COUNT
+        unreadCounts.asMap().compute(recipientId, (id, existing) -> existing != null
+                || pendingChanges.get(stripe) > 0 || appliedChanges.get(stripe) != changesBefore
+                ? existing : new AtomicLong(count));
+        return count;
+    }
+
+    /**
+     * Mark inbox items as read
+     *
+     * @return number of items that were unread
+     */
+    @Transactional
+    public int markRead(Long recipientId, List<Long> itemIds) {
+        if (itemIds == null || itemIds.isEmpty()) {
+            return 0;
+        }
+        int updated = inboxItemRepository.markRead(recipientId, itemIds, LocalDateTime.now());
+        if (updated > 0) {
+            recordUnreadDelta(recipientId, -updated);
+            eventPublisher.publishEvent(new InboxUpdatedEvent(recipientId, null, -updated));
+        }
+        return updated;
+    }
+
+    /**
+     * Mark all items of a recipient's inbox as read
+     *
+     * @return number of items that were unread
+     */
+    @Transactional
+    public int markAllRead(Long recipientId) {
+        int updated = inboxItemRepository.markAllRead(recipientId, LocalDateTime.now());
+        if (updated > 0) {
+            recordUnreadDelta(recipientId, -updated);
+            eventPublisher.publishEvent(new InboxUpdatedEvent(recipientId, null, -updated));
+        }
+        return updated;
+    }
+
+    /**
+     * Take deleted unread items off their recipients' counts once the current transaction commits
+     */
+    public void unreadItemsDeleted(Map<Long, Long> deletedByRecipient) {
+        deletedByRecipient.forEach((recipientId, deleted) -> {
+            recordUnreadDelta(recipientId, -deleted);
+            eventPublisher.publishEvent(new InboxUpdatedEvent(recipientId, null, -deleted));
+        });
+    }
+
+    /**
+     * Open a stream of inbox changes for a recipient
+     */
+    public SseEmitter subscribe(Long recipientId) {
+        log.debug("Opening inbox stream for recipient {}", recipientId);
+        return streamService.subscribe(recipientId, getUnreadCount(recipientId));
+    }
+
+    /**
+     * Push a committed inbox change to open streams; its unread delta has been applied by then
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInboxUpdated(InboxUpdatedEvent event) {
+        if (streamService.hasSubscribers(event.getRecipientId())) {
+            streamService.publish(event.getRecipientId(), event.getItem(), getUnreadCount(event.getRecipientId()));
+        }
+    }
+
+    /**
+     * Apply an unread count change once the current transaction commits.
+     * The change counts as pending until the transaction completes, so counts
+     * loaded in between are not cached.
+     */
+    private void recordUnreadDelta(Long recipientId, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyUnreadDelta(recipientId, delta);
+            return;
+        }
+
+        int stripe = stripe(recipientId);
+        pendingChanges.incrementAndGet(stripe);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyUnreadDelta(recipientId, delta);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                pendingChanges.decrementAndGet(stripe);
+            }
+        });
+    }
+
+    private void applyUnreadDelta(Long recipientId, long delta) {
+        appliedChanges.incrementAndGet(stripe(recipientId));
+        unreadCounts.asMap().computeIfPresent(recipientId, (id, unread) -> {
+            unread.accumulateAndGet(delta, (count, change) -> Math.max(0, count + change));
+            return unread;
+        });
+    }
+
+    private static int stripe(Long recipientId) {
+        return Math.floorMod(Long.hashCode(recipientId), CHANGE_STRIPES);
+    }
+
+    private String preview(String content) {
+        if (content == null) {
+            return null;
+        }
+        // Previews are plain text, so markup from HTML templates is dropped
+        String text = content.replaceAll("<[^>]*>", " ").replaceAll("\\s+", " ").trim();
+        return text.length() > previewLength ? text.substring(0, previewLength) : text;
+    }
+
+    private InboxItemDTO mapToDTO(InboxItem item) {
+        return InboxItemDTO.builder()
+                .id(item.getId())
+                .notificationId(item.getNotificationId())
+                .title(item.getTitle())
+                .preview(item.getPreview())
+                .priority(item.getPriority())
+                .referenceType(item.getReferenceType())
+                .referenceId(item.getReferenceId())
+                .read(item.getReadAt() != null)
+                .createdAt(item.getCreatedAt())
+                .build();
+    }
+}
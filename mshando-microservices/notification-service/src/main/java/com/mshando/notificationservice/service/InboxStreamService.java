@@ -0,0 +1,156 @@
+package com.mshando.notificationservice.service;
+
+import com.mshando.notificationservice.dto.InboxItemDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service pushing inbox changes to users' open Server-Sent Event streams.
+ *
+ * Connections are held by the servlet container in async mode, so an idle
+ * stream costs only its emitter and buffer. Events are written on a small
+ * shared executor, with each stream drained by at most one task at a time.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class InboxStreamService {
+
+    static final String ITEM_EVENT = "notification";
+    static final String UNREAD_EVENT = "unread";
+
+    private final Map<Long, Set<InboxSubscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger activeSubscriptions = new AtomicInteger();
+    private final AtomicLong eventSequence = new AtomicLong();
+    private final ThreadPoolTaskExecutor streamExecutor;
+    private final int bufferSize;
+    private final long timeoutMs;
+
+    public InboxStreamService(MeterRegistry meterRegistry,
+                              @Value("${notification.inbox.stream.threads:4}") int threads,
+                              @Value("${notification.inbox.stream.buffer-size:32}") int bufferSize,
+                              @Value("${notification.inbox.stream.timeout-ms:1800000}") long timeoutMs) {
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.streamExecutor = new ThreadPoolTaskExecutor();
+        this.streamExecutor.setCorePoolSize(threads);
+        this.streamExecutor.setMaxPoolSize(threads);
+        this.streamExecutor.setQueueCapacity(50000);
+        this.streamExecutor.setThreadNamePrefix("notification-inbox-stream-");
+        this.streamExecutor.initialize();
+        meterRegistry.gauge("notification.inbox.streams", activeSubscriptions);
+    }
+
+    /**
+     * Open a stream of inbox changes for a user, starting with the current unread count
+     */
+    public SseEmitter subscribe(Long recipientId, long unreadCount) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        InboxSubscription subscription = new InboxSubscription(emitter, bufferSize);
+
+        subscriptions.computeIfAbsent(recipientId, k -> ConcurrentHashMap.newKeySet()).add(subscription);
+        activeSubscriptions.incrementAndGet();
+
+        Runnable cleanup = () -> unregister(recipientId, subscription);
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(e -> cleanup.run());
+
+        offer(subscription, eventSequence.incrementAndGet(), UNREAD_EVENT, unread(unreadCount));
+        return emitter;
+    }
+
+    /**
+     * Whether the user has a stream open on this instance
+     */
+    public boolean hasSubscribers(Long recipientId) {
+        return subscriptions.containsKey(recipientId);
+    }
+
+    /**
+     * Push a new inbox item, if any, and the unread count to a user's streams
+     */
+    public void publish(Long recipientId, InboxItemDTO item, long unreadCount) {
+        Set<InboxSubscription> recipientSubscriptions = subscriptions.get(recipientId);
+        if (recipientSubscriptions == null) {
+            return;
+        }
+        for (InboxSubscription subscription : recipientSubscriptions) {
+            if (item != null) {
+                offer(subscription, eventSequence.incrementAndGet(), ITEM_EVENT, item);
+            }
+            offer(subscription, eventSequence.incrementAndGet(), UNREAD_EVENT, unread(unreadCount));
+        }
+    }
+
+    /**
+     * Number of currently open streams
+     */
+    public int getActiveSubscriptionCount() {
+        return activeSubscriptions.get();
+    }
+
+    /**
+     * Keep idle connections alive through proxies and evict dead clients
+     */
+    @Scheduled(fixedDelayString = "${notification.inbox.stream.heartbeat-interval-ms:25000}")
+    public void sendHeartbeats() {
+        subscriptions.values().forEach(recipientSubscriptions ->
+                recipientSubscriptions.forEach(InboxSubscription::heartbeat));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.values().forEach(recipientSubscriptions ->
+                recipientSubscriptions.forEach(InboxSubscription::close));
+        streamExecutor.shutdown();
+    }
+
+    private void unregister(Long recipientId, InboxSubscription subscription) {
+        subscriptions.computeIfPresent(recipientId, (k, recipientSubscriptions) -> {
+            if (recipientSubscriptions.remove(subscription)) {
+                activeSubscriptions.decrementAndGet();
+            }
+            return recipientSubscriptions.isEmpty() ? null : recipientSubscriptions;
+        });
+        subscription.close();
+    }
+
+    private void offer(InboxSubscription subscription, long eventId, String name, Object data) {
+        if (subscription.offer(eventId, name, data)) {
+            scheduleDrain(subscription);
+        }
+    }
+
+    private void scheduleDrain(InboxSubscription subscription) {
+        try {
+            streamExecutor.execute(() -> {
+                if (subscription.drain()) {
+                    scheduleDrain(subscription);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Inbox stream executor saturated, closing stream");
+            subscription.close();
+        }
+    }
+
+    private static Map<String, Long> unread(long unreadCount) {
+        return Map.of("unreadCount", unreadCount);
+    }
+}
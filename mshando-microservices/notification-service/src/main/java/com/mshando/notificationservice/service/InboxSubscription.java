@@ -0,0 +1,120 @@
+package com.mshando.notificationservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A single inbox Server-Sent Event connection with its own bounded buffer.
+ *
+ * Events are queued with drop-oldest semantics so a slow client cannot
+ * grow memory without bound, and at most one drain of the buffer is in
+ * flight at a time so events are written in order.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Slf4j
+class InboxSubscription {
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final Deque<Entry> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private volatile boolean closed;
+
+    InboxSubscription(SseEmitter emitter, int capacity) {
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.buffer = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Queue an event, evicting the oldest buffered event when full
+     *
+     * @return true if the caller must schedule a drain of this subscription
+     */
+    boolean offer(long eventId, String name, Object data) {
+        if (closed) {
+            return false;
+        }
+        synchronized (buffer) {
+            if (buffer.size() >= capacity) {
+                buffer.pollFirst();
+            }
+            buffer.addLast(new Entry(eventId, name, data));
+        }
+        return draining.compareAndSet(false, true);
+    }
+
+    /**
+     * Write all buffered events to the connection
+     *
+     * @return true if more events arrived after the drain finished and
+     *         the caller must schedule another drain
+     */
+    boolean drain() {
+        try {
+            Entry entry;
+            while (!closed && (entry = poll()) != null) {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(entry.id()))
+                        .name(entry.name())
+                        .data(entry.data()));
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Closing inbox stream after failed write: {}", e.getMessage());
+            close();
+        } finally {
+            draining.set(false);
+        }
+        return !closed && hasPending() && draining.compareAndSet(false, true);
+    }
+
+    /**
+     * Send a comment line to keep idle connections open and detect dead clients
+     */
+    void heartbeat() {
+        if (closed || draining.get()) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        } catch (IOException | IllegalStateException e) {
+            close();
+        }
+    }
+
+    void close() {
+        if (!closed) {
+            closed = true;
+            synchronized (buffer) {
+                buffer.clear();
+            }
+            try {
+                emitter.complete();
+            } catch (Exception e) {
+                log.trace("Emitter already completed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private Entry poll() {
+        synchronized (buffer) {
+            return buffer.pollFirst();
+        }
+    }
+
+    private boolean hasPending() {
+        synchronized (buffer) {
+            return !buffer.isEmpty();
+        }
+    }
+
+    private record Entry(long id, String name, Object data) {
+    }
+}
@@ -0,0 +1,286 @@
+package com.mshando.notificationservice.service;
+
+import com.mshando.notificationservice.event.NotificationQueuedEvent;
+import com.mshando.notificationservice.model.Notification;
+import com.mshando.notificationservice.model.NotificationPriority;
+import com.mshando.notificationservice.model.NotificationStatus;
+import com.mshando.notificationservice.model.NotificationTemplate;
+import com.mshando.notificationservice.model.NotificationType;
+import com.mshando.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Service coalescing bursts of notifications to one recipient into digests.
+ *
+ * Notifications are grouped by recipient, channel and reference type. The
+ * first notification of a group in a quiet period is sent right away. Any
+ * further one arriving within the digest window is held instead, and when
+ * the window closes the held notifications are folded into a single digest
+ * rendered from the channel's digest template. A burst of 30 "new bid"
+ * emails in ten minutes thus becomes two emails.
+ *
+ * Held notifications are rows in the notifications table, so a restart
+ * loses nothing. URGENT and HIGH priority, scheduled notifications and
+ * notifications without a reference type are never held.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class NotificationDigestService {
+
+    private static final String DEFAULT_EMAIL_DIGEST = """
+            <p>You have <span th:text="${count}">0</span> new notifications.</p>
+            <div th:each="item : ${items}">
+              <h3 th:text="${item.subject}">Subject</h3>
+              <div th:utext="${item.content}">Content</div>
+            </div>
+            <p th:if="${omitted > 0}">And <span th:text="${omitted}">0</span> more.</p>
+            """;
+
+    private static final int MAX_SMS_DIGEST_LENGTH = 1600;
+
+    private final NotificationRepository notificationRepository;
+    private final TemplateService templateService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${notification.digest.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notification.digest.window-seconds:600}")
+    private long windowSeconds;
+
+    @Value("${notification.digest.reference-types:}")
+    private Set<String> referenceTypes;
+
+    @Value("${notification.digest.max-items:50}")
+    private int maxItems;
+
+    @Value("${notification.digest.flush-batch-size:100}")
+    private int flushBatchSize;
+
+    @Value("${notification.digest.email-template:}")
+    private String emailTemplateName;
+
+    @Value("${notification.digest.sms-template:}")
+    private String smsTemplateName;
+
+    public NotificationDigestService(NotificationRepository notificationRepository,
+                                     TemplateService templateService,
+                                     ApplicationEventPublisher eventPublisher,
+                                     MeterRegistry meterRegistry,
+                                     PlatformTransactionManager transactionManager) {
+        this.notificationRepository = notificationRepository;
+        this.templateService = templateService;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Decide whether a notification about to be queued is sent now or held for a digest.
+     * Must be called in the transaction that saves the notification.
+     *
+     * Calls for the same key are not serialized. Two notifications assigned at
+     * the same moment may both be sent right away, or be held with slightly
+     * different release times; the window then closes at the earlier one, and
+     * flushing takes every held row of the key, so none is lost or sent twice.
+     */
+    public void assign(Notification notification) {
+        if (!isDigestible(notification)) {
+            return;
+        }
+
+        String digestKey = digestKey(notification);
+        notification.setDigestKey(digestKey);
+        LocalDateTime now = LocalDateTime.now();
+
+        Optional<LocalDateTime> openWindow = notificationRepository.findOpenDigestReleaseTime(digestKey);
+        if (openWindow.isPresent()) {
+            hold(notification, openWindow.get());
+        } else if (notificationRepository.existsByDigestKeyAndCreatedAtAfter(digestKey,
+                now.minusSeconds(windowSeconds))) {
+            hold(notification, now.plusSeconds(windowSeconds));
+        }
+    }
+
+    /**
+     * Fold the notifications of every closed digest window into digests and queue them
+     */
+    @Scheduled(fixedDelayString = "${notification.digest.poll-ms:5000}")
+    public void flushDueDigests() {
+        if (!enabled) {
+            return;
+        }
+
+        List<String> digestKeys;
+        int flushed;
+        do {
+            digestKeys = notificationRepository.findDueDigestKeys(LocalDateTime.now(),
+                    PageRequest.of(0, flushBatchSize));
+            flushed = 0;
+            for (String digestKey : digestKeys) {
+                try {
+                    if (Boolean.TRUE.equals(transactionTemplate.execute(status -> flush(digestKey)))) {
+                        flushed++;
+                    }
+                } catch (Exception e) {
+                    log.error("Failed to flush notification digest {}: {}", digestKey, e.getMessage());
+                }
+            }
+        // Keys locked by another instance come back on the next page, so stop once nothing moves
+        } while (digestKeys.size() == flushBatchSize && flushed > 0);
+    }
+
+    private boolean isDigestible(Notification notification) {
+        return enabled
+                && notification.getStatus() == NotificationStatus.PENDING
+                && notification.getReferenceType() != null
+                && (referenceTypes.isEmpty() || referenceTypes.contains(notification.getReferenceType()))
+                && notification.getPriority() != NotificationPriority.URGENT
+                && notification.getPriority() != NotificationPriority.HIGH;
+    }
+
+    private void hold(Notification notification, LocalDateTime releaseAt) {
+        notification.setStatus(NotificationStatus.HELD);
+        notification.setScheduledFor(releaseAt);
+        meterRegistry.counter("notification.digest.held", "type", notification.getType().name()).increment();
+    }
+
+    /**
+     * Replace the notifications held under one key by a digest, or release a lone one as is
+     *
+     * @return false if another instance is flushing the key
+     */
+    private boolean flush(String digestKey) {
+        List<Notification> held = notificationRepository.findHeldForDigest(digestKey);
+        if (held.isEmpty()) {
+            return false;
+        }
+
+        if (held.size() == 1) {
+            Notification notification = held.get(0);
+            notification.setStatus(NotificationStatus.PENDING);
+            eventPublisher.publishEvent(new NotificationQueuedEvent(notification.getType()));
+            return true;
+        }
+
+        Notification digest = notificationRepository.save(createDigest(held));
+        held.forEach(notification -> {
+            notification.setStatus(NotificationStatus.DIGESTED);
+            notification.setDigestId(digest.getId());
+        });
+        meterRegistry.counter("notification.digest.sent", "type", digest.getType().name()).increment();
+        meterRegistry.counter("notification.digest.coalesced", "type", digest.getType().name())
+                .increment(held.size());
+        eventPublisher.publishEvent(new NotificationQueuedEvent(digest.getType()));
+
+        log.debug("Folded {} notifications into digest {} for {}", held.size(), digest.getId(), digestKey);
+        return true;
+    }
+
+    private Notification createDigest(List<Notification> held) {
+        Notification latest = held.get(held.size() - 1);
+        NotificationPriority priority = held.stream()
+                .map(Notification::getPriority)
+                .max(Comparator.naturalOrder())
+                .orElse(NotificationPriority.NORMAL);
+
+        Notification digest = Notification.builder()
+                .recipientId(latest.getRecipientId())
+                .recipientEmail(latest.getRecipientEmail())
+                .recipientPhoneNumber(latest.getRecipientPhoneNumber())
+                .type(latest.getType())
+                .status(NotificationStatus.PENDING)
+                .priority(priority)
+                .referenceType(latest.getReferenceType())
+                .digestKey(latest.getDigestKey())
+                .build();
+        render(digest, held);
+        return digest;
+    }
+
+    private void render(Notification digest, List<Notification> held) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (Notification notification : held.subList(0, Math.min(held.size(), maxItems))) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("subject", notification.getSubject());
+            item.put("content", notification.getContent());
+            item.put("referenceId", notification.getReferenceId());
+            item.put("createdAt", notification.getCreatedAt());
+            items.add(item);
+        }
+        Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put("count", held.size());
+        variables.put("omitted", held.size() - items.size());
+        variables.put("items", items);
+        variables.put("referenceType", digest.getReferenceType());
+
+        String defaultSubject = held.size() + " new notifications";
+        Optional<NotificationTemplate> template = digestTemplate(digest.getType());
+        if (template.isPresent()) {
+            TemplateService.RenderedTemplate rendered = templateService.renderTemplate(
+                    template.get().getId(), variables, digest.getType());
+            digest.setTemplateId(template.get().getId());
+            digest.setSubject(rendered.subject() != null ? rendered.subject() : defaultSubject);
+            digest.setContent(rendered.content());
+        } else if (digest.getType() == NotificationType.EMAIL) {
+            digest.setSubject(defaultSubject);
+            digest.setContent(templateService.processInlineTemplate(DEFAULT_EMAIL_DIGEST, variables));
+        } else {
+            digest.setContent(defaultSmsDigest(held));
+        }
+    }
+
+    private Optional<NotificationTemplate> digestTemplate(NotificationType type) {
+        String name = type == NotificationType.EMAIL ? emailTemplateName : smsTemplateName;
+        if (name == null || name.isBlank()) {
+            return Optional.empty();
+        }
+        Optional<NotificationTemplate> template = templateService.getTemplateByName(name, type);
+        if (template.isEmpty()) {
+            log.warn("Digest template {} for {} not found, using the built-in digest", name, type);
+        }
+        return template;
+    }
+
+    private static String defaultSmsDigest(List<Notification> held) {
+        StringBuilder content = new StringBuilder(held.size() + " new notifications:");
+        for (Notification notification : held) {
+            String line = "\n- " + (notification.getSubject() != null
+                    ? notification.getSubject() : notification.getContent());
+            if (content.length() + line.length() > MAX_SMS_DIGEST_LENGTH) {
+                break;
+            }
+            content.append(line);
+        }
+        return content.toString();
+    }
+
+    private static String digestKey(Notification notification) {
+        return notification.getRecipientId() + ":" + notification.getType() + ":" + notification.getReferenceType();
+    }
+}
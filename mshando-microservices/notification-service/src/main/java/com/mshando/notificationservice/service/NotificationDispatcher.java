@@ -0,0 +1,318 @@
+package com.mshando.notificationservice.service;
+
+import com.mshando.notificationservice.model.NotificationPriority;
+import com.mshando.notificationservice.model.NotificationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Service running notification sends in priority order, per channel.
+ *
+ * Each channel (EMAIL, SMS) has its own worker threads and one bounded
+ * queue per priority. Workers pick the next send by smooth weighted round
+ * robin over the non-empty queues, so with the default weights of 8, 4, 2
+ * and 1 an URGENT send waits behind at most a few sends of other
+ * priorities however deep the LOW backlog is, while LOW work still
+ * progresses.
+ *
+ * Admission differs by caller. {@link #submit} never blocks: it rejects
+ * work when the priority's queue is full, and sheds LOW work while the
+ * higher priorities are backed up. {@link #submitBlocking} is for bulk
+ * producers and waits for queue space instead, so a large job is slowed
+ * down rather than failed.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class NotificationDispatcher {
+
+    private static final NotificationPriority[] PRIORITIES = NotificationPriority.values();
+
+    private final Map<NotificationType, Channel> channels = new EnumMap<>(NotificationType.class);
+    private final List<Thread> workers = new ArrayList<>();
+    private final MeterRegistry meterRegistry;
+    private final int[] weights = new int[PRIORITIES.length];
+    private final int queueCapacity;
+    private final int shedLowThreshold;
+
+    private volatile boolean shuttingDown;
+
+    public NotificationDispatcher(MeterRegistry meterRegistry,
+                                  @Value("${notification.dispatch.email-workers:8}") int emailWorkers,
+                                  @Value("${notification.dispatch.sms-workers:4}") int smsWorkers,
+                                  @Value("${notification.dispatch.queue-capacity:1000}") int queueCapacity,
+                                  @Value("${notification.dispatch.shed-low-threshold:200}") int shedLowThreshold,
+                                  @Value("${notification.dispatch.weights.low:1}") int lowWeight,
+                                  @Value("${notification.dispatch.weights.normal:2}") int normalWeight,
+                                  @Value("${notification.dispatch.weights.high:4}") int highWeight,
+                                  @Value("${notification.dispatch.weights.urgent:8}") int urgentWeight) {
+        this.meterRegistry = meterRegistry;
+        this.queueCapacity = queueCapacity;
+        this.shedLowThreshold = shedLowThreshold;
+        weights[NotificationPriority.LOW.ordinal()] = lowWeight;
+        weights[NotificationPriority.NORMAL.ordinal()] = normalWeight;
+        weights[NotificationPriority.HIGH.ordinal()] = highWeight;
+        weights[NotificationPriority.URGENT.ordinal()] = urgentWeight;
+
+        startChannel(NotificationType.EMAIL, emailWorkers);
+        startChannel(NotificationType.SMS, smsWorkers);
+    }
+
+    /**
+     * Queue a send without blocking
+     *
+     * @throws TaskRejectedException if the queue is full or LOW work is being shed
+     */
+    public <T> CompletableFuture<T> submit(NotificationType type, NotificationPriority priority, Supplier<T> work) {
+        return channel(type).enqueue(priorityOrDefault(priority), work, false);
+    }
+
+    /**
+     * Queue a send, waiting for queue space if necessary
+     *
+     * @throws TaskRejectedException if the dispatcher shuts down while waiting
+     */
+    public <T> CompletableFuture<T> submitBlocking(NotificationType type, NotificationPriority priority,
+                                                   Supplier<T> work) {
+        return channel(type).enqueue(priorityOrDefault(priority), work, true);
+    }
+
+    /**
+     * Whether sends of this type can be dispatched
+     */
+    public boolean supports(NotificationType type) {
+        return channels.containsKey(type);
+    }
+
+    /**
+     * Number of sends waiting in one queue
+     */
+    public int getQueueDepth(NotificationType type, NotificationPriority priority) {
+        return channel(type).depth(priority);
+    }
+
+    /**
+     * Stop taking work and fail queued sends; sends already running complete
+     */
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        channels.values().forEach(Channel::close);
+    }
+
+    /**
+     * Wait for running sends to complete after {@link #shutdown()}
+     *
+     * @return true if all workers finished within the timeout
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Thread worker : workers) {
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMs <= 0) {
+                return false;
+            }
+            worker.join(remainingMs);
+            if (worker.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void startChannel(NotificationType type, int workerCount) {
+        Channel channel = new Channel(type);
+        channels.put(type, channel);
+        for (int i = 1; i <= workerCount; i++) {
+            Thread worker = new Thread(channel::work, "notification-" + type.name().toLowerCase() + "-dispatch-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    private Channel channel(NotificationType type) {
+        Channel channel = channels.get(type);
+        if (channel == null) {
+            throw new IllegalArgumentException("Unsupported notification type: " + type);
+        }
+        return channel;
+    }
+
+    private static NotificationPriority priorityOrDefault(NotificationPriority priority) {
+        return priority != null ? priority : NotificationPriority.NORMAL;
+    }
+
+    private record DispatchTask<T>(Supplier<T> work, CompletableFuture<T> future, long enqueuedAt) {
+
+        void run() {
+            try {
+                future.complete(work.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Queues and workers of one channel; all queue state is guarded by the channel lock
+     */
+    private final class Channel {
+
+        private final NotificationType type;
+        private final List<ArrayDeque<DispatchTask<?>>> queues = new ArrayList<>();
+        private final int[] currentWeights = new int[PRIORITIES.length];
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private final Timer[] waitTimers = new Timer[PRIORITIES.length];
+        private final Counter[] fullRejections = new Counter[PRIORITIES.length];
+        private final Counter shedRejections;
+        private int backlog;
+
+        private Channel(NotificationType type) {
+            this.type = type;
+            String channel = type.name();
+            for (NotificationPriority priority : PRIORITIES) {
+                ArrayDeque<DispatchTask<?>> queue = new ArrayDeque<>();
+                queues.add(queue);
+                Gauge.builder("notification.dispatch.queue.depth", this, c -> c.depth(priority))
+                        .tag("channel", channel).tag("priority", priority.name())
+                        .register(meterRegistry);
+                waitTimers[priority.ordinal()] = Timer.builder("notification.dispatch.queue.wait")
+                        .description("Time a send waited in its priority queue")
+                        .tag("channel", channel).tag("priority", priority.name())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry);
+                fullRejections[priority.ordinal()] = meterRegistry.counter("notification.dispatch.rejected",
+                        "channel", channel, "priority", priority.name(), "reason", "full");
+            }
+            this.shedRejections = meterRegistry.counter("notification.dispatch.rejected",
+                    "channel", channel, "priority", NotificationPriority.LOW.name(), "reason", "shed");
+        }
+
+        private <T> CompletableFuture<T> enqueue(NotificationPriority priority, Supplier<T> work, boolean block) {
+            ArrayDeque<DispatchTask<?>> queue = queues.get(priority.ordinal());
+            CompletableFuture<T> future = new CompletableFuture<>();
+            lock.lock();
+            try {
+                if (!block && priority == NotificationPriority.LOW
+                        && backlog - queue.size() >= shedLowThreshold) {
+                    shedRejections.increment();
+                    throw new TaskRejectedException("Shedding LOW priority " + type + " notifications under load");
+                }
+                while (queue.size() >= queueCapacity && !shuttingDown) {
+                    if (!block) {
+                        fullRejections[priority.ordinal()].increment();
+                        throw new TaskRejectedException(priority + " " + type + " notification queue is full");
+                    }
+                    notFull.awaitUninterruptibly();
+                }
+                if (shuttingDown) {
+                    throw new TaskRejectedException("Notification dispatcher is shutting down");
+                }
+                queue.addLast(new DispatchTask<>(work, future, System.nanoTime()));
+                backlog++;
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+            return future;
+        }
+
+        private void work() {
+            while (!shuttingDown) {
+                DispatchTask<?> task;
+                NotificationPriority priority;
+                lock.lock();
+                try {
+                    while (backlog == 0 && !shuttingDown) {
+                        notEmpty.awaitUninterruptibly();
+                    }
+                    if (shuttingDown) {
+                        return;
+                    }
+                    priority = nextPriority();
+                    task = queues.get(priority.ordinal()).pollFirst();
+                    backlog--;
+                    notFull.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+
+                waitTimers[priority.ordinal()].record(System.nanoTime() - task.enqueuedAt(), TimeUnit.NANOSECONDS);
+                task.run();
+            }
+        }
+
+        /**
+         * Smooth weighted round robin over the non-empty queues
+         */
+        private NotificationPriority nextPriority() {
+            int totalWeight = 0;
+            int selected = -1;
+            for (int i = 0; i < PRIORITIES.length; i++) {
+                if (queues.get(i).isEmpty()) {
+                    // An idle queue must not bank credit for a later burst
+                    currentWeights[i] = 0;
+                    continue;
+                }
+                currentWeights[i] += weights[i];
+                totalWeight += weights[i];
+                if (selected < 0 || currentWeights[i] > currentWeights[selected]) {
+                    selected = i;
+                }
+            }
+            currentWeights[selected] -= totalWeight;
+            return PRIORITIES[selected];
+        }
+
+        private int depth(NotificationPriority priority) {
+            lock.lock();
+            try {
+                return queues.get(priority.ordinal()).size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Fail queued sends and release waiting workers and producers
+         */
+        private void close() {
+            lock.lock();
+            try {
+                for (ArrayDeque<DispatchTask<?>> queue : queues) {
+                    queue.forEach(task -> task.future().completeExceptionally(
+                            new TaskRejectedException("Notification dispatcher shut down")));
+                    queue.clear();
+                }
+                backlog = 0;
+                notEmpty.signalAll();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.mshando.notificationservice.service;
+
+import com.mshando.notificationservice.event.NotificationQueuedEvent;
+import com.mshando.notificationservice.model.Notification;
+import com.mshando.notificationservice.model.NotificationPriority;
+import com.mshando.notificationservice.model.NotificationType;
+import com.mshando.notificationservice.repository.NotificationBatchRepository;
+import com.mshando.notificationservice.repository.NotificationBatchRepository.DeliveryOutcome;
+import com.mshando.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable delivery queue built on the notifications table.
+ *
+ * A notification is queued by committing it as PENDING. One feeder thread
+ * per instance keeps the dispatcher's per-channel, per-priority queues
+ * topped up: it claims a small batch of the oldest due rows in a short
+ * transaction (row locks with SKIP LOCKED, then a lease stamped on each
+ * row) and hands them to the dispatcher, whose workers send them with no
+ * transaction open. Outcomes are collected and written back in small JDBC
+ * batches that also release the claims.
+ *
+ * Instances never wait on each other's rows, so throughput grows with the
+ * number of instances. Nothing is held only in memory: rows claimed by an
+ * instance that stops without recording them are claimed again once their
+ * lease expires, and on a graceful stop queued rows are released at once.
+ * Delivery is therefore at least once.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class NotificationQueue implements SmartLifecycle {
+
+    private static final NotificationType[] CHANNELS = {NotificationType.EMAIL, NotificationType.SMS};
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationBatchRepository batchRepository;
+    private final NotificationDispatcher dispatcher;
+    private final EmailService emailService;
+    private final SmsService smsService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore wakeUpSignal = new Semaphore(0);
+    private final Semaphore flushSignal = new Semaphore(0);
+    private final LinkedBlockingQueue<DeliveryOutcome> outcomes = new LinkedBlockingQueue<>();
+    private final LinkedBlockingQueue<Long> releasedIds = new LinkedBlockingQueue<>();
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName();
+    private final Counter claimedCounter;
+
+    private volatile boolean running;
+    private volatile boolean recording;
+    private Thread feeder;
+    private Thread recorder;
+
+    @Value("${notification.queue.workers-enabled:true}")
+    private boolean workersEnabled;
+
+    @Value("${notification.queue.claim-batch-size:20}")
+    private int claimBatchSize;
+
+    @Value("${notification.queue.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${notification.queue.idle-poll-ms:1000}")
+    private long idlePollMs;
+
+    @Value("${notification.queue.outcome-batch-size:50}")
+    private int outcomeBatchSize;
+
+    @Value("${notification.queue.outcome-flush-ms:200}")
+    private long outcomeFlushMs;
+
+    public NotificationQueue(NotificationRepository notificationRepository,
+                             NotificationBatchRepository batchRepository,
+                             NotificationDispatcher dispatcher,
+                             EmailService emailService,
+                             SmsService smsService,
+                             MeterRegistry meterRegistry,
+                             PlatformTransactionManager transactionManager) {
+        this.notificationRepository = notificationRepository;
+        this.batchRepository = batchRepository;
+        this.dispatcher = dispatcher;
+        this.emailService = emailService;
+        this.smsService = smsService;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.claimedCounter = meterRegistry.counter("notification.queue.claimed");
+        meterRegistry.gauge("notification.queue.outcomes.pending", outcomes, LinkedBlockingQueue::size);
+    }
+
+    /**
+     * Wake the feeder once queued notifications are visible to other transactions
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationQueued(NotificationQueuedEvent event) {
+        wakeUp();
+    }
+
+    /**
+     * Wake the feeder if it is waiting for work
+     */
+    public void wakeUp() {
+        if (wakeUpSignal.availablePermits() == 0) {
+            wakeUpSignal.release();
+        }
+    }
+
+    /**
+     * Claim due notifications for every dispatcher queue with room and hand them over
+     *
+     * @return number of notifications handed to the dispatcher
+     */
+    public int feedDispatcher() {
+        int dispatched = 0;
+        for (NotificationType type : CHANNELS) {
+            for (NotificationPriority priority : NotificationPriority.values()) {
+                int room = claimBatchSize - dispatcher.getQueueDepth(type, priority);
+                if (room > 0) {
+                    dispatched += dispatch(type, priority, claim(type, priority, room));
+                }
+            }
+        }
+        return dispatched;
+    }
+
+    /**
+     * Write buffered outcomes and released claims
+     */
+    public void flushOutcomes() {
+        List<Long> released = new ArrayList<>();
+        releasedIds.drainTo(released);
+        if (!released.isEmpty()) {
+            batchRepository.releaseClaims(released, instanceId);
+        }
+
+        List<DeliveryOutcome> batch = new ArrayList<>(outcomeBatchSize);
+        while (outcomes.drainTo(batch, outcomeBatchSize) > 0) {
+            try {
+                int recorded = batchRepository.updateOutcomes(batch, instanceId);
+                if (recorded < batch.size()) {
+                    log.warn("{} notification outcomes not recorded; their claims lapsed and were taken over",
+                            batch.size() - recorded);
+                }
+            } catch (Exception e) {
+                // The claims lapse and the notifications are sent again, which beats losing them
+                log.error("Failed to record {} notification outcomes: {}", batch.size(), e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!workersEnabled || running) {
+            return;
+        }
+
+        running = true;
+        recording = true;
+        feeder = new Thread(this::runFeeder, "notification-queue-feeder");
+        recorder = new Thread(this::runRecorder, "notification-queue-recorder");
+        feeder.start();
+        recorder.start();
+        log.info("Started notification queue on {}", instanceId);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        wakeUpSignal.release();
+        try {
+            feeder.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT_SECONDS));
+            // Queued sends are failed with TaskRejectedException and released; running sends complete
+            dispatcher.shutdown();
+            if (!dispatcher.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Notification sends still running at shutdown are recovered when their lease expires");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // The recorder's last pass must come after the workers have recorded their outcomes
+            recording = false;
+            flushSignal.release();
+        }
+        try {
+            recorder.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!recorder.isAlive()) {
+            // Outcomes of sends that completed during the recorder's last pass
+            flushOutcomes();
+        }
+        log.info("Stopped notification queue on {}", instanceId);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runFeeder() {
+        while (running) {
+            try {
+                if (feedDispatcher() > 0) {
+                    continue;
+                }
+            } catch (Exception e) {
+                log.error("Notification queue failed to claim notifications: {}", e.getMessage());
+            }
+
+            try {
+                wakeUpSignal.tryAcquire(idlePollMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void runRecorder() {
+        while (recording) {
+            try {
+                flushSignal.tryAcquire(outcomeFlushMs, TimeUnit.MILLISECONDS);
+                flushSignal.drainPermits();
+                flushOutcomes();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Notification queue failed to record outcomes: {}", e.getMessage());
+            }
+        }
+        flushOutcomes();
+    }
+
+    private List<QueuedNotification> claim(NotificationType type, NotificationPriority priority, int limit) {
+        List<QueuedNotification> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Notification> notifications = notificationRepository.findClaimable(
+                    type, priority, now, PageRequest.of(0, limit));
+
+            LocalDateTime leaseExpiresAt = now.plusSeconds(leaseSeconds);
+            notifications.forEach(notification -> notification.claim(instanceId, leaseExpiresAt));
+            return notifications.stream().map(QueuedNotification::from).toList();
+        });
+        return claimed != null ? claimed : List.of();
+    }
+
+    private int dispatch(NotificationType type, NotificationPriority priority, List<QueuedNotification> claimed) {
+        int dispatched = 0;
+        for (QueuedNotification notification : claimed) {
+            try {
+                dispatcher.submit(type, priority, () -> deliver(notification))
+                        .whenComplete((outcome, error) -> record(notification, outcome, error));
+                dispatched++;
+            } catch (TaskRejectedException e) {
+                // Shed or full: leave it in the table for a later pass
+                releasedIds.add(notification.id());
+            }
+        }
+        claimedCounter.increment(claimed.size());
+        return dispatched;
+    }
+
+    private DeliveryOutcome deliver(QueuedNotification notification) {
+        try {
+            if (notification.type() == NotificationType.EMAIL) {
+                emailService.sendRenderedEmail(notification.address(), notification.subject(), notification.content());
+                return DeliveryOutcome.sent(notification.id(), null);
+            }
+            String sid = smsService.sendRenderedSms(notification.address(), notification.content());
+            return DeliveryOutcome.sent(notification.id(), sid);
+
+        } catch (Exception e) {
+            log.error("Failed to send {} notification {}: {}", notification.type(), notification.id(), e.getMessage());
+            return DeliveryOutcome.failed(notification.id(), e.getMessage());
+        }
+    }
+
+    private void record(QueuedNotification notification, DeliveryOutcome outcome, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TaskRejectedException) {
+            releasedIds.add(notification.id());
+            return;
+        }
+
+        DeliveryOutcome recorded = cause != null ? DeliveryOutcome.failed(notification.id(), cause.getMessage()) : outcome;
+        meterRegistry.counter("notification.queue.messages", "type", notification.type().name(),
+                "outcome", recorded.status().name().toLowerCase()).increment();
+        outcomes.add(recorded);
+        if (outcomes.size() >= outcomeBatchSize) {
+            flushSignal.release();
+        }
+    }
+
+    /**
+     * What a dispatcher worker needs to send one claimed notification
+     */
+    private record QueuedNotification(Long id, NotificationType type, String address, String subject,
+                                      String content) {
+
+        static QueuedNotification from(Notification notification) {
+            String address = notification.getType() == NotificationType.EMAIL
+                    ? notification.getRecipientEmail() : notification.getRecipientPhoneNumber();
+            return new QueuedNotification(notification.getId(), notification.getType(), address,
+                    notification.getSubject(), notification.getContent());
+        }
+    }
+}
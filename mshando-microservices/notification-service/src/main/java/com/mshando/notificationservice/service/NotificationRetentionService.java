@@ -0,0 +1,170 @@
+package com.mshando.notificationservice.service;
+
+import com.mshando.notificationservice.model.NotificationStatus;
+import com.mshando.notificationservice.repository.NotificationBatchRepository;
+import com.mshando.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service deleting notifications past their retention period.
+ *
+ * Expired notifications are deleted in chunks, walking the ID range from
+ * the oldest row up to the newest row created before the cutoff. Each
+ * chunk deletes its notification_parameters rows and notifications in its
+ * own short transaction, followed by a pause, so locks are held briefly,
+ * WAL is written at a steady rate and the delivery queue keeps running.
+ * A run stops after a configured time and the next run carries on.
+ * Notifications still waiting for delivery are never deleted. Unread inbox
+ * items deleted with their notification are taken off the recipients'
+ * unread counts.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class NotificationRetentionService {
+
+    private static final int PROGRESS_LOG_INTERVAL = 100;
+
+    private static final Set<NotificationStatus> EXPIRED_STATUSES = EnumSet.of(
+            NotificationStatus.SENT, NotificationStatus.DELIVERED, NotificationStatus.FAILED,
+            NotificationStatus.BOUNCED, NotificationStatus.CANCELLED, NotificationStatus.DIGESTED);
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationBatchRepository batchRepository;
+    private final InboxService inboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter notificationsDeleted;
+    private final Timer chunkTimer;
+    private final AtomicLong remainingIds = new AtomicLong();
+
+    @Value("${notification.retention.days:90}")
+    private int retentionDays;
+
+    @Value("${notification.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${notification.retention.pause-ms:100}")
+    private long pauseMs;
+
+    @Value("${notification.retention.max-run-minutes:120}")
+    private long maxRunMinutes;
+
+    public NotificationRetentionService(NotificationRepository notificationRepository,
+                                        NotificationBatchRepository batchRepository,
+                                        InboxService inboxService,
+                                        MeterRegistry meterRegistry,
+                                        PlatformTransactionManager transactionManager) {
+        this.notificationRepository = notificationRepository;
+        this.batchRepository = batchRepository;
+        this.inboxService = inboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.notificationsDeleted = meterRegistry.counter("notification.retention.deleted");
+        this.chunkTimer = Timer.builder("notification.retention.chunk")
+                .description("Time to delete one chunk of expired notifications")
+                .register(meterRegistry);
+        meterRegistry.gauge("notification.retention.remaining.ids", remainingIds);
+    }
+
+    /**
+     * Delete notifications older than the retention period
+     */
+    @Scheduled(cron = "${notification.retention.cron:0 0 2 * * ?}") // Run daily at 2 AM
+    public void cleanupOldNotifications() {
+        log.info("Starting cleanup of old notifications");
+
+        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(retentionDays);
+        int deletedCount = deleteCreatedBefore(cutoffDate);
+
+        log.info("Cleaned up {} old notifications", deletedCount);
+    }
+
+    /**
+     * Delete delivered, failed and cancelled notifications created before the cutoff, chunk by chunk
+     *
+     * @return number of notifications deleted
+     */
+    public int deleteCreatedBefore(LocalDateTime cutoff) {
+        long maxId = batchRepository.findLastIdCreatedBefore(cutoff);
+        long deadline = System.nanoTime() + Duration.ofMinutes(maxRunMinutes).toNanos();
+        long afterId = 0;
+        int deleted = 0;
+        int chunks = 0;
+
+        while (afterId < maxId) {
+            long fromId = afterId;
+            List<Long> ids = chunkTimer.record(() ->
+                    transactionTemplate.execute(status -> deleteChunk(cutoff, fromId, maxId)));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+
+            afterId = ids.get(ids.size() - 1);
+            deleted += ids.size();
+            notificationsDeleted.increment(ids.size());
+            remainingIds.set(maxId - afterId);
+
+            if (++chunks % PROGRESS_LOG_INTERVAL == 0) {
+                log.info("Deleted {} old notifications so far, up to ID {} of {}", deleted, afterId, maxId);
+            }
+            if (System.nanoTime() > deadline) {
+                log.warn("Notification cleanup stopped after {} minutes at ID {}; the next run continues",
+                        maxRunMinutes, afterId);
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+
+        remainingIds.set(0);
+        return deleted;
+    }
+
+    /**
+     * Lock the next chunk of expired notifications, skipping rows another instance holds, and delete them.
+     * Unread inbox items are locked first, so the unread counts change by exactly what was deleted.
+     */
+    private List<Long> deleteChunk(LocalDateTime cutoff, long afterId, long maxId) {
+        List<Long> ids = notificationRepository.findExpiredIds(afterId, maxId, cutoff, EXPIRED_STATUSES,
+                PageRequest.of(0, chunkSize));
+        Map<Long, Long> unreadByRecipient = batchRepository.lockUnreadInboxRecipients(ids).stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        batchRepository.deleteAll(ids);
+        inboxService.unreadItemsDeleted(unreadByRecipient);
+        return ids;
+    }
+
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
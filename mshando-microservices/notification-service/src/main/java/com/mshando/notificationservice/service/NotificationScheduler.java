@@ -0,0 +1,290 @@
+package com.mshando.notificationservice.service;
+
+import com.mshando.notificationservice.event.NotificationScheduledEvent;
+import com.mshando.notificationservice.repository.NotificationBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Releases scheduled notifications into the delivery queue when they fall due.
+ *
+ * A preload thread streams the IDs and due times of SCHEDULED rows due
+ * within the lookahead window and puts them on an in-memory hierarchical
+ * timing wheel. A tick thread advances the wheel every tick and moves the
+ * notifications that fell due to PENDING in batches, then wakes the
+ * NotificationQueue feeder, so a notification is handed to the dispatcher
+ * within a few ticks of its due time instead of on the next minute.
+ *
+ * Every instance may preload the same rows. A row is only moved while it
+ * is still SCHEDULED, so exactly one instance releases it, and the delivery
+ * queue's claims make sure it is then sent once. Rows that are cancelled
+ * or moved to a later time after being preloaded are left alone when their
+ * old due time comes. Nothing is lost if an instance stops: the wheel only
+ * holds IDs, and the rows stay SCHEDULED until released.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class NotificationScheduler implements SmartLifecycle {
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 10000;
+
+    private final NotificationBatchRepository batchRepository;
+    private final NotificationQueue notificationQueue;
+    private final TransactionTemplate readTransaction;
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private final Map<Long, Long> deadlines = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<TimingWheel.Entry> due = new LinkedBlockingQueue<>();
+    private final Semaphore stopSignal = new Semaphore(0);
+    private final Timer fireDelayTimer;
+    private final Counter releasedCounter;
+
+    private volatile boolean running;
+    private TimingWheel wheel;
+    private Thread ticker;
+    private Thread preloader;
+
+    @Value("${notification.scheduler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notification.scheduler.tick-ms:100}")
+    private long tickMs;
+
+    @Value("${notification.scheduler.wheel-size:64}")
+    private int wheelSize;
+
+    @Value("${notification.scheduler.lookahead-seconds:120}")
+    private long lookaheadSeconds;
+
+    @Value("${notification.scheduler.preload-interval-ms:10000}")
+    private long preloadIntervalMs;
+
+    @Value("${notification.scheduler.max-preloaded:100000}")
+    private int maxPreloaded;
+
+    @Value("${notification.scheduler.release-batch-size:500}")
+    private int releaseBatchSize;
+
+    public NotificationScheduler(NotificationBatchRepository batchRepository,
+                                 NotificationQueue notificationQueue,
+                                 MeterRegistry meterRegistry,
+                                 PlatformTransactionManager transactionManager) {
+        this.batchRepository = batchRepository;
+        this.notificationQueue = notificationQueue;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.fireDelayTimer = Timer.builder("notification.scheduler.delay")
+                .description("Time from a scheduled notification's due time to its release into the delivery queue")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.releasedCounter = meterRegistry.counter("notification.scheduler.released");
+        meterRegistry.gauge("notification.scheduler.wheel.size", deadlines, Map::size);
+    }
+
+    /**
+     * Put a notification scheduled on this instance on the wheel once it is committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationScheduled(NotificationScheduledEvent event) {
+        if (!running || event.getScheduledFor() == null) {
+            return;
+        }
+        long deadline = toEpochMilli(event.getScheduledFor());
+        if (deadline < System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(lookaheadSeconds)) {
+            schedule(event.getNotificationId(), deadline);
+        }
+    }
+
+    /**
+     * Load scheduled notifications due within the lookahead window onto the wheel
+     *
+     * @return number of notifications read
+     */
+    public int preload() {
+        LocalDateTime horizon = LocalDateTime.now().plusSeconds(lookaheadSeconds);
+        int[] read = new int[1];
+        readTransaction.executeWithoutResult(status ->
+                batchRepository.forEachScheduledBefore(horizon, maxPreloaded, (id, scheduledFor) -> {
+                    schedule(id, toEpochMilli(scheduledFor));
+                    read[0]++;
+                }));
+        if (read[0] == maxPreloaded) {
+            log.warn("Preloaded the maximum of {} scheduled notifications; later ones wait for the next pass",
+                    maxPreloaded);
+        }
+        return read[0];
+    }
+
+    /**
+     * Move notifications that fell due to PENDING in batches and wake the delivery queue
+     *
+     * @return number of notifications released by this instance
+     */
+    public int releaseDue() {
+        int released = 0;
+        List<TimingWheel.Entry> batch = new ArrayList<>(releaseBatchSize);
+        while (due.drainTo(batch, releaseBatchSize) > 0) {
+            released += release(batch);
+            batch.clear();
+        }
+        if (released > 0) {
+            notificationQueue.wakeUp();
+        }
+        return released;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+
+        wheel = new TimingWheel(tickMs, wheelSize, System.currentTimeMillis());
+        running = true;
+        ticker = new Thread(this::runTicker, "notification-scheduler-tick");
+        preloader = new Thread(this::runPreloader, "notification-scheduler-preload");
+        ticker.start();
+        preloader.start();
+        log.info("Started notification scheduler with {} ms ticks and a {} s lookahead", tickMs, lookaheadSeconds);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        stopSignal.release();
+        try {
+            ticker.join(SHUTDOWN_TIMEOUT_MS);
+            preloader.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Stopped notification scheduler");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runTicker() {
+        while (running) {
+            long tickStart = System.currentTimeMillis();
+            try {
+                wheelLock.lock();
+                try {
+                    // One tick behind the clock, so nothing is released before it is due
+                    wheel.advanceTo(tickStart - tickMs, due::add);
+                } finally {
+                    wheelLock.unlock();
+                }
+                releaseDue();
+            } catch (Exception e) {
+                log.error("Notification scheduler failed to release due notifications: {}", e.getMessage());
+            }
+
+            long sleepMs = tickMs - (System.currentTimeMillis() - tickStart);
+            if (sleepMs > 0) {
+                try {
+                    Thread.sleep(sleepMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void runPreloader() {
+        while (running) {
+            try {
+                int read = preload();
+                log.debug("Preloaded {} scheduled notifications", read);
+            } catch (Exception e) {
+                log.error("Notification scheduler failed to preload scheduled notifications: {}", e.getMessage());
+            }
+
+            try {
+                stopSignal.tryAcquire(preloadIntervalMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Put a notification on the wheel unless it is already there with the same due time
+     */
+    private void schedule(long notificationId, long deadline) {
+        Long previous = deadlines.put(notificationId, deadline);
+        if (previous != null && previous == deadline) {
+            return;
+        }
+        TimingWheel.Entry entry = new TimingWheel.Entry(notificationId, deadline);
+        wheelLock.lock();
+        try {
+            if (!wheel.add(entry)) {
+                due.add(entry);
+            }
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    private int release(List<TimingWheel.Entry> entries) {
+        List<Long> ids = new ArrayList<>(entries.size());
+        for (TimingWheel.Entry entry : entries) {
+            // An entry left behind by a changed due time is dropped here; the newer entry stays
+            if (deadlines.remove(entry.id(), entry.deadlineMs())) {
+                ids.add(entry.id());
+            }
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // A failed batch stays SCHEDULED and is picked up again by the next preload
+        Set<Long> released = new HashSet<>(batchRepository.releaseScheduled(ids, LocalDateTime.now()));
+
+        long now = System.currentTimeMillis();
+        for (TimingWheel.Entry entry : entries) {
+            if (released.contains(entry.id())) {
+                fireDelayTimer.record(Math.max(0, now - entry.deadlineMs()), TimeUnit.MILLISECONDS);
+            }
+        }
+        releasedCounter.increment(released.size());
+        return released.size();
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -3,23 +3,24 @@ package com.mshando.notificationservice.service;
 import com.mshando.notificationservice.dto.EmailNotificationDTO;
 import com.mshando.notificationservice.dto.NotificationResponseDTO;
 import com.mshando.notificationservice.dto.SmsNotificationDTO;
+import com.mshando.notificationservice.event.NotificationQueuedEvent;
+import com.mshando.notificationservice.event.NotificationScheduledEvent;
 import com.mshando.notificationservice.model.Notification;
 import com.mshando.notificationservice.model.NotificationStatus;
 import com.mshando.notificationservice.model.NotificationType;
 import com.mshando.notificationservice.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * Main service for managing notifications across all channels.
@@ -35,23 +36,35 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final EmailService emailService;
     private final SmsService smsService;
+    private final NotificationDigestService digestService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${notification.queue.retry-base-delay-seconds:60}")
+    private long retryBaseDelaySeconds;
+
+    @Value("${notification.queue.retry-max-delay-seconds:3600}")
+    private long retryMaxDelaySeconds;
 
     /**
-     * Send email notification
+     * Queue email notification; it is sent by NotificationQueue once committed, or held for a digest
      */
-    @Async
-    public CompletableFuture<NotificationResponseDTO> sendEmailNotification(EmailNotificationDTO emailDto) {
+    @Transactional
+    public NotificationResponseDTO sendEmailNotification(EmailNotificationDTO emailDto) {
         log.info("Processing email notification request for recipient: {}", emailDto.getRecipientEmail());
-        return emailService.sendEmailAsync(emailDto);
+        Notification notification = emailService.prepareNotification(emailDto);
+        digestService.assign(notification);
+        return enqueue(notification);
     }
 
     /**
-     * Send SMS notification
+     * Queue SMS notification; it is sent by NotificationQueue once committed, or held for a digest
      */
-    @Async
-    public CompletableFuture<NotificationResponseDTO> sendSmsNotification(SmsNotificationDTO smsDto) {
+    @Transactional
+    public NotificationResponseDTO sendSmsNotification(SmsNotificationDTO smsDto) {
         log.info("Processing SMS notification request for recipient: {}", smsDto.getRecipientPhoneNumber());
-        return smsService.sendSmsAsync(smsDto);
+        Notification notification = smsService.prepareNotification(smsDto);
+        digestService.assign(notification);
+        return enqueue(notification);
     }
 
     /**
@@ -98,7 +111,7 @@ public class NotificationService {
      * Retry failed notification
      */
     @Transactional
-    public CompletableFuture<NotificationResponseDTO> retryNotification(Long notificationId) {
+    public NotificationResponseDTO retryNotification(Long notificationId) {
         log.info("Retrying notification with ID: {}", notificationId);
 
         Optional<Notification> notificationOpt = notificationRepository.findById(notificationId);
@@ -116,22 +129,14 @@ public class NotificationService {
             throw new IllegalStateException("Maximum retry attempts exceeded");
         }
 
-        // Increment retry count and reset status
-        notification.incrementRetryCount();
-        notification.setStatus(NotificationStatus.PENDING);
-        notification.setErrorMessage(null);
-        notification = notificationRepository.save(notification);
-
-        // Re-send based on type
-        if (notification.getType() == NotificationType.EMAIL) {
-            EmailNotificationDTO emailDto = mapToEmailDTO(notification);
-            return emailService.sendEmailAsync(emailDto);
-        } else if (notification.getType() == NotificationType.SMS) {
-            SmsNotificationDTO smsDto = mapToSmsDTO(notification);
-            return smsService.sendSmsAsync(smsDto);
+        if (notification.getType() != NotificationType.EMAIL && notification.getType() != NotificationType.SMS) {
+            throw new IllegalStateException("Unsupported notification type: " + notification.getType());
         }
 
-        throw new IllegalStateException("Unsupported notification type: " + notification.getType());
+        // The failed attempt was already counted, so only the status is reset
+        notification.setStatus(NotificationStatus.PENDING);
+        notification.setErrorMessage(null);
+        return enqueue(notification);
     }
 
     /**
@@ -145,7 +150,8 @@ public class NotificationService {
                 .ifPresentOrElse(
                         notification -> {
                             if (notification.getStatus() == NotificationStatus.PENDING || 
-                                notification.getStatus() == NotificationStatus.SCHEDULED) {
+                                notification.getStatus() == NotificationStatus.SCHEDULED ||
+                                notification.getStatus() == NotificationStatus.HELD) {
                                 notification.setStatus(NotificationStatus.CANCELLED);
                                 notificationRepository.save(notification);
                             } else {
@@ -159,71 +165,48 @@ public class NotificationService {
     }
 
     /**
-     * Process scheduled notifications
-     */
-    @Scheduled(fixedRate = 60000) // Run every minute
-    @Transactional
-    public void processScheduledNotifications() {
-        log.debug("Processing scheduled notifications");
-        
-        LocalDateTime now = LocalDateTime.now();
-        List<Notification> scheduledNotifications = notificationRepository
-                .findScheduledNotificationsDue(now);
-
-        log.info("Found {} scheduled notifications due for processing", scheduledNotifications.size());
-
-        for (Notification notification : scheduledNotifications) {
-            try {
-                if (notification.getType() == NotificationType.EMAIL) {
-                    EmailNotificationDTO emailDto = mapToEmailDTO(notification);
-                    emailService.sendEmailAsync(emailDto);
-                } else if (notification.getType() == NotificationType.SMS) {
-                    SmsNotificationDTO smsDto = mapToSmsDTO(notification);
-                    smsService.sendSmsAsync(smsDto);
-                }
-            } catch (Exception e) {
-                log.error("Failed to process scheduled notification ID: {}. Error: {}", 
-                        notification.getId(), e.getMessage());
-                notification.markAsFailed("Scheduled processing failed: " + e.getMessage());
-                notificationRepository.save(notification);
-            }
-        }
-    }
-
-    /**
-     * Retry failed notifications
+     * Put failed notifications with retries left back into the delivery queue.
+     * A notification waits retry-base-delay-seconds after its first failure,
+     * twice as long after its second, and so on up to retry-max-delay-seconds.
      */
     @Scheduled(fixedRate = 300000) // Run every 5 minutes
     @Transactional
     public void retryFailedNotifications() {
         log.debug("Processing retry for failed notifications");
-        
-        List<Notification> failedNotifications = notificationRepository.findFailedNotificationsForRetry();
-        
-        log.info("Found {} failed notifications eligible for retry", failedNotifications.size());
 
-        for (Notification notification : failedNotifications) {
-            try {
-                retryNotification(notification.getId());
-            } catch (Exception e) {
-                log.error("Failed to retry notification ID: {}. Error: {}", 
-                        notification.getId(), e.getMessage());
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = 0;
+        long delaySeconds = Math.max(retryBaseDelaySeconds, 1);
+        for (int failures = 1; ; failures++) {
+            if (delaySeconds >= retryMaxDelaySeconds) {
+                // Every later attempt waits the maximum delay
+                requeued += notificationRepository.requeueFailedForRetry(
+                        now, failures, Integer.MAX_VALUE, now.minusSeconds(retryMaxDelaySeconds));
+                break;
             }
+            // Rows failed outside a send attempt may not have counted it, so the first tier includes them
+            requeued += notificationRepository.requeueFailedForRetry(
+                    now, failures == 1 ? 0 : failures, failures, now.minusSeconds(delaySeconds));
+            delaySeconds *= 2;
+        }
+        if (requeued > 0) {
+            log.info("Queued {} failed notifications for retry", requeued);
+            eventPublisher.publishEvent(new NotificationQueuedEvent());
         }
     }
 
     /**
-     * Clean up old notifications
+     * Persist a notification and wake the queue or the scheduler once it commits
      */
-    @Scheduled(cron = "0 0 2 * * ?") // Run daily at 2 AM
-    @Transactional
-    public void cleanupOldNotifications() {
-        log.info("Starting cleanup of old notifications");
-        
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(90); // Keep 90 days
-        int deletedCount = notificationRepository.deleteOldNotifications(cutoffDate);
-        
-        log.info("Cleaned up {} old notifications", deletedCount);
+    private NotificationResponseDTO enqueue(Notification notification) {
+        notification = notificationRepository.save(notification);
+        if (notification.getStatus() == NotificationStatus.PENDING) {
+            eventPublisher.publishEvent(new NotificationQueuedEvent(notification.getType()));
+        } else if (notification.getStatus() == NotificationStatus.SCHEDULED) {
+            eventPublisher.publishEvent(
+                    new NotificationScheduledEvent(notification.getId(), notification.getScheduledFor()));
+        }
+        return mapToResponseDTO(notification);
     }
 
     /**
@@ -255,39 +238,4 @@ public class NotificationService {
                 .updatedAt(notification.getUpdatedAt())
                 .build();
     }
-
-    /**
-     * Map notification entity to email DTO
-     */
-    private EmailNotificationDTO mapToEmailDTO(Notification notification) {
-        return EmailNotificationDTO.builder()
-                .recipientId(notification.getRecipientId())
-                .recipientEmail(notification.getRecipientEmail())
-                .subject(notification.getSubject())
-                .content(notification.getContent())
-                .priority(notification.getPriority())
-                .templateId(notification.getTemplateId())
-                .templateParameters(notification.getTemplateParameters())
-                .scheduledFor(notification.getScheduledFor())
-                .referenceType(notification.getReferenceType())
-                .referenceId(notification.getReferenceId())
-                .build();
-    }
-
-    /**
-     * Map notification entity to SMS DTO
-     */
-    private SmsNotificationDTO mapToSmsDTO(Notification notification) {
-        return SmsNotificationDTO.builder()
-                .recipientId(notification.getRecipientId())
-                .recipientPhoneNumber(notification.getRecipientPhoneNumber())
-                .content(notification.getContent())
-                .priority(notification.getPriority())
-                .templateId(notification.getTemplateId())
-                .templateParameters(notification.getTemplateParameters())
-                .scheduledFor(notification.getScheduledFor())
-                .referenceType(notification.getReferenceType())
-                .referenceId(notification.getReferenceId())
-                .build();
-    }
 }
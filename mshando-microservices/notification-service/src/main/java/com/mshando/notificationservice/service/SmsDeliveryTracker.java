@@ -0,0 +1,199 @@
+package com.mshando.notificationservice.service;
+
+import com.mshando.notificationservice.repository.NotificationBatchRepository;
+import com.mshando.notificationservice.repository.NotificationBatchRepository.DeliveryOutcome;
+import com.mshando.notificationservice.repository.NotificationBatchRepository.OutstandingSms;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service tracking the delivery of sent SMS.
+ *
+ * Sent SMS that have no delivery report yet are read in batches by ID.
+ * The provider is asked for each message's status concurrently, bounded by
+ * a number of requests in flight and paced to a request rate, and the
+ * batch's status changes are written back in one JDBC batch. SMS are
+ * tracked from min-age-seconds after sending until max-age-hours, after
+ * which they are left as SENT.
+ *
+ * Failures the provider may get past on a second attempt become FAILED
+ * and are retried; all other failures, such as an unknown or unreachable
+ * number or a blocked message, become BOUNCED and are not sent again.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class SmsDeliveryTracker {
+
+    /**
+     * Twilio error codes of failures worth retrying: queue overflow and unknown error
+     */
+    private static final Set<String> RETRYABLE_ERROR_CODES = Set.of("30001", "30008");
+
+    private final NotificationBatchRepository batchRepository;
+    private final SmsStatusClient statusClient;
+    private final MeterRegistry meterRegistry;
+    private final Counter statusesChecked;
+    private final Counter statusErrors;
+    private final Semaphore inFlight;
+    private final long requestIntervalNanos;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long minAgeSeconds;
+    private final long maxAgeHours;
+
+    private long nextRequestNanos;
+
+    public SmsDeliveryTracker(NotificationBatchRepository batchRepository,
+                              SmsStatusClient statusClient,
+                              MeterRegistry meterRegistry,
+                              @Value("${notification.sms.status.enabled:true}") boolean enabled,
+                              @Value("${notification.sms.status.batch-size:200}") int batchSize,
+                              @Value("${notification.sms.status.max-concurrent-requests:20}") int maxConcurrentRequests,
+                              @Value("${notification.sms.status.requests-per-second:50}") double requestsPerSecond,
+                              @Value("${notification.sms.status.min-age-seconds:30}") long minAgeSeconds,
+                              @Value("${notification.sms.status.max-age-hours:72}") long maxAgeHours) {
+        this.batchRepository = batchRepository;
+        this.statusClient = statusClient;
+        this.meterRegistry = meterRegistry;
+        this.statusesChecked = meterRegistry.counter("notification.sms.status.checked");
+        this.statusErrors = meterRegistry.counter("notification.sms.status.errors");
+        this.inFlight = new Semaphore(maxConcurrentRequests);
+        this.requestIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.minAgeSeconds = minAgeSeconds;
+        this.maxAgeHours = maxAgeHours;
+        this.nextRequestNanos = System.nanoTime();
+    }
+
+    /**
+     * Check the delivery status of every outstanding SMS
+     */
+    @Scheduled(fixedDelayString = "${notification.sms.status.poll-ms:60000}",
+               initialDelayString = "${notification.sms.status.poll-ms:60000}")
+    public void trackDeliveryStatus() {
+        if (!enabled) {
+            return;
+        }
+        int updated = checkOutstanding(LocalDateTime.now());
+        if (updated > 0) {
+            log.info("Updated delivery status of {} SMS", updated);
+        }
+    }
+
+    /**
+     * Check SMS sent within the tracking window before the given time, batch by batch
+     *
+     * @return number of notifications whose status changed
+     */
+    public int checkOutstanding(LocalDateTime now) {
+        LocalDateTime sentAfter = now.minusHours(maxAgeHours);
+        LocalDateTime sentBefore = now.minusSeconds(minAgeSeconds);
+        long afterId = 0;
+        int updated = 0;
+
+        List<OutstandingSms> batch;
+        do {
+            batch = batchRepository.findOutstandingSms(afterId, sentAfter, sentBefore, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<DeliveryOutcome> outcomes = fetchOutcomes(batch);
+            updated += batchRepository.updateDeliveryStatuses(outcomes);
+            afterId = batch.get(batch.size() - 1).notificationId();
+        } while (batch.size() == batchSize && !Thread.currentThread().isInterrupted());
+
+        return updated;
+    }
+
+    /**
+     * Ask the provider for the status of each SMS in the batch, returning the ones that changed
+     */
+    private List<DeliveryOutcome> fetchOutcomes(List<OutstandingSms> batch) {
+        List<CompletableFuture<DeliveryOutcome>> lookups = new ArrayList<>(batch.size());
+        for (OutstandingSms sms : batch) {
+            try {
+                pace();
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            statusesChecked.increment();
+            lookups.add(fetchStatus(sms)
+                    .whenComplete((status, error) -> inFlight.release())
+                    .thenApply(status -> toOutcome(sms, status))
+                    .exceptionally(error -> {
+                        statusErrors.increment();
+                        log.warn("Failed to check SMS delivery status for notification {}: {}",
+                                sms.notificationId(), error.getMessage());
+                        return null;
+                    }));
+        }
+
+        CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).join();
+        return lookups.stream()
+                .map(CompletableFuture::join)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private CompletableFuture<SmsStatusClient.MessageStatus> fetchStatus(OutstandingSms sms) {
+        try {
+            return statusClient.fetchStatus(sms.externalId());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Map a provider status to a notification update; sent, queued and sending need none,
+     * and only failures with a retryable error code are left for retry
+     */
+    private DeliveryOutcome toOutcome(OutstandingSms sms, SmsStatusClient.MessageStatus status) {
+        String providerStatus = status.status() != null ? status.status().toLowerCase() : "";
+        DeliveryOutcome outcome = switch (providerStatus) {
+            case "delivered", "read" -> DeliveryOutcome.delivered(sms.notificationId());
+            case "failed", "undelivered", "canceled" -> {
+                String error = "SMS delivery failed: " + providerStatus
+                        + (status.errorCode() != null ? " (error " + status.errorCode() + ")" : "");
+                yield status.errorCode() != null && RETRYABLE_ERROR_CODES.contains(status.errorCode())
+                        ? DeliveryOutcome.failed(sms.notificationId(), error)
+                        : DeliveryOutcome.bounced(sms.notificationId(), error);
+            }
+            default -> null;
+        };
+        if (outcome != null) {
+            meterRegistry.counter("notification.sms.status.updated", "status", outcome.status().name()).increment();
+        }
+        return outcome;
+    }
+
+    /**
+     * Space requests evenly at the configured rate
+     */
+    private synchronized void pace() throws InterruptedException {
+        long now = System.nanoTime();
+        long wait = nextRequestNanos - now;
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        nextRequestNanos = (wait > 0 ? nextRequestNanos : now) + requestIntervalNanos;
+    }
+}
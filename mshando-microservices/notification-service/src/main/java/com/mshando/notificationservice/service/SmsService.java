@@ -1,26 +1,24 @@
 package com.mshando.notificationservice.service;
 
 import com.mshando.notificationservice.dto.SmsNotificationDTO;
-import com.mshando.notificationservice.dto.NotificationResponseDTO;
 import com.mshando.notificationservice.model.Notification;
 import com.mshando.notificationservice.model.NotificationStatus;
 import com.mshando.notificationservice.model.NotificationType;
-import com.mshando.notificationservice.repository.NotificationRepository;
 import com.twilio.Twilio;
 import com.twilio.rest.api.v2010.account.Message;
 import com.twilio.type.PhoneNumber;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.annotation.PostConstruct;
-import java.util.concurrent.CompletableFuture;
+import java.time.LocalDateTime;
 
 /**
  * Service for handling SMS notifications using Twilio.
+ *
+ * Delivery reports for sent messages are collected by {@link SmsDeliveryTracker}.
  * 
  * @author Mshando Team
  * @version 1.0.0
@@ -30,7 +28,6 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class SmsService {
 
-    private final NotificationRepository notificationRepository;
     private final TemplateService templateService;
 
     @Value("${twilio.account-sid}")
@@ -56,91 +53,31 @@ public class SmsService {
     }
 
     /**
-     * Send SMS notification asynchronously
+     * Build the notification record for an SMS, rendering its template if one is given
      */
-    @Async
-    @Transactional
-    public CompletableFuture<NotificationResponseDTO> sendSmsAsync(SmsNotificationDTO smsDto) {
-        log.info("Sending SMS notification to: {}", smsDto.getRecipientPhoneNumber());
-
-        // Create notification record
+    public Notification prepareNotification(SmsNotificationDTO smsDto) {
         Notification notification = createNotificationRecord(smsDto);
-        notification = notificationRepository.save(notification);
-
-        try {
-            if (!smsEnabled) {
-                log.warn("SMS sending is disabled. Marking notification as sent for testing purposes.");
-                notification.markAsSent();
-                notificationRepository.save(notification);
-                return CompletableFuture.completedFuture(mapToResponseDTO(notification));
-            }
-
-            // Process template if provided
-            String processedContent = smsDto.getContent();
-            if (smsDto.getTemplateId() != null) {
-                processedContent = templateService.processTemplate(
-                    smsDto.getTemplateId(), smsDto.getTemplateParameters(), NotificationType.SMS);
-            }
-
-            // Send SMS using Twilio
-            Message message = Message.creator(
-                    new PhoneNumber(smsDto.getRecipientPhoneNumber()),
-                    new PhoneNumber(fromPhoneNumber),
-                    processedContent)
-                    .create();
-
-            // Update notification with external ID and mark as sent
-            notification.setExternalId(message.getSid());
-            notification.markAsSent();
-            notification = notificationRepository.save(notification);
-
-            log.info("SMS sent successfully to: {}. Twilio SID: {}", 
-                    smsDto.getRecipientPhoneNumber(), message.getSid());
-            return CompletableFuture.completedFuture(mapToResponseDTO(notification));
 
-        } catch (Exception e) {
-            log.error("Failed to send SMS to: {}. Error: {}", 
-                    smsDto.getRecipientPhoneNumber(), e.getMessage());
-            notification.markAsFailed(e.getMessage());
-            notificationRepository.save(notification);
-            throw new RuntimeException("Failed to send SMS", e);
+        if (smsDto.getTemplateId() != null) {
+            notification.setContent(templateService.processTemplate(
+                smsDto.getTemplateId(), smsDto.getTemplateParameters(), NotificationType.SMS));
         }
+        return notification;
     }
 
     /**
-     * Check SMS delivery status using Twilio
+     * Send an already rendered SMS on the calling thread, without recording a notification
+     *
+     * @return the provider message SID, or null when SMS sending is disabled
      */
-    @Transactional
-    public void checkDeliveryStatus(String notificationId) {
-        notificationRepository.findById(Long.valueOf(notificationId))
-                .ifPresent(notification -> {
-                    if (notification.getExternalId() != null && notification.getType() == NotificationType.SMS) {
-                        try {
-                            Message message = Message.fetcher(notification.getExternalId()).fetch();
-                            String status = message.getStatus().toString();
-                            
-                            log.info("SMS delivery status for notification {}: {}", 
-                                    notificationId, status);
-                            
-                            // Update notification based on Twilio status
-                            switch (status.toLowerCase()) {
-                                case "delivered":
-                                    notification.markAsDelivered();
-                                    break;
-                                case "failed":
-                                case "undelivered":
-                                    notification.markAsFailed("SMS delivery failed: " + status);
-                                    break;
-                                // Other statuses like 'sent', 'queued', 'sending' don't need action
-                            }
-                            
-                            notificationRepository.save(notification);
-                        } catch (Exception e) {
-                            log.error("Failed to check SMS delivery status for notification {}: {}", 
-                                    notificationId, e.getMessage());
-                        }
-                    }
-                });
+    public String sendRenderedSms(String to, String content) {
+        if (!smsEnabled) {
+            log.debug("SMS sending is disabled. Skipping SMS to: {}", to);
+            return null;
+        }
+        Message message = Message.creator(new PhoneNumber(to), new PhoneNumber(fromPhoneNumber), content)
+                .create();
+        return message.getSid();
     }
 
     /**
@@ -151,7 +88,8 @@ public class SmsService {
                 .recipientId(smsDto.getRecipientId())
                 .recipientPhoneNumber(smsDto.getRecipientPhoneNumber())
                 .type(NotificationType.SMS)
-                .status(NotificationStatus.PENDING)
+                .status(smsDto.getScheduledFor() != null && smsDto.getScheduledFor().isAfter(LocalDateTime.now())
+                        ? NotificationStatus.SCHEDULED : NotificationStatus.PENDING)
                 .priority(smsDto.getPriority())
                 .content(smsDto.getContent())
                 .templateId(smsDto.getTemplateId())
@@ -161,34 +99,4 @@ public class SmsService {
                 .referenceId(smsDto.getReferenceId())
                 .build();
     }
-
-    /**
-     * Map notification entity to response DTO
-     */
-    private NotificationResponseDTO mapToResponseDTO(Notification notification) {
-        return NotificationResponseDTO.builder()
-                .id(notification.getId())
-                .recipientId(notification.getRecipientId())
-                .recipientEmail(notification.getRecipientEmail())
-                .recipientPhoneNumber(notification.getRecipientPhoneNumber())
-                .type(notification.getType())
-                .status(notification.getStatus())
-                .priority(notification.getPriority())
-                .subject(notification.getSubject())
-                .content(notification.getContent())
-                .templateId(notification.getTemplateId())
-                .templateParameters(notification.getTemplateParameters())
-                .sentAt(notification.getSentAt())
-                .deliveredAt(notification.getDeliveredAt())
-                .scheduledFor(notification.getScheduledFor())
-                .retryCount(notification.getRetryCount())
-                .maxRetries(notification.getMaxRetries())
-                .errorMessage(notification.getErrorMessage())
-                .externalId(notification.getExternalId())
-                .referenceType(notification.getReferenceType())
-                .referenceId(notification.getReferenceId())
-                .createdAt(notification.getCreatedAt())
-                .updatedAt(notification.getUpdatedAt())
-                .build();
-    }
 }
@@ -0,0 +1,100 @@
+package com.mshando.notificationservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Client fetching SMS message status from the Twilio REST API.
+ *
+ * The Twilio SDK blocks a thread per request and always calls
+ * api.twilio.com, so status lookups use the JDK HTTP client instead: requests
+ * are asynchronous, share one connection pool, and go to a configurable base
+ * URL that tests point at a local stand-in.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+public class SmsStatusClient {
+
+    private static final String MESSAGE_PATH = "/2010-04-01/Accounts/%s/Messages/%s.json";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String apiUrl;
+    private final String accountSid;
+    private final String authorization;
+    private final Duration requestTimeout;
+
+    public SmsStatusClient(ObjectMapper objectMapper,
+                           @Value("${twilio.api-url:https://api.twilio.com}") String apiUrl,
+                           @Value("${twilio.account-sid}") String accountSid,
+                           @Value("${twilio.auth-token}") String authToken,
+                           @Value("${notification.sms.status.request-timeout-ms:10000}") long requestTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.apiUrl = apiUrl.endsWith("/") ? apiUrl.substring(0, apiUrl.length() - 1) : apiUrl;
+        this.accountSid = accountSid;
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((accountSid + ":" + authToken).getBytes(StandardCharsets.UTF_8));
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .build();
+    }
+
+    /**
+     * Fetch the current status of a message
+     *
+     * @param messageSid the provider message SID stored as the notification's external ID
+     */
+    public CompletableFuture<MessageStatus> fetchStatus(String messageSid) {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(apiUrl + MESSAGE_PATH.formatted(encode(accountSid), encode(messageSid))))
+                .header("Authorization", authorization)
+                .header("Accept", "application/json")
+                .timeout(requestTimeout)
+                .GET()
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> parse(messageSid, response));
+    }
+
+    private MessageStatus parse(String messageSid, HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Status lookup for message " + messageSid
+                    + " returned HTTP " + response.statusCode());
+        }
+        try {
+            JsonNode message = objectMapper.readTree(response.body());
+            JsonNode errorCode = message.path("error_code");
+            return new MessageStatus(messageSid, message.path("status").asText(null),
+                    errorCode.isNull() || errorCode.isMissingNode() ? null : errorCode.asText());
+        } catch (Exception e) {
+            throw new IllegalStateException("Invalid status response for message " + messageSid, e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Provider status of one message, e.g. "sent", "delivered" or "undelivered"
+     */
+    public record MessageStatus(String messageSid, String status, String errorCode) {
+    }
+}
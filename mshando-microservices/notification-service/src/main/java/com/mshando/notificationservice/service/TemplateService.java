@@ -1,102 +1,116 @@
 package com.mshando.notificationservice.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.mshando.notificationservice.config.StoredTemplateResolver;
 import com.mshando.notificationservice.model.NotificationTemplate;
 import com.mshando.notificationservice.model.NotificationType;
 import com.mshando.notificationservice.repository.NotificationTemplateRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
 
 /**
  * Service for handling notification templates and content processing.
  * 
+ * Stored templates are compiled once per version: the subject, content and
+ * state of each template are cached by ID, and Thymeleaf caches the parsed
+ * content under a name that includes the version. Saving, activating or
+ * deactivating a template evicts its entry once the change commits; edits
+ * made through another instance are picked up when the entry expires. A
+ * render holds its version in the resolver until it finishes, so one that
+ * overlaps an eviction still resolves the version it started with.
+ *
  * @author Mshando Team
  * @version 1.0.0
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class TemplateService {
 
     private final NotificationTemplateRepository templateRepository;
     private final TemplateEngine templateEngine;
+    private final StoredTemplateResolver storedTemplateResolver;
+    private final Cache<Long, CompiledTemplate> compiledTemplates;
+
+    public TemplateService(NotificationTemplateRepository templateRepository,
+                           TemplateEngine templateEngine,
+                           StoredTemplateResolver storedTemplateResolver,
+                           MeterRegistry meterRegistry,
+                           @Value("${notification.templates.cache.max-size:500}") long cacheMaxSize,
+                           @Value("${notification.templates.cache.ttl-minutes:10}") long cacheTtlMinutes) {
+        this.templateRepository = templateRepository;
+        this.templateEngine = templateEngine;
+        this.storedTemplateResolver = storedTemplateResolver;
+        this.compiledTemplates = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(cacheTtlMinutes))
+                .removalListener((Long templateId, CompiledTemplate compiled, RemovalCause cause) -> release(compiled))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, compiledTemplates, "notification.templates");
+    }
 
     /**
-     * Process template with parameters
+     * Render a stored template, resolving subject and content from one cached entry
      */
-    @Transactional(readOnly = true)
-    public String processTemplate(Long templateId, Map<String, String> parameters, NotificationType type) {
-        log.debug("Processing template ID: {} for type: {}", templateId, type);
+    public RenderedTemplate renderTemplate(Long templateId, Map<String, ?> parameters, NotificationType type) {
+        log.debug("Rendering template ID: {} for type: {}", templateId, type);
 
-        Optional<NotificationTemplate> templateOpt = templateRepository.findByIdAndType(templateId, type);
-        
-        if (templateOpt.isEmpty()) {
+        CompiledTemplate compiled = compiledTemplates.get(templateId, this::compileTemplate);
+
+        if (compiled.type() != type) {
             log.error("Template not found with ID: {} and type: {}", templateId, type);
             throw new IllegalArgumentException("Template not found: " + templateId);
         }
 
-        NotificationTemplate template = templateOpt.get();
-        
-        if (!template.isActive()) {
+        if (!compiled.active()) {
             log.error("Template with ID: {} is not active", templateId);
             throw new IllegalStateException("Template is not active: " + templateId);
         }
 
+        storedTemplateResolver.acquire(compiled.templateName(), compiled.content());
         try {
-            // Create Thymeleaf context with parameters
-            Context context = new Context();
-            if (parameters != null) {
-                // Convert String values to Object for Thymeleaf
-                parameters.forEach((key, value) -> context.setVariable(key, (Object) value));
-            }
-
-            // Process template content
-            String processedContent = templateEngine.process(template.getContent(), context);
+            String processedContent = templateEngine.process(compiled.templateName(), createContext(parameters));
             
-            log.debug("Template processed successfully for ID: {}", templateId);
-            return processedContent;
+            log.debug("Template processed successfully for ID: {} version: {}", templateId, compiled.version());
+            return new RenderedTemplate(compiled.subject(), processedContent);
 
         } catch (Exception e) {
             log.error("Failed to process template ID: {}. Error: {}", templateId, e.getMessage());
             throw new RuntimeException("Template processing failed", e);
+        } finally {
+            release(compiled);
         }
     }
 
     /**
-     * Get template subject by ID
+     * Process template with parameters
      */
-    @Transactional(readOnly = true)
-    public String getTemplateSubject(Long templateId) {
-        log.debug("Getting template subject for ID: {}", templateId);
-
-        return templateRepository.findById(templateId)
-                .map(NotificationTemplate::getSubject)
-                .orElseThrow(() -> {
-                    log.error("Template not found with ID: {}", templateId);
-                    return new IllegalArgumentException("Template not found: " + templateId);
-                });
+    public String processTemplate(Long templateId, Map<String, String> parameters, NotificationType type) {
+        return renderTemplate(templateId, parameters, type).content();
     }
 
     /**
      * Process template content without database lookup (for inline templates)
      */
-    public String processInlineTemplate(String templateContent, Map<String, String> parameters) {
+    public String processInlineTemplate(String templateContent, Map<String, ?> parameters) {
         log.debug("Processing inline template");
 
         try {
-            Context context = new Context();
-            if (parameters != null) {
-                // Convert String values to Object for Thymeleaf
-                parameters.forEach((key, value) -> context.setVariable(key, (Object) value));
-            }
-
-            return templateEngine.process(templateContent, context);
+            return templateEngine.process(templateContent, createContext(parameters));
 
         } catch (Exception e) {
             log.error("Failed to process inline template. Error: {}", e.getMessage());
@@ -119,7 +133,15 @@ public class TemplateService {
             throw new IllegalArgumentException("Invalid template syntax", e);
         }
 
-        return templateRepository.save(template);
+        if (template.getId() != null && template.getVersion() == null) {
+            // Updates arrive detached; carry the stored version so they merge instead of inserting
+            templateRepository.findById(template.getId())
+                    .ifPresent(existing -> template.setVersion(existing.getVersion()));
+        }
+
+        NotificationTemplate savedTemplate = templateRepository.save(template);
+        evictAfterCommit(savedTemplate.getId());
+        return savedTemplate;
     }
 
     /**
@@ -142,6 +164,7 @@ public class TemplateService {
                         template -> {
                             template.setActive(true);
                             templateRepository.save(template);
+                            evictAfterCommit(templateId);
                         },
                         () -> {
                             throw new IllegalArgumentException("Template not found: " + templateId);
@@ -160,10 +183,80 @@ public class TemplateService {
                         template -> {
                             template.setActive(false);
                             templateRepository.save(template);
+                            evictAfterCommit(templateId);
                         },
                         () -> {
                             throw new IllegalArgumentException("Template not found: " + templateId);
                         }
                 );
     }
+
+    /**
+     * Load a template and acquire its content in the resolver for the cache entry
+     */
+    private CompiledTemplate compileTemplate(Long templateId) {
+        NotificationTemplate template = templateRepository.findById(templateId)
+                .orElseThrow(() -> {
+                    log.error("Template not found with ID: {}", templateId);
+                    return new IllegalArgumentException("Template not found: " + templateId);
+                });
+
+        long version = template.getVersion() != null ? template.getVersion() : 0L;
+        CompiledTemplate compiled = new CompiledTemplate(
+                StoredTemplateResolver.templateName(templateId, version), version,
+                template.getType(), template.isActive(), template.getSubject(), template.getContent());
+        storedTemplateResolver.acquire(compiled.templateName(), compiled.content());
+
+        log.debug("Compiled template ID: {} version: {}", templateId, version);
+        return compiled;
+    }
+
+    /**
+     * Release one hold on a template version, dropping it from the engine's parse cache with the last one
+     */
+    private void release(CompiledTemplate compiled) {
+        if (compiled == null) {
+            return;
+        }
+        if (storedTemplateResolver.release(compiled.templateName(), compiled.content())) {
+            templateEngine.clearTemplateCacheFor(compiled.templateName());
+        }
+    }
+
+    /**
+     * Evict a template once the current transaction commits, so it is not reloaded from the old row
+     */
+    private void evictAfterCommit(Long templateId) {
+        if (templateId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    compiledTemplates.invalidate(templateId);
+                }
+            });
+        } else {
+            compiledTemplates.invalidate(templateId);
+        }
+    }
+
+    private Context createContext(Map<String, ?> parameters) {
+        Context context = new Context();
+        if (parameters != null) {
+            parameters.forEach(context::setVariable);
+        }
+        return context;
+    }
+
+    /**
+     * Subject and processed content of a stored template
+     */
+    public record RenderedTemplate(String subject, String content) {
+    }
+
+    private record CompiledTemplate(String templateName, long version, NotificationType type, boolean active,
+                                    String subject, String content) {
+    }
 }
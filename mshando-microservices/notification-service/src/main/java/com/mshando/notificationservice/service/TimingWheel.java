@@ -0,0 +1,121 @@
+package com.mshando.notificationservice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel holding notification IDs until their due time.
+ *
+ * Level 0 has wheelSize buckets of tickMs each; every further level has
+ * the same number of buckets, each as wide as the whole level below.
+ * Adding and expiring an entry costs O(1) per level, whatever the number
+ * of entries. Entries are never released early: an entry expires on the
+ * first tick at or after its deadline, provided the wheel is advanced to
+ * one tick behind the clock.
+ *
+ * Not thread-safe; NotificationScheduler guards it with its own lock.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+final class TimingWheel {
+
+    record Entry(long id, long deadlineMs) {
+    }
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level> levels = new ArrayList<>();
+    private long currentTime;
+    private int size;
+
+    TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - startMs % tickMs;
+        levels.add(new Level(tickMs, wheelSize));
+    }
+
+    /**
+     * Add an entry
+     *
+     * @return false if the entry is already due and was not added
+     */
+    boolean add(Entry entry) {
+        if (entry.deadlineMs() < currentTime + tickMs) {
+            return false;
+        }
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                levels.add(new Level(levels.get(i - 1).span, wheelSize));
+            }
+            Level level = levels.get(i);
+            long levelStart = currentTime - currentTime % level.tick;
+            if (entry.deadlineMs() < levelStart + level.span) {
+                level.bucketFor(entry.deadlineMs()).add(entry);
+                size++;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Advance the wheel tick by tick up to the given time, passing every entry that falls due to the consumer
+     */
+    void advanceTo(long timeMs, Consumer<Entry> expired) {
+        while (currentTime + tickMs <= timeMs) {
+            currentTime += tickMs;
+            // Higher levels first, so entries cascading into this tick's level-0 bucket expire now
+            for (int i = levels.size() - 1; i >= 0; i--) {
+                Level level = levels.get(i);
+                if (currentTime % level.tick != 0) {
+                    continue;
+                }
+                List<Entry> bucket = level.bucketFor(currentTime);
+                if (bucket.isEmpty()) {
+                    continue;
+                }
+                List<Entry> entries = new ArrayList<>(bucket);
+                bucket.clear();
+                size -= entries.size();
+                for (Entry entry : entries) {
+                    if (!add(entry)) {
+                        expired.accept(entry);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Time the wheel has been advanced to
+     */
+    long currentTime() {
+        return currentTime;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static final class Level {
+
+        private final long tick;
+        private final long span;
+        private final List<List<Entry>> buckets;
+
+        private Level(long tick, int wheelSize) {
+            this.tick = tick;
+            this.span = tick * wheelSize;
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new ArrayList<>());
+            }
+        }
+
+        private List<Entry> bucketFor(long timeMs) {
+            return buckets.get((int) ((timeMs / tick) % buckets.size()));
+        }
+    }
+}
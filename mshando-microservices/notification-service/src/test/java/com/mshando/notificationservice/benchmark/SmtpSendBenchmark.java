@@ -0,0 +1,103 @@
+package com.mshando.notificationservice.benchmark;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.mshando.notificationservice.config.PooledJavaMailSender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of sending email over SMTP.
+ *
+ * Compares JavaMailSenderImpl, which connects and authenticates for every
+ * message, with PooledJavaMailSender reusing connections, both sending to
+ * an in-process GreenMail server that requires AUTH. The local server hides
+ * network latency, so a real relay over TLS widens the gap. Run with:
+ *
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main SmtpSendBenchmark"
+ * </pre>
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SmtpSendBenchmark {
+
+    private static final int PORT = 3125;
+
+    private GreenMail greenMail;
+    private JavaMailSenderImpl plainSender;
+    private PooledJavaMailSender pooledSender;
+
+    @Setup
+    public void setUp() {
+        greenMail = new GreenMail(new ServerSetup(PORT, "localhost", ServerSetup.PROTOCOL_SMTP));
+        greenMail.setUser("mailer@mshando.com", "mailer", "secret");
+        greenMail.start();
+
+        plainSender = configure(new JavaMailSenderImpl());
+        pooledSender = configure(new PooledJavaMailSender(4, 1000, 60_000, 5_000, 10_000,
+                new SimpleMeterRegistry()));
+    }
+
+    @Setup(Level.Iteration)
+    public void purgeMailboxes() throws Exception {
+        greenMail.purgeEmailFromAllMailboxes();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pooledSender.destroy();
+        greenMail.stop();
+    }
+
+    @Benchmark
+    public void sendConnectionPerMessage() {
+        plainSender.send(message());
+    }
+
+    @Benchmark
+    public void sendPooledConnection() {
+        pooledSender.send(message());
+    }
+
+    private static <T extends JavaMailSenderImpl> T configure(T sender) {
+        sender.setHost("localhost");
+        sender.setPort(PORT);
+        sender.setUsername("mailer");
+        sender.setPassword("secret");
+        sender.getJavaMailProperties().put("mail.smtp.auth", "true");
+        return sender;
+    }
+
+    private static SimpleMailMessage message() {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@mshando.com");
+        message.setTo("customer@example.com");
+        message.setSubject("New bid on your task");
+        message.setText("Your task Assemble bookshelf received a new bid of 45.00.");
+        return message;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SmtpSendBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
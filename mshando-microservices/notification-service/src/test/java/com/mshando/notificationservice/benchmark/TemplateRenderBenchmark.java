@@ -0,0 +1,121 @@
+package com.mshando.notificationservice.benchmark;
+
+import com.mshando.notificationservice.config.StoredTemplateResolver;
+import com.mshando.notificationservice.config.TemplateConfig;
+import com.mshando.notificationservice.model.NotificationTemplate;
+import com.mshando.notificationservice.model.NotificationType;
+import com.mshando.notificationservice.repository.NotificationTemplateRepository;
+import com.mshando.notificationservice.service.TemplateService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.thymeleaf.TemplateEngine;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JMH benchmark of notification template rendering.
+ *
+ * Compares rendering a stored template through the compiled-template cache
+ * with parsing the same content on every render, which is what each send
+ * did before templates were cached. Run with:
+ *
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main TemplateRenderBenchmark"
+ * </pre>
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplateRenderBenchmark {
+
+    private static final Long TEMPLATE_ID = 1L;
+
+    private static final String CONTENT = """
+            <html>
+            <body>
+              <h1>Hello <span th:text="${userName}">user</span>,</h1>
+              <p>Your task <strong th:text="${taskTitle}">task</strong> received a new bid of
+                 <span th:text="${bidAmount}">0</span> from <span th:text="${taskerName}">tasker</span>.</p>
+              <p th:if="${message != null}">"[[${message}]]"</p>
+              <table>
+                <tr><td>Task</td><td th:text="${taskTitle}">task</td></tr>
+                <tr><td>Amount</td><td th:text="${bidAmount}">0</td></tr>
+                <tr><td>Tasker</td><td th:text="${taskerName}">tasker</td></tr>
+              </table>
+              <p><a th:href="${bidUrl}">Review the bid</a> or <a th:href="${taskUrl}">open the task</a>.</p>
+              <p>Thank you for using Mshando.</p>
+            </body>
+            </html>
+            """;
+
+    private static final Map<String, String> PARAMETERS = Map.of(
+            "userName", "Jane Doe",
+            "taskTitle", "Assemble bookshelf",
+            "bidAmount", "45.00",
+            "taskerName", "John Smith",
+            "message", "I can do this tomorrow morning.",
+            "bidUrl", "https://mshando.com/bids/42",
+            "taskUrl", "https://mshando.com/tasks/7");
+
+    private AnnotationConfigApplicationContext context;
+    private TemplateService templateService;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(TemplateConfig.class);
+
+        NotificationTemplateRepository templateRepository = mock(NotificationTemplateRepository.class);
+        when(templateRepository.findById(TEMPLATE_ID)).thenReturn(Optional.of(NotificationTemplate.builder()
+                .id(TEMPLATE_ID)
+                .templateId("bid_received")
+                .name("bid_received")
+                .type(NotificationType.EMAIL)
+                .subject("New bid on your task")
+                .content(CONTENT)
+                .version(3L)
+                .build()));
+
+        templateService = new TemplateService(templateRepository,
+                context.getBean(TemplateEngine.class),
+                context.getBean(StoredTemplateResolver.class),
+                new SimpleMeterRegistry(), 500, 10);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TemplateService.RenderedTemplate renderCompiled() {
+        return templateService.renderTemplate(TEMPLATE_ID, PARAMETERS, NotificationType.EMAIL);
+    }
+
+    @Benchmark
+    public String renderParsedEachTime() {
+        return templateService.processInlineTemplate(CONTENT, PARAMETERS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TemplateRenderBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
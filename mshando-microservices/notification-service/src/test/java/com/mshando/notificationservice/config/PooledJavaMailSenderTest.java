@@ -0,0 +1,120 @@
+package com.mshando.notificationservice.config;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for PooledJavaMailSender against an in-process SMTP server.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+class PooledJavaMailSenderTest {
+
+    private GreenMail greenMail;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        greenMail = new GreenMail(ServerSetupTest.SMTP);
+        greenMail.setUser("mailer@mshando.com", "mailer", "secret");
+        greenMail.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        greenMail.stop();
+    }
+
+    @Test
+    void sendsConsecutiveMessagesOverOneConnection() {
+        PooledJavaMailSender mailSender = createSender(100);
+
+        for (int i = 0; i < 20; i++) {
+            mailSender.send(message("user" + i + "@example.com"));
+        }
+
+        assertEquals(20, greenMail.getReceivedMessages().length);
+        assertEquals(1.0, meterRegistry.counter("notification.smtp.connections.opened").count());
+        assertEquals(1, mailSender.getOpenConnections());
+        mailSender.destroy();
+        assertEquals(0, mailSender.getOpenConnections());
+    }
+
+    @Test
+    void recyclesConnectionAfterMessageLimit() {
+        PooledJavaMailSender mailSender = createSender(5);
+
+        mailSender.send(IntStream.range(0, 12)
+                .mapToObj(i -> message("user" + i + "@example.com"))
+                .toArray(SimpleMailMessage[]::new));
+
+        assertEquals(12, greenMail.getReceivedMessages().length);
+        assertEquals(3.0, meterRegistry.counter("notification.smtp.connections.opened").count());
+        assertEquals(2.0, meterRegistry.counter("notification.smtp.connections.closed", "reason", "recycled").count());
+    }
+
+    @Test
+    void replacesConnectionDroppedByServer() {
+        PooledJavaMailSender mailSender = createSender(100);
+        mailSender.send(message("first@example.com"));
+
+        greenMail.stop();
+        greenMail = new GreenMail(ServerSetupTest.SMTP);
+        greenMail.setUser("mailer@mshando.com", "mailer", "secret");
+        greenMail.start();
+
+        // The pooled connection was reset by the restart, so this send fails and drops it
+        assertThrows(MailSendException.class, () -> mailSender.send(message("second@example.com")));
+        assertEquals(0, mailSender.getOpenConnections());
+
+        mailSender.send(message("third@example.com"));
+        assertEquals(1, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void closesConnectionReturnedAfterDestroy() {
+        PooledJavaMailSender mailSender = createSender(100);
+        mailSender.send(message("first@example.com"));
+        mailSender.destroy();
+
+        // A send still in flight at shutdown returns its connection after destroy()
+        mailSender.send(message("second@example.com"));
+
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        assertEquals(0, mailSender.getOpenConnections());
+        assertEquals(2.0, meterRegistry.counter("notification.smtp.connections.closed", "reason", "expired").count());
+    }
+
+    private PooledJavaMailSender createSender(int maxMessagesPerConnection) {
+        PooledJavaMailSender mailSender = new PooledJavaMailSender(2, maxMessagesPerConnection,
+                60_000, 5_000, 1_000, meterRegistry);
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        mailSender.setUsername("mailer");
+        mailSender.setPassword("secret");
+        mailSender.getJavaMailProperties().put("mail.smtp.auth", "true");
+        return mailSender;
+    }
+
+    private static SimpleMailMessage message(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@mshando.com");
+        message.setTo(to);
+        message.setSubject("Task update");
+        message.setText("Your task has a new bid.");
+        return message;
+    }
+}
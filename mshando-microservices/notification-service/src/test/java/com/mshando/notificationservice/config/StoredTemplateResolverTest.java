@@ -0,0 +1,72 @@
+package com.mshando.notificationservice.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.exceptions.TemplateInputException;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for StoredTemplateResolver.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+class StoredTemplateResolverTest {
+
+    private static final String NAME = StoredTemplateResolver.templateName(7L, 1L);
+    private static final String CONTENT = "<p th:text=\"${name}\">name</p>";
+
+    private StoredTemplateResolver resolver;
+    private SpringTemplateEngine templateEngine;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new StoredTemplateResolver();
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+    }
+
+    @Test
+    void testRelease_KeepsSourceUntilLastHolder() {
+        // Held by the template cache and by a render in progress
+        resolver.acquire(NAME, CONTENT);
+        resolver.acquire(NAME, CONTENT);
+
+        // The cache entry is evicted while the render has yet to resolve the template
+        assertFalse(resolver.release(NAME, CONTENT));
+        templateEngine.clearTemplateCacheFor(NAME);
+        assertEquals("<p>Asha</p>", render());
+
+        assertTrue(resolver.release(NAME, CONTENT));
+        templateEngine.clearTemplateCacheFor(NAME);
+        assertThrows(TemplateInputException.class, this::render);
+    }
+
+    @Test
+    void testRelease_IgnoresSourceAcquiredAgainWithOtherContent() {
+        resolver.acquire(NAME, CONTENT);
+        resolver.acquire(NAME, new String(CONTENT));
+
+        assertFalse(resolver.release(NAME, CONTENT));
+        assertEquals("<p>Asha</p>", render());
+    }
+
+    @Test
+    void testAcquire_RestoresReleasedSource() {
+        resolver.acquire(NAME, CONTENT);
+        assertTrue(resolver.release(NAME, CONTENT));
+
+        resolver.acquire(NAME, CONTENT);
+
+        assertEquals("<p>Asha</p>", render());
+    }
+
+    private String render() {
+        Context context = new Context();
+        context.setVariable("name", "Asha");
+        return templateEngine.process(NAME, context);
+    }
+}
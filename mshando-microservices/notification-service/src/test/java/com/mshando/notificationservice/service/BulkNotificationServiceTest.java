@@ -0,0 +1,215 @@
+package com.mshando.notificationservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mshando.notificationservice.client.UserServiceClient;
+import com.mshando.notificationservice.dto.BulkNotificationDTO;
+import com.mshando.notificationservice.dto.BulkRecipientDTO;
+import com.mshando.notificationservice.model.Notification;
+import com.mshando.notificationservice.model.NotificationJob;
+import com.mshando.notificationservice.model.NotificationJobStatus;
+import com.mshando.notificationservice.model.NotificationType;
+import com.mshando.notificationservice.repository.NotificationBatchRepository;
+import com.mshando.notificationservice.repository.NotificationJobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BulkNotificationService.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class BulkNotificationServiceTest {
+
+    private static final Long JOB_ID = 7L;
+
+    @Mock
+    private NotificationJobRepository jobRepository;
+
+    @Mock
+    private NotificationBatchRepository batchRepository;
+
+    @Mock
+    private TemplateService templateService;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private SmsService smsService;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private NotificationDispatcher dispatcher;
+
+    private BulkNotificationService service;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new NotificationDispatcher(meterRegistry, 1, 1, 10, 5, 1, 2, 4, 8);
+        service = new BulkNotificationService(jobRepository, batchRepository, templateService, emailService,
+                smsService, dispatcher, userServiceClient, meterRegistry, objectMapper, transactionManager, 1, 1);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "maxRecipients", 100);
+        ReflectionTestUtils.setField(service, "leaseSeconds", 300L);
+        ReflectionTestUtils.setField(service, "jobLeaseSeconds", 600L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void testCreateJob_StoresRequestAndClaim() throws Exception {
+        when(jobRepository.save(any(NotificationJob.class))).thenAnswer(call -> {
+            NotificationJob saved = call.getArgument(0);
+            saved.setId(JOB_ID);
+            return saved;
+        });
+
+        service.createJob(emailJob(3));
+
+        ArgumentCaptor<NotificationJob> saved = ArgumentCaptor.forClass(NotificationJob.class);
+        verify(jobRepository).save(saved.capture());
+        NotificationJob job = saved.getValue();
+        assertNotNull(job.getClaimedBy());
+        assertTrue(job.getLeaseExpiresAt().isAfter(LocalDateTime.now()));
+        assertEquals(0, job.getResumeCursor());
+        assertEquals(emailJob(3), objectMapper.readValue(job.getRequest(), BulkNotificationDTO.class));
+    }
+
+    @Test
+    void testResumeAbandonedJobs_ContinuesListJobFromCursor() throws Exception {
+        NotificationJob job = storedJob(objectMapper.writeValueAsString(emailJob(5)), 2);
+        abandon(job);
+        when(jobRepository.advanceCursor(eq(JOB_ID), anyString(), anyInt(), any())).thenReturn(1);
+        when(templateService.renderTemplate(any(), any(), eq(NotificationType.EMAIL)))
+                .thenReturn(new TemplateService.RenderedTemplate("Subject", "Hello"));
+        List<List<Long>> inserted = new CopyOnWriteArrayList<>();
+        when(batchRepository.insertAll(anyList())).thenAnswer(call -> {
+            List<Notification> notifications = call.getArgument(0);
+            inserted.add(notifications.stream().map(Notification::getRecipientId).toList());
+            return notifications;
+        });
+
+        assertEquals(1, service.resumeAbandonedJobs());
+
+        // One save marks the job running, the second completes it
+        verify(jobRepository, timeout(5000).times(2)).save(job);
+        assertEquals(NotificationJobStatus.COMPLETED, job.getStatus());
+        assertEquals(List.of(List.of(3L, 4L), List.of(5L)), inserted);
+        verify(jobRepository).advanceCursor(eq(JOB_ID), eq(job.getClaimedBy()), eq(4), any());
+        verify(jobRepository).advanceCursor(eq(JOB_ID), eq(job.getClaimedBy()), eq(5), any());
+        verify(emailService, times(3)).sendRenderedEmail(anyString(), eq("Subject"), eq("Hello"));
+    }
+
+    @Test
+    void testResumeAbandonedJobs_FailsJobWithoutStoredRequest() {
+        NotificationJob job = storedJob(null, 0);
+        abandon(job);
+
+        assertEquals(1, service.resumeAbandonedJobs());
+
+        verify(jobRepository, timeout(5000)).save(job);
+        assertEquals(NotificationJobStatus.FAILED, job.getStatus());
+        assertNotNull(job.getErrorMessage());
+        verifyNoInteractions(batchRepository, emailService);
+    }
+
+    @Test
+    void testResumeAbandonedJobs_StopsWhenJobIsTakenOverAgain() throws Exception {
+        NotificationJob job = storedJob(objectMapper.writeValueAsString(emailJob(2)), 0);
+        abandon(job);
+        when(templateService.renderTemplate(any(), any(), eq(NotificationType.EMAIL)))
+                .thenReturn(new TemplateService.RenderedTemplate("Subject", "Hello"));
+        when(jobRepository.advanceCursor(eq(JOB_ID), anyString(), anyInt(), any())).thenReturn(0);
+
+        service.resumeAbandonedJobs();
+
+        verify(jobRepository, timeout(5000)).advanceCursor(eq(JOB_ID), anyString(), eq(2), any());
+        // Only the running mark is saved; the new owner finishes the job
+        verify(jobRepository, after(200).times(1)).save(job);
+        assertEquals(NotificationJobStatus.RUNNING, job.getStatus());
+        verify(jobRepository, never()).addProgress(any(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void testResumeAbandonedJobs_SkipsJobTakenByAnotherInstance() {
+        when(jobRepository.findAbandonedJobIds(any(), any())).thenReturn(List.of(JOB_ID));
+        when(jobRepository.takeOver(eq(JOB_ID), any(), anyString(), any(), any())).thenReturn(0);
+
+        assertEquals(0, service.resumeAbandonedJobs());
+
+        verify(jobRepository, never()).findById(any());
+    }
+
+    private void abandon(NotificationJob job) {
+        when(jobRepository.findAbandonedJobIds(any(), any())).thenReturn(List.of(JOB_ID));
+        when(jobRepository.takeOver(eq(JOB_ID), any(), anyString(), any(), any())).thenAnswer(call -> {
+            job.setClaimedBy(call.getArgument(2));
+            job.setLeaseExpiresAt(call.getArgument(3));
+            return 1;
+        });
+        when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+    }
+
+    private static NotificationJob storedJob(String request, int resumeCursor) {
+        return NotificationJob.builder()
+                .id(JOB_ID)
+                .type(NotificationType.EMAIL)
+                .templateId(1L)
+                .status(NotificationJobStatus.RUNNING)
+                .request(request)
+                .resumeCursor(resumeCursor)
+                .claimedBy("stopped-instance")
+                .leaseExpiresAt(LocalDateTime.now().minusMinutes(1))
+                .build();
+    }
+
+    private static BulkNotificationDTO emailJob(int recipients) {
+        List<BulkRecipientDTO> list = new ArrayList<>();
+        LongStream.rangeClosed(1, recipients).forEach(id -> list.add(BulkRecipientDTO.builder()
+                .recipientId(id)
+                .email("user" + id + "@example.com")
+                .build()));
+        return BulkNotificationDTO.builder()
+                .type(NotificationType.EMAIL)
+                .templateId(1L)
+                .recipients(list)
+                .build();
+    }
+}
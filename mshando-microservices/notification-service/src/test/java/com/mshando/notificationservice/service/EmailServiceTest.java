@@ -1,18 +1,27 @@
 package com.mshando.notificationservice.service;
 
 import com.mshando.notificationservice.dto.EmailNotificationDTO;
+import com.mshando.notificationservice.model.Notification;
 import com.mshando.notificationservice.model.NotificationPriority;
-import com.mshando.notificationservice.repository.NotificationRepository;
+import com.mshando.notificationservice.model.NotificationStatus;
+import com.mshando.notificationservice.model.NotificationType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -27,9 +36,6 @@ class EmailServiceTest {
     @Mock
     private JavaMailSender mailSender;
 
-    @Mock
-    private NotificationRepository notificationRepository;
-
     @Mock
     private TemplateService templateService;
 
@@ -43,48 +49,73 @@ class EmailServiceTest {
     }
 
     @Test
-    void testSendEmailAsync_Success() {
+    void testSendRenderedEmail_Disabled() throws Exception {
+        // When
+        emailService.sendRenderedEmail("recipient@example.com", "Test Subject", "Test Content");
+
+        // Then
+        verifyNoInteractions(mailSender); // Since email is disabled in test
+    }
+
+    @Test
+    void testPrepareNotification_WithTemplate() {
         // Given
         EmailNotificationDTO emailDto = EmailNotificationDTO.builder()
                 .recipientId(1L)
                 .recipientEmail("recipient@example.com")
                 .subject("Test Subject")
                 .content("Test Content")
-                .priority(NotificationPriority.NORMAL)
+                .priority(NotificationPriority.HIGH)
+                .templateId(1L)
                 .build();
 
-        when(notificationRepository.save(any())).thenReturn(any());
+        when(templateService.renderTemplate(any(), any(), any()))
+                .thenReturn(new TemplateService.RenderedTemplate("Processed Subject", "Processed Content"));
 
         // When
-        emailService.sendEmailAsync(emailDto);
+        Notification notification = emailService.prepareNotification(emailDto);
 
         // Then
-        verify(notificationRepository, times(2)).save(any());
-        verifyNoInteractions(mailSender); // Since email is disabled in test
+        verify(templateService).renderTemplate(eq(1L), any(), eq(NotificationType.EMAIL));
+        assertEquals(NotificationStatus.PENDING, notification.getStatus());
+        assertEquals(NotificationPriority.HIGH, notification.getPriority());
+        assertEquals("Processed Subject", notification.getSubject());
+        assertEquals("Processed Content", notification.getContent());
+        verifyNoInteractions(mailSender);
     }
 
     @Test
-    void testSendEmailAsync_WithTemplate() {
+    void testPrepareNotification_ScheduledForLater() {
         // Given
         EmailNotificationDTO emailDto = EmailNotificationDTO.builder()
                 .recipientId(1L)
                 .recipientEmail("recipient@example.com")
                 .subject("Test Subject")
                 .content("Test Content")
-                .priority(NotificationPriority.HIGH)
-                .templateId(1L)
+                .priority(NotificationPriority.NORMAL)
+                .scheduledFor(LocalDateTime.now().plusHours(1))
                 .build();
 
-        when(notificationRepository.save(any())).thenReturn(any());
-        when(templateService.processTemplate(any(), any(), any())).thenReturn("Processed Content");
-        when(templateService.getTemplateSubject(any())).thenReturn("Processed Subject");
+        // When
+        Notification notification = emailService.prepareNotification(emailDto);
+
+        // Then
+        assertEquals(NotificationStatus.SCHEDULED, notification.getStatus());
+        verifyNoInteractions(templateService);
+    }
+
+    @Test
+    void testSendRenderedEmail_Enabled() throws Exception {
+        // Given
+        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
+        ReflectionTestUtils.setField(emailService, "emailEnabled", true);
 
         // When
-        emailService.sendEmailAsync(emailDto);
+        emailService.sendRenderedEmail("recipient@example.com", "Processed Subject", "Processed Content");
 
         // Then
-        verify(notificationRepository, times(2)).save(any());
-        verify(templateService).processTemplate(any(), any(), any());
-        verify(templateService).getTemplateSubject(any());
+        ArgumentCaptor<MimeMessage> message = ArgumentCaptor.forClass(MimeMessage.class);
+        verify(mailSender).send(message.capture());
+        assertEquals("Processed Subject", message.getValue().getSubject());
     }
 }
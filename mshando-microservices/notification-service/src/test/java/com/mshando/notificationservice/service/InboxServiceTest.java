@@ -0,0 +1,209 @@
+package com.mshando.notificationservice.service;
+
+import com.mshando.notificationservice.dto.InAppNotificationDTO;
+import com.mshando.notificationservice.dto.InboxPageDTO;
+import com.mshando.notificationservice.dto.InboxItemDTO;
+import com.mshando.notificationservice.model.InboxItem;
+import com.mshando.notificationservice.model.Notification;
+import com.mshando.notificationservice.repository.InboxItemRepository;
+import com.mshando.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for InboxService.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class InboxServiceTest {
+
+    private static final Long RECIPIENT_ID = 42L;
+
+    @Mock
+    private InboxItemRepository inboxItemRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private TemplateService templateService;
+
+    @Mock
+    private InboxStreamService streamService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private InboxService inboxService;
+
+    @BeforeEach
+    void setUp() {
+        inboxService = new InboxService(inboxItemRepository, notificationRepository, templateService, streamService,
+                eventPublisher, new SimpleMeterRegistry(), 280, 1000, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testGetInbox_PagesByItemId() {
+        when(inboxItemRepository.findByRecipientIdOrderByIdDesc(RECIPIENT_ID, PageRequest.of(0, 2)))
+                .thenReturn(List.of(item(9L), item(8L)));
+        when(inboxItemRepository.findByRecipientIdAndIdLessThanOrderByIdDesc(RECIPIENT_ID, 8L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(item(7L)));
+        when(inboxItemRepository.countByRecipientIdAndReadAtIsNull(RECIPIENT_ID)).thenReturn(3L);
+
+        InboxPageDTO first = inboxService.getInbox(RECIPIENT_ID, null, 2);
+        InboxPageDTO last = inboxService.getInbox(RECIPIENT_ID, first.getNextBefore(), 2);
+
+        assertEquals(List.of(9L, 8L), first.getItems().stream().map(InboxItemDTO::getId).toList());
+        assertEquals(8L, first.getNextBefore());
+        assertEquals(List.of(7L), last.getItems().stream().map(InboxItemDTO::getId).toList());
+        assertNull(last.getNextBefore());
+        assertEquals(3L, last.getUnreadCount());
+        // The unread count is loaded once and then served from memory
+        verify(inboxItemRepository, times(1)).countByRecipientIdAndReadAtIsNull(RECIPIENT_ID);
+    }
+
+    @Test
+    void testGetInbox_CapsPageSize() {
+        inboxService.getInbox(RECIPIENT_ID, null, 1000);
+
+        verify(inboxItemRepository).findByRecipientIdOrderByIdDesc(RECIPIENT_ID, PageRequest.of(0, 100));
+    }
+
+    @Test
+    void testMarkRead_AppliesDeltasOnlyAfterCommit() {
+        when(inboxItemRepository.countByRecipientIdAndReadAtIsNull(RECIPIENT_ID)).thenReturn(5L);
+        when(inboxItemRepository.markRead(eq(RECIPIENT_ID), anyList(), any())).thenReturn(2);
+        when(inboxItemRepository.markAllRead(eq(RECIPIENT_ID), any())).thenReturn(3);
+        assertEquals(5L, inboxService.getUnreadCount(RECIPIENT_ID));
+
+        TransactionSynchronizationManager.initSynchronization();
+        inboxService.markRead(RECIPIENT_ID, List.of(1L, 2L));
+        assertEquals(5L, inboxService.getUnreadCount(RECIPIENT_ID));
+        completeTransaction(true);
+        assertEquals(3L, inboxService.getUnreadCount(RECIPIENT_ID));
+
+        TransactionSynchronizationManager.initSynchronization();
+        inboxService.markAllRead(RECIPIENT_ID);
+        completeTransaction(false);
+        assertEquals(3L, inboxService.getUnreadCount(RECIPIENT_ID));
+
+        TransactionSynchronizationManager.initSynchronization();
+        inboxService.markAllRead(RECIPIENT_ID);
+        completeTransaction(true);
+        assertEquals(0L, inboxService.getUnreadCount(RECIPIENT_ID));
+        verify(inboxItemRepository, times(1)).countByRecipientIdAndReadAtIsNull(RECIPIENT_ID);
+    }
+
+    @Test
+    void testUnreadItemsDeleted_AppliesDeltasAfterCommit() {
+        when(inboxItemRepository.countByRecipientIdAndReadAtIsNull(RECIPIENT_ID)).thenReturn(4L);
+        assertEquals(4L, inboxService.getUnreadCount(RECIPIENT_ID));
+
+        TransactionSynchronizationManager.initSynchronization();
+        inboxService.unreadItemsDeleted(Map.of(RECIPIENT_ID, 3L));
+        assertEquals(4L, inboxService.getUnreadCount(RECIPIENT_ID));
+        completeTransaction(true);
+
+        assertEquals(1L, inboxService.getUnreadCount(RECIPIENT_ID));
+    }
+
+    @Test
+    void testDeliver_IncrementsLoadedCountOnce() {
+        stubDelivery();
+        when(inboxItemRepository.countByRecipientIdAndReadAtIsNull(RECIPIENT_ID)).thenReturn(0L);
+        assertEquals(0L, inboxService.getUnreadCount(RECIPIENT_ID));
+
+        TransactionSynchronizationManager.initSynchronization();
+        inboxService.deliver(inAppNotification());
+        completeTransaction(true);
+
+        assertEquals(1L, inboxService.getUnreadCount(RECIPIENT_ID));
+    }
+
+    @Test
+    void testGetUnreadCount_DoesNotCacheCountLoadedBeforeDeltaIsApplied() {
+        stubDelivery();
+        // The delivered item is committed, so every COUNT from here on includes it
+        when(inboxItemRepository.countByRecipientIdAndReadAtIsNull(RECIPIENT_ID)).thenReturn(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        inboxService.deliver(inAppNotification());
+        // Loaded between the commit and the after-commit delta
+        assertEquals(1L, inboxService.getUnreadCount(RECIPIENT_ID));
+        completeTransaction(true);
+
+        assertEquals(1L, inboxService.getUnreadCount(RECIPIENT_ID));
+        assertEquals(1L, inboxService.getUnreadCount(RECIPIENT_ID));
+        verify(inboxItemRepository, times(2)).countByRecipientIdAndReadAtIsNull(RECIPIENT_ID);
+    }
+
+    private void stubDelivery() {
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(call -> {
+            Notification notification = call.getArgument(0);
+            notification.setId(100L);
+            return notification;
+        });
+        when(inboxItemRepository.save(any(InboxItem.class))).thenAnswer(call -> {
+            InboxItem item = call.getArgument(0);
+            item.setId(10L);
+            return item;
+        });
+    }
+
+    /**
+     * Run the callbacks of the transaction the test opened
+     */
+    private static void completeTransaction(boolean committed) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (committed) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(committed
+                ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK));
+    }
+
+    private static InAppNotificationDTO inAppNotification() {
+        return InAppNotificationDTO.builder()
+                .recipientId(RECIPIENT_ID)
+                .title("Bid accepted")
+                .content("Your bid was accepted")
+                .build();
+    }
+
+    private static InboxItem item(Long id) {
+        return InboxItem.builder()
+                .id(id)
+                .recipientId(RECIPIENT_ID)
+                .notificationId(id + 100)
+                .title("Title " + id)
+                .build();
+    }
+}
@@ -0,0 +1,246 @@
+package com.mshando.notificationservice.service;
+
+import com.mshando.notificationservice.event.NotificationQueuedEvent;
+import com.mshando.notificationservice.model.Notification;
+import com.mshando.notificationservice.model.NotificationPriority;
+import com.mshando.notificationservice.model.NotificationStatus;
+import com.mshando.notificationservice.model.NotificationTemplate;
+import com.mshando.notificationservice.model.NotificationType;
+import com.mshando.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationDigestService.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationDigestServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private TemplateService templateService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationDigestService digestService;
+
+    @BeforeEach
+    void setUp() {
+        digestService = new NotificationDigestService(notificationRepository, templateService, eventPublisher,
+                new SimpleMeterRegistry(), transactionManager);
+        ReflectionTestUtils.setField(digestService, "enabled", true);
+        ReflectionTestUtils.setField(digestService, "windowSeconds", 600L);
+        ReflectionTestUtils.setField(digestService, "referenceTypes", Set.of());
+        ReflectionTestUtils.setField(digestService, "maxItems", 50);
+        ReflectionTestUtils.setField(digestService, "flushBatchSize", 100);
+        ReflectionTestUtils.setField(digestService, "emailTemplateName", "");
+        ReflectionTestUtils.setField(digestService, "smsTemplateName", "");
+    }
+
+    @Test
+    void testAssign_FirstInQuietPeriodIsSentRightAway() {
+        Notification notification = bidNotification(NotificationPriority.NORMAL);
+        when(notificationRepository.findOpenDigestReleaseTime("1:EMAIL:BID_PLACED")).thenReturn(Optional.empty());
+        when(notificationRepository.existsByDigestKeyAndCreatedAtAfter(eq("1:EMAIL:BID_PLACED"), any()))
+                .thenReturn(false);
+
+        digestService.assign(notification);
+
+        assertEquals(NotificationStatus.PENDING, notification.getStatus());
+        assertEquals("1:EMAIL:BID_PLACED", notification.getDigestKey());
+        assertNull(notification.getScheduledFor());
+    }
+
+    @Test
+    void testAssign_JoinsOpenDigestWindow() {
+        Notification notification = bidNotification(NotificationPriority.NORMAL);
+        LocalDateTime releaseAt = LocalDateTime.now().plusMinutes(4);
+        when(notificationRepository.findOpenDigestReleaseTime("1:EMAIL:BID_PLACED"))
+                .thenReturn(Optional.of(releaseAt));
+
+        digestService.assign(notification);
+
+        assertEquals(NotificationStatus.HELD, notification.getStatus());
+        assertEquals(releaseAt, notification.getScheduledFor());
+    }
+
+    @Test
+    void testAssign_HighPriorityIsNeverHeld() {
+        Notification notification = bidNotification(NotificationPriority.HIGH);
+
+        digestService.assign(notification);
+
+        assertEquals(NotificationStatus.PENDING, notification.getStatus());
+        assertNull(notification.getDigestKey());
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void testFlushDueDigests_ReleasesLoneHeldNotificationUnchanged() {
+        Notification held = held(bidNotification(NotificationPriority.NORMAL), 1L);
+        dueDigest(List.of(held));
+
+        digestService.flushDueDigests();
+
+        assertEquals(NotificationStatus.PENDING, held.getStatus());
+        assertEquals("New bid on your task", held.getSubject());
+        assertNull(held.getDigestId());
+        verify(notificationRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new NotificationQueuedEvent(NotificationType.EMAIL));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlushDueDigests_FoldsHeldNotificationsIntoDigest() {
+        ReflectionTestUtils.setField(digestService, "maxItems", 2);
+        Notification first = held(bidNotification(NotificationPriority.LOW), 1L);
+        Notification second = held(bidNotification(NotificationPriority.NORMAL), 2L);
+        Notification third = held(bidNotification(NotificationPriority.LOW), 3L);
+        dueDigest(List.of(first, second, third));
+        when(templateService.processInlineTemplate(anyString(), anyMap())).thenReturn("<p>3 new notifications</p>");
+
+        digestService.flushDueDigests();
+
+        Notification digest = savedDigest();
+        assertEquals(NotificationStatus.PENDING, digest.getStatus());
+        assertEquals(NotificationPriority.NORMAL, digest.getPriority());
+        assertEquals("3 new notifications", digest.getSubject());
+        assertEquals("<p>3 new notifications</p>", digest.getContent());
+        assertEquals("1:EMAIL:BID_PLACED", digest.getDigestKey());
+        for (Notification notification : List.of(first, second, third)) {
+            assertEquals(NotificationStatus.DIGESTED, notification.getStatus());
+            assertEquals(99L, notification.getDigestId());
+        }
+        ArgumentCaptor<Map<String, Object>> variables = ArgumentCaptor.forClass(Map.class);
+        verify(templateService).processInlineTemplate(anyString(), variables.capture());
+        assertEquals(3, variables.getValue().get("count"));
+        assertEquals(1, variables.getValue().get("omitted"));
+        assertEquals(2, ((List<?>) variables.getValue().get("items")).size());
+        verify(eventPublisher).publishEvent(new NotificationQueuedEvent(NotificationType.EMAIL));
+    }
+
+    @Test
+    void testFlushDueDigests_RendersStoredDigestTemplate() {
+        ReflectionTestUtils.setField(digestService, "emailTemplateName", "bid-digest");
+        dueDigest(List.of(held(bidNotification(NotificationPriority.NORMAL), 1L),
+                held(bidNotification(NotificationPriority.NORMAL), 2L)));
+        when(templateService.getTemplateByName("bid-digest", NotificationType.EMAIL))
+                .thenReturn(Optional.of(NotificationTemplate.builder().id(5L).name("bid-digest").build()));
+        when(templateService.renderTemplate(eq(5L), anyMap(), eq(NotificationType.EMAIL)))
+                .thenReturn(new TemplateService.RenderedTemplate(null, "<p>2 new bids</p>"));
+
+        digestService.flushDueDigests();
+
+        Notification digest = savedDigest();
+        assertEquals(5L, digest.getTemplateId());
+        assertEquals("2 new notifications", digest.getSubject());
+        assertEquals("<p>2 new bids</p>", digest.getContent());
+        verify(templateService, never()).processInlineTemplate(anyString(), anyMap());
+    }
+
+    @Test
+    void testFlushDueDigests_TruncatesSmsDigest() {
+        List<Notification> held = IntStream.rangeClosed(1, 200)
+                .mapToObj(id -> {
+                    Notification notification = bidNotification(NotificationPriority.NORMAL);
+                    notification.setType(NotificationType.SMS);
+                    notification.setSubject("New bid number " + id);
+                    return held(notification, (long) id);
+                })
+                .toList();
+        dueDigest(held);
+
+        digestService.flushDueDigests();
+
+        String content = savedDigest().getContent();
+        assertTrue(content.startsWith("200 new notifications:\n- New bid number 1\n"));
+        assertTrue(content.length() <= 1600);
+        assertFalse(content.contains("New bid number 200"));
+        assertTrue(held.stream().allMatch(notification -> notification.getStatus() == NotificationStatus.DIGESTED));
+    }
+
+    @Test
+    void testFlushDueDigests_SkipsKeyLockedByAnotherInstance() {
+        ReflectionTestUtils.setField(digestService, "flushBatchSize", 1);
+        when(notificationRepository.findDueDigestKeys(any(), any())).thenReturn(List.of("1:EMAIL:BID_PLACED"));
+        // Rows locked by the other instance are skipped, so none come back
+        when(notificationRepository.findHeldForDigest("1:EMAIL:BID_PLACED")).thenReturn(List.of());
+
+        digestService.flushDueDigests();
+
+        // The key is flushed in its own transaction, and a page with nothing flushed ends the run
+        verify(transactionManager).getTransaction(any());
+        verify(notificationRepository, times(1)).findDueDigestKeys(any(), any());
+        verify(notificationRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private void dueDigest(List<Notification> held) {
+        when(notificationRepository.findDueDigestKeys(any(), any())).thenReturn(List.of("1:EMAIL:BID_PLACED"));
+        when(notificationRepository.findHeldForDigest("1:EMAIL:BID_PLACED")).thenReturn(held);
+        lenient().when(notificationRepository.save(any(Notification.class))).thenAnswer(call -> {
+            Notification digest = call.getArgument(0);
+            digest.setId(99L);
+            return digest;
+        });
+    }
+
+    private Notification savedDigest() {
+        ArgumentCaptor<Notification> saved = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepository).save(saved.capture());
+        return saved.getValue();
+    }
+
+    private static Notification held(Notification notification, Long id) {
+        notification.setId(id);
+        notification.setStatus(NotificationStatus.HELD);
+        notification.setDigestKey(notification.getRecipientId() + ":" + notification.getType() + ":"
+                + notification.getReferenceType());
+        notification.setCreatedAt(LocalDateTime.now().minusMinutes(10).plusSeconds(id));
+        return notification;
+    }
+
+    private static Notification bidNotification(NotificationPriority priority) {
+        return Notification.builder()
+                .recipientId(1L)
+                .recipientEmail("test@example.com")
+                .type(NotificationType.EMAIL)
+                .priority(priority)
+                .subject("New bid on your task")
+                .content("<p>New bid</p>")
+                .referenceType("BID_PLACED")
+                .referenceId("42")
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.mshando.notificationservice.service;
+
+import com.mshando.notificationservice.model.NotificationPriority;
+import com.mshando.notificationservice.model.NotificationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for NotificationDispatcher.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+class NotificationDispatcherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationDispatcher dispatcher;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        // One email worker, so queued sends run strictly in the order the dispatcher picks them
+        dispatcher = new NotificationDispatcher(meterRegistry, 1, 1, 10, 5, 1, 2, 4, 8);
+
+        // Park the worker so work can be queued before anything is picked
+        release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        dispatcher.submit(NotificationType.EMAIL, NotificationPriority.LOW, () -> {
+            started.countDown();
+            awaitRelease();
+            return null;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void urgentWorkOvertakesLowBacklog() {
+        List<NotificationPriority> order = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(dispatcher.submitBlocking(NotificationType.EMAIL, NotificationPriority.LOW,
+                    () -> order.add(NotificationPriority.LOW)));
+        }
+        for (int i = 0; i < 3; i++) {
+            futures.add(dispatcher.submit(NotificationType.EMAIL, NotificationPriority.URGENT,
+                    () -> order.add(NotificationPriority.URGENT)));
+        }
+
+        release.countDown();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        assertEquals(13, order.size());
+        assertEquals(3, Collections.frequency(order.subList(0, 4), NotificationPriority.URGENT));
+        assertEquals(3, meterRegistry.get("notification.dispatch.queue.wait")
+                .tags("channel", "EMAIL", "priority", "URGENT").timer().count());
+    }
+
+    @Test
+    void shedsLowWorkWhileHigherPrioritiesAreBackedUp() {
+        for (int i = 0; i < 5; i++) {
+            dispatcher.submit(NotificationType.EMAIL, NotificationPriority.HIGH, () -> null);
+        }
+
+        assertThrows(TaskRejectedException.class,
+                () -> dispatcher.submit(NotificationType.EMAIL, NotificationPriority.LOW, () -> null));
+        dispatcher.submitBlocking(NotificationType.EMAIL, NotificationPriority.LOW, () -> null);
+
+        assertEquals(1, dispatcher.getQueueDepth(NotificationType.EMAIL, NotificationPriority.LOW));
+        assertEquals(1.0, meterRegistry.get("notification.dispatch.rejected")
+                .tags("priority", "LOW", "reason", "shed").counter().count());
+    }
+
+    @Test
+    void rejectsWorkWhenPriorityQueueIsFull() {
+        for (int i = 0; i < 10; i++) {
+            dispatcher.submit(NotificationType.EMAIL, NotificationPriority.NORMAL, () -> null);
+        }
+
+        assertThrows(TaskRejectedException.class,
+                () -> dispatcher.submit(NotificationType.EMAIL, NotificationPriority.NORMAL, () -> null));
+        dispatcher.submit(NotificationType.EMAIL, NotificationPriority.URGENT, () -> null);
+        assertEquals(10, dispatcher.getQueueDepth(NotificationType.EMAIL, NotificationPriority.NORMAL));
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
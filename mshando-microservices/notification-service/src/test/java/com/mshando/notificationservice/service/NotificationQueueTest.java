@@ -0,0 +1,149 @@
+package com.mshando.notificationservice.service;
+
+import com.mshando.notificationservice.model.Notification;
+import com.mshando.notificationservice.model.NotificationPriority;
+import com.mshando.notificationservice.model.NotificationStatus;
+import com.mshando.notificationservice.model.NotificationType;
+import com.mshando.notificationservice.repository.NotificationBatchRepository;
+import com.mshando.notificationservice.repository.NotificationBatchRepository.DeliveryOutcome;
+import com.mshando.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationQueue.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationQueueTest {
+
+    private static final String INSTANCE_ID = ManagementFactory.getRuntimeMXBean().getName();
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationBatchRepository batchRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private SmsService smsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationDispatcher dispatcher;
+
+    private NotificationQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new NotificationDispatcher(meterRegistry, 1, 1, 10, 5, 1, 2, 4, 8);
+        queue = new NotificationQueue(notificationRepository, batchRepository, dispatcher, emailService,
+                smsService, meterRegistry, transactionManager);
+        ReflectionTestUtils.setField(queue, "workersEnabled", true);
+        ReflectionTestUtils.setField(queue, "claimBatchSize", 5);
+        ReflectionTestUtils.setField(queue, "leaseSeconds", 300L);
+        ReflectionTestUtils.setField(queue, "idlePollMs", 10L);
+        ReflectionTestUtils.setField(queue, "outcomeBatchSize", 50);
+        ReflectionTestUtils.setField(queue, "outcomeFlushMs", 10L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        queue.stop();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void testStop_RecordsOutcomesOfSendsFinishingDuringShutdown() throws Exception {
+        AtomicBoolean claimed = new AtomicBoolean();
+        when(notificationRepository.findClaimable(any(), any(), any(), any())).thenAnswer(call ->
+                call.getArgument(0) == NotificationType.EMAIL && call.getArgument(1) == NotificationPriority.NORMAL
+                        && claimed.compareAndSet(false, true)
+                        ? new ArrayList<>(List.of(pendingEmail(1L))) : new ArrayList<>());
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch finishSend = new CountDownLatch(1);
+        doAnswer(call -> {
+            sending.countDown();
+            finishSend.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(emailService).sendRenderedEmail(anyString(), anyString(), anyString());
+        List<DeliveryOutcome> recorded = new CopyOnWriteArrayList<>();
+        when(batchRepository.updateOutcomes(anyList(), eq(INSTANCE_ID))).thenAnswer(call -> {
+            // The queue reuses its batch list, so copy it
+            List<DeliveryOutcome> batch = call.getArgument(0);
+            recorded.addAll(batch);
+            return batch.size();
+        });
+
+        queue.start();
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        Thread stopper = new Thread(queue::stop);
+        stopper.start();
+        // Give the recorder many flush intervals to exit early while the send is still running
+        Thread.sleep(200);
+        finishSend.countDown();
+        stopper.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertFalse(queue.isRunning());
+        assertEquals(1, recorded.size());
+        assertEquals(1L, recorded.get(0).notificationId());
+        assertEquals(NotificationStatus.SENT, recorded.get(0).status());
+    }
+
+    @Test
+    void testFlushOutcomes_ReleasesClaimsUnderOwnInstance() {
+        when(notificationRepository.findClaimable(any(), any(), any(), any())).thenReturn(new ArrayList<>());
+        dispatcher.shutdown();
+        when(notificationRepository.findClaimable(eq(NotificationType.EMAIL), eq(NotificationPriority.NORMAL), any(), any()))
+                .thenReturn(new ArrayList<>(List.of(pendingEmail(2L))));
+
+        // The shut-down dispatcher rejects the claimed row, which is handed back
+        queue.feedDispatcher();
+        queue.flushOutcomes();
+
+        verify(batchRepository).releaseClaims(List.of(2L), INSTANCE_ID);
+    }
+
+    private static Notification pendingEmail(Long id) {
+        return Notification.builder()
+                .id(id)
+                .recipientId(10L)
+                .recipientEmail("user@example.com")
+                .type(NotificationType.EMAIL)
+                .status(NotificationStatus.PENDING)
+                .priority(NotificationPriority.NORMAL)
+                .subject("Subject")
+                .content("Content")
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.mshando.notificationservice.service;
+
+import com.mshando.notificationservice.model.NotificationStatus;
+import com.mshando.notificationservice.repository.NotificationBatchRepository;
+import com.mshando.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationRetentionService.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationRetentionServiceTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private InboxService inboxService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationRetentionService retentionService;
+
+    @BeforeEach
+    void setUp() {
+        retentionService = new NotificationRetentionService(notificationRepository,
+                new NotificationBatchRepository(jdbcTemplate), inboxService, new SimpleMeterRegistry(),
+                transactionManager);
+        ReflectionTestUtils.setField(retentionService, "chunkSize", 2);
+        ReflectionTestUtils.setField(retentionService, "pauseMs", 0L);
+        ReflectionTestUtils.setField(retentionService, "maxRunMinutes", 120L);
+    }
+
+    @Test
+    void testDeleteCreatedBefore_DeletesChunksWithParametersAndInboxItems() {
+        lastIdBeforeCutoff(5L);
+        when(notificationRepository.findExpiredIds(eq(0L), eq(5L), eq(CUTOFF), any(), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(1L, 2L));
+        when(notificationRepository.findExpiredIds(eq(2L), eq(5L), eq(CUTOFF), any(), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(4L, 5L));
+        when(jdbcTemplate.queryForList(startsWith("SELECT recipient_id FROM inbox_items"), eq(Long.class),
+                eq(1L), eq(2L))).thenReturn(List.of(42L, 43L));
+        when(jdbcTemplate.queryForList(startsWith("SELECT recipient_id FROM inbox_items"), eq(Long.class),
+                eq(4L), eq(5L))).thenReturn(List.of(42L, 42L));
+
+        int deleted = retentionService.deleteCreatedBefore(CUTOFF);
+
+        assertEquals(4, deleted);
+        InOrder inOrder = inOrder(jdbcTemplate, inboxService);
+        for (List<Long> chunk : List.of(List.of(1L, 2L), List.of(4L, 5L))) {
+            Long first = chunk.get(0);
+            Long second = chunk.get(1);
+            inOrder.verify(jdbcTemplate).queryForList(anyString(), eq(Long.class), eq(first), eq(second));
+            inOrder.verify(jdbcTemplate).update(startsWith("DELETE FROM notification_parameters"), eq(first), eq(second));
+            inOrder.verify(jdbcTemplate).update(startsWith("DELETE FROM inbox_items"), eq(first), eq(second));
+            inOrder.verify(jdbcTemplate).update(startsWith("DELETE FROM notifications"), eq(first), eq(second));
+            inOrder.verify(inboxService).unreadItemsDeleted(first == 1L ? Map.of(42L, 1L, 43L, 1L) : Map.of(42L, 2L));
+        }
+        // The last chunk reached the newest expired ID, so no further chunk is read
+        verify(notificationRepository, times(2)).findExpiredIds(anyLong(), anyLong(), any(), any(), any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeleteCreatedBefore_KeepsNotificationsAwaitingDelivery() {
+        lastIdBeforeCutoff(5L);
+
+        int deleted = retentionService.deleteCreatedBefore(CUTOFF);
+
+        assertEquals(0, deleted);
+        ArgumentCaptor<Collection<NotificationStatus>> statuses = ArgumentCaptor.forClass(Collection.class);
+        verify(notificationRepository).findExpiredIds(eq(0L), eq(5L), eq(CUTOFF), statuses.capture(), any());
+        assertFalse(statuses.getValue().contains(NotificationStatus.PENDING));
+        assertFalse(statuses.getValue().contains(NotificationStatus.SCHEDULED));
+        assertFalse(statuses.getValue().contains(NotificationStatus.HELD));
+        assertTrue(statuses.getValue().contains(NotificationStatus.DELIVERED));
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void testDeleteCreatedBefore_StopsAfterMaxRunTime() {
+        ReflectionTestUtils.setField(retentionService, "maxRunMinutes", 0L);
+        lastIdBeforeCutoff(10L);
+        when(notificationRepository.findExpiredIds(eq(0L), eq(10L), eq(CUTOFF), any(), any()))
+                .thenReturn(List.of(1L, 2L));
+
+        int deleted = retentionService.deleteCreatedBefore(CUTOFF);
+
+        assertEquals(2, deleted);
+        verify(notificationRepository, times(1)).findExpiredIds(anyLong(), anyLong(), any(), any(), any());
+    }
+
+    private void lastIdBeforeCutoff(long lastId) {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT MAX(id)"), eq(Long.class), eq(Timestamp.valueOf(CUTOFF))))
+                .thenReturn(lastId);
+    }
+}
@@ -0,0 +1,153 @@
+package com.mshando.notificationservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mshando.notificationservice.model.NotificationStatus;
+import com.mshando.notificationservice.repository.NotificationBatchRepository;
+import com.mshando.notificationservice.repository.NotificationBatchRepository.DeliveryOutcome;
+import com.mshando.notificationservice.repository.NotificationBatchRepository.OutstandingSms;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SmsDeliveryTracker against a local stand-in for the Twilio API.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class SmsDeliveryTrackerTest {
+
+    private static final String ACCOUNT_SID = "AC123";
+
+    private static final int MAX_CONCURRENT_REQUESTS = 4;
+
+    @Mock
+    private NotificationBatchRepository batchRepository;
+
+    private HttpServer provider;
+
+    private ExecutorService providerExecutor;
+
+    private final Map<String, String> messages = Map.of(
+            "SM1", "{\"sid\": \"SM1\", \"status\": \"delivered\", \"error_code\": null}",
+            "SM2", "{\"sid\": \"SM2\", \"status\": \"undelivered\", \"error_code\": 30003}",
+            "SM3", "{\"sid\": \"SM3\", \"status\": \"sending\", \"error_code\": null}",
+            "SM4", "{\"sid\": \"SM4\", \"status\": \"failed\", \"error_code\": 30001}");
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private SmsDeliveryTracker tracker;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        provider = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        providerExecutor = Executors.newFixedThreadPool(16);
+        provider.setExecutor(providerExecutor);
+        provider.createContext("/2010-04-01/Accounts/" + ACCOUNT_SID + "/Messages/", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+                String path = exchange.getRequestURI().getPath();
+                String body = messages.get(path.substring(path.lastIndexOf('/') + 1, path.length() - ".json".length()));
+                byte[] response = (body != null ? body : "{\"status\": 404}").getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(body != null ? 200 : 404, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        provider.start();
+
+        SmsStatusClient statusClient = new SmsStatusClient(new ObjectMapper(),
+                "http://localhost:" + provider.getAddress().getPort(), ACCOUNT_SID, "token", 5000);
+        tracker = new SmsDeliveryTracker(batchRepository, statusClient, new SimpleMeterRegistry(),
+                true, 20, MAX_CONCURRENT_REQUESTS, 1000, 30, 72);
+    }
+
+    @AfterEach
+    void tearDown() {
+        provider.stop(0);
+        providerExecutor.shutdownNow();
+    }
+
+    @Test
+    void testCheckOutstanding_AppliesFinalStatusesInOneBatch() {
+        when(batchRepository.findOutstandingSms(eq(0L), any(), any(), eq(20))).thenReturn(List.of(
+                new OutstandingSms(1, "SM1"), new OutstandingSms(2, "SM2"), new OutstandingSms(3, "SM3"),
+                new OutstandingSms(4, "SM404"), new OutstandingSms(5, "SM4")));
+        when(batchRepository.updateDeliveryStatuses(anyList())).thenAnswer(call -> ((List<?>) call.getArgument(0)).size());
+
+        int updated = tracker.checkOutstanding(LocalDateTime.now());
+
+        assertEquals(3, updated);
+        List<DeliveryOutcome> outcomes = captureOutcomes();
+        assertEquals(3, outcomes.size());
+        assertEquals(NotificationStatus.DELIVERED, outcomes.get(0).status());
+        // An unreachable handset is permanent, while a queue overflow is retried
+        assertEquals(2L, outcomes.get(1).notificationId());
+        assertEquals(NotificationStatus.BOUNCED, outcomes.get(1).status());
+        assertEquals("SMS delivery failed: undelivered (error 30003)", outcomes.get(1).errorMessage());
+        assertEquals(5L, outcomes.get(2).notificationId());
+        assertEquals(NotificationStatus.FAILED, outcomes.get(2).status());
+        assertEquals("SMS delivery failed: failed (error 30001)", outcomes.get(2).errorMessage());
+    }
+
+    @Test
+    void testCheckOutstanding_QueriesProviderConcurrentlyWithinLimit() {
+        List<OutstandingSms> batch = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            batch.add(new OutstandingSms(id, "SM" + (id % 3 + 1)));
+        }
+        when(batchRepository.findOutstandingSms(anyLong(), any(), any(), eq(20)))
+                .thenReturn(batch)
+                .thenReturn(List.of());
+
+        tracker.checkOutstanding(LocalDateTime.now());
+
+        assertTrue(maxInFlight.get() > 1, "requests were not concurrent");
+        assertTrue(maxInFlight.get() <= MAX_CONCURRENT_REQUESTS, "too many requests in flight");
+        verify(batchRepository).findOutstandingSms(eq(20L), any(), any(), eq(20));
+        verify(batchRepository, times(1)).updateDeliveryStatuses(anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DeliveryOutcome> captureOutcomes() {
+        ArgumentCaptor<List<DeliveryOutcome>> captor = ArgumentCaptor.forClass(List.class);
+        verify(batchRepository).updateDeliveryStatuses(captor.capture());
+        return captor.getValue().stream()
+                .sorted(Comparator.comparing(DeliveryOutcome::notificationId))
+                .toList();
+    }
+}
@@ -0,0 +1,59 @@
+package com.mshando.notificationservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TimingWheel.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+class TimingWheelTest {
+
+    private static final long TICK_MS = 100;
+
+    @Test
+    void testEntriesExpireWithinOneTickOfTheirDeadline() {
+        long start = 1_000_000;
+        TimingWheel wheel = new TimingWheel(TICK_MS, 8, start);
+        Random random = new Random(42);
+
+        List<TimingWheel.Entry> added = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            // Spread over several levels: 800 ms, 6.4 s and 51.2 s per level
+            TimingWheel.Entry entry = new TimingWheel.Entry(id, start + TICK_MS + random.nextInt(120_000));
+            assertTrue(wheel.add(entry));
+            added.add(entry);
+        }
+        assertEquals(1000, wheel.size());
+
+        List<Long> expired = new ArrayList<>();
+        for (long now = start; now <= start + 125_000; now += TICK_MS) {
+            long clock = now;
+            wheel.advanceTo(clock - TICK_MS, entry -> {
+                assertTrue(entry.deadlineMs() < clock, "released early");
+                assertTrue(clock - entry.deadlineMs() <= 2 * TICK_MS, "released late");
+                expired.add(entry.id());
+            });
+        }
+
+        assertEquals(added.size(), expired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAddRejectsEntriesAlreadyDue() {
+        TimingWheel wheel = new TimingWheel(TICK_MS, 8, 5_000);
+
+        assertFalse(wheel.add(new TimingWheel.Entry(1, 4_000)));
+        assertFalse(wheel.add(new TimingWheel.Entry(2, 5_050)));
+        assertTrue(wheel.add(new TimingWheel.Entry(3, 5_100)));
+        assertEquals(1, wheel.size());
+    }
+}
@@ -1,5 +1,6 @@
 package com.mshando.paymentservice.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -38,6 +39,25 @@ public class AsyncConfig {
         return executor;
     }
 
+    /**
+     * Executor for streaming payment exports. Kept apart from the MVC async
+     * executor so that long exports cannot starve other async requests. The
+     * export endpoint admits max-concurrent exports and rejects further ones
+     * with 503; the queue only holds exports whose thread is still finishing
+     * a cancelled one.
+     */
+    @Bean(name = "paymentExportExecutor")
+    public ThreadPoolTaskExecutor paymentExportExecutor(
+            @Value("${payment.export.max-concurrent:4}") int maxConcurrentExports) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentExports);
+        executor.setMaxPoolSize(maxConcurrentExports);
+        executor.setQueueCapacity(maxConcurrentExports * 4);
+        executor.setThreadNamePrefix("payment-export-");
+        executor.initialize();
+        return executor;
+    }
+
     /**
      * Task scheduler for scheduled payment operations.
      */
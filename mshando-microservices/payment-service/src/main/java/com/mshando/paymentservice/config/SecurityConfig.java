@@ -45,6 +45,9 @@ public class SecurityConfig {
                 .requestMatchers("/actuator/health", "/actuator/info").permitAll()
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                 
+                // Provider webhooks are authenticated by their signature
+                .requestMatchers("/api/webhooks/stripe").permitAll()
+                
                 // Protected API endpoints
                 .requestMatchers("/api/v1/payments/**").authenticated()
                 
@@ -0,0 +1,50 @@
+package com.mshando.paymentservice.controller;
+
+import com.mshando.paymentservice.dto.LoadTestRequestDTO;
+import com.mshando.paymentservice.dto.LoadTestResultDTO;
+import com.mshando.paymentservice.service.LoadTestService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller driving payment load tests in load-test environments.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/loadtest")
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "payment.loadtest.enabled", havingValue = "true")
+@Tag(name = "🏋️ Load Testing",
+     description = "In-process benchmarks of the payment flow")
+public class LoadTestController {
+
+    private final LoadTestService loadTestService;
+
+    @Operation(
+        summary = "🚀 Run Payment Load Test",
+        description = """
+                **Drive create → process → complete → refund flows at a fixed arrival rate**
+
+                Starts `arrivalRate` flows per second for `durationSeconds`, independent of how fast they
+                finish, and waits for them to settle. Returns throughput, latency percentiles per stage
+                (measured from when each flow was due) and the peak usage of the database connection pool
+                and `paymentTaskExecutor`. Run it against the simulated provider
+                (`payment.providers.mode=local`). Only available with `payment.loadtest.enabled`.
+                """
+    )
+    @PostMapping("/runs")
+    public ResponseEntity<LoadTestResultDTO> run(@Valid @RequestBody LoadTestRequestDTO request) {
+        log.info("Running payment load test at {}/s for {} s", request.getArrivalRate(), request.getDurationSeconds());
+
+        return ResponseEntity.ok(loadTestService.run(request));
+    }
+}
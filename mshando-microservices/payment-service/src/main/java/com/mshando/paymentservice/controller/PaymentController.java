@@ -3,9 +3,14 @@ package com.mshando.paymentservice.controller;
 import com.mshando.paymentservice.dto.PaymentCreateDTO;
 import com.mshando.paymentservice.dto.PaymentRefundDTO;
 import com.mshando.paymentservice.dto.PaymentResponseDTO;
+import com.mshando.paymentservice.dto.RevenueSummaryDTO;
+import com.mshando.paymentservice.model.PaymentExportFormat;
 import com.mshando.paymentservice.model.PaymentStatus;
 import com.mshando.paymentservice.model.PaymentType;
+import com.mshando.paymentservice.service.IdempotencyService;
+import com.mshando.paymentservice.service.PaymentExportService;
 import com.mshando.paymentservice.service.PaymentService;
+import com.mshando.paymentservice.service.RevenueRollupService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,21 +19,38 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST controller for payment management operations.
@@ -47,7 +69,26 @@ import java.util.List;
      description = "Complete payment processing including transactions, refunds, and financial reporting")
 public class PaymentController {
     
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    
     private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
+    private final RevenueRollupService revenueRollupService;
+    private final PaymentExportService paymentExportService;
+    private final AsyncTaskExecutor paymentExportExecutor;
+    
+    @Value("${payment.export.timeout-ms:600000}")
+    private long exportTimeoutMs;
+    
+    /**
+     * Exports whose request is still open, at most payment.export.max-concurrent
+     */
+    private Semaphore exportSlots;
+    
+    @Value("${payment.export.max-concurrent:4}")
+    void setMaxConcurrentExports(int maxConcurrentExports) {
+        this.exportSlots = new Semaphore(maxConcurrentExports);
+    }
     
     @Operation(
         summary = "💰 Create New Payment",
@@ -139,12 +180,16 @@ public class PaymentController {
                 )
             )
             @Valid @RequestBody PaymentCreateDTO paymentCreateDTO,
+            @Parameter(description = "Unique key making retries of this request safe", example = "a1b2c3d4-create-payment")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Parameter(hidden = true) Authentication authentication) {
         
         log.info("Creating payment for customer {} with amount {}", 
                 paymentCreateDTO.getCustomerId(), paymentCreateDTO.getAmount());
         
-        PaymentResponseDTO createdPayment = paymentService.createPayment(paymentCreateDTO, authentication.getName());
+        PaymentResponseDTO createdPayment = idempotencyService.execute(
+                idempotencyKey, authentication.getName(), "CREATE_PAYMENT", paymentCreateDTO, PaymentResponseDTO.class,
+                () -> paymentService.createPayment(paymentCreateDTO, authentication.getName()));
         
         log.info("Payment created successfully with ID: {}", createdPayment.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(createdPayment);
@@ -200,18 +245,34 @@ public class PaymentController {
                 **Manually trigger payment processing**
                 
                 Forces processing of a pending payment. Typically used for administrative purposes.
+                
+                The provider call runs asynchronously: the response is `202 Accepted` with the payment
+                in `PROCESSING` status, and the `Location` header points to the payment resource to poll
+                for the final `COMPLETED` or `FAILED` status.
                 """,
         tags = {"Payment Processing"}
     )
-    @PatchMapping("/{paymentId}/process")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "✅ Processing started"),
+        @ApiResponse(responseCode = "400", description = "❌ Payment is not pending"),
+        @ApiResponse(responseCode = "404", description = "❌ Payment not found")
+    })
+    @RequestMapping(value = "/{paymentId}/process", method = {RequestMethod.POST, RequestMethod.PATCH})
     public ResponseEntity<PaymentResponseDTO> processPayment(
             @Parameter(description = "Payment ID to process", example = "123")
-            @PathVariable Long paymentId) {
+            @PathVariable Long paymentId,
+            @Parameter(description = "Unique key making retries of this request safe")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Parameter(hidden = true) Authentication authentication) {
         
         log.info("Processing payment with ID: {}", paymentId);
         
-        PaymentResponseDTO processedPayment = paymentService.processPayment(paymentId);
-        return ResponseEntity.ok(processedPayment);
+        PaymentResponseDTO processingPayment = idempotencyService.execute(
+                idempotencyKey, authentication.getName(), "PROCESS_PAYMENT", paymentId, PaymentResponseDTO.class,
+                () -> paymentService.processPayment(paymentId));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/payments/" + paymentId))
+                .body(processingPayment);
     }
     
     @Operation(
@@ -289,11 +350,16 @@ public class PaymentController {
     public ResponseEntity<PaymentResponseDTO> refundPayment(
             @Parameter(description = "Payment ID to refund", example = "123")
             @PathVariable Long paymentId,
-            @Valid @RequestBody PaymentRefundDTO refundDTO) {
+            @Valid @RequestBody PaymentRefundDTO refundDTO,
+            @Parameter(description = "Unique key making retries of this request safe")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Parameter(hidden = true) Authentication authentication) {
         
         log.info("Processing refund for payment {} with reason: {}", paymentId, refundDTO.getReason());
         
-        PaymentResponseDTO refundPayment = paymentService.refundPayment(paymentId, refundDTO);
+        PaymentResponseDTO refundPayment = idempotencyService.execute(
+                idempotencyKey, authentication.getName(), "REFUND_PAYMENT", List.of(paymentId, refundDTO), PaymentResponseDTO.class,
+                () -> paymentService.refundPayment(paymentId, refundDTO));
         return ResponseEntity.ok(refundPayment);
     }
     
@@ -453,23 +519,111 @@ public class PaymentController {
         return ResponseEntity.ok(payments);
     }
     
+    @Operation(
+        summary = "📤 Export Payments in Date Range",
+        description = """
+                **Stream all payments created within a date range as CSV or NDJSON**
+                
+                Writes every payment created in `[startDate, endDate)`, oldest first, directly to the
+                response while the database cursor advances. Unlike `/date-range` there is no paging and
+                no count query, so a month can be exported in one request.
+                
+                Send `Accept-Encoding: gzip` to receive the export gzip-compressed.
+                """,
+        tags = {"Payment Retrieval"}
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "✅ Export streamed"),
+        @ApiResponse(responseCode = "400", description = "❌ Invalid date range"),
+        @ApiResponse(responseCode = "503", description = "⏳ Too many exports running")
+    })
+    @GetMapping("/export")
+    public WebAsyncTask<Object> exportPayments(
+            @Parameter(description = "Start date (ISO format)", example = "2025-08-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "End date (ISO format, exclusive)", example = "2025-09-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Export format", example = "CSV")
+            @RequestParam(defaultValue = "CSV") PaymentExportFormat format,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @Parameter(hidden = true) HttpServletResponse response) {
+        
+        log.info("Exporting payments between {} and {} as {}", startDate, endDate, format);
+        
+        // Reject bad ranges while an error response can still be sent
+        paymentExportService.validateRange(startDate, endDate);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        String filename = "payments-" + startDate.toLocalDate() + "-" + endDate.toLocalDate()
+                + "." + format.getFileExtension();
+        
+        // Too many exports are refused here, before async processing starts or any header is
+        // written, so the client gets a plain 503. The slot is held until the request ends
+        if (!exportSlots.tryAcquire()) {
+            throw new TaskRejectedException("Too many payment exports running");
+        }
+        
+        // Runs on the export pool rather than the MVC async executor, submitted once async processing
+        // has started. Once the request ends, by timeout, error or disconnect, Spring cancels the task,
+        // so one still queued never runs, and any further write fails instead of reaching a recycled response
+        AtomicBoolean requestEnded = new AtomicBoolean();
+        WebAsyncTask<Object> task = new WebAsyncTask<>(exportTimeoutMs, paymentExportExecutor, () -> {
+            try {
+                OutputStream out = new RequestBoundOutputStream(response.getOutputStream(), requestEnded);
+                response.setContentType(format.getContentType());
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString());
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                if (gzip) {
+                    response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                    GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024);
+                    paymentExportService.exportPayments(startDate, endDate, format, gzipOut);
+                    gzipOut.finish();
+                } else {
+                    paymentExportService.exportPayments(startDate, endDate, format, out);
+                }
+                out.flush();
+                return null;
+            } catch (Exception e) {
+                log.warn("Payment export between {} and {} failed: {}", startDate, endDate, e.getMessage());
+                throw e;
+            }
+        });
+        task.onTimeout(() -> {
+            requestEnded.set(true);
+            log.warn("Payment export between {} and {} timed out after {} ms", startDate, endDate, exportTimeoutMs);
+            return CallableProcessingInterceptor.RESULT_NONE;
+        });
+        task.onError(() -> {
+            requestEnded.set(true);
+            return CallableProcessingInterceptor.RESULT_NONE;
+        });
+        task.onCompletion(() -> {
+            requestEnded.set(true);
+            exportSlots.release();
+        });
+        return task;
+    }
+    
     @Operation(
         summary = "💰 Get Customer Total Payments",
         description = """
                 **Calculate total payment amount for a customer**
                 
-                Returns the sum of all completed payments made by the customer.
+                Returns the sum of all completed payments made by the customer in one currency.
                 """,
         tags = {"Financial Analytics"}
     )
     @GetMapping("/customer/{customerId}/total")
     public ResponseEntity<BigDecimal> getCustomerTotalPayments(
             @Parameter(description = "Customer ID", example = "456")
-            @PathVariable Long customerId) {
+            @PathVariable Long customerId,
+            @Parameter(description = "Currency", example = "USD")
+            @RequestParam(defaultValue = "USD") String currency) {
         
-        log.debug("Calculating total payments for customer: {}", customerId);
+        log.debug("Calculating {} total payments for customer: {}", currency, customerId);
         
-        BigDecimal total = paymentService.calculateCustomerTotalPayments(customerId);
+        BigDecimal total = paymentService.calculateCustomerTotalPayments(customerId, currency);
         return ResponseEntity.ok(total);
     }
     
@@ -478,18 +632,20 @@ public class PaymentController {
         description = """
                 **Calculate total earnings for a tasker**
                 
-                Returns the sum of all net amounts received by the tasker.
+                Returns the sum of all net amounts received by the tasker in one currency.
                 """,
         tags = {"Financial Analytics"}
     )
     @GetMapping("/tasker/{taskerId}/earnings")
     public ResponseEntity<BigDecimal> getTaskerTotalEarnings(
             @Parameter(description = "Tasker ID", example = "789")
-            @PathVariable Long taskerId) {
+            @PathVariable Long taskerId,
+            @Parameter(description = "Currency", example = "USD")
+            @RequestParam(defaultValue = "USD") String currency) {
         
-        log.debug("Calculating total earnings for tasker: {}", taskerId);
+        log.debug("Calculating {} total earnings for tasker: {}", currency, taskerId);
         
-        BigDecimal total = paymentService.calculateTaskerTotalEarnings(taskerId);
+        BigDecimal total = paymentService.calculateTaskerTotalEarnings(taskerId, currency);
         return ResponseEntity.ok(total);
     }
     
@@ -498,7 +654,8 @@ public class PaymentController {
         description = """
                 **Calculate service fees collected in a specific period**
                 
-                Returns the sum of all service fees collected between the specified dates.
+                Returns the sum of service fees of completed payments created from the start date (inclusive)
+                to the end date (exclusive). Served from pre-aggregated revenue rollups.
                 """,
         tags = {"Financial Analytics"}
     )
@@ -506,7 +663,7 @@ public class PaymentController {
     public ResponseEntity<BigDecimal> getServiceFeesInPeriod(
             @Parameter(description = "Start date (ISO format)", example = "2025-08-01T00:00:00")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @Parameter(description = "End date (ISO format)", example = "2025-08-31T23:59:59")
+            @Parameter(description = "End date (ISO format, exclusive)", example = "2025-09-01T00:00:00")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
         
         log.debug("Calculating service fees between {} and {}", startDate, endDate);
@@ -515,6 +672,51 @@ public class PaymentController {
         return ResponseEntity.ok(total);
     }
     
+    @Operation(
+        summary = "📈 Get Revenue Summary",
+        description = """
+                **Payment totals per currency, payment type and status**
+                
+                Returns count, gross amount, service fees and net amount of payments created from the
+                start date (inclusive) to the end date (exclusive). Whole days and hours are read from
+                pre-aggregated rollups, so year-long ranges stay cheap.
+                """,
+        tags = {"Financial Analytics"}
+    )
+    @GetMapping("/revenue")
+    public ResponseEntity<List<RevenueSummaryDTO>> getRevenueSummary(
+            @Parameter(description = "Start date (ISO format)", example = "2025-01-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "End date (ISO format, exclusive)", example = "2026-01-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        
+        log.debug("Fetching revenue summary between {} and {}", startDate, endDate);
+        
+        return ResponseEntity.ok(revenueRollupService.getRevenueSummary(startDate, endDate));
+    }
+    
+    @Operation(
+        summary = "🔁 Rebuild Revenue Rollups",
+        description = """
+                **Recompute revenue rollups from the payments table**
+                
+                Rebuilds the hourly and daily rollups of every day from the start date to the end date
+                (both inclusive), one day per transaction. Returns the number of days rebuilt.
+                """,
+        tags = {"Financial Analytics"}
+    )
+    @PostMapping("/revenue/rebuild")
+    public ResponseEntity<Integer> rebuildRevenueRollups(
+            @Parameter(description = "First day to rebuild", example = "2025-08-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Last day to rebuild", example = "2025-08-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        log.info("Rebuilding revenue rollups from {} to {}", startDate, endDate);
+        
+        return ResponseEntity.ok(revenueRollupService.rebuild(startDate, endDate));
+    }
+    
     @Operation(
         summary = "❓ Check Customer Pending Payments",
         description = """
@@ -554,4 +756,42 @@ public class PaymentController {
         boolean hasPayments = paymentService.hasBidPayments(bidId);
         return ResponseEntity.ok(hasPayments);
     }
+    
+    /**
+     * Response stream of an export that refuses writes once its request has ended or its task was cancelled
+     */
+    private static final class RequestBoundOutputStream extends FilterOutputStream {
+        
+        private final AtomicBoolean requestEnded;
+        
+        private RequestBoundOutputStream(OutputStream out, AtomicBoolean requestEnded) {
+            super(out);
+            this.requestEnded = requestEnded;
+        }
+        
+        @Override
+        public void write(int b) throws IOException {
+            checkOpen();
+            out.write(b);
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            checkOpen();
+            out.write(b, off, len);
+        }
+        
+        @Override
+        public void flush() throws IOException {
+            checkOpen();
+            out.flush();
+        }
+        
+        private void checkOpen() throws IOException {
+            // Spring interrupts the task on timeout or error before the request's callbacks run
+            if (requestEnded.get() || Thread.currentThread().isInterrupted()) {
+                throw new IOException("Export request has already ended");
+            }
+        }
+    }
 }
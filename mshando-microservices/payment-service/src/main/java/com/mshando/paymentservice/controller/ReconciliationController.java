@@ -0,0 +1,115 @@
+package com.mshando.paymentservice.controller;
+
+import com.mshando.paymentservice.dto.ReconciliationDiscrepancyDTO;
+import com.mshando.paymentservice.dto.ReconciliationRunDTO;
+import com.mshando.paymentservice.service.ReconciliationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+
+/**
+ * REST controller for reconciling payments against the payment provider.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/reconciliation")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "🧾 Reconciliation",
+     description = "Comparison of local payment state with the payment provider")
+public class ReconciliationController {
+
+    private final ReconciliationService reconciliationService;
+
+    @Operation(
+        summary = "▶️ Start Reconciliation Run",
+        description = """
+                **Reconcile the payments created in a window with the provider**
+
+                Streams the `PROCESSING` and `COMPLETED` payments created in `[from, to)`, checks each with
+                the provider and records discrepancies. Payments stuck in `PROCESSING` are completed or
+                failed when the provider has settled them; everything else is reported for manual review.
+
+                The run executes in the background: the response is `202 Accepted` and the `Location`
+                header points to the run to poll.
+                """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "✅ Run started"),
+        @ApiResponse(responseCode = "400", description = "❌ Invalid window")
+    })
+    @PostMapping("/runs")
+    public ResponseEntity<ReconciliationRunDTO> startRun(
+            @Parameter(description = "Window start (ISO format)", example = "2025-08-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Window end (ISO format, exclusive)", example = "2025-08-02T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        log.info("Starting reconciliation run for [{}, {})", from, to);
+
+        ReconciliationRunDTO run = reconciliationService.startRun(from, to);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/reconciliation/runs/" + run.getId()))
+                .body(run);
+    }
+
+    @Operation(
+        summary = "📋 Get Reconciliation Runs",
+        description = "Returns reconciliation runs, newest first."
+    )
+    @GetMapping("/runs")
+    public ResponseEntity<Page<ReconciliationRunDTO>> getRuns(
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of runs per page", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+
+        return ResponseEntity.ok(reconciliationService.getRuns(PageRequest.of(page, size)));
+    }
+
+    @Operation(
+        summary = "🔍 Get Reconciliation Run",
+        description = "Returns the progress and totals of a run."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "✅ Run found"),
+        @ApiResponse(responseCode = "404", description = "❌ Run not found")
+    })
+    @GetMapping("/runs/{runId}")
+    public ResponseEntity<ReconciliationRunDTO> getRun(
+            @Parameter(description = "Run ID", example = "7")
+            @PathVariable Long runId) {
+
+        return ResponseEntity.ok(reconciliationService.getRun(runId));
+    }
+
+    @Operation(
+        summary = "⚠️ Get Discrepancy Report",
+        description = "Returns the payments of a run that disagree with the provider and the action taken for each."
+    )
+    @GetMapping("/runs/{runId}/discrepancies")
+    public ResponseEntity<Page<ReconciliationDiscrepancyDTO>> getDiscrepancies(
+            @Parameter(description = "Run ID", example = "7")
+            @PathVariable Long runId,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of discrepancies per page", example = "50")
+            @RequestParam(defaultValue = "50") int size) {
+
+        return ResponseEntity.ok(reconciliationService.getDiscrepancies(runId, PageRequest.of(page, size)));
+    }
+}
@@ -0,0 +1,104 @@
+package com.mshando.paymentservice.controller;
+
+import com.mshando.paymentservice.dto.LedgerEntryDTO;
+import com.mshando.paymentservice.dto.WalletBalanceDTO;
+import com.mshando.paymentservice.model.WalletAccountType;
+import com.mshando.paymentservice.service.WalletService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for wallet balances and statements.
+ * 
+ * Balances are read from the ledger's running account balances,
+ * so every lookup is a single row read.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/wallet")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "👛 Wallet", 
+     description = "Customer, tasker and platform balances backed by a double-entry ledger")
+public class WalletController {
+    
+    private final WalletService walletService;
+    
+    @Operation(
+        summary = "👛 Get My Wallets",
+        description = """
+                **Get the authenticated user's balances**
+                
+                Returns one entry per currency for the user's customer and tasker accounts.
+                Tasker balances are net earnings; customer balances are negative by the net amount paid.
+                """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "✅ Wallets retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "🔒 Authentication required")
+    })
+    @GetMapping
+    public ResponseEntity<List<WalletBalanceDTO>> getMyWallets(
+            @Parameter(hidden = true) Authentication authentication) {
+        
+        Long userId = Long.valueOf(authentication.getName());
+        log.debug("Fetching wallets for user {}", userId);
+        
+        return ResponseEntity.ok(walletService.getWallets(userId));
+    }
+    
+    @Operation(
+        summary = "📜 Get My Statement",
+        description = "Get the ledger entries of one of the authenticated user's accounts, newest first"
+    )
+    @GetMapping("/entries")
+    public ResponseEntity<Page<LedgerEntryDTO>> getMyEntries(
+            @Parameter(description = "Account type", example = "TASKER")
+            @RequestParam(defaultValue = "TASKER") WalletAccountType type,
+            @Parameter(description = "Currency code", example = "USD")
+            @RequestParam(defaultValue = "USD") String currency,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(hidden = true) Authentication authentication) {
+        
+        Long userId = Long.valueOf(authentication.getName());
+        log.debug("Fetching {} {} statement for user {}", type, currency, userId);
+        
+        Page<LedgerEntryDTO> entries = walletService.getEntries(type, userId, currency, PageRequest.of(page, size));
+        return ResponseEntity.ok(entries);
+    }
+    
+    @Operation(
+        summary = "💰 Get Account Balance",
+        description = "Get the balance of a customer, tasker or the platform (owner ID 0) in one currency"
+    )
+    @GetMapping("/{type}/{ownerId}")
+    public ResponseEntity<WalletBalanceDTO> getWallet(
+            @Parameter(description = "Account type", example = "TASKER")
+            @PathVariable WalletAccountType type,
+            @Parameter(description = "Customer or tasker ID", example = "789")
+            @PathVariable Long ownerId,
+            @Parameter(description = "Currency code", example = "USD")
+            @RequestParam(defaultValue = "USD") String currency) {
+        
+        log.debug("Fetching {} {} wallet of {}", currency, type, ownerId);
+        
+        return ResponseEntity.ok(walletService.getWallet(type, ownerId, currency));
+    }
+}
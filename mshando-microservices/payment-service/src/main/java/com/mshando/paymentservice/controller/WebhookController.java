@@ -0,0 +1,61 @@
+package com.mshando.paymentservice.controller;
+
+import com.mshando.paymentservice.service.WebhookService;
+import com.mshando.paymentservice.service.impl.StripeWebhookSignature;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller receiving payment provider webhooks.
+ * 
+ * Requests are authenticated by their provider signature rather than a
+ * JWT. Verified events are stored and acknowledged straight away; they are
+ * applied to payments in the background. Only registered when
+ * payment.processing.webhook-enabled is set, which requires a webhook secret.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/webhooks")
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "payment.processing.webhook-enabled", havingValue = "true")
+@Tag(name = "🪝 Webhooks", 
+     description = "Payment provider event notifications")
+public class WebhookController {
+    
+    private final WebhookService webhookService;
+    
+    @Operation(
+        summary = "🪝 Receive Stripe Webhook",
+        description = """
+                **Receive a payment provider event**
+                
+                Verifies the `Stripe-Signature` header, stores the event and returns immediately.
+                Redelivered events (same event ID) are acknowledged without being stored again.
+                Successful and failed charges are applied asynchronously, in order per payment.
+                """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "✅ Event accepted"),
+        @ApiResponse(responseCode = "400", description = "❌ Invalid signature or payload")
+    })
+    @PostMapping("/stripe")
+    public ResponseEntity<Void> receiveStripeWebhook(
+            @RequestBody String payload,
+            @Parameter(description = "Provider signature: t=<unix seconds>,v1=<HMAC-SHA256>")
+            @RequestHeader(value = StripeWebhookSignature.HEADER, required = false) String signature) {
+        
+        webhookService.receive(payload, signature);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.mshando.paymentservice.controller;
+
+import com.mshando.paymentservice.dto.WebhookReplayRequestDTO;
+import com.mshando.paymentservice.dto.WebhookReplayResultDTO;
+import com.mshando.paymentservice.service.WebhookReplayService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller driving the stub webhook provider in load-test environments.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/webhooks/stub")
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "payment.webhooks.stub-enabled", havingValue = "true")
+@Tag(name = "🪝 Webhooks", 
+     description = "Payment provider event notifications")
+public class WebhookReplayController {
+    
+    private final WebhookReplayService webhookReplayService;
+    
+    @Operation(
+        summary = "🌪️ Replay Webhook Storm",
+        description = """
+                **Deliver a synthetic burst of signed provider events**
+                
+                Generates events for the given payments, optionally duplicated and shuffled, and delivers
+                them concurrently through the webhook receiver. Returns delivery throughput and the number
+                of events still waiting to be applied. Only available with `payment.webhooks.stub-enabled`.
+                """
+    )
+    @PostMapping("/replay")
+    public ResponseEntity<WebhookReplayResultDTO> replay(@Valid @RequestBody WebhookReplayRequestDTO request) {
+        log.info("Replaying webhook storm for {} payments", request.getPaymentIds().size());
+        
+        return ResponseEntity.ok(webhookReplayService.replay(request));
+    }
+}
@@ -0,0 +1,62 @@
+package com.mshando.paymentservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object describing a payment load test.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Fixed-rate payment flows to drive through the service")
+public class LoadTestRequestDTO {
+
+    @DecimalMin(value = "0.1", message = "Arrival rate must be at least 0.1 flows per second")
+    @DecimalMax(value = "2000.0", message = "Arrival rate cannot exceed 2000 flows per second")
+    @Schema(description = "Payment flows started per second, independent of how fast they finish", example = "50")
+    @Builder.Default
+    private double arrivalRate = 50;
+
+    @Min(1)
+    @Max(600)
+    @Schema(description = "How long new flows are started", example = "60")
+    @Builder.Default
+    private int durationSeconds = 60;
+
+    @Min(1)
+    @Max(300)
+    @Schema(description = "Seconds to wait for a flow's payment to settle before counting it as timed out", example = "60")
+    @Builder.Default
+    private int flowTimeoutSeconds = 60;
+
+    @Min(1)
+    @Max(512)
+    @Schema(description = "Client threads issuing create and refund calls", example = "64")
+    @Builder.Default
+    private int clientThreads = 64;
+
+    @DecimalMin("0.01")
+    @Schema(description = "Amount of each payment", example = "25.00")
+    @Builder.Default
+    private BigDecimal amount = new BigDecimal("25.00");
+
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    @Schema(description = "Share of completed payments that are refunded", example = "1.0")
+    @Builder.Default
+    private double refundRatio = 1.0;
+}
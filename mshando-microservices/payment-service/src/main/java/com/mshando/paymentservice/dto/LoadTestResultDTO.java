@@ -0,0 +1,96 @@
+package com.mshando.paymentservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object summarising a payment load test.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Throughput, latency percentiles and resource usage of a load test")
+public class LoadTestResultDTO {
+
+    @Schema(description = "Flows started", example = "3000")
+    private long started;
+
+    @Schema(description = "Flows whose payment completed", example = "2940")
+    private long completed;
+
+    @Schema(description = "Flows whose payment failed at the provider", example = "45")
+    private long failed;
+
+    @Schema(description = "Flows whose payment did not settle within the flow timeout", example = "0")
+    private long timedOut;
+
+    @Schema(description = "Flows aborted by an error from the service", example = "15")
+    private long errors;
+
+    @Schema(description = "Refunds processed", example = "2940")
+    private long refunded;
+
+    private long elapsedMs;
+
+    @Schema(description = "Settled payments per second", example = "49.8")
+    private double throughputPerSecond;
+
+    @Schema(description = "Latency per stage: create, queue (created to PROCESSING), provider (PROCESSING to settled), refund and end-to-end")
+    private Map<String, LatencySummary> latencies;
+
+    private ResourceUsage resources;
+
+    /**
+     * Latency percentiles of one stage in milliseconds
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class LatencySummary {
+        private long count;
+        private double mean;
+        private double p50;
+        private double p90;
+        private double p99;
+        private double p999;
+        private double max;
+    }
+
+    /**
+     * Peak usage of the pools that bound payment throughput, sampled during the run
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ResourceUsage {
+
+        @Schema(description = "Configured maximum of the database connection pool", example = "20")
+        private int connectionPoolSize;
+
+        @Schema(description = "Peak connections in use", example = "18")
+        private int maxActiveConnections;
+
+        @Schema(description = "Peak threads waiting for a database connection", example = "3")
+        private int maxConnectionWaiters;
+
+        @Schema(description = "Configured maximum threads of paymentTaskExecutor", example = "20")
+        private int taskExecutorPoolSize;
+
+        @Schema(description = "Peak busy threads of paymentTaskExecutor", example = "20")
+        private int maxTaskExecutorActive;
+
+        @Schema(description = "Peak tasks queued on paymentTaskExecutor", example = "42")
+        private int maxTaskExecutorQueued;
+    }
+}
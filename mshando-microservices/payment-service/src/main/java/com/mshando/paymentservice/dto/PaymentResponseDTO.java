@@ -45,6 +45,7 @@ public class PaymentResponseDTO {
     private String failureReason;
     private Integer retryCount;
     private Integer maxRetries;
+    private LocalDateTime nextRetryAt;
     
     // Timestamps
     private LocalDateTime createdAt;
@@ -0,0 +1,46 @@
+package com.mshando.paymentservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for a verified payment provider webhook event.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProviderWebhookEventDTO {
+    
+    private String eventId;
+    private String eventType;
+    private LocalDateTime createdAt;
+    
+    /**
+     * Our payment ID, taken from the provider object's metadata
+     */
+    private Long paymentId;
+    
+    /**
+     * Provider transaction ID
+     */
+    private String externalTransactionId;
+    
+    private String failureReason;
+    
+    /**
+     * Key under which events are applied in order. The payment ID should be
+     * resolved from the provider ID before this is used; the transaction key
+     * only applies to events for payments not known here.
+     */
+    public String getOrderingKey() {
+        return paymentId != null ? "payment:" + paymentId : "transaction:" + externalTransactionId;
+    }
+}
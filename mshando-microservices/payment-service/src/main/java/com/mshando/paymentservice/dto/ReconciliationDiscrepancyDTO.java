@@ -0,0 +1,43 @@
+package com.mshando.paymentservice.dto;
+
+import com.mshando.paymentservice.model.DiscrepancyType;
+import com.mshando.paymentservice.model.PaymentStatus;
+import com.mshando.paymentservice.model.ReconciliationAction;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for reconciliation discrepancies.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Payment whose state disagrees with the provider")
+public class ReconciliationDiscrepancyDTO {
+    
+    private Long id;
+    private Long paymentId;
+    private String externalTransactionId;
+    private PaymentStatus localStatus;
+    
+    @Schema(description = "Status string returned by the provider", example = "succeeded")
+    private String providerStatus;
+    
+    private DiscrepancyType type;
+    private ReconciliationAction action;
+    
+    @Schema(description = "Whether the run carried out the action", example = "true")
+    private boolean actionApplied;
+    
+    private String detail;
+    private LocalDateTime createdAt;
+}
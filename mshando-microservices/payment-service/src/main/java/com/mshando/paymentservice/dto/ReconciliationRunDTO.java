@@ -0,0 +1,51 @@
+package com.mshando.paymentservice.dto;
+
+import com.mshando.paymentservice.model.ReconciliationRunStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for reconciliation runs.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Progress and totals of one reconciliation run")
+public class ReconciliationRunDTO {
+    
+    private Long id;
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+    private ReconciliationRunStatus status;
+    
+    @Schema(description = "Payments read from the window", example = "125000")
+    private long scannedCount;
+    
+    @Schema(description = "Payments agreeing with the provider", example = "124980")
+    private long matchedCount;
+    
+    @Schema(description = "PROCESSING payments still within the grace period", example = "8")
+    private long skippedCount;
+    
+    @Schema(description = "Payments disagreeing with the provider", example = "12")
+    private long discrepancyCount;
+    
+    @Schema(description = "Discrepancies fixed automatically", example = "9")
+    private long fixedCount;
+    
+    @Schema(description = "Batches that failed and were not reconciled", example = "0")
+    private long failedBatchCount;
+    
+    private String failureReason;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,41 @@
+package com.mshando.paymentservice.dto;
+
+import com.mshando.paymentservice.model.PaymentStatus;
+import com.mshando.paymentservice.model.PaymentType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for revenue totals over a period.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Payment totals of one currency, payment type and status over a period")
+public class RevenueSummaryDTO {
+    
+    private String currency;
+    private PaymentType paymentType;
+    private PaymentStatus status;
+    
+    @Schema(description = "Number of payments", example = "1250")
+    private long paymentCount;
+    
+    @Schema(description = "Sum of payment amounts", example = "187500.00")
+    private BigDecimal grossAmount;
+    
+    @Schema(description = "Sum of platform service fees", example = "18750.00")
+    private BigDecimal serviceFees;
+    
+    @Schema(description = "Sum of net amounts paid out", example = "168750.00")
+    private BigDecimal netAmount;
+}
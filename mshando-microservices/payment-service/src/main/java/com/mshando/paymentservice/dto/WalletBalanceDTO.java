@@ -0,0 +1,35 @@
+package com.mshando.paymentservice.dto;
+
+import com.mshando.paymentservice.model.WalletAccountType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for wallet balances.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Running balance of one ledger account")
+public class WalletBalanceDTO {
+    
+    private Long accountId;
+    private WalletAccountType ownerType;
+    private Long ownerId;
+    private String currency;
+    
+    @Schema(description = "Ledger balance; customer accounts are negative by the net amount paid", example = "450.00")
+    private BigDecimal balance;
+    
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,60 @@
+package com.mshando.paymentservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object describing a stub webhook event storm.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Synthetic provider events to replay through the webhook receiver")
+public class WebhookReplayRequestDTO {
+    
+    @NotEmpty(message = "At least one payment ID is required")
+    @Schema(description = "Payments the events refer to", example = "[101, 102, 103]")
+    private List<Long> paymentIds;
+    
+    @Min(value = 1, message = "At least one event per payment is required")
+    @Max(value = 100, message = "At most 100 events per payment")
+    @Schema(description = "Events per payment; all but the last are informational", example = "3")
+    @Builder.Default
+    private int eventsPerPayment = 3;
+    
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    @Schema(description = "Share of payments whose final event is a failure", example = "0.1")
+    @Builder.Default
+    private double failureRate = 0.1;
+    
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    @Schema(description = "Probability that an event is delivered twice", example = "0.2")
+    @Builder.Default
+    private double duplicateRate = 0.2;
+    
+    @Schema(description = "Deliver events in random order", example = "true")
+    @Builder.Default
+    private boolean shuffle = true;
+    
+    @Min(1)
+    @Max(64)
+    @Schema(description = "Concurrent deliveries", example = "8")
+    @Builder.Default
+    private int concurrency = 8;
+}
@@ -0,0 +1,33 @@
+package com.mshando.paymentservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object summarising a stub webhook event storm.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Delivery statistics of a replayed event storm")
+public class WebhookReplayResultDTO {
+    
+    private long delivered;
+    private long stored;
+    private long duplicates;
+    private long rejected;
+    private long elapsedMs;
+    
+    @Schema(description = "Deliveries acknowledged per second", example = "4200.5")
+    private double deliveriesPerSecond;
+    
+    @Schema(description = "Events still waiting to be applied when the storm finished", example = "350")
+    private long pendingEvents;
+}
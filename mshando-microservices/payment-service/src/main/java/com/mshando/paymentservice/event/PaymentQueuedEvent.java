@@ -0,0 +1,22 @@
+package com.mshando.paymentservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Application event raised when a payment becomes ready for processing.
+ * 
+ * Used to wake idle processing workers as soon as the payment
+ * is committed instead of waiting for their next poll.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentQueuedEvent {
+
+    private Long paymentId;
+}
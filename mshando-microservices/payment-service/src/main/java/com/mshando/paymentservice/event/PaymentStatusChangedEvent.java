@@ -0,0 +1,57 @@
+package com.mshando.paymentservice.event;
+
+import com.mshando.paymentservice.model.Payment;
+import com.mshando.paymentservice.model.PaymentStatus;
+import com.mshando.paymentservice.model.PaymentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Application event raised whenever a payment is created or changes status.
+ * 
+ * Carries a snapshot of the fields aggregated by reporting, so listeners
+ * running after commit do not need to reload the payment.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentStatusChangedEvent {
+
+    private Long paymentId;
+    private LocalDateTime createdAt;
+    private String currency;
+    private PaymentType paymentType;
+    
+    /**
+     * Status before the change, null for a new payment
+     */
+    private PaymentStatus previousStatus;
+    private PaymentStatus status;
+    
+    private BigDecimal amount;
+    private BigDecimal serviceFee;
+    private BigDecimal netAmount;
+
+    public static PaymentStatusChangedEvent of(Payment payment, PaymentStatus previousStatus) {
+        return PaymentStatusChangedEvent.builder()
+                .paymentId(payment.getId())
+                .createdAt(payment.getCreatedAt())
+                .currency(payment.getCurrency())
+                .paymentType(payment.getPaymentType())
+                .previousStatus(previousStatus)
+                .status(payment.getStatus())
+                .amount(payment.getAmount())
+                .serviceFee(payment.getServiceFee())
+                .netAmount(payment.getNetAmount())
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.mshando.paymentservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Application event raised when a provider webhook event has been stored.
+ * 
+ * Used to wake idle webhook processors as soon as the event
+ * is committed instead of waiting for their next poll.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookReceivedEvent {
+
+    private String eventId;
+}
@@ -0,0 +1,15 @@
+package com.mshando.paymentservice.exception;
+
+/**
+ * Exception thrown when an Idempotency-Key cannot be honoured: the key is
+ * still in use by an unfinished request, or was used with a different payload.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public class IdempotencyConflictException extends RuntimeException {
+    
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.mshando.paymentservice.exception;
+
+/**
+ * Exception thrown when a webhook request is not signed by the payment provider.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public class WebhookSignatureException extends RuntimeException {
+    
+    public WebhookSignatureException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,39 @@
+package com.mshando.paymentservice.model;
+
+/**
+ * Kind of mismatch found between a payment and the provider's record of it.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public enum DiscrepancyType {
+    /**
+     * Still PROCESSING locally although the provider charged it
+     */
+    PROVIDER_SUCCEEDED,
+    
+    /**
+     * Provider reports the charge failed or was cancelled
+     */
+    PROVIDER_FAILED,
+    
+    /**
+     * Completed locally but the provider is still confirming the charge
+     */
+    PROVIDER_PENDING,
+    
+    /**
+     * Provider has no record of the transaction
+     */
+    MISSING_AT_PROVIDER,
+    
+    /**
+     * PROCESSING past the grace period without a provider transaction ID
+     */
+    STUCK_WITHOUT_TRANSACTION,
+    
+    /**
+     * Provider could not be queried or returned an unrecognised status
+     */
+    PROVIDER_ERROR
+}
@@ -0,0 +1,99 @@
+package com.mshando.paymentservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity storing the outcome of a request made with an Idempotency-Key header.
+ * 
+ * A retried request with the same key and the same payload receives the
+ * stored response instead of executing again.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "idempotency_keys",
+    uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_scope_key", columnNames = {"scope", "idempotency_key"}),
+    indexes = @Index(name = "idx_idempotency_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    /**
+     * Client supplied key
+     */
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+    
+    /**
+     * Caller the key belongs to
+     */
+    @Column(name = "scope", nullable = false, length = 100)
+    private String scope;
+    
+    /**
+     * Operation the key was first used for
+     */
+    @Column(name = "operation", nullable = false, length = 50)
+    private String operation;
+    
+    /**
+     * SHA-256 of the operation and request payload
+     */
+    @Column(name = "request_fingerprint", nullable = false, length = 64)
+    private String requestFingerprint;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private IdempotencyStatus status;
+    
+    /**
+     * Serialized response of the completed request
+     */
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    /**
+     * Time after which an IN_PROGRESS key whose request never finished may be taken over
+     */
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+    
+    /**
+     * Check if the stored outcome may no longer be relied on
+     */
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt.isBefore(now);
+    }
+    
+    /**
+     * Check if the request holding this IN_PROGRESS key has run past its lock,
+     * e.g. because its instance stopped or its completion could not be written.
+     * Keys reserved before locks were recorded fall back to their creation time.
+     */
+    public boolean isLockExpired(LocalDateTime now, long lockSeconds) {
+        LocalDateTime lockExpiry = lockedUntil != null ? lockedUntil : createdAt.plusSeconds(lockSeconds);
+        return status == IdempotencyStatus.IN_PROGRESS && lockExpiry.isBefore(now);
+    }
+}
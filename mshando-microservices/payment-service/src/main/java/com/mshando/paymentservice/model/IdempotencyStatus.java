@@ -0,0 +1,19 @@
+package com.mshando.paymentservice.model;
+
+/**
+ * Lifecycle of a stored idempotency key.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public enum IdempotencyStatus {
+    /**
+     * First request with the key is still executing
+     */
+    IN_PROGRESS,
+    
+    /**
+     * Request finished; its response is stored for replay
+     */
+    COMPLETED
+}
@@ -0,0 +1,64 @@
+package com.mshando.paymentservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing one side of a double-entry ledger posting.
+ * 
+ * Every payment is posted as a set of entries whose amounts sum to zero:
+ * the customer account is debited, the tasker and platform accounts are
+ * credited. Refunds post the reverse.
+ * 
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "ledger_entries",
+    uniqueConstraints = @UniqueConstraint(name = "uk_ledger_entry_payment_account",
+        columnNames = {"payment_id", "account_id"}),
+    indexes = @Index(name = "idx_ledger_entry_account_id", columnList = "account_id, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+    
+    /**
+     * Payment that caused this posting
+     */
+    @Column(name = "payment_id", nullable = false)
+    private Long paymentId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_type", nullable = false)
+    private PaymentType paymentType;
+    
+    /**
+     * Signed amount: positive credits the account, negative debits it
+     */
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+    
+    /**
+     * Account balance right after this entry
+     */
+    @Column(name = "balance_after", nullable = false, precision = 19, scale = 2)
+    private BigDecimal balanceAfter;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
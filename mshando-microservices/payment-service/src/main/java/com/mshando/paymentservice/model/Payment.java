@@ -27,7 +27,9 @@ import java.time.LocalDateTime;
     @Index(name = "idx_payment_task_id", columnList = "task_id"),
     @Index(name = "idx_payment_status", columnList = "status"),
     @Index(name = "idx_payment_created_at", columnList = "created_at"),
-    @Index(name = "idx_payment_external_transaction_id", columnList = "external_transaction_id")
+    @Index(name = "idx_payment_status_created_at", columnList = "status, created_at"),
+    @Index(name = "idx_payment_external_transaction_id", columnList = "external_transaction_id"),
+    @Index(name = "idx_payment_status_next_retry_at", columnList = "status, next_retry_at")
 })
 @Data
 @NoArgsConstructor
@@ -155,6 +157,24 @@ public class Payment {
     @Builder.Default
     private Integer maxRetries = 3;
     
+    /**
+     * Time from which a failed payment may be retried, null when no retry is scheduled
+     */
+    @Column(name = "next_retry_at")
+    private LocalDateTime nextRetryAt;
+    
+    /**
+     * Worker currently holding the processing claim
+     */
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+    
+    /**
+     * Time after which the processing claim may be taken over by another worker
+     */
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+    
     // Audit fields
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -182,6 +202,24 @@ public class Payment {
     @Version
     private Long version;
     
+    /**
+     * Status as last read from or written to the database, null for a new payment
+     */
+    @Transient
+    private PaymentStatus persistedStatus;
+    
+    @PostLoad
+    void rememberPersistedStatus() {
+        this.persistedStatus = status;
+    }
+    
+    /**
+     * Check if the status differs from the one last read from or written to the database
+     */
+    public boolean isStatusChanged() {
+        return status != persistedStatus;
+    }
+    
     /**
      * Calculate service fee based on amount and platform rates
      */
@@ -207,6 +245,29 @@ public class Payment {
         this.retryCount++;
     }
     
+    /**
+     * Check if payment is waiting to be picked up by a processing worker
+     */
+    public boolean isAwaitingProcessing() {
+        return status == PaymentStatus.PENDING || status == PaymentStatus.RETRY_PENDING;
+    }
+    
+    /**
+     * Claim the payment for a processing worker until the lease expires
+     */
+    public void claim(String workerId, LocalDateTime leaseExpiresAt) {
+        this.claimedBy = workerId;
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+    
+    /**
+     * Release the processing claim
+     */
+    public void releaseClaim() {
+        this.claimedBy = null;
+        this.leaseExpiresAt = null;
+    }
+    
     /**
      * Check if payment is in final state
      */
@@ -0,0 +1,29 @@
+package com.mshando.paymentservice.model;
+
+/**
+ * File format of payment exports.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public enum PaymentExportFormat {
+    CSV("text/csv", "csv"),
+
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    PaymentExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
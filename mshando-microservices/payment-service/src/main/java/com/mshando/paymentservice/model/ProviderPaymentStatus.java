@@ -0,0 +1,42 @@
+package com.mshando.paymentservice.model;
+
+/**
+ * Payment state as reported by the payment provider, normalised from the
+ * provider's own status strings.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public enum ProviderPaymentStatus {
+    SUCCEEDED,
+    
+    /**
+     * Charge is still being confirmed or captured
+     */
+    PENDING,
+    
+    FAILED,
+    
+    /**
+     * Provider has no record of the transaction
+     */
+    NOT_FOUND,
+    
+    UNKNOWN;
+    
+    /**
+     * Map a Stripe payment intent status
+     */
+    public static ProviderPaymentStatus fromProviderStatus(String status) {
+        if (status == null) {
+            return UNKNOWN;
+        }
+        return switch (status) {
+            case "succeeded" -> SUCCEEDED;
+            case "processing", "requires_action", "requires_confirmation", "requires_capture" -> PENDING;
+            case "requires_payment_method", "canceled" -> FAILED;
+            case "not_found" -> NOT_FOUND;
+            default -> UNKNOWN;
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.mshando.paymentservice.model;
+
+/**
+ * Fix-up decided for a reconciliation discrepancy.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public enum ReconciliationAction {
+    /**
+     * Complete the PROCESSING payment the provider charged
+     */
+    COMPLETE_PAYMENT,
+    
+    /**
+     * Fail the PROCESSING payment the provider rejected
+     */
+    FAIL_PAYMENT,
+    
+    /**
+     * Needs a human, e.g. a completed payment the provider does not confirm
+     */
+    MANUAL_REVIEW,
+    
+    /**
+     * Nothing to change; recheck in the next run
+     */
+    NONE
+}
@@ -0,0 +1,71 @@
+package com.mshando.paymentservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording a payment whose state disagrees with the provider,
+ * together with the fix-up decided for it.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "reconciliation_discrepancies", indexes = {
+    @Index(name = "idx_discrepancy_run_id", columnList = "run_id, id"),
+    @Index(name = "idx_discrepancy_payment_id", columnList = "payment_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReconciliationDiscrepancy {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+    
+    @Column(name = "payment_id", nullable = false)
+    private Long paymentId;
+    
+    @Column(name = "external_transaction_id")
+    private String externalTransactionId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "local_status", nullable = false)
+    private PaymentStatus localStatus;
+    
+    /**
+     * Raw status string returned by the provider
+     */
+    @Column(name = "provider_status", length = 50)
+    private String providerStatus;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "discrepancy_type", nullable = false, length = 40)
+    private DiscrepancyType type;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false, length = 20)
+    private ReconciliationAction action;
+    
+    /**
+     * Whether the fix-up was carried out by the run
+     */
+    @Column(name = "action_applied", nullable = false)
+    private boolean actionApplied;
+    
+    @Column(name = "detail", length = 500)
+    private String detail;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
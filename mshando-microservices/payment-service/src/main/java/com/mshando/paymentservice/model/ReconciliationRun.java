@@ -0,0 +1,77 @@
+package com.mshando.paymentservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording one reconciliation of payments against the provider.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "reconciliation_runs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReconciliationRun {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    /**
+     * Payments created from this time (inclusive) are reconciled
+     */
+    @Column(name = "window_start", nullable = false)
+    private LocalDateTime windowStart;
+    
+    /**
+     * Payments created before this time are reconciled
+     */
+    @Column(name = "window_end", nullable = false)
+    private LocalDateTime windowEnd;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ReconciliationRunStatus status;
+    
+    @Column(name = "scanned_count", nullable = false)
+    private long scannedCount;
+    
+    @Column(name = "matched_count", nullable = false)
+    private long matchedCount;
+    
+    /**
+     * PROCESSING payments still within the grace period, left for a later run
+     */
+    @Column(name = "skipped_count", nullable = false)
+    private long skippedCount;
+    
+    @Column(name = "discrepancy_count", nullable = false)
+    private long discrepancyCount;
+    
+    @Column(name = "fixed_count", nullable = false)
+    private long fixedCount;
+    
+    /**
+     * Batches that failed and were not reconciled
+     */
+    @Column(name = "failed_batch_count", nullable = false, columnDefinition = "bigint default 0")
+    private long failedBatchCount;
+    
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+    
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
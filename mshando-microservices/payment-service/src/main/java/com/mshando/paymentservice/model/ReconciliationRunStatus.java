@@ -0,0 +1,19 @@
+package com.mshando.paymentservice.model;
+
+/**
+ * Lifecycle of a reconciliation run.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public enum ReconciliationRunStatus {
+    RUNNING,
+    COMPLETED,
+    
+    /**
+     * Finished, but some batches could not be reconciled; their payment ID ranges are in the failure reason
+     */
+    PARTIAL,
+    
+    FAILED
+}
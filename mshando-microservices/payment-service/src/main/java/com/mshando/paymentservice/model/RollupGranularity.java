@@ -0,0 +1,36 @@
+package com.mshando.paymentservice.model;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bucket size of revenue rollups.
+ * 
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public enum RollupGranularity {
+    HOURLY(ChronoUnit.HOURS),
+    
+    DAILY(ChronoUnit.DAYS);
+    
+    private final ChronoUnit unit;
+    
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+    
+    /**
+     * Start of the bucket containing the given time
+     */
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+    
+    /**
+     * Start of the bucket following the one containing the given time
+     */
+    public LocalDateTime nextBucketStart(LocalDateTime time) {
+        return bucketStart(time).plus(1, unit);
+    }
+}
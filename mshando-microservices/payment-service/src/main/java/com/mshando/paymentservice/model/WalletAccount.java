@@ -0,0 +1,77 @@
+package com.mshando.paymentservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a ledger account with its running balance.
+ * 
+ * The balance always equals the sum of the account's ledger entries and is
+ * updated in the same transaction that posts them.
+ * 
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "wallet_accounts",
+    uniqueConstraints = @UniqueConstraint(name = "uk_wallet_account_owner",
+        columnNames = {"owner_type", "owner_id", "currency"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WalletAccount {
+    
+    /**
+     * Owner ID of the single platform account
+     */
+    public static final Long PLATFORM_OWNER_ID = 0L;
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "owner_type", nullable = false, length = 20)
+    private WalletAccountType ownerType;
+    
+    /**
+     * Customer or tasker ID, {@link #PLATFORM_OWNER_ID} for the platform
+     */
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+    
+    /**
+     * Currency code (ISO 4217)
+     */
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+    
+    /**
+     * Running balance, sum of all ledger entries of this account
+     */
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal balance = BigDecimal.ZERO;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    /**
+     * Apply a posted amount to the running balance
+     */
+    public BigDecimal post(BigDecimal amount, LocalDateTime now) {
+        this.balance = balance.add(amount);
+        this.updatedAt = now;
+        return balance;
+    }
+}
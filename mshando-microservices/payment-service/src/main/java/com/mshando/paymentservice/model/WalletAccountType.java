@@ -0,0 +1,24 @@
+package com.mshando.paymentservice.model;
+
+/**
+ * Enumeration of ledger account owners.
+ * 
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public enum WalletAccountType {
+    /**
+     * Customer paying for tasks; balance is negative by the amount paid
+     */
+    CUSTOMER,
+    
+    /**
+     * Tasker receiving net earnings
+     */
+    TASKER,
+    
+    /**
+     * Platform collecting service fees
+     */
+    PLATFORM
+}
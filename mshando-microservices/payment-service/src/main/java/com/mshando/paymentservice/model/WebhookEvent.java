@@ -0,0 +1,107 @@
+package com.mshando.paymentservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity storing a verified payment provider webhook event until it is applied.
+ * 
+ * The provider event ID is unique, so redelivered events are stored once.
+ * Events sharing an ordering key (the payment they refer to) are applied in
+ * order.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "webhook_events",
+    uniqueConstraints = @UniqueConstraint(name = "uk_webhook_event_id", columnNames = "event_id"),
+    indexes = {
+        @Index(name = "idx_webhook_status_id", columnList = "status, id"),
+        @Index(name = "idx_webhook_ordering_key", columnList = "ordering_key, id")
+    })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WebhookEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    /**
+     * Provider event ID
+     */
+    @Column(name = "event_id", nullable = false, length = 100)
+    private String eventId;
+    
+    /**
+     * Provider event type, e.g. payment_intent.succeeded
+     */
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+    
+    /**
+     * Events with the same key are applied in order
+     */
+    @Column(name = "ordering_key", nullable = false, length = 120)
+    private String orderingKey;
+    
+    @Column(name = "payment_id")
+    private Long paymentId;
+    
+    @Column(name = "external_transaction_id")
+    private String externalTransactionId;
+    
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+    
+    /**
+     * Time the provider created the event
+     */
+    @Column(name = "provider_created_at", nullable = false)
+    private LocalDateTime providerCreatedAt;
+    
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private WebhookEventStatus status;
+    
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    
+    /**
+     * Outcome detail for ignored or failed events
+     */
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+    
+    /**
+     * Earliest time the event may be (re)tried
+     */
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+    
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+    
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+    
+    /**
+     * Record the outcome of the event
+     */
+    public void finish(WebhookEventStatus outcome, String detail, LocalDateTime now) {
+        this.status = outcome;
+        this.lastError = detail;
+        this.processedAt = now;
+    }
+}
@@ -0,0 +1,29 @@
+package com.mshando.paymentservice.model;
+
+/**
+ * Processing state of a received provider webhook event.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public enum WebhookEventStatus {
+    /**
+     * Stored and waiting to be applied
+     */
+    PENDING,
+    
+    /**
+     * Applied to its payment
+     */
+    PROCESSED,
+    
+    /**
+     * Not applicable, e.g. unsupported type or payment already past the reported state
+     */
+    IGNORED,
+    
+    /**
+     * Could not be applied within the allowed attempts
+     */
+    FAILED
+}
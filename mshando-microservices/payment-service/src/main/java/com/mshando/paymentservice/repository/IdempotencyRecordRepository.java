@@ -0,0 +1,72 @@
+package com.mshando.paymentservice.repository;
+
+import com.mshando.paymentservice.model.IdempotencyRecord;
+import com.mshando.paymentservice.model.IdempotencyStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for stored idempotency keys.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+    
+    /**
+     * Find the record of a caller's key
+     */
+    Optional<IdempotencyRecord> findByScopeAndIdempotencyKey(String scope, String idempotencyKey);
+    
+    /**
+     * Store the response of a finished request, unless its lock was taken over meanwhile
+     *
+     * @param lockedUntil lock the request was started under
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.responseBody = :responseBody, " +
+           "r.completedAt = :completedAt, r.lockedUntil = NULL " +
+           "WHERE r.id = :id AND r.status = 'IN_PROGRESS' AND r.lockedUntil = :lockedUntil")
+    int markCompleted(@Param("id") Long id,
+                      @Param("lockedUntil") LocalDateTime lockedUntil,
+                      @Param("status") IdempotencyStatus status,
+                      @Param("responseBody") String responseBody,
+                      @Param("completedAt") LocalDateTime completedAt);
+    
+    /**
+     * Take over an IN_PROGRESS key whose lock has expired. Of several requests
+     * taking over the same key at once, only one updates the row.
+     *
+     * @param staleBefore creation time before which a key without a lock counts as expired
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.lockedUntil = :lockedUntil " +
+           "WHERE r.id = :id AND r.status = 'IN_PROGRESS' " +
+           "AND (r.lockedUntil < :now OR (r.lockedUntil IS NULL AND r.createdAt < :staleBefore))")
+    int takeOverLock(@Param("id") Long id,
+                     @Param("lockedUntil") LocalDateTime lockedUntil,
+                     @Param("now") LocalDateTime now,
+                     @Param("staleBefore") LocalDateTime staleBefore);
+    
+    /**
+     * Release the key of a request that failed, unless its lock was taken over meanwhile
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.status = 'IN_PROGRESS' " +
+           "AND r.lockedUntil = :lockedUntil")
+    int releaseLock(@Param("id") Long id, @Param("lockedUntil") LocalDateTime lockedUntil);
+    
+    /**
+     * Delete keys past their retention
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
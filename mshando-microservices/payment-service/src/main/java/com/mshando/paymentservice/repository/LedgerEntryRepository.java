@@ -0,0 +1,27 @@
+package com.mshando.paymentservice.repository;
+
+import com.mshando.paymentservice.model.LedgerEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for ledger entries.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+    
+    /**
+     * Check if a payment has already been posted
+     */
+    boolean existsByPaymentId(Long paymentId);
+    
+    /**
+     * Statement of an account, newest first
+     */
+    Page<LedgerEntry> findByAccountIdOrderByIdDesc(Long accountId, Pageable pageable);
+}
@@ -5,9 +5,13 @@ import com.mshando.paymentservice.model.PaymentStatus;
 import com.mshando.paymentservice.model.PaymentType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -15,6 +19,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Payment entity operations.
@@ -88,10 +93,61 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
             LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
     
     /**
-     * Find payments that can be retried (failed and retry count < max retries)
+     * Lock failed payments whose next retry is due, earliest first.
+     * Payments failed before retry times were recorded have none and are due at once.
+     * Rows locked by another instance are skipped (FOR UPDATE SKIP LOCKED).
      */
-    @Query("SELECT p FROM Payment p WHERE p.status = :status AND p.retryCount < p.maxRetries")
-    List<Payment> findRetriablePayments(@Param("status") PaymentStatus status);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT p FROM Payment p WHERE p.status = :status " +
+           "AND (p.nextRetryAt IS NULL OR p.nextRetryAt <= :now) " +
+           "AND p.retryCount < p.maxRetries ORDER BY p.nextRetryAt ASC NULLS FIRST, p.id ASC")
+    List<Payment> findDueRetries(@Param("status") PaymentStatus status,
+                                 @Param("now") LocalDateTime now,
+                                 Pageable pageable);
+    
+    /**
+     * Count failed payments whose next retry is due, including those without a retry time
+     */
+    @Query("SELECT COUNT(p) FROM Payment p WHERE p.status = :status " +
+           "AND (p.nextRetryAt IS NULL OR p.nextRetryAt <= :now) " +
+           "AND p.retryCount < p.maxRetries")
+    long countDueRetries(@Param("status") PaymentStatus status, @Param("now") LocalDateTime now);
+    
+    /**
+     * Lock the oldest unclaimed payments awaiting processing, and payments stalled
+     * in PROCESSING because the worker calling the provider stopped.
+     * Rows locked by another worker are skipped (FOR UPDATE SKIP LOCKED),
+     * and claims whose lease has expired are taken over. A PROCESSING payment
+     * without a lease counts as stalled once it was processed before stalledBefore.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT p FROM Payment p WHERE " +
+           "(p.status IN :statuses AND (p.leaseExpiresAt IS NULL OR p.leaseExpiresAt < :now)) " +
+           "OR (p.status = 'PROCESSING' AND (p.leaseExpiresAt < :now " +
+           "OR (p.leaseExpiresAt IS NULL AND p.processedAt < :stalledBefore))) " +
+           "ORDER BY p.createdAt ASC, p.id ASC")
+    List<Payment> findClaimablePayments(@Param("statuses") List<PaymentStatus> statuses,
+                                        @Param("now") LocalDateTime now,
+                                        @Param("stalledBefore") LocalDateTime stalledBefore,
+                                        Pageable pageable);
+    
+    /**
+     * Find payment by ID, waiting for and holding its row lock
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.id = :paymentId")
+    Optional<Payment> findByIdForUpdate(@Param("paymentId") Long paymentId);
+    
+    /**
+     * Find settled payments that have not been posted to the ledger yet, in ID order
+     */
+    @Query("SELECT p FROM Payment p WHERE p.status IN :statuses AND p.id > :afterId " +
+           "AND NOT EXISTS (SELECT 1 FROM LedgerEntry e WHERE e.paymentId = p.id) ORDER BY p.id ASC")
+    List<Payment> findUnpostedPayments(@Param("statuses") List<PaymentStatus> statuses,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
     
     /**
      * Find pending payments older than specified minutes
@@ -170,4 +226,29 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      */
     @Query("SELECT p FROM Payment p WHERE p.createdAt >= :since ORDER BY p.createdAt DESC")
     List<Payment> findRecentPayments(@Param("since") LocalDateTime since);
+    
+    /**
+     * Stream the payments to reconcile through a server-side cursor. Rows are
+     * read-only projections, so they are not kept in the persistence context.
+     */
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT p.id AS id, p.externalTransactionId AS externalTransactionId, p.status AS status, " +
+           "p.processedAt AS processedAt FROM Payment p " +
+           "WHERE p.status IN :statuses AND p.createdAt >= :from AND p.createdAt < :to")
+    Stream<ReconciliationCandidate> streamReconciliationCandidates(@Param("statuses") List<PaymentStatus> statuses,
+                                                                   @Param("from") LocalDateTime from,
+                                                                   @Param("to") LocalDateTime to);
+    
+    /**
+     * Payment fields needed to reconcile it against the provider
+     */
+    interface ReconciliationCandidate {
+        Long getId();
+        String getExternalTransactionId();
+        PaymentStatus getStatus();
+        LocalDateTime getProcessedAt();
+    }
 }
@@ -0,0 +1,160 @@
+package com.mshando.paymentservice.repository;
+
+import com.mshando.paymentservice.model.PaymentRevenueRollup;
+import com.mshando.paymentservice.model.PaymentStatus;
+import com.mshando.paymentservice.model.PaymentType;
+import com.mshando.paymentservice.model.RollupGranularity;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository interface for pre-aggregated revenue rollups.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Repository
+public interface PaymentRevenueRollupRepository extends JpaRepository<PaymentRevenueRollup, Long> {
+    
+    /**
+     * Add the delta's amounts to its bucket, returning 0 when the bucket does not exist yet
+     */
+    @Modifying
+    @Query("UPDATE PaymentRevenueRollup r SET " +
+           "r.paymentCount = r.paymentCount + :#{#delta.paymentCount}, " +
+           "r.grossAmount = r.grossAmount + :#{#delta.grossAmount}, " +
+           "r.serviceFees = r.serviceFees + :#{#delta.serviceFees}, " +
+           "r.netAmount = r.netAmount + :#{#delta.netAmount}, " +
+           "r.updatedAt = :#{#delta.updatedAt} " +
+           "WHERE r.granularity = :#{#delta.granularity} AND r.bucketStart = :#{#delta.bucketStart} " +
+           "AND r.currency = :#{#delta.currency} AND r.paymentType = :#{#delta.paymentType} " +
+           "AND r.status = :#{#delta.status}")
+    int applyDelta(@Param("delta") PaymentRevenueRollup delta);
+    
+    /**
+     * Create an empty bucket unless it already exists, without failing the surrounding transaction
+     */
+    @Modifying
+    @Query(value = "INSERT INTO payment_revenue_rollups (granularity, bucket_start, currency, payment_type, status, " +
+                   "payment_count, gross_amount, service_fees, net_amount, updated_at) " +
+                   "VALUES (:#{#delta.granularity.name()}, :#{#delta.bucketStart}, :#{#delta.currency}, " +
+                   ":#{#delta.paymentType.name()}, :#{#delta.status.name()}, 0, 0, 0, 0, :#{#delta.updatedAt}) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int createIfAbsent(@Param("delta") PaymentRevenueRollup delta);
+    
+    /**
+     * Take the exclusive lock on one day's buckets until the end of the transaction
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:namespace, :day)", nativeQuery = true)
+    Integer lockDay(@Param("namespace") int namespace, @Param("day") int day);
+    
+    /**
+     * Take a shared lock on one day's buckets until the end of the transaction
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock_shared(:namespace, :day)", nativeQuery = true)
+    Integer lockDayShared(@Param("namespace") int namespace, @Param("day") int day);
+    
+    /**
+     * Delete the buckets of one granularity starting within a range
+     */
+    @Modifying
+    @Query("DELETE FROM PaymentRevenueRollup r WHERE r.granularity = :granularity " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to")
+    int deleteBuckets(@Param("granularity") RollupGranularity granularity,
+                      @Param("from") LocalDateTime from,
+                      @Param("to") LocalDateTime to);
+    
+    /**
+     * Sum the buckets of one granularity starting within a range
+     */
+    @Query("SELECT r.currency AS currency, r.paymentType AS paymentType, r.status AS status, " +
+           "SUM(r.paymentCount) AS paymentCount, SUM(r.grossAmount) AS grossAmount, " +
+           "SUM(r.serviceFees) AS serviceFees, SUM(r.netAmount) AS netAmount " +
+           "FROM PaymentRevenueRollup r WHERE r.granularity = :granularity " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY r.currency, r.paymentType, r.status")
+    List<RevenueTotals> sumRollups(@Param("granularity") RollupGranularity granularity,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to);
+    
+    /**
+     * Sum the live payments created within a range, used for the edges not covered by whole hours
+     */
+    @Query("SELECT p.currency AS currency, p.paymentType AS paymentType, p.status AS status, " +
+           "COUNT(p) AS paymentCount, COALESCE(SUM(p.amount), 0) AS grossAmount, " +
+           "COALESCE(SUM(p.serviceFee), 0) AS serviceFees, COALESCE(SUM(p.netAmount), 0) AS netAmount " +
+           "FROM Payment p WHERE p.createdAt >= :from AND p.createdAt < :to " +
+           "GROUP BY p.currency, p.paymentType, p.status")
+    List<RevenueTotals> sumPayments(@Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to);
+    
+    /**
+     * Stream the reported fields of the payments created within a range, for rebuilding rollups
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT p.createdAt AS createdAt, p.currency AS currency, p.paymentType AS paymentType, " +
+           "p.status AS status, p.amount AS grossAmount, p.serviceFee AS serviceFees, p.netAmount AS netAmount " +
+           "FROM Payment p WHERE p.createdAt >= :from AND p.createdAt < :to")
+    Stream<PaymentRevenueRow> streamPayments(@Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to);
+    
+    /**
+     * Count the payments created on each day
+     */
+    @Query("SELECT CAST(p.createdAt AS LocalDate) AS day, COUNT(p) AS paymentCount FROM Payment p " +
+           "WHERE p.createdAt IS NOT NULL GROUP BY CAST(p.createdAt AS LocalDate)")
+    List<DayCount> countPaymentsByDay();
+    
+    /**
+     * Count the payments held by the daily buckets of each day
+     */
+    @Query("SELECT CAST(r.bucketStart AS LocalDate) AS day, SUM(r.paymentCount) AS paymentCount " +
+           "FROM PaymentRevenueRollup r WHERE r.granularity = :granularity " +
+           "GROUP BY CAST(r.bucketStart AS LocalDate)")
+    List<DayCount> countRolledUpByDay(@Param("granularity") RollupGranularity granularity);
+    
+    /**
+     * Number of payments of one day
+     */
+    interface DayCount {
+        LocalDate getDay();
+        Long getPaymentCount();
+    }
+    
+    /**
+     * Aggregated totals of one currency, payment type and status
+     */
+    interface RevenueTotals {
+        String getCurrency();
+        PaymentType getPaymentType();
+        PaymentStatus getStatus();
+        Long getPaymentCount();
+        BigDecimal getGrossAmount();
+        BigDecimal getServiceFees();
+        BigDecimal getNetAmount();
+    }
+    
+    /**
+     * Reported fields of a single payment
+     */
+    interface PaymentRevenueRow {
+        LocalDateTime getCreatedAt();
+        String getCurrency();
+        PaymentType getPaymentType();
+        PaymentStatus getStatus();
+        BigDecimal getGrossAmount();
+        BigDecimal getServiceFees();
+        BigDecimal getNetAmount();
+    }
+}
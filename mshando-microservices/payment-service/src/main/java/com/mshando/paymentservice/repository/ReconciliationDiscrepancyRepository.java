@@ -0,0 +1,22 @@
+package com.mshando.paymentservice.repository;
+
+import com.mshando.paymentservice.model.ReconciliationDiscrepancy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for reconciliation discrepancies.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Repository
+public interface ReconciliationDiscrepancyRepository extends JpaRepository<ReconciliationDiscrepancy, Long> {
+    
+    /**
+     * Find the discrepancy report of a run
+     */
+    Page<ReconciliationDiscrepancy> findByRunIdOrderByIdAsc(Long runId, Pageable pageable);
+}
@@ -0,0 +1,22 @@
+package com.mshando.paymentservice.repository;
+
+import com.mshando.paymentservice.model.ReconciliationRun;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for reconciliation runs.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Repository
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun, Long> {
+    
+    /**
+     * Find runs, newest first
+     */
+    Page<ReconciliationRun> findAllByOrderByIdDesc(Pageable pageable);
+}
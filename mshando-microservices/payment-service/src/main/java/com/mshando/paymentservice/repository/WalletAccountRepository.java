@@ -0,0 +1,90 @@
+package com.mshando.paymentservice.repository;
+
+import com.mshando.paymentservice.model.WalletAccount;
+import com.mshando.paymentservice.model.WalletAccountType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for ledger accounts.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Repository
+public interface WalletAccountRepository extends JpaRepository<WalletAccount, Long> {
+    
+    /**
+     * Create the account unless it already exists, without failing the surrounding transaction
+     */
+    @Modifying
+    @Query(value = "INSERT INTO wallet_accounts (owner_type, owner_id, currency, balance, created_at, updated_at) " +
+                   "VALUES (:ownerType, :ownerId, :currency, 0, :now, :now) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int createIfAbsent(@Param("ownerType") String ownerType,
+                       @Param("ownerId") Long ownerId,
+                       @Param("currency") String currency,
+                       @Param("now") LocalDateTime now);
+    
+    /**
+     * Find an account and hold its row lock until the posting commits
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM WalletAccount a WHERE a.ownerType = :ownerType AND a.ownerId = :ownerId AND a.currency = :currency")
+    Optional<WalletAccount> findForUpdate(@Param("ownerType") WalletAccountType ownerType,
+                                          @Param("ownerId") Long ownerId,
+                                          @Param("currency") String currency);
+    
+    /**
+     * Find all currency accounts of an owner
+     */
+    List<WalletAccount> findByOwnerTypeAndOwnerIdOrderByCurrency(WalletAccountType ownerType, Long ownerId);
+    
+    /**
+     * Find all accounts of a user, as customer and as tasker
+     */
+    List<WalletAccount> findByOwnerIdAndOwnerTypeInOrderByOwnerTypeAscCurrencyAsc(Long ownerId, List<WalletAccountType> ownerTypes);
+    
+    /**
+     * Find accounts whose running balance differs from the sum of their entries
+     */
+    @Query("SELECT a.id AS accountId, a.balance AS balance, COALESCE(SUM(e.amount), 0) AS ledgerBalance " +
+           "FROM WalletAccount a LEFT JOIN LedgerEntry e ON e.accountId = a.id " +
+           "GROUP BY a.id, a.balance HAVING a.balance <> COALESCE(SUM(e.amount), 0)")
+    List<BalanceMismatch> findBalanceMismatches();
+    
+    /**
+     * Find currencies whose entries do not sum to zero
+     */
+    @Query("SELECT a.currency AS currency, SUM(e.amount) AS imbalance " +
+           "FROM LedgerEntry e JOIN WalletAccount a ON a.id = e.accountId " +
+           "GROUP BY a.currency HAVING SUM(e.amount) <> 0")
+    List<CurrencyImbalance> findUnbalancedCurrencies();
+    
+    /**
+     * Account whose running balance drifted from its ledger
+     */
+    interface BalanceMismatch {
+        Long getAccountId();
+        BigDecimal getBalance();
+        BigDecimal getLedgerBalance();
+    }
+    
+    /**
+     * Currency whose postings are not balanced
+     */
+    interface CurrencyImbalance {
+        String getCurrency();
+        BigDecimal getImbalance();
+    }
+}
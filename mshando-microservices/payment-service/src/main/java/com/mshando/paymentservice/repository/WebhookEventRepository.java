@@ -0,0 +1,91 @@
+package com.mshando.paymentservice.repository;
+
+import com.mshando.paymentservice.model.WebhookEvent;
+import com.mshando.paymentservice.model.WebhookEventStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for received webhook events.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Repository
+public interface WebhookEventRepository extends JpaRepository<WebhookEvent, Long> {
+    
+    /**
+     * Store the event unless its event ID was already received
+     *
+     * @return 1 when stored, 0 for a duplicate delivery
+     */
+    @Modifying
+    @Query(value = "INSERT INTO webhook_events (event_id, event_type, ordering_key, payment_id, external_transaction_id, " +
+                   "failure_reason, provider_created_at, payload, status, attempts, available_at, received_at) " +
+                   "VALUES (:#{#event.eventId}, :#{#event.eventType}, :#{#event.orderingKey}, :#{#event.paymentId}, " +
+                   ":#{#event.externalTransactionId}, :#{#event.failureReason}, :#{#event.providerCreatedAt}, " +
+                   ":#{#event.payload}, 'PENDING', 0, :#{#event.receivedAt}, :#{#event.receivedAt}) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("event") WebhookEvent event);
+    
+    /**
+     * Lock the oldest due events, skipping rows locked by another processor
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM WebhookEvent e WHERE e.status = :status AND e.availableAt <= :now ORDER BY e.id ASC")
+    List<WebhookEvent> findDueEvents(@Param("status") WebhookEventStatus status,
+                                     @Param("now") LocalDateTime now,
+                                     Pageable pageable);
+    
+    /**
+     * Lock a single event, skipping it if another processor holds it
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM WebhookEvent e WHERE e.id = :id AND e.status = :status")
+    Optional<WebhookEvent> findForUpdate(@Param("id") Long id, @Param("status") WebhookEventStatus status);
+    
+    /**
+     * Find the earliest unapplied event of each given ordering key, outside the given events
+     */
+    @Query("SELECT e.orderingKey AS orderingKey, MIN(e.id) AS firstEventId FROM WebhookEvent e " +
+           "WHERE e.orderingKey IN :orderingKeys AND e.status = :status AND e.id NOT IN :excludedIds " +
+           "GROUP BY e.orderingKey")
+    List<PendingKey> findFirstPendingEvents(@Param("orderingKeys") List<String> orderingKeys,
+                                            @Param("status") WebhookEventStatus status,
+                                            @Param("excludedIds") List<Long> excludedIds);
+    
+    /**
+     * Count events in a status
+     */
+    long countByStatus(WebhookEventStatus status);
+    
+    /**
+     * Delete handled events received before the cutoff
+     */
+    @Modifying
+    @Query("DELETE FROM WebhookEvent e WHERE e.status IN :statuses AND e.receivedAt < :cutoff")
+    int deleteHandledBefore(@Param("statuses") List<WebhookEventStatus> statuses,
+                            @Param("cutoff") LocalDateTime cutoff);
+    
+    /**
+     * Earliest unapplied event of an ordering key
+     */
+    interface PendingKey {
+        String getOrderingKey();
+        Long getFirstEventId();
+    }
+}
@@ -0,0 +1,34 @@
+package com.mshando.paymentservice.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Service interface for Idempotency-Key handling.
+ * 
+ * Guarantees that a request retried with the same key runs its action
+ * at most once and receives the original response.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public interface IdempotencyService {
+    
+    /**
+     * Run the action once per key; repeated calls with the same key and request
+     * return the stored response. Without a key the action simply runs.
+     *
+     * @param idempotencyKey client supplied key, may be null
+     * @param scope caller the key belongs to
+     * @param operation name of the operation, part of the request fingerprint
+     * @param request payload identifying the request
+     * @param responseType type used to replay the stored response
+     * @param action the operation to execute
+     */
+    <T> T execute(String idempotencyKey, String scope, String operation, Object request,
+                  Class<T> responseType, Supplier<T> action);
+    
+    /**
+     * Remove keys past their retention (scheduled task)
+     */
+    void purgeExpiredKeys();
+}
@@ -0,0 +1,24 @@
+package com.mshando.paymentservice.service;
+
+import com.mshando.paymentservice.dto.LoadTestRequestDTO;
+import com.mshando.paymentservice.dto.LoadTestResultDTO;
+
+/**
+ * Service interface for load testing the payment flow in-process.
+ *
+ * Starts create, process, complete and refund flows at a fixed arrival
+ * rate and reports throughput, per-stage latency percentiles and the peak
+ * usage of the connection pool and paymentTaskExecutor. Meant to run
+ * against the simulated provider (payment.providers.mode=local) in
+ * load-test environments only.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public interface LoadTestService {
+
+    /**
+     * Run a load test on the calling thread and report the results
+     */
+    LoadTestResultDTO run(LoadTestRequestDTO request);
+}
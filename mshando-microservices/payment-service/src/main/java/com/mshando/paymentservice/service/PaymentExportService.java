@@ -0,0 +1,32 @@
+package com.mshando.paymentservice.service;
+
+import com.mshando.paymentservice.model.PaymentExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for bulk exports of payments.
+ *
+ * Exports are written row by row to the given stream while the database
+ * cursor advances, so memory use does not depend on the size of the range.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public interface PaymentExportService {
+
+    /**
+     * Check an export range before the response is committed
+     */
+    void validateRange(LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Write the payments created in [startDate, endDate), oldest first
+     *
+     * @return number of payments written
+     */
+    long exportPayments(LocalDateTime startDate, LocalDateTime endDate,
+                        PaymentExportFormat format, OutputStream out) throws IOException;
+}
@@ -1,5 +1,6 @@
 package com.mshando.paymentservice.service;
 
+import com.mshando.paymentservice.dto.ProviderWebhookEventDTO;
 import com.mshando.paymentservice.model.Payment;
 
 /**
@@ -14,9 +15,10 @@ import com.mshando.paymentservice.model.Payment;
 public interface PaymentProviderService {
     
     /**
-     * Process payment with external provider
+     * Process payment with external provider. A call repeating an idempotency key
+     * returns the original charge instead of charging again.
      */
-    String processPayment(Payment payment) throws Exception;
+    String processPayment(Payment payment, String idempotencyKey) throws Exception;
     
     /**
      * Process refund with external provider
@@ -32,4 +34,11 @@ public interface PaymentProviderService {
      * Cancel payment with external provider
      */
     void cancelPayment(String externalTransactionId) throws Exception;
+    
+    /**
+     * Verify the signature of a webhook request and parse its event
+     *
+     * @throws com.mshando.paymentservice.exception.WebhookSignatureException if the signature is invalid
+     */
+    ProviderWebhookEventDTO parseWebhookEvent(String payload, String signatureHeader);
 }
@@ -0,0 +1,27 @@
+package com.mshando.paymentservice.service;
+
+/**
+ * Service interface for automatic retries of failed payments.
+ *
+ * A failed payment with retries left gets a next retry time from an
+ * exponential backoff with jitter. Due payments are released back to the
+ * processing workers in batches, and releases stop while the provider is
+ * paused by ProviderHealthService.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public interface PaymentRetryService {
+
+    /**
+     * Release due payments for retry, up to the per-poll limit
+     *
+     * @return number of payments released
+     */
+    int releaseDueRetries();
+
+    /**
+     * Number of failed payments whose retry is due but not yet released
+     */
+    long getDueRetryCount();
+}
@@ -11,6 +11,7 @@ import org.springframework.data.domain.Pageable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service interface for payment management operations.
@@ -39,10 +40,25 @@ public interface PaymentService {
     PaymentResponseDTO getPaymentByExternalTransactionId(String externalTransactionId);
     
     /**
-     * Process a pending payment
+     * Start processing a payment. The provider call runs asynchronously;
+     * the returned payment is in PROCESSING status.
      */
     PaymentResponseDTO processPayment(Long paymentId);
     
+    /**
+     * Process a payment and complete the future once the outcome is persisted
+     */
+    CompletableFuture<PaymentResponseDTO> processPaymentAsync(Long paymentId);
+    
+    /**
+     * Process a payment claimed by a worker and complete the future once the outcome
+     * is persisted. A payment stalled in PROCESSING is sent to the provider again.
+     *
+     * @throws com.mshando.paymentservice.exception.InvalidPaymentOperationException
+     *         if the worker no longer holds the claim or the payment needs no processing
+     */
+    CompletableFuture<PaymentResponseDTO> processClaimedPayment(Long paymentId, String workerId);
+    
     /**
      * Complete a processed payment
      */
@@ -101,17 +117,17 @@ public interface PaymentService {
             LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
     
     /**
-     * Calculate total payments for customer
+     * Calculate total payments for customer in one currency
      */
-    BigDecimal calculateCustomerTotalPayments(Long customerId);
+    BigDecimal calculateCustomerTotalPayments(Long customerId, String currency);
     
     /**
-     * Calculate total earnings for tasker
+     * Calculate total earnings for tasker in one currency
      */
-    BigDecimal calculateTaskerTotalEarnings(Long taskerId);
+    BigDecimal calculateTaskerTotalEarnings(Long taskerId, String currency);
     
     /**
-     * Calculate service fees in period
+     * Calculate service fees of completed payments created in [startDate, endDate), read from revenue rollups
      */
     BigDecimal calculateServiceFeesInPeriod(LocalDateTime startDate, LocalDateTime endDate);
     
@@ -125,16 +141,6 @@ public interface PaymentService {
      */
     boolean hasBidPayments(Long bidId);
     
-    /**
-     * Process pending payments (scheduled task)
-     */
-    void processPendingPayments();
-    
-    /**
-     * Retry failed payments (scheduled task)
-     */
-    void retryFailedPayments();
-    
     /**
      * Clean up old pending payments (scheduled task)
      */
@@ -0,0 +1,31 @@
+package com.mshando.paymentservice.service;
+
+/**
+ * Service interface for the claim-based payment processing queue.
+ * 
+ * Pending payments are claimed oldest-first with row locks and a lease,
+ * so any number of service instances can process them without
+ * picking up the same payment twice.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public interface PaymentWorkQueue {
+    
+    /**
+     * Wake an idle worker because new work is available
+     */
+    void wakeUp();
+    
+    /**
+     * Claim one batch of payments and process it on the calling thread
+     *
+     * @return number of payments claimed
+     */
+    int processNextBatch(String workerId);
+    
+    /**
+     * Number of worker threads currently running on this instance
+     */
+    int getActiveWorkerCount();
+}
@@ -0,0 +1,34 @@
+package com.mshando.paymentservice.service;
+
+/**
+ * Service interface tracking the health of the payment provider.
+ *
+ * Charge outcomes are recorded as they happen. When the failure rate over
+ * the most recent charges crosses the configured threshold, the provider is
+ * considered down for a pause period and automatic retries hold off.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public interface ProviderHealthService {
+
+    /**
+     * Record a successful provider charge
+     */
+    void recordSuccess();
+
+    /**
+     * Record a failed provider charge
+     */
+    void recordFailure();
+
+    /**
+     * Check if automatic retries are paused because of a failure spike
+     */
+    boolean isPaused();
+
+    /**
+     * Failure rate over the current window of charges (0.0 - 1.0)
+     */
+    double getFailureRate();
+}
@@ -0,0 +1,52 @@
+package com.mshando.paymentservice.service;
+
+import com.mshando.paymentservice.dto.ReconciliationDiscrepancyDTO;
+import com.mshando.paymentservice.dto.ReconciliationRunDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for reconciling payments against the payment provider.
+ * 
+ * A run streams the PROCESSING and COMPLETED payments created in a window,
+ * checks each with the provider and records a discrepancy report. Safe
+ * fix-ups (completing or failing payments stuck in PROCESSING) are applied
+ * by the run; everything else is left for manual review.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public interface ReconciliationService {
+    
+    /**
+     * Start a run for payments created in [from, to) in the background
+     */
+    ReconciliationRunDTO startRun(LocalDateTime from, LocalDateTime to);
+    
+    /**
+     * Run a reconciliation on the calling thread
+     */
+    ReconciliationRunDTO reconcile(LocalDateTime from, LocalDateTime to);
+    
+    /**
+     * Get a run
+     */
+    ReconciliationRunDTO getRun(Long runId);
+    
+    /**
+     * Get runs, newest first
+     */
+    Page<ReconciliationRunDTO> getRuns(Pageable pageable);
+    
+    /**
+     * Get the discrepancy report of a run
+     */
+    Page<ReconciliationDiscrepancyDTO> getDiscrepancies(Long runId, Pageable pageable);
+    
+    /**
+     * Reconcile the most recent window (scheduled task)
+     */
+    void reconcileRecentPayments();
+}
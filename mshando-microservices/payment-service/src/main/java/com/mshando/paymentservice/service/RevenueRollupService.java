@@ -0,0 +1,49 @@
+package com.mshando.paymentservice.service;
+
+import com.mshando.paymentservice.dto.RevenueSummaryDTO;
+import com.mshando.paymentservice.event.PaymentStatusChangedEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for pre-aggregated revenue reporting.
+ * 
+ * Payments are rolled up into hourly and daily buckets by creation time,
+ * currency, payment type and status. Reports over long ranges sum these
+ * buckets instead of scanning payments.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public interface RevenueRollupService {
+    
+    /**
+     * Move a payment between status buckets as part of the transaction making the change
+     */
+    void applyStatusChange(PaymentStatusChangedEvent event);
+    
+    /**
+     * Get totals per currency, payment type and status for payments created in [startDate, endDate)
+     */
+    List<RevenueSummaryDTO> getRevenueSummary(LocalDateTime startDate, LocalDateTime endDate);
+    
+    /**
+     * Sum service fees of completed payments created in [startDate, endDate)
+     */
+    BigDecimal calculateServiceFees(LocalDateTime startDate, LocalDateTime endDate);
+    
+    /**
+     * Recompute the rollups of each day from startDate to endDate inclusive from the payments table
+     *
+     * @return number of days rebuilt
+     */
+    int rebuild(LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * Rebuild the most recent days to repair any drift (scheduled task)
+     */
+    void rebuildRecentDays();
+}
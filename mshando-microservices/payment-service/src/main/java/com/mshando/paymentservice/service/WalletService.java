@@ -0,0 +1,56 @@
+package com.mshando.paymentservice.service;
+
+import com.mshando.paymentservice.dto.LedgerEntryDTO;
+import com.mshando.paymentservice.dto.WalletBalanceDTO;
+import com.mshando.paymentservice.model.Payment;
+import com.mshando.paymentservice.model.WalletAccountType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Service interface for the double-entry wallet ledger.
+ * 
+ * Settled payments are posted to customer, tasker and platform accounts
+ * whose running balances can be read without scanning payments.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public interface WalletService {
+    
+    /**
+     * Post a completed payment or refund to the ledger within the caller's transaction.
+     * Payments already posted are ignored.
+     */
+    void recordPayment(Payment payment);
+    
+    /**
+     * Get all accounts of a user, as customer and as tasker
+     */
+    List<WalletBalanceDTO> getWallets(Long userId);
+    
+    /**
+     * Get one account balance
+     */
+    WalletBalanceDTO getWallet(WalletAccountType ownerType, Long ownerId, String currency);
+    
+    /**
+     * Get the statement of one account, newest entries first
+     */
+    Page<LedgerEntryDTO> getEntries(WalletAccountType ownerType, Long ownerId, String currency, Pageable pageable);
+    
+    /**
+     * Post settled payments missing from the ledger, e.g. payments completed before it existed.
+     * Runs once at startup and before every verification.
+     *
+     * @return number of payments posted
+     */
+    int postMissingPayments();
+    
+    /**
+     * Verify running balances against the ledger (scheduled task)
+     */
+    void verifyBalances();
+}
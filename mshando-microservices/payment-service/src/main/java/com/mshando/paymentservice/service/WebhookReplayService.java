@@ -0,0 +1,20 @@
+package com.mshando.paymentservice.service;
+
+import com.mshando.paymentservice.dto.WebhookReplayRequestDTO;
+import com.mshando.paymentservice.dto.WebhookReplayResultDTO;
+
+/**
+ * Service interface for replaying synthetic provider webhook traffic.
+ * 
+ * Stands in for the payment provider in local and load-test environments.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public interface WebhookReplayService {
+    
+    /**
+     * Generate, sign and deliver an event storm to the webhook receiver
+     */
+    WebhookReplayResultDTO replay(WebhookReplayRequestDTO request);
+}
@@ -0,0 +1,38 @@
+package com.mshando.paymentservice.service;
+
+/**
+ * Service interface for payment provider webhooks.
+ * 
+ * Verified events are stored durably and acknowledged immediately, then
+ * applied to payments asynchronously in batches. Redelivered events are
+ * stored once, and events of the same payment are applied in order.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public interface WebhookService {
+    
+    /**
+     * Verify and store a webhook request
+     *
+     * @return true if the event was stored, false if it was a duplicate delivery
+     */
+    boolean receive(String payload, String signatureHeader);
+    
+    /**
+     * Apply one batch of due events on the calling thread
+     *
+     * @return number of events applied or retried
+     */
+    int processNextBatch();
+    
+    /**
+     * Number of stored events still waiting to be applied
+     */
+    long getPendingEventCount();
+    
+    /**
+     * Delete handled events past the retention period (scheduled task)
+     */
+    void purgeHandledEvents();
+}
@@ -0,0 +1,302 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mshando.paymentservice.exception.IdempotencyConflictException;
+import com.mshando.paymentservice.exception.InvalidPaymentOperationException;
+import com.mshando.paymentservice.model.IdempotencyRecord;
+import com.mshando.paymentservice.model.IdempotencyStatus;
+import com.mshando.paymentservice.repository.IdempotencyRecordRepository;
+import com.mshando.paymentservice.service.IdempotencyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of IdempotencyService.
+ * 
+ * Keys are stored in the idempotency_keys table, which is the source of truth
+ * across instances. A bounded in-memory cache answers replays of recently
+ * completed requests without a database round trip, and concurrent duplicates
+ * arriving on the same instance wait for the in-flight request instead of
+ * failing. A duplicate arriving on another instance while the first request
+ * is still running is rejected with a conflict and can be retried.
+ *
+ * A key is locked by the request holding it until lock-seconds have passed.
+ * A key left IN_PROGRESS by a request that never finished, because its
+ * instance stopped or its completion could not be written, is taken over
+ * by the next duplicate once the lock expires, and the action runs again.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, InFlightRequest> inFlightRequests = new ConcurrentHashMap<>();
+    private final Cache<String, CompletedResponse> completedResponses;
+
+    @Value("${payment.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${payment.idempotency.in-flight-wait-seconds:30}")
+    private long inFlightWaitSeconds;
+
+    @Value("${payment.idempotency.lock-seconds:120}")
+    private long lockSeconds;
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository idempotencyRecordRepository,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${payment.idempotency.cache-size:10000}") long cacheSize,
+                                  @Value("${payment.idempotency.cache-ttl-minutes:60}") long cacheTtlMinutes) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.completedResponses = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMinutes(cacheTtlMinutes))
+                .build();
+    }
+
+    @Override
+    public <T> T execute(String idempotencyKey, String scope, String operation, Object request,
+                         Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidPaymentOperationException("Idempotency-Key cannot exceed " + MAX_KEY_LENGTH + " characters");
+        }
+        
+        String cacheKey = scope + ":" + idempotencyKey;
+        String fingerprint = fingerprint(operation, request);
+        
+        CompletedResponse completed = completedResponses.getIfPresent(cacheKey);
+        if (completed != null) {
+            verifyFingerprint(completed.fingerprint(), fingerprint);
+            return deserialize(completed.body(), responseType);
+        }
+        
+        InFlightRequest inFlight = new InFlightRequest(fingerprint, new CompletableFuture<>());
+        InFlightRequest existing = inFlightRequests.putIfAbsent(cacheKey, inFlight);
+        if (existing != null) {
+            verifyFingerprint(existing.fingerprint(), fingerprint);
+            log.debug("Coalescing duplicate request for idempotency key {}", idempotencyKey);
+            return deserialize(awaitInFlight(existing), responseType);
+        }
+        
+        try {
+            String body = executeOnce(idempotencyKey, scope, operation, fingerprint, action);
+            completedResponses.put(cacheKey, new CompletedResponse(fingerprint, body));
+            inFlight.response().complete(body);
+            return deserialize(body, responseType);
+        } catch (RuntimeException e) {
+            inFlight.response().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRequests.remove(cacheKey, inFlight);
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${payment.idempotency.purge-cron:0 15 * * * *}")
+    @Transactional
+    public void purgeExpiredKeys() {
+        int purged = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private <T> String executeOnce(String idempotencyKey, String scope, String operation, String fingerprint,
+                                   Supplier<T> action) {
+        Optional<IdempotencyRecord> existing = findLiveRecord(scope, idempotencyKey);
+        if (existing.isPresent() && existing.get().getStatus() == IdempotencyStatus.COMPLETED) {
+            verifyFingerprint(existing.get().getRequestFingerprint(), fingerprint);
+            return existing.get().getResponseBody();
+        }
+        
+        Lock lock = existing.isPresent()
+                ? takeOver(existing.get(), fingerprint)
+                : reserveKey(idempotencyKey, scope, operation, fingerprint);
+        
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            // Release the key so the client can retry a request that did not take effect
+            transactionTemplate.executeWithoutResult(status ->
+                    idempotencyRecordRepository.releaseLock(lock.recordId(), lock.lockedUntil()));
+            throw e;
+        }
+        
+        // Processing and refunds run outside any transaction by design, so the completion
+        // cannot commit with the action; if it is never written, the lock expires instead
+        String body = serialize(result);
+        Integer completed = transactionTemplate.execute(status -> idempotencyRecordRepository.markCompleted(
+                lock.recordId(), lock.lockedUntil(), IdempotencyStatus.COMPLETED, body, LocalDateTime.now()));
+        if (completed == null || completed == 0) {
+            log.warn("Idempotency key {} was taken over before request completed", idempotencyKey);
+        }
+        return body;
+    }
+
+    /**
+     * Look up a key used earlier, possibly on another instance, dropping it once expired
+     */
+    private Optional<IdempotencyRecord> findLiveRecord(String scope, String idempotencyKey) {
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findByScopeAndIdempotencyKey(scope, idempotencyKey);
+        if (existing.isPresent() && existing.get().isExpired(LocalDateTime.now())) {
+            Long recordId = existing.get().getId();
+            transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.deleteById(recordId));
+            return Optional.empty();
+        }
+        return existing;
+    }
+
+    private Lock reserveKey(String idempotencyKey, String scope, String operation, String fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lockedUntil = lockUntil(now);
+        try {
+            Long recordId = transactionTemplate.execute(status -> idempotencyRecordRepository.saveAndFlush(
+                    IdempotencyRecord.builder()
+                            .idempotencyKey(idempotencyKey)
+                            .scope(scope)
+                            .operation(operation)
+                            .requestFingerprint(fingerprint)
+                            .status(IdempotencyStatus.IN_PROGRESS)
+                            .createdAt(now)
+                            .expiresAt(now.plusHours(ttlHours))
+                            .lockedUntil(lockedUntil)
+                            .build()).getId());
+            return new Lock(recordId, lockedUntil);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance reserved the key first
+            throw new IdempotencyConflictException("A request with this Idempotency-Key is still in progress");
+        }
+    }
+
+    /**
+     * Take over a key whose request never finished, e.g. because its instance stopped
+     */
+    private Lock takeOver(IdempotencyRecord record, String fingerprint) {
+        verifyFingerprint(record.getRequestFingerprint(), fingerprint);
+        LocalDateTime now = LocalDateTime.now();
+        if (!record.isLockExpired(now, lockSeconds)) {
+            throw new IdempotencyConflictException("A request with this Idempotency-Key is still in progress");
+        }
+        
+        LocalDateTime lockedUntil = lockUntil(now);
+        Integer taken = transactionTemplate.execute(status -> idempotencyRecordRepository.takeOverLock(
+                record.getId(), lockedUntil, now, now.minusSeconds(lockSeconds)));
+        if (taken == null || taken == 0) {
+            // Another request took it over or finished it first
+            throw new IdempotencyConflictException("A request with this Idempotency-Key is still in progress");
+        }
+        log.warn("Taking over idempotency key {} whose request did not finish by {}",
+                record.getIdempotencyKey(), record.getLockedUntil());
+        return new Lock(record.getId(), lockedUntil);
+    }
+
+    /**
+     * Lock expiry for a request starting now, at millisecond precision so it compares
+     * equal after a round trip through the database
+     */
+    private LocalDateTime lockUntil(LocalDateTime now) {
+        return now.plusSeconds(lockSeconds).truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private String awaitInFlight(InFlightRequest inFlight) {
+        try {
+            return inFlight.response().get(inFlightWaitSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Original request failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException("A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for the original request");
+        }
+    }
+
+    private void verifyFingerprint(String stored, String fingerprint) {
+        if (!stored.equals(fingerprint)) {
+            throw new IdempotencyConflictException("Idempotency-Key was already used with a different request");
+        }
+    }
+
+    private String fingerprint(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ':');
+            digest.update(serialize(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize idempotent response", e);
+        }
+    }
+
+    private <T> T deserialize(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored idempotent response", e);
+        }
+    }
+
+    private record InFlightRequest(String fingerprint, CompletableFuture<String> response) {
+    }
+
+    private record CompletedResponse(String fingerprint, String body) {
+    }
+
+    /**
+     * An IN_PROGRESS key held by this request until lockedUntil
+     */
+    private record Lock(Long recordId, LocalDateTime lockedUntil) {
+    }
+}
@@ -0,0 +1,408 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.mshando.paymentservice.dto.LoadTestRequestDTO;
+import com.mshando.paymentservice.dto.LoadTestResultDTO;
+import com.mshando.paymentservice.dto.LoadTestResultDTO.LatencySummary;
+import com.mshando.paymentservice.dto.LoadTestResultDTO.ResourceUsage;
+import com.mshando.paymentservice.dto.PaymentCreateDTO;
+import com.mshando.paymentservice.dto.PaymentRefundDTO;
+import com.mshando.paymentservice.event.PaymentStatusChangedEvent;
+import com.mshando.paymentservice.exception.InvalidPaymentOperationException;
+import com.mshando.paymentservice.model.PaymentMethod;
+import com.mshando.paymentservice.model.PaymentStatus;
+import com.mshando.paymentservice.model.PaymentType;
+import com.mshando.paymentservice.service.LoadTestService;
+import com.mshando.paymentservice.service.PaymentService;
+import com.mshando.paymentservice.service.PaymentWorkQueue;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Implementation of LoadTestService.
+ *
+ * Flows are started open-loop: the N-th flow is due at start + N / rate
+ * whether or not earlier flows have finished, and every latency is measured
+ * from the time the flow was due. A saturated service therefore shows up as
+ * growing latency instead of a silently lower arrival rate.
+ *
+ * Each flow creates a payment, waits for it to be processed by the workers
+ * and settled by the provider (observed through PaymentStatusChangedEvent
+ * after commit), then refunds it. Connection pool and paymentTaskExecutor
+ * usage are sampled throughout the run. Only available when
+ * payment.loadtest.enabled is set.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "payment.loadtest.enabled", havingValue = "true")
+public class LoadTestServiceImpl implements LoadTestService {
+
+    private static final long DRAIN_SLACK_SECONDS = 30;
+
+    private final PaymentService paymentService;
+    private final PaymentWorkQueue paymentWorkQueue;
+    private final DataSource dataSource;
+    private final Executor paymentTaskExecutor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Flows of the current run by payment ID, null between runs
+     */
+    private volatile Map<Long, Flow> flows;
+
+    @Value("${payment.loadtest.customer-id:900000001}")
+    private Long customerId;
+
+    @Value("${payment.loadtest.tasker-id:900000002}")
+    private Long taskerId;
+
+    @Value("${payment.loadtest.sample-interval-ms:100}")
+    private long sampleIntervalMs;
+
+    public LoadTestServiceImpl(PaymentService paymentService,
+                               PaymentWorkQueue paymentWorkQueue,
+                               DataSource dataSource,
+                               @Qualifier("paymentTaskExecutor") Executor paymentTaskExecutor) {
+        this.paymentService = paymentService;
+        this.paymentWorkQueue = paymentWorkQueue;
+        this.dataSource = dataSource;
+        this.paymentTaskExecutor = paymentTaskExecutor;
+    }
+
+    /**
+     * Timestamp the processing and settlement of load test payments
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        Map<Long, Flow> currentFlows = flows;
+        if (currentFlows == null || event.getPaymentType() == PaymentType.REFUND) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        switch (event.getStatus()) {
+            // The event can arrive before createPayment has returned the ID to the flow
+            case PROCESSING -> currentFlows.computeIfAbsent(event.getPaymentId(), id -> new Flow()).processingAt = now;
+            case COMPLETED, FAILED -> {
+                Flow flow = currentFlows.computeIfAbsent(event.getPaymentId(), id -> new Flow());
+                flow.settledAt = now;
+                flow.settled.complete(event.getStatus());
+            }
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public LoadTestResultDTO run(LoadTestRequestDTO request) {
+        if (!running.compareAndSet(false, true)) {
+            throw new InvalidPaymentOperationException("A load test is already running");
+        }
+        try {
+            flows = new ConcurrentHashMap<>();
+            return execute(request);
+        } finally {
+            flows = null;
+            running.set(false);
+        }
+    }
+
+    private LoadTestResultDTO execute(LoadTestRequestDTO request) {
+        int totalFlows = (int) Math.max(1, Math.round(request.getArrivalRate() * request.getDurationSeconds()));
+        long intervalNanos = Math.round(1_000_000_000.0 / request.getArrivalRate());
+        boolean workersActive = paymentWorkQueue.getActiveWorkerCount() > 0;
+        log.info("Load test starting: {} flows at {}/s over {} s ({})", totalFlows, request.getArrivalRate(),
+                request.getDurationSeconds(), workersActive ? "processed by workers" : "processed by the harness");
+
+        RunStats stats = new RunStats(totalFlows);
+        ResourceSampler sampler = new ResourceSampler();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(request.getClientThreads(),
+                runnable -> new Thread(runnable, "loadtest-client-" + threadNumber.incrementAndGet()));
+        ScheduledExecutorService samplerThread = Executors.newSingleThreadScheduledExecutor(
+                runnable -> new Thread(runnable, "loadtest-sampler"));
+        samplerThread.scheduleAtFixedRate(sampler::sample, 0, sampleIntervalMs, TimeUnit.MILLISECONDS);
+
+        long startedAt = System.nanoTime();
+        try {
+            for (int i = 0; i < totalFlows; i++) {
+                long dueAt = startedAt + i * intervalNanos;
+                long wait;
+                while ((wait = dueAt - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                clients.execute(() -> startFlow(dueAt, request, workersActive, stats, clients));
+            }
+
+            long drainSeconds = request.getDurationSeconds() + request.getFlowTimeoutSeconds() + DRAIN_SLACK_SECONDS;
+            if (!stats.finished.await(drainSeconds, TimeUnit.SECONDS)) {
+                log.warn("Load test gave up waiting for {} unfinished flows", stats.finished.getCount());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            clients.shutdownNow();
+            samplerThread.shutdownNow();
+        }
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        LoadTestResultDTO result = stats.toResult(elapsedMs, sampler.toResourceUsage());
+        log.info("Load test finished: {} completed, {} failed, {} timed out, {} errors, {}/s",
+                result.getCompleted(), result.getFailed(), result.getTimedOut(), result.getErrors(),
+                String.format("%.1f", result.getThroughputPerSecond()));
+        return result;
+    }
+
+    private void startFlow(long dueAt, LoadTestRequestDTO request, boolean workersActive,
+                           RunStats stats, Executor clients) {
+        stats.started.incrementAndGet();
+        Long paymentId;
+        long createdAt;
+        try {
+            paymentId = paymentService.createPayment(PaymentCreateDTO.builder()
+                    .customerId(customerId)
+                    .taskerId(taskerId)
+                    .amount(request.getAmount())
+                    .currency("USD")
+                    .paymentMethod(PaymentMethod.CREDIT_CARD)
+                    .paymentType(PaymentType.TASK_PAYMENT)
+                    .description("Load test payment")
+                    .build(), String.valueOf(customerId)).getId();
+            createdAt = System.nanoTime();
+            stats.create.record(createdAt - dueAt);
+
+            if (!workersActive) {
+                paymentService.processPaymentAsync(paymentId);
+            }
+        } catch (Exception e) {
+            log.debug("Load test flow failed to start: {}", e.getMessage());
+            stats.errors.incrementAndGet();
+            stats.finished.countDown();
+            return;
+        }
+
+        Flow flow = flows.computeIfAbsent(paymentId, id -> new Flow());
+        flow.settled
+                .orTimeout(request.getFlowTimeoutSeconds(), TimeUnit.SECONDS)
+                .whenCompleteAsync((status, error) -> {
+                    try {
+                        finishFlow(paymentId, flow, status, error, dueAt, createdAt, request, stats);
+                    } finally {
+                        flows.remove(paymentId);
+                        stats.finished.countDown();
+                    }
+                }, clients);
+    }
+
+    private void finishFlow(Long paymentId, Flow flow, PaymentStatus status, Throwable error,
+                            long dueAt, long createdAt, LoadTestRequestDTO request, RunStats stats) {
+        if (error != null) {
+            if (error instanceof TimeoutException) {
+                stats.timedOut.incrementAndGet();
+            } else {
+                stats.errors.incrementAndGet();
+            }
+            return;
+        }
+
+        long processingAt = flow.processingAt > 0 ? Math.max(flow.processingAt, createdAt) : createdAt;
+        stats.queue.record(processingAt - createdAt);
+        stats.provider.record(flow.settledAt - processingAt);
+        if (status == PaymentStatus.FAILED) {
+            stats.failed.incrementAndGet();
+            return;
+        }
+        stats.completed.incrementAndGet();
+
+        if (ThreadLocalRandom.current().nextDouble() < request.getRefundRatio()) {
+            long refundStartedAt = System.nanoTime();
+            try {
+                PaymentStatus refundStatus = paymentService.refundPayment(paymentId, PaymentRefundDTO.builder()
+                        .reason("Load test refund")
+                        .build()).getStatus();
+                stats.refund.record(System.nanoTime() - refundStartedAt);
+                if (refundStatus == PaymentStatus.REFUNDED) {
+                    stats.refunded.incrementAndGet();
+                }
+            } catch (Exception e) {
+                log.debug("Load test refund of payment {} failed: {}", paymentId, e.getMessage());
+                stats.errors.incrementAndGet();
+                return;
+            }
+        }
+        stats.endToEnd.record(System.nanoTime() - dueAt);
+    }
+
+    /**
+     * Progress of one payment as seen through status change events
+     */
+    private static final class Flow {
+        final CompletableFuture<PaymentStatus> settled = new CompletableFuture<>();
+        volatile long processingAt;
+        volatile long settledAt;
+    }
+
+    private static final class RunStats {
+        final CountDownLatch finished;
+        final AtomicLong started = new AtomicLong();
+        final AtomicLong completed = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong timedOut = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong refunded = new AtomicLong();
+        final LatencyRecorder create;
+        final LatencyRecorder queue;
+        final LatencyRecorder provider;
+        final LatencyRecorder refund;
+        final LatencyRecorder endToEnd;
+
+        RunStats(int totalFlows) {
+            this.finished = new CountDownLatch(totalFlows);
+            this.create = new LatencyRecorder(totalFlows);
+            this.queue = new LatencyRecorder(totalFlows);
+            this.provider = new LatencyRecorder(totalFlows);
+            this.refund = new LatencyRecorder(totalFlows);
+            this.endToEnd = new LatencyRecorder(totalFlows);
+        }
+
+        LoadTestResultDTO toResult(long elapsedMs, ResourceUsage resources) {
+            Map<String, LatencySummary> latencies = new LinkedHashMap<>();
+            latencies.put("create", create.summarize());
+            latencies.put("queue", queue.summarize());
+            latencies.put("provider", provider.summarize());
+            latencies.put("refund", refund.summarize());
+            latencies.put("endToEnd", endToEnd.summarize());
+
+            return LoadTestResultDTO.builder()
+                    .started(started.get())
+                    .completed(completed.get())
+                    .failed(failed.get())
+                    .timedOut(timedOut.get())
+                    .errors(errors.get())
+                    .refunded(refunded.get())
+                    .elapsedMs(elapsedMs)
+                    .throughputPerSecond((completed.get() + failed.get()) * 1000.0 / elapsedMs)
+                    .latencies(latencies)
+                    .resources(resources)
+                    .build();
+        }
+    }
+
+    /**
+     * Exact latency samples of one stage; a run records at most one sample per flow
+     */
+    static final class LatencyRecorder {
+        private final long[] samples;
+        private int size;
+
+        LatencyRecorder(int capacity) {
+            this.samples = new long[capacity];
+        }
+
+        synchronized void record(long nanos) {
+            if (size < samples.length) {
+                samples[size++] = nanos;
+            }
+        }
+
+        synchronized LatencySummary summarize() {
+            if (size == 0) {
+                return LatencySummary.builder().build();
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            return LatencySummary.builder()
+                    .count(size)
+                    .mean(toMillis(Arrays.stream(sorted).average().orElse(0)))
+                    .p50(toMillis(percentile(sorted, 0.50)))
+                    .p90(toMillis(percentile(sorted, 0.90)))
+                    .p99(toMillis(percentile(sorted, 0.99)))
+                    .p999(toMillis(percentile(sorted, 0.999)))
+                    .max(toMillis(sorted[sorted.length - 1]))
+                    .build();
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+
+        private static double toMillis(double nanos) {
+            return Math.round(nanos / 10_000.0) / 100.0;
+        }
+    }
+
+    /**
+     * Peak usage of the connection pool and paymentTaskExecutor
+     */
+    private final class ResourceSampler {
+        private final HikariDataSource hikari = unwrapHikari();
+        private volatile int maxActiveConnections;
+        private volatile int maxConnectionWaiters;
+        private volatile int maxTaskExecutorActive;
+        private volatile int maxTaskExecutorQueued;
+
+        void sample() {
+            HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+            if (pool != null) {
+                maxActiveConnections = Math.max(maxActiveConnections, pool.getActiveConnections());
+                maxConnectionWaiters = Math.max(maxConnectionWaiters, pool.getThreadsAwaitingConnection());
+            }
+            if (paymentTaskExecutor instanceof ThreadPoolTaskExecutor executor) {
+                maxTaskExecutorActive = Math.max(maxTaskExecutorActive, executor.getActiveCount());
+                maxTaskExecutorQueued = Math.max(maxTaskExecutorQueued,
+                        executor.getThreadPoolExecutor().getQueue().size());
+            }
+        }
+
+        ResourceUsage toResourceUsage() {
+            return ResourceUsage.builder()
+                    .connectionPoolSize(hikari != null ? hikari.getMaximumPoolSize() : 0)
+                    .maxActiveConnections(maxActiveConnections)
+                    .maxConnectionWaiters(maxConnectionWaiters)
+                    .taskExecutorPoolSize(paymentTaskExecutor instanceof ThreadPoolTaskExecutor executor
+                            ? executor.getMaxPoolSize() : 0)
+                    .maxTaskExecutorActive(maxTaskExecutorActive)
+                    .maxTaskExecutorQueued(maxTaskExecutorQueued)
+                    .build();
+        }
+
+        private HikariDataSource unwrapHikari() {
+            try {
+                return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+            } catch (SQLException e) {
+                return null;
+            }
+        }
+    }
+}
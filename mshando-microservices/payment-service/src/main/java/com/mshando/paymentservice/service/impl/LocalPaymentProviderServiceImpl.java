@@ -0,0 +1,214 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mshando.paymentservice.dto.ProviderWebhookEventDTO;
+import com.mshando.paymentservice.model.Payment;
+import com.mshando.paymentservice.service.PaymentProviderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.net.SocketTimeoutException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local, simulated stand-in for the payment provider.
+ *
+ * Charges are remembered in a bounded in-memory table, so status checks
+ * answer from what was actually charged, and a charge repeating an
+ * idempotency key returns the original transaction. Enabled with
+ * payment.providers.mode=local; by default every call succeeds instantly.
+ *
+ * For benchmarks the simulation can be tuned under payment.providers.local:
+ * <ul>
+ *   <li>latency: every call sleeps for a delay drawn from a FIXED, UNIFORM,
+ *       EXPONENTIAL or LOG_NORMAL distribution with the given median
+ *       (and p99 for LOG_NORMAL)</li>
+ *   <li>failure-rate: share of charges and refunds that are declined</li>
+ *   <li>timeout-rate / timeout-ms: share of charges and refunds that hang
+ *       for timeout-ms and then fail with a read timeout</li>
+ *   <li>rate-limit-per-second: calls above the limit are rejected, as the
+ *       provider would with HTTP 429</li>
+ *   <li>drift-rate: share of status checks that report a succeeded charge
+ *       as failed, to exercise reconciliation</li>
+ * </ul>
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "payment.providers.mode", havingValue = "local")
+public class LocalPaymentProviderServiceImpl implements PaymentProviderService {
+
+    static final String SUCCEEDED = "succeeded";
+    static final String FAILED = "requires_payment_method";
+    static final String CANCELED = "canceled";
+    static final String NOT_FOUND = "not_found";
+
+    /**
+     * z-score of the 99th percentile of the standard normal distribution
+     */
+    private static final double Z_99 = 2.326;
+
+    /**
+     * Shape of the simulated provider latency
+     */
+    public enum LatencyDistribution {
+        NONE, FIXED, UNIFORM, EXPONENTIAL, LOG_NORMAL
+    }
+
+    private final StripeWebhookParser webhookParser;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, String> transactions;
+    private final Cache<String, String> chargesByIdempotencyKey;
+    private final LatencyDistribution latencyDistribution;
+    private final double medianLatencyMs;
+    private final double logNormalSigma;
+    private final double permitsPerNano;
+    private final double burstPermits;
+
+    private double availablePermits;
+    private long lastRefillNanos = System.nanoTime();
+
+    @Value("${payment.providers.local.drift-rate:0.0}")
+    private double driftRate;
+
+    @Value("${payment.providers.local.failure-rate:0.0}")
+    private double failureRate;
+
+    @Value("${payment.providers.local.timeout-rate:0.0}")
+    private double timeoutRate;
+
+    @Value("${payment.providers.local.timeout-ms:30000}")
+    private long timeoutMs;
+
+    public LocalPaymentProviderServiceImpl(StripeWebhookParser webhookParser,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${payment.providers.local.max-transactions:1000000}") long maxTransactions,
+                                           @Value("${payment.providers.local.latency.distribution:NONE}") LatencyDistribution latencyDistribution,
+                                           @Value("${payment.providers.local.latency.median-ms:100}") double medianLatencyMs,
+                                           @Value("${payment.providers.local.latency.p99-ms:1000}") double p99LatencyMs,
+                                           @Value("${payment.providers.local.rate-limit-per-second:0}") double rateLimitPerSecond) {
+        this.webhookParser = webhookParser;
+        this.meterRegistry = meterRegistry;
+        this.transactions = Caffeine.newBuilder()
+                .maximumSize(maxTransactions)
+                .build();
+        this.chargesByIdempotencyKey = Caffeine.newBuilder()
+                .maximumSize(maxTransactions)
+                .build();
+        this.latencyDistribution = latencyDistribution;
+        this.medianLatencyMs = medianLatencyMs;
+        this.logNormalSigma = Math.log(Math.max(p99LatencyMs, medianLatencyMs) / medianLatencyMs) / Z_99;
+        this.permitsPerNano = rateLimitPerSecond / 1_000_000_000.0;
+        this.burstPermits = Math.max(1.0, rateLimitPerSecond);
+        this.availablePermits = burstPermits;
+    }
+
+    @Override
+    public String processPayment(Payment payment, String idempotencyKey) throws Exception {
+        simulateCall("charge", true);
+        String transactionId = chargesByIdempotencyKey.get(idempotencyKey, key -> {
+            String charged = "local_" + UUID.randomUUID();
+            transactions.put(charged, SUCCEEDED);
+            return charged;
+        });
+        log.debug("Local provider charged payment {} as {}", payment.getId(), transactionId);
+        return transactionId;
+    }
+
+    @Override
+    public String processRefund(Payment originalPayment, Payment refundPayment) throws Exception {
+        simulateCall("refund", true);
+        String transactionId = "local_refund_" + UUID.randomUUID();
+        transactions.put(transactionId, SUCCEEDED);
+        return transactionId;
+    }
+
+    @Override
+    public String checkPaymentStatus(String externalTransactionId) throws Exception {
+        simulateCall("status", false);
+        String status = transactions.getIfPresent(externalTransactionId);
+        if (status == null) {
+            return NOT_FOUND;
+        }
+        if (SUCCEEDED.equals(status) && driftRate > 0 && ThreadLocalRandom.current().nextDouble() < driftRate) {
+            return FAILED;
+        }
+        return status;
+    }
+
+    @Override
+    public void cancelPayment(String externalTransactionId) throws Exception {
+        simulateCall("cancel", false);
+        transactions.asMap().computeIfPresent(externalTransactionId, (id, status) -> CANCELED);
+    }
+
+    @Override
+    public ProviderWebhookEventDTO parseWebhookEvent(String payload, String signatureHeader) {
+        return webhookParser.parse(payload, signatureHeader);
+    }
+
+    /**
+     * Apply the configured rate limit, latency and (for money movements) injected failures
+     */
+    private void simulateCall(String operation, boolean injectFailures) throws Exception {
+        if (permitsPerNano > 0 && !tryAcquirePermit()) {
+            count(operation, "rate_limited");
+            throw new IllegalStateException("Rate limit exceeded (HTTP 429)");
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (injectFailures && timeoutRate > 0 && random.nextDouble() < timeoutRate) {
+            Thread.sleep(timeoutMs);
+            count(operation, "timeout");
+            throw new SocketTimeoutException("Read timed out");
+        }
+
+        long delayMs = sampleLatencyMs(random);
+        if (delayMs > 0) {
+            Thread.sleep(delayMs);
+        }
+
+        if (injectFailures && failureRate > 0 && random.nextDouble() < failureRate) {
+            count(operation, "declined");
+            throw new IllegalStateException("Your card was declined.");
+        }
+        count(operation, "success");
+    }
+
+    private long sampleLatencyMs(ThreadLocalRandom random) {
+        return Math.round(switch (latencyDistribution) {
+            case NONE -> 0.0;
+            case FIXED -> medianLatencyMs;
+            case UNIFORM -> random.nextDouble(0.0, 2 * medianLatencyMs);
+            // The median of an exponential distribution is mean x ln 2
+            case EXPONENTIAL -> -Math.log(1.0 - random.nextDouble()) * medianLatencyMs / Math.log(2);
+            case LOG_NORMAL -> medianLatencyMs * Math.exp(logNormalSigma * random.nextGaussian());
+        });
+    }
+
+    /**
+     * Token bucket holding up to one second of permits
+     */
+    private synchronized boolean tryAcquirePermit() {
+        long now = System.nanoTime();
+        availablePermits = Math.min(burstPermits, availablePermits + (now - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = now;
+        if (availablePermits < 1.0) {
+            return false;
+        }
+        availablePermits -= 1.0;
+        return true;
+    }
+
+    private void count(String operation, String outcome) {
+        meterRegistry.counter("payment.provider.simulated.calls", "operation", operation, "outcome", outcome)
+                .increment();
+    }
+}
@@ -0,0 +1,292 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mshando.paymentservice.exception.InvalidPaymentOperationException;
+import com.mshando.paymentservice.model.PaymentExportFormat;
+import com.mshando.paymentservice.service.PaymentExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of PaymentExportService.
+ *
+ * Rows are read with plain JDBC through a forward-only, read-only cursor
+ * with a fixed fetch size, inside a read-only transaction (PostgreSQL only
+ * streams with auto-commit off). No entities are created, so nothing is
+ * held by the persistence context; each row is written to a buffered
+ * writer and dropped. Heap use is bounded by the fetch size and the
+ * writer buffer whatever the range.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class PaymentExportServiceImpl implements PaymentExportService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final List<ExportColumn> COLUMNS = List.of(
+            new ExportColumn("id", "id", ColumnType.NUMBER),
+            new ExportColumn("customer_id", "customerId", ColumnType.NUMBER),
+            new ExportColumn("tasker_id", "taskerId", ColumnType.NUMBER),
+            new ExportColumn("task_id", "taskId", ColumnType.NUMBER),
+            new ExportColumn("bid_id", "bidId", ColumnType.NUMBER),
+            new ExportColumn("amount", "amount", ColumnType.DECIMAL),
+            new ExportColumn("service_fee", "serviceFee", ColumnType.DECIMAL),
+            new ExportColumn("net_amount", "netAmount", ColumnType.DECIMAL),
+            new ExportColumn("currency", "currency", ColumnType.TEXT),
+            new ExportColumn("payment_method", "paymentMethod", ColumnType.TEXT),
+            new ExportColumn("payment_type", "paymentType", ColumnType.TEXT),
+            new ExportColumn("status", "status", ColumnType.TEXT),
+            new ExportColumn("external_transaction_id", "externalTransactionId", ColumnType.TEXT),
+            new ExportColumn("description", "description", ColumnType.TEXT),
+            new ExportColumn("failure_reason", "failureReason", ColumnType.TEXT),
+            new ExportColumn("retry_count", "retryCount", ColumnType.NUMBER),
+            new ExportColumn("created_at", "createdAt", ColumnType.TIMESTAMP),
+            new ExportColumn("processed_at", "processedAt", ColumnType.TIMESTAMP),
+            new ExportColumn("completed_at", "completedAt", ColumnType.TIMESTAMP),
+            new ExportColumn("failed_at", "failedAt", ColumnType.TIMESTAMP),
+            new ExportColumn("refunded_at", "refundedAt", ColumnType.TIMESTAMP));
+
+    private static final String EXPORT_SQL = "SELECT " +
+            COLUMNS.stream().map(ExportColumn::column).collect(Collectors.joining(", ")) +
+            " FROM payments WHERE created_at >= ? AND created_at < ? ORDER BY created_at, id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${payment.export.max-range-days:366}")
+    private long maxRangeDays;
+
+    public PaymentExportServiceImpl(DataSource dataSource,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper,
+                                    @Value("${payment.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void validateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        if (!startDate.isBefore(endDate)) {
+            throw new InvalidPaymentOperationException("Start date must be before end date");
+        }
+        if (Duration.between(startDate, endDate).toDays() > maxRangeDays) {
+            throw new InvalidPaymentOperationException("Export range cannot exceed " + maxRangeDays + " days");
+        }
+    }
+
+    @Override
+    public long exportPayments(LocalDateTime startDate, LocalDateTime endDate,
+                               PaymentExportFormat format, OutputStream out) throws IOException {
+        validateRange(startDate, endDate);
+        long started = System.nanoTime();
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        RowWriter rowWriter = format == PaymentExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        AtomicLong rows = new AtomicLong();
+
+        try {
+            rowWriter.start();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(EXPORT_SQL,
+                    statement -> {
+                        statement.setTimestamp(1, Timestamp.valueOf(startDate));
+                        statement.setTimestamp(2, Timestamp.valueOf(endDate));
+                    },
+                    resultSet -> {
+                        try {
+                            rowWriter.write(resultSet);
+                        } catch (IOException e) {
+                            // Client went away; abort the query instead of reading the rest of the range
+                            throw new UncheckedIOException(e);
+                        }
+                        rows.incrementAndGet();
+                    }));
+            rowWriter.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Exported {} payments created in [{}, {}) as {} in {} ms ({} rows/s)",
+                rows.get(), startDate, endDate, format, elapsedMs, rows.get() * 1000 / elapsedMs);
+        return rows.get();
+    }
+
+    private enum ColumnType {
+        NUMBER, DECIMAL, TEXT, TIMESTAMP
+    }
+
+    private record ExportColumn(String column, String field, ColumnType type) {
+    }
+
+    private interface RowWriter {
+
+        void start() throws IOException;
+
+        void write(ResultSet resultSet) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * RFC 4180 CSV with a header line
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            writer.write(COLUMNS.stream().map(ExportColumn::field).collect(Collectors.joining(",")));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet resultSet) throws SQLException, IOException {
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                String value = readText(resultSet, i + 1, COLUMNS.get(i).type());
+                if (value != null) {
+                    writeEscaped(value);
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeEscaped(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        private static String readText(ResultSet resultSet, int index, ColumnType type) throws SQLException {
+            return switch (type) {
+                case NUMBER -> {
+                    long value = resultSet.getLong(index);
+                    yield resultSet.wasNull() ? null : Long.toString(value);
+                }
+                case DECIMAL -> {
+                    BigDecimal value = resultSet.getBigDecimal(index);
+                    yield value != null ? value.toPlainString() : null;
+                }
+                case TEXT -> resultSet.getString(index);
+                case TIMESTAMP -> {
+                    Timestamp value = resultSet.getTimestamp(index);
+                    yield value != null ? value.toLocalDateTime().toString() : null;
+                }
+            };
+        }
+    }
+
+    /**
+     * One JSON object per line, written with the streaming generator
+     */
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            generator = objectMapper.getFactory().createGenerator(writer);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ResultSet resultSet) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                ExportColumn column = COLUMNS.get(i);
+                generator.writeFieldName(column.field());
+                writeValue(resultSet, i + 1, column.type());
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+
+        private void writeValue(ResultSet resultSet, int index, ColumnType type) throws SQLException, IOException {
+            switch (type) {
+                case NUMBER -> {
+                    long value = resultSet.getLong(index);
+                    if (resultSet.wasNull()) {
+                        generator.writeNull();
+                    } else {
+                        generator.writeNumber(value);
+                    }
+                }
+                case DECIMAL -> {
+                    BigDecimal value = resultSet.getBigDecimal(index);
+                    if (value == null) {
+                        generator.writeNull();
+                    } else {
+                        generator.writeNumber(value);
+                    }
+                }
+                case TEXT -> generator.writeString(resultSet.getString(index));
+                case TIMESTAMP -> {
+                    Timestamp value = resultSet.getTimestamp(index);
+                    generator.writeString(value != null ? value.toLocalDateTime().toString() : null);
+                }
+            }
+        }
+    }
+}
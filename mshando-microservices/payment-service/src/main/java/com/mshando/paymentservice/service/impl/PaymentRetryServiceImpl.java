@@ -0,0 +1,128 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.mshando.paymentservice.model.Payment;
+import com.mshando.paymentservice.model.PaymentStatus;
+import com.mshando.paymentservice.repository.PaymentRepository;
+import com.mshando.paymentservice.service.PaymentRetryService;
+import com.mshando.paymentservice.service.PaymentService;
+import com.mshando.paymentservice.service.ProviderHealthService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of PaymentRetryService.
+ *
+ * Each poll claims due payments earliest-first in short transactions (row
+ * locks with SKIP LOCKED, so instances never release the same payment) and
+ * moves them to RETRY_PENDING through PaymentService.retryPayment, which
+ * wakes the processing workers after commit. A poll releases at most
+ * max-per-poll payments, so a backlog built up during an outage drains at a
+ * bounded rate, and it stops early as soon as the provider is paused.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class PaymentRetryServiceImpl implements PaymentRetryService {
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentService paymentService;
+    private final ProviderHealthService providerHealthService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter releasedCounter;
+    private final Counter skippedPollCounter;
+    private final AtomicLong dueRetries = new AtomicLong();
+
+    @Value("${payment.processing.retry-enabled:true}")
+    private boolean retryEnabled;
+
+    @Value("${payment.retries.batch-size:50}")
+    private int batchSize;
+
+    @Value("${payment.retries.max-per-poll:500}")
+    private int maxPerPoll;
+
+    public PaymentRetryServiceImpl(PaymentRepository paymentRepository,
+                                   PaymentService paymentService,
+                                   ProviderHealthService providerHealthService,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry) {
+        this.paymentRepository = paymentRepository;
+        this.paymentService = paymentService;
+        this.providerHealthService = providerHealthService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.releasedCounter = Counter.builder("payment.retry.released")
+                .description("Failed payments released for an automatic retry")
+                .register(meterRegistry);
+        this.skippedPollCounter = Counter.builder("payment.retry.polls.paused")
+                .description("Retry polls skipped or cut short because the provider is paused")
+                .register(meterRegistry);
+        Gauge.builder("payment.retry.due", dueRetries, AtomicLong::get)
+                .description("Failed payments whose retry is due, as of the last poll")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${payment.retries.poll-ms:30000}")
+    public int releaseDueRetries() {
+        if (!retryEnabled) {
+            return 0;
+        }
+
+        int released = 0;
+        while (released < maxPerPoll) {
+            if (providerHealthService.isPaused()) {
+                skippedPollCounter.increment();
+                log.info("Payment provider is paused, holding back due retries");
+                break;
+            }
+
+            int claimed = releaseBatch(Math.min(batchSize, maxPerPoll - released));
+            released += claimed;
+            if (claimed < batchSize) {
+                break;
+            }
+        }
+
+        dueRetries.set(paymentRepository.countDueRetries(PaymentStatus.FAILED, LocalDateTime.now()));
+        if (released > 0) {
+            log.info("Released {} failed payments for retry, {} still due", released, dueRetries.get());
+        }
+        return released;
+    }
+
+    @Override
+    public long getDueRetryCount() {
+        return dueRetries.get();
+    }
+
+    private int releaseBatch(int limit) {
+        Integer released = transactionTemplate.execute(status -> {
+            List<Payment> payments = paymentRepository.findDueRetries(
+                    PaymentStatus.FAILED, LocalDateTime.now(), PageRequest.of(0, limit));
+
+            // The rows are locked by this transaction, so the retry cannot race another instance
+            payments.forEach(payment -> paymentService.retryPayment(payment.getId()));
+            return payments.size();
+        });
+
+        int count = released != null ? released : 0;
+        releasedCounter.increment(count);
+        return count;
+    }
+}
@@ -3,28 +3,43 @@ package com.mshando.paymentservice.service.impl;
 import com.mshando.paymentservice.dto.PaymentCreateDTO;
 import com.mshando.paymentservice.dto.PaymentRefundDTO;
 import com.mshando.paymentservice.dto.PaymentResponseDTO;
+import com.mshando.paymentservice.event.PaymentQueuedEvent;
+import com.mshando.paymentservice.event.PaymentStatusChangedEvent;
 import com.mshando.paymentservice.exception.PaymentNotFoundException;
 import com.mshando.paymentservice.exception.InvalidPaymentOperationException;
 import com.mshando.paymentservice.model.Payment;
 import com.mshando.paymentservice.model.PaymentStatus;
 import com.mshando.paymentservice.model.PaymentType;
+import com.mshando.paymentservice.model.WalletAccountType;
 import com.mshando.paymentservice.repository.PaymentRepository;
 import com.mshando.paymentservice.service.PaymentService;
 import com.mshando.paymentservice.service.PaymentProviderService;
+import com.mshando.paymentservice.service.ProviderHealthService;
+import com.mshando.paymentservice.service.RevenueRollupService;
+import com.mshando.paymentservice.service.WalletService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.lang.management.ManagementFactory;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -44,12 +59,25 @@ public class PaymentServiceImpl implements PaymentService {
     
     private final PaymentRepository paymentRepository;
     private final PaymentProviderService paymentProviderService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WalletService walletService;
+    private final RevenueRollupService revenueRollupService;
+    private final ProviderHealthService providerHealthService;
+    private final RetryBackoffPolicy retryBackoffPolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Executor paymentTaskExecutor;
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName();
+    
     @Value("${payment.service-fee-percentage:10.0}")
     private BigDecimal serviceFeePercentage;
     
     @Value("${payment.pending-timeout-minutes:30}")
     private Integer pendingTimeoutMinutes;
     
+    @Value("${payment.processing.lease-seconds:300}")
+    private long leaseSeconds;
+    
     @Override
     public PaymentResponseDTO createPayment(PaymentCreateDTO paymentCreateDTO, String authenticatedUserId) {
         log.info("Creating payment for customer {} with amount {}", 
@@ -73,10 +101,10 @@ public class PaymentServiceImpl implements PaymentService {
         payment.calculateServiceFee(serviceFeePercentage);
         
         // Save payment
-        Payment savedPayment = paymentRepository.save(payment);
+        Payment savedPayment = savePayment(payment);
         
-        // Process payment asynchronously
-        processPaymentAsync(savedPayment.getId());
+        // Hand the payment to the processing workers
+        eventPublisher.publishEvent(new PaymentQueuedEvent(savedPayment.getId()));
         
         log.info("Payment created successfully with ID: {}", savedPayment.getId());
         return mapToResponseDTO(savedPayment);
@@ -105,38 +133,33 @@ public class PaymentServiceImpl implements PaymentService {
     }
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PaymentResponseDTO processPayment(Long paymentId) {
-        log.info("Processing payment with ID: {}", paymentId);
+        Payment payment = transactionTemplate.execute(status -> startProcessing(paymentId, null));
         
-        Payment payment = getPaymentEntity(paymentId);
+        CompletableFuture.runAsync(() -> completeWithProvider(payment), paymentTaskExecutor)
+                .exceptionally(e -> {
+                    log.error("Async payment processing failed for payment {}: {}", paymentId, e.getMessage());
+                    return null;
+                });
         
-        if (payment.getStatus() != PaymentStatus.PENDING) {
-            throw new InvalidPaymentOperationException("Only pending payments can be processed");
-        }
+        return mapToResponseDTO(payment);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<PaymentResponseDTO> processPaymentAsync(Long paymentId) {
+        Payment payment = transactionTemplate.execute(status -> startProcessing(paymentId, null));
         
-        try {
-            // Update status to processing
-            payment.setStatus(PaymentStatus.PROCESSING);
-            payment.setProcessedAt(LocalDateTime.now());
-            payment = paymentRepository.save(payment);
-            
-            // Process with payment provider
-            String externalTransactionId = paymentProviderService.processPayment(payment);
-            payment.setExternalTransactionId(externalTransactionId);
-            
-            // Complete payment
-            payment.setStatus(PaymentStatus.COMPLETED);
-            payment.setCompletedAt(LocalDateTime.now());
-            payment = paymentRepository.save(payment);
-            
-            log.info("Payment {} processed successfully", paymentId);
-            
-        } catch (Exception e) {
-            log.error("Payment processing failed for payment {}: {}", paymentId, e.getMessage());
-            return failPayment(paymentId, e.getMessage());
-        }
+        return CompletableFuture.supplyAsync(() -> completeWithProvider(payment), paymentTaskExecutor);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<PaymentResponseDTO> processClaimedPayment(Long paymentId, String workerId) {
+        Payment payment = transactionTemplate.execute(status -> startProcessing(paymentId, workerId));
         
-        return mapToResponseDTO(payment);
+        return CompletableFuture.supplyAsync(() -> completeWithProvider(payment), paymentTaskExecutor);
     }
     
     @Override
@@ -149,9 +172,11 @@ public class PaymentServiceImpl implements PaymentService {
             throw new InvalidPaymentOperationException("Only processing payments can be completed");
         }
         
+        payment.releaseClaim();
         payment.setStatus(PaymentStatus.COMPLETED);
         payment.setCompletedAt(LocalDateTime.now());
-        payment = paymentRepository.save(payment);
+        payment = savePayment(payment);
+        walletService.recordPayment(payment);
         
         log.info("Payment {} completed successfully", paymentId);
         return mapToResponseDTO(payment);
@@ -163,10 +188,11 @@ public class PaymentServiceImpl implements PaymentService {
         
         Payment payment = getPaymentEntity(paymentId);
         
-        payment.setStatus(PaymentStatus.FAILED);
-        payment.setFailureReason(failureReason);
-        payment.setFailedAt(LocalDateTime.now());
-        payment = paymentRepository.save(payment);
+        if (payment.isFinalState()) {
+            throw new InvalidPaymentOperationException("Cannot fail payment in final state");
+        }
+        
+        payment = markFailed(payment, failureReason);
         
         log.info("Payment {} marked as failed", paymentId);
         return mapToResponseDTO(payment);
@@ -183,11 +209,13 @@ public class PaymentServiceImpl implements PaymentService {
         }
         
         payment.incrementRetryCount();
+        payment.releaseClaim();
+        payment.setNextRetryAt(null);
         payment.setStatus(PaymentStatus.RETRY_PENDING);
-        payment = paymentRepository.save(payment);
+        payment = savePayment(payment);
         
-        // Process payment asynchronously
-        processPaymentAsync(paymentId);
+        // Hand the payment back to the processing workers
+        eventPublisher.publishEvent(new PaymentQueuedEvent(paymentId));
         
         log.info("Payment {} retry initiated", paymentId);
         return mapToResponseDTO(payment);
@@ -205,68 +233,49 @@ public class PaymentServiceImpl implements PaymentService {
         
         payment.setStatus(PaymentStatus.CANCELLED);
         payment.setFailureReason(reason);
-        payment = paymentRepository.save(payment);
+        payment = savePayment(payment);
         
         log.info("Payment {} cancelled successfully", paymentId);
         return mapToResponseDTO(payment);
     }
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PaymentResponseDTO refundPayment(Long paymentId, PaymentRefundDTO refundDTO) {
         log.info("Processing refund for payment {} with reason: {}", paymentId, refundDTO.getReason());
         
-        Payment originalPayment = getPaymentEntity(paymentId);
+        PendingRefund pending = transactionTemplate.execute(status -> startRefund(paymentId, refundDTO));
         
-        if (originalPayment.getStatus() != PaymentStatus.COMPLETED) {
-            throw new InvalidPaymentOperationException("Only completed payments can be refunded");
-        }
-        
-        BigDecimal refundAmount = refundDTO.getRefundAmount() != null ? 
-                refundDTO.getRefundAmount() : originalPayment.getAmount();
-        
-        if (refundAmount.compareTo(originalPayment.getAmount()) > 0) {
-            throw new InvalidPaymentOperationException("Refund amount cannot exceed original payment amount");
+        // Process refund with payment provider, with no transaction or row lock held
+        try {
+            paymentProviderService.processRefund(pending.originalPayment(), pending.refundPayment());
+        } catch (Exception e) {
+            log.error("Refund processing failed for payment {}: {}", paymentId, e.getMessage());
+            return transactionTemplate.execute(status -> {
+                Payment refundPayment = getPaymentEntity(pending.refundPayment().getId());
+                refundPayment.setStatus(PaymentStatus.REFUND_FAILED);
+                refundPayment.setFailureReason(e.getMessage());
+                return mapToResponseDTO(savePayment(refundPayment));
+            });
         }
         
-        // Create refund payment
-        Payment refundPayment = Payment.builder()
-                .customerId(originalPayment.getCustomerId())
-                .taskerId(originalPayment.getTaskerId())
-                .taskId(originalPayment.getTaskId())
-                .bidId(originalPayment.getBidId())
-                .amount(refundAmount.negate()) // Negative amount for refund
-                .serviceFee(refundDTO.getRefundServiceFee() ? originalPayment.getServiceFee().negate() : BigDecimal.ZERO)
-                .currency(originalPayment.getCurrency())
-                .paymentMethod(originalPayment.getPaymentMethod())
-                .paymentType(PaymentType.REFUND)
-                .status(PaymentStatus.REFUND_PENDING)
-                .description("Refund for payment " + paymentId + ": " + refundDTO.getReason())
-                .metadata(refundDTO.getMetadata())
-                .build();
-        
-        refundPayment.setNetAmount(refundPayment.getAmount().subtract(refundPayment.getServiceFee()));
-        refundPayment = paymentRepository.save(refundPayment);
-        
-        // Process refund with payment provider
-        try {
-            paymentProviderService.processRefund(originalPayment, refundPayment);
+        PaymentResponseDTO refunded = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            Payment refundPayment = getPaymentEntity(pending.refundPayment().getId());
+            Payment originalPayment = getPaymentEntity(paymentId);
             
             refundPayment.setStatus(PaymentStatus.REFUNDED);
-            refundPayment.setRefundedAt(LocalDateTime.now());
-            originalPayment.setRefundedAt(LocalDateTime.now());
+            refundPayment.setRefundedAt(now);
+            originalPayment.setRefundedAt(now);
             
-            paymentRepository.save(refundPayment);
-            paymentRepository.save(originalPayment);
-            
-        } catch (Exception e) {
-            log.error("Refund processing failed for payment {}: {}", paymentId, e.getMessage());
-            refundPayment.setStatus(PaymentStatus.REFUND_FAILED);
-            refundPayment.setFailureReason(e.getMessage());
-            paymentRepository.save(refundPayment);
-        }
+            refundPayment = savePayment(refundPayment);
+            savePayment(originalPayment);
+            walletService.recordPayment(refundPayment);
+            return mapToResponseDTO(refundPayment);
+        });
         
         log.info("Refund processed for payment {}", paymentId);
-        return mapToResponseDTO(refundPayment);
+        return refunded;
     }
     
     @Override
@@ -327,20 +336,21 @@ public class PaymentServiceImpl implements PaymentService {
     
     @Override
     @Transactional(readOnly = true)
-    public BigDecimal calculateCustomerTotalPayments(Long customerId) {
-        return paymentRepository.calculateTotalPaymentsByCustomer(customerId);
+    public BigDecimal calculateCustomerTotalPayments(Long customerId, String currency) {
+        // Customer accounts are debited by what they pay
+        return walletService.getWallet(WalletAccountType.CUSTOMER, customerId, currency).getBalance().negate();
     }
     
     @Override
     @Transactional(readOnly = true)
-    public BigDecimal calculateTaskerTotalEarnings(Long taskerId) {
-        return paymentRepository.calculateTotalEarningsByTasker(taskerId);
+    public BigDecimal calculateTaskerTotalEarnings(Long taskerId, String currency) {
+        return walletService.getWallet(WalletAccountType.TASKER, taskerId, currency).getBalance();
     }
     
     @Override
     @Transactional(readOnly = true)
     public BigDecimal calculateServiceFeesInPeriod(LocalDateTime startDate, LocalDateTime endDate) {
-        return paymentRepository.calculateServiceFeesInPeriod(startDate, endDate);
+        return revenueRollupService.calculateServiceFees(startDate, endDate);
     }
     
     @Override
@@ -357,39 +367,6 @@ public class PaymentServiceImpl implements PaymentService {
         return paymentRepository.existsByBidIdAndStatusIn(bidId, activeStatuses);
     }
     
-    @Override
-    @Scheduled(fixedRate = 300000) // Every 5 minutes
-    public void processPendingPayments() {
-        log.debug("Processing pending payments...");
-        
-        Page<Payment> pendingPayments = paymentRepository.findByStatusOrderByCreatedAtDesc(
-                PaymentStatus.PENDING, Pageable.ofSize(50));
-        
-        pendingPayments.forEach(payment -> {
-            try {
-                processPayment(payment.getId());
-            } catch (Exception e) {
-                log.error("Failed to process pending payment {}: {}", payment.getId(), e.getMessage());
-            }
-        });
-    }
-    
-    @Override
-    @Scheduled(fixedRate = 600000) // Every 10 minutes
-    public void retryFailedPayments() {
-        log.debug("Retrying failed payments...");
-        
-        List<Payment> retriablePayments = paymentRepository.findRetriablePayments(PaymentStatus.FAILED);
-        
-        retriablePayments.forEach(payment -> {
-            try {
-                retryPayment(payment.getId());
-            } catch (Exception e) {
-                log.error("Failed to retry payment {}: {}", payment.getId(), e.getMessage());
-            }
-        });
-    }
-    
     @Override
     @Scheduled(fixedRate = 3600000) // Every hour
     public void cleanupOldPendingPayments() {
@@ -409,14 +386,187 @@ public class PaymentServiceImpl implements PaymentService {
     
     // Private helper methods
     
-    @Async
-    private void processPaymentAsync(Long paymentId) {
+    /**
+     * Move the payment to PROCESSING in its own short transaction. The claim is
+     * kept until the provider outcome is recorded, so a payment whose provider
+     * call never returns is taken over by a worker once the lease expires.
+     *
+     * @param workerId worker holding the payment's claim, or null when processing is requested directly
+     */
+    private Payment startProcessing(Long paymentId, String workerId) {
+        log.info("Processing payment with ID: {}", paymentId);
+        
+        // Serialize with any other worker or request processing the same payment
+        Payment payment = paymentRepository.findByIdForUpdate(paymentId)
+                .orElseThrow(() -> new PaymentNotFoundException("Payment with ID " + paymentId + " not found"));
+        
+        LocalDateTime now = LocalDateTime.now();
+        if (workerId == null) {
+            if (!payment.isAwaitingProcessing()) {
+                throw new InvalidPaymentOperationException("Only pending payments can be processed");
+            }
+            // A claim of its own, so the outcome of this call can be told apart from a later one's
+            payment.claim(instanceId + "-" + UUID.randomUUID(), now.plusSeconds(leaseSeconds));
+        } else if (!workerId.equals(payment.getClaimedBy())) {
+            throw new InvalidPaymentOperationException("Payment is no longer claimed by worker " + workerId);
+        } else if (payment.getStatus() == PaymentStatus.PROCESSING) {
+            log.warn("Payment {} stalled in processing; sending it to the provider again", paymentId);
+            meterRegistry.counter("payment.processing.resumed").increment();
+            return payment;
+        } else if (!payment.isAwaitingProcessing()) {
+            throw new InvalidPaymentOperationException("Only pending payments can be processed");
+        }
+        
+        payment.setStatus(PaymentStatus.PROCESSING);
+        payment.setProcessedAt(now);
+        return savePayment(payment);
+    }
+    
+    /**
+     * Validate a refund and record it as REFUND_PENDING in its own short transaction
+     */
+    private PendingRefund startRefund(Long paymentId, PaymentRefundDTO refundDTO) {
+        // Serialize with other changes to the original payment
+        Payment originalPayment = paymentRepository.findByIdForUpdate(paymentId)
+                .orElseThrow(() -> new PaymentNotFoundException("Payment with ID " + paymentId + " not found"));
+        
+        if (originalPayment.getStatus() != PaymentStatus.COMPLETED) {
+            throw new InvalidPaymentOperationException("Only completed payments can be refunded");
+        }
+        
+        BigDecimal refundAmount = refundDTO.getRefundAmount() != null ? 
+                refundDTO.getRefundAmount() : originalPayment.getAmount();
+        
+        if (refundAmount.compareTo(originalPayment.getAmount()) > 0) {
+            throw new InvalidPaymentOperationException("Refund amount cannot exceed original payment amount");
+        }
+        
+        // Create refund payment
+        Payment refundPayment = Payment.builder()
+                .customerId(originalPayment.getCustomerId())
+                .taskerId(originalPayment.getTaskerId())
+                .taskId(originalPayment.getTaskId())
+                .bidId(originalPayment.getBidId())
+                .amount(refundAmount.negate()) // Negative amount for refund
+                .serviceFee(refundDTO.getRefundServiceFee() ? originalPayment.getServiceFee().negate() : BigDecimal.ZERO)
+                .currency(originalPayment.getCurrency())
+                .paymentMethod(originalPayment.getPaymentMethod())
+                .paymentType(PaymentType.REFUND)
+                .status(PaymentStatus.REFUND_PENDING)
+                .description("Refund for payment " + paymentId + ": " + refundDTO.getReason())
+                .metadata(refundDTO.getMetadata())
+                .build();
+        
+        refundPayment.setNetAmount(refundPayment.getAmount().subtract(refundPayment.getServiceFee()));
+        return new PendingRefund(originalPayment, savePayment(refundPayment));
+    }
+    
+    /**
+     * Call the payment provider outside any transaction, then persist the outcome
+     * in a second short transaction. The outcome is only recorded while the payment
+     * is still PROCESSING under the claim this call was made with; once the lease
+     * was taken over, or the payment was finished another way, it is dropped.
+     */
+    private PaymentResponseDTO completeWithProvider(Payment payment) {
+        Long paymentId = payment.getId();
+        String claim = payment.getClaimedBy();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        
+        String externalTransactionId;
         try {
-            Thread.sleep(1000); // Simulate processing delay
-            processPayment(paymentId);
+            externalTransactionId = paymentProviderService.processPayment(payment, chargeIdempotencyKey(payment));
+            sample.stop(providerLatencyTimer("success"));
+            providerHealthService.recordSuccess();
         } catch (Exception e) {
-            log.error("Async payment processing failed for payment {}: {}", paymentId, e.getMessage());
+            sample.stop(providerLatencyTimer("failure"));
+            providerHealthService.recordFailure();
+            log.error("Payment processing failed for payment {}: {}", paymentId, e.getMessage());
+            return recordProviderOutcome(paymentId, claim, "failure", processed -> markFailed(processed, e.getMessage()));
         }
+        
+        return recordProviderOutcome(paymentId, claim, "success", processed -> {
+            processed.releaseClaim();
+            processed.setExternalTransactionId(externalTransactionId);
+            processed.setStatus(PaymentStatus.COMPLETED);
+            processed.setCompletedAt(LocalDateTime.now());
+            walletService.recordPayment(savePayment(processed));
+            
+            log.info("Payment {} processed successfully", paymentId);
+        });
+    }
+    
+    /**
+     * Apply a provider outcome under the payment's row lock, if the call's claim still holds
+     */
+    private PaymentResponseDTO recordProviderOutcome(Long paymentId, String claim, String outcome,
+                                                     Consumer<Payment> apply) {
+        return transactionTemplate.execute(status -> {
+            Payment processed = paymentRepository.findByIdForUpdate(paymentId)
+                    .orElseThrow(() -> new PaymentNotFoundException("Payment with ID " + paymentId + " not found"));
+            if (processed.getStatus() != PaymentStatus.PROCESSING || !claim.equals(processed.getClaimedBy())) {
+                log.warn("Dropping provider {} for payment {}: it is {} and claimed by {}, not {}",
+                        outcome, paymentId, processed.getStatus(), processed.getClaimedBy(), claim);
+                meterRegistry.counter("payment.provider.outcome.dropped", "outcome", outcome).increment();
+                return mapToResponseDTO(processed);
+            }
+            
+            apply.accept(processed);
+            return mapToResponseDTO(processed);
+        });
+    }
+    
+    /**
+     * Idempotency key of a charge: the same for every call of one attempt, so a payment
+     * sent again after a stalled call is not charged twice, and new for each retry
+     */
+    private static String chargeIdempotencyKey(Payment payment) {
+        return "payment-" + payment.getId() + "-" + payment.getRetryCount();
+    }
+    
+    private Payment markFailed(Payment payment, String failureReason) {
+        payment.releaseClaim();
+        payment.setStatus(PaymentStatus.FAILED);
+        payment.setFailureReason(failureReason);
+        payment.setFailedAt(LocalDateTime.now());
+        scheduleRetry(payment);
+        return savePayment(payment);
+    }
+    
+    /**
+     * Give a failed payment its next retry time, or none once its retries are used up
+     */
+    private void scheduleRetry(Payment payment) {
+        boolean retriesLeft = payment.getRetryCount() < payment.getMaxRetries();
+        payment.setNextRetryAt(retriesLeft
+                ? retryBackoffPolicy.nextRetryAt(payment.getRetryCount(), payment.getFailedAt())
+                : null);
+        meterRegistry.counter("payment.retry.scheduled", "outcome", retriesLeft ? "scheduled" : "exhausted")
+                .increment();
+    }
+    
+    /**
+     * Save the payment and announce any status change to reporting listeners
+     */
+    private Payment savePayment(Payment payment) {
+        PaymentStatus previousStatus = payment.getPersistedStatus();
+        boolean statusChanged = payment.isStatusChanged();
+        
+        Payment saved = paymentRepository.save(payment);
+        
+        if (statusChanged) {
+            eventPublisher.publishEvent(PaymentStatusChangedEvent.of(saved, previousStatus));
+            saved.setPersistedStatus(saved.getStatus());
+        }
+        return saved;
+    }
+    
+    private Timer providerLatencyTimer(String outcome) {
+        return Timer.builder("payment.provider.latency")
+                .description("Latency of payment provider charge calls")
+                .tag("operation", "charge")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
     }
     
     private Payment getPaymentEntity(Long paymentId) {
@@ -478,6 +628,7 @@ public class PaymentServiceImpl implements PaymentService {
                 .failureReason(payment.getFailureReason())
                 .retryCount(payment.getRetryCount())
                 .maxRetries(payment.getMaxRetries())
+                .nextRetryAt(payment.getNextRetryAt())
                 .createdAt(payment.getCreatedAt())
                 .updatedAt(payment.getUpdatedAt())
                 .processedAt(payment.getProcessedAt())
@@ -502,4 +653,10 @@ public class PaymentServiceImpl implements PaymentService {
         
         return dto;
     }
+    
+    /**
+     * A refund recorded as REFUND_PENDING, awaiting the provider call
+     */
+    private record PendingRefund(Payment originalPayment, Payment refundPayment) {
+    }
 }
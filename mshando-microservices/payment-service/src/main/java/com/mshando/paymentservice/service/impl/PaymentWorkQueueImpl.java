@@ -0,0 +1,218 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.mshando.paymentservice.event.PaymentQueuedEvent;
+import com.mshando.paymentservice.exception.InvalidPaymentOperationException;
+import com.mshando.paymentservice.model.Payment;
+import com.mshando.paymentservice.model.PaymentStatus;
+import com.mshando.paymentservice.repository.PaymentRepository;
+import com.mshando.paymentservice.service.PaymentService;
+import com.mshando.paymentservice.service.PaymentWorkQueue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of PaymentWorkQueue.
+ * 
+ * Each instance runs a fixed pool of workers. A worker claims a small batch
+ * of the oldest pending payments in a short transaction (row locks with
+ * SKIP LOCKED, then a lease stamped on each row) and processes them one by
+ * one. Instances never wait on each other's rows, so throughput grows with
+ * the number of instances. Idle workers sleep until a new payment is
+ * committed on this instance or the idle poll interval elapses.
+ *
+ * The lease is held until the provider outcome is recorded. A payment left
+ * in PROCESSING by a worker that stopped mid-call is claimed again once its
+ * lease expires and sent to the provider again, which must treat the
+ * payment ID as an idempotency key.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class PaymentWorkQueueImpl implements PaymentWorkQueue, SmartLifecycle {
+
+    private static final List<PaymentStatus> CLAIMABLE_STATUSES =
+            List.of(PaymentStatus.PENDING, PaymentStatus.RETRY_PENDING);
+    
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentService paymentService;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore wakeUpSignal = new Semaphore(0);
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName();
+    
+    private volatile boolean running;
+    private ExecutorService workers;
+
+    @Value("${payment.processing.workers-enabled:true}")
+    private boolean workersEnabled;
+
+    @Value("${payment.processing.worker-count:4}")
+    private int workerCount;
+
+    @Value("${payment.processing.claim-batch-size:10}")
+    private int claimBatchSize;
+
+    @Value("${payment.processing.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${payment.processing.idle-poll-ms:2000}")
+    private long idlePollMs;
+
+    public PaymentWorkQueueImpl(PaymentRepository paymentRepository,
+                                PaymentService paymentService,
+                                PlatformTransactionManager transactionManager) {
+        this.paymentRepository = paymentRepository;
+        this.paymentService = paymentService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Wake a worker once the queued payment is visible to other transactions
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPaymentQueued(PaymentQueuedEvent event) {
+        wakeUp();
+    }
+
+    @Override
+    public void wakeUp() {
+        if (wakeUpSignal.availablePermits() < workerCount) {
+            wakeUpSignal.release();
+        }
+    }
+
+    @Override
+    public int processNextBatch(String workerId) {
+        List<Long> claimedIds = claimBatch(workerId);
+        
+        for (Long paymentId : claimedIds) {
+            try {
+                // Wait for the outcome so that worker-count bounds concurrent provider calls
+                paymentService.processClaimedPayment(paymentId, workerId).join();
+            } catch (InvalidPaymentOperationException e) {
+                log.debug("Payment {} claimed by {} is no longer awaiting processing", paymentId, workerId);
+            } catch (Exception e) {
+                log.error("Worker {} failed to process payment {}: {}", workerId, paymentId, e.getMessage());
+            }
+        }
+        return claimedIds.size();
+    }
+
+    @Override
+    public int getActiveWorkerCount() {
+        return activeWorkers.get();
+    }
+
+    @Override
+    public void start() {
+        if (!workersEnabled || running) {
+            return;
+        }
+        
+        running = true;
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount,
+                runnable -> new Thread(runnable, "payment-worker-" + threadNumber.incrementAndGet()));
+        for (int i = 1; i <= workerCount; i++) {
+            String workerId = instanceId + "-" + i;
+            workers.execute(() -> runWorker(workerId));
+        }
+        log.info("Started {} payment processing workers on {}", workerCount, instanceId);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        
+        running = false;
+        wakeUpSignal.release(workerCount);
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                // Claimed but unprocessed payments are picked up again once their lease expires
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        log.info("Stopped payment processing workers on {}", instanceId);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runWorker(String workerId) {
+        activeWorkers.incrementAndGet();
+        try {
+            while (running) {
+                try {
+                    if (processNextBatch(workerId) > 0) {
+                        continue;
+                    }
+                } catch (Exception e) {
+                    log.error("Worker {} failed to claim payments: {}", workerId, e.getMessage());
+                }
+                
+                if (!awaitWork()) {
+                    return;
+                }
+            }
+        } finally {
+            activeWorkers.decrementAndGet();
+        }
+    }
+
+    private boolean awaitWork() {
+        try {
+            wakeUpSignal.tryAcquire(idlePollMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private List<Long> claimBatch(String workerId) {
+        List<Long> claimedIds = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Payment> payments = paymentRepository.findClaimablePayments(
+                    CLAIMABLE_STATUSES, now, now.minusSeconds(leaseSeconds), PageRequest.of(0, claimBatchSize));
+            
+            LocalDateTime leaseExpiresAt = now.plusSeconds(leaseSeconds);
+            payments.forEach(payment -> payment.claim(workerId, leaseExpiresAt));
+            return payments.stream().map(Payment::getId).toList();
+        });
+        
+        if (claimedIds != null && !claimedIds.isEmpty()) {
+            log.debug("Worker {} claimed {} payments", workerId, claimedIds.size());
+        }
+        return claimedIds != null ? claimedIds : List.of();
+    }
+}
@@ -0,0 +1,103 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.mshando.paymentservice.service.ProviderHealthService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of ProviderHealthService.
+ *
+ * Keeps the outcomes of the last window-size charges in a ring buffer. Once
+ * at least minimum-calls outcomes are recorded and the failure share reaches
+ * the threshold, retries are paused for pause-seconds and the window starts
+ * over, so the next decision is based only on charges made after the pause.
+ * Fresh payments keep flowing during a pause and act as the health probe.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class ProviderHealthServiceImpl implements ProviderHealthService {
+
+    private final boolean[] outcomes;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long pauseMillis;
+    private final Counter pauseCounter;
+
+    private int next;
+    private int recorded;
+    private int failures;
+    private volatile long pausedUntil;
+
+    public ProviderHealthServiceImpl(MeterRegistry meterRegistry,
+                                     @Value("${payment.retries.pause.window-size:50}") int windowSize,
+                                     @Value("${payment.retries.pause.minimum-calls:20}") int minimumCalls,
+                                     @Value("${payment.retries.pause.failure-rate-threshold:0.5}") double failureRateThreshold,
+                                     @Value("${payment.retries.pause.pause-seconds:120}") long pauseSeconds) {
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.pauseMillis = pauseSeconds * 1000;
+        this.pauseCounter = Counter.builder("payment.provider.pauses")
+                .description("Times automatic retries were paused because of a provider failure spike")
+                .register(meterRegistry);
+        Gauge.builder("payment.provider.paused", this, health -> health.isPaused() ? 1 : 0)
+                .description("Whether automatic retries are currently paused")
+                .register(meterRegistry);
+        Gauge.builder("payment.provider.failure.rate", this, ProviderHealthService::getFailureRate)
+                .description("Failure rate over the most recent provider charges")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordSuccess() {
+        record(true);
+    }
+
+    @Override
+    public void recordFailure() {
+        record(false);
+    }
+
+    @Override
+    public boolean isPaused() {
+        return System.currentTimeMillis() < pausedUntil;
+    }
+
+    @Override
+    public synchronized double getFailureRate() {
+        return recorded == 0 ? 0.0 : (double) failures / recorded;
+    }
+
+    private synchronized void record(boolean success) {
+        if (recorded == outcomes.length) {
+            // Evict the oldest outcome
+            if (!outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = success;
+        if (!success) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+
+        if (recorded >= minimumCalls && failures >= failureRateThreshold * recorded && !isPaused()) {
+            pausedUntil = System.currentTimeMillis() + pauseMillis;
+            pauseCounter.increment();
+            log.warn("Provider failure rate {}/{} reached the threshold, pausing payment retries for {} s",
+                    failures, recorded, pauseMillis / 1000);
+            next = 0;
+            recorded = 0;
+            failures = 0;
+        }
+    }
+}
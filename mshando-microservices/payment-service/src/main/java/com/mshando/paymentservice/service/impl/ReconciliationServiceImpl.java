@@ -0,0 +1,475 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.mshando.paymentservice.dto.ReconciliationDiscrepancyDTO;
+import com.mshando.paymentservice.dto.ReconciliationRunDTO;
+import com.mshando.paymentservice.exception.InvalidPaymentOperationException;
+import com.mshando.paymentservice.exception.PaymentNotFoundException;
+import com.mshando.paymentservice.model.DiscrepancyType;
+import com.mshando.paymentservice.model.Payment;
+import com.mshando.paymentservice.model.PaymentStatus;
+import com.mshando.paymentservice.model.ProviderPaymentStatus;
+import com.mshando.paymentservice.model.ReconciliationAction;
+import com.mshando.paymentservice.model.ReconciliationDiscrepancy;
+import com.mshando.paymentservice.model.ReconciliationRun;
+import com.mshando.paymentservice.model.ReconciliationRunStatus;
+import com.mshando.paymentservice.repository.PaymentRepository;
+import com.mshando.paymentservice.repository.PaymentRepository.ReconciliationCandidate;
+import com.mshando.paymentservice.repository.ReconciliationDiscrepancyRepository;
+import com.mshando.paymentservice.repository.ReconciliationRunRepository;
+import com.mshando.paymentservice.service.PaymentProviderService;
+import com.mshando.paymentservice.service.PaymentService;
+import com.mshando.paymentservice.service.ReconciliationService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of ReconciliationService.
+ *
+ * Runs execute one at a time on a dedicated coordinator thread. The
+ * coordinator reads the window through a forward-only cursor (fixed fetch
+ * size, read-only projections) and cuts it into batches. Each batch is
+ * checked against the provider on a bounded checker pool; the coordinator
+ * blocks once the concurrency limit of batches is in flight. Memory is
+ * therefore bounded by concurrency x batch size rather than by the window.
+ *
+ * A batch that fails is recorded with the range of payment IDs it held and
+ * the run ends PARTIAL, so a failure is not reported as a clean run.
+ *
+ * Fix-ups re-read the payment under its row lock and only touch payments
+ * that are still PROCESSING, going through PaymentService.completePayment
+ * and failPayment.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class ReconciliationServiceImpl implements ReconciliationService {
+
+    private static final List<PaymentStatus> RECONCILED_STATUSES =
+            List.of(PaymentStatus.PROCESSING, PaymentStatus.COMPLETED);
+    private static final int MAX_DETAIL_LENGTH = 500;
+
+    private final PaymentRepository paymentRepository;
+    private final ReconciliationRunRepository runRepository;
+    private final ReconciliationDiscrepancyRepository discrepancyRepository;
+    private final PaymentProviderService paymentProviderService;
+    private final PaymentService paymentService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate cursorTemplate;
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "reconciliation-coordinator"));
+
+    @Value("${payment.reconciliation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${payment.reconciliation.window-hours:24}")
+    private long windowHours;
+
+    @Value("${payment.reconciliation.batch-size:100}")
+    private int batchSize;
+
+    @Value("${payment.reconciliation.concurrency:4}")
+    private int concurrency;
+
+    @Value("${payment.reconciliation.processing-grace-minutes:30}")
+    private long processingGraceMinutes;
+
+    @Value("${payment.reconciliation.apply-fixes:true}")
+    private boolean applyFixes;
+
+    public ReconciliationServiceImpl(PaymentRepository paymentRepository,
+                                     ReconciliationRunRepository runRepository,
+                                     ReconciliationDiscrepancyRepository discrepancyRepository,
+                                     PaymentProviderService paymentProviderService,
+                                     PaymentService paymentService,
+                                     PlatformTransactionManager transactionManager) {
+        this.paymentRepository = paymentRepository;
+        this.runRepository = runRepository;
+        this.discrepancyRepository = discrepancyRepository;
+        this.paymentProviderService = paymentProviderService;
+        this.paymentService = paymentService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cursorTemplate = new TransactionTemplate(transactionManager);
+        this.cursorTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cursorTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public ReconciliationRunDTO startRun(LocalDateTime from, LocalDateTime to) {
+        ReconciliationRun run = createRun(from, to);
+        coordinator.execute(() -> execute(run));
+        return mapToRunDTO(run);
+    }
+
+    @Override
+    public ReconciliationRunDTO reconcile(LocalDateTime from, LocalDateTime to) {
+        ReconciliationRun run = createRun(from, to);
+        execute(run);
+        return mapToRunDTO(run);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReconciliationRunDTO getRun(Long runId) {
+        return runRepository.findById(runId)
+                .map(this::mapToRunDTO)
+                .orElseThrow(() -> new PaymentNotFoundException("Reconciliation run " + runId + " not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ReconciliationRunDTO> getRuns(Pageable pageable) {
+        return runRepository.findAllByOrderByIdDesc(pageable).map(this::mapToRunDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ReconciliationDiscrepancyDTO> getDiscrepancies(Long runId, Pageable pageable) {
+        return discrepancyRepository.findByRunIdOrderByIdAsc(runId, pageable).map(this::mapToDiscrepancyDTO);
+    }
+
+    @Override
+    @Scheduled(cron = "${payment.reconciliation.cron:0 0 4 * * *}")
+    public void reconcileRecentPayments() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        startRun(now.minusHours(windowHours), now);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        coordinator.shutdownNow();
+    }
+
+    private ReconciliationRun createRun(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidPaymentOperationException("Window start must be before window end");
+        }
+        return transactionTemplate.execute(status -> runRepository.save(ReconciliationRun.builder()
+                .windowStart(from)
+                .windowEnd(to)
+                .status(ReconciliationRunStatus.RUNNING)
+                .startedAt(LocalDateTime.now())
+                .build()));
+    }
+
+    private void execute(ReconciliationRun run) {
+        log.info("Reconciliation run {} started for payments created in [{}, {})",
+                run.getId(), run.getWindowStart(), run.getWindowEnd());
+
+        RunCounters counters = new RunCounters();
+        LocalDateTime processingCutoff = LocalDateTime.now().minusMinutes(processingGraceMinutes);
+        Semaphore batchPermits = new Semaphore(concurrency);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService checkers = Executors.newFixedThreadPool(concurrency,
+                runnable -> new Thread(runnable, "reconciliation-checker-" + threadNumber.incrementAndGet()));
+
+        try {
+            cursorTemplate.executeWithoutResult(status -> {
+                try (Stream<ReconciliationCandidate> rows = paymentRepository.streamReconciliationCandidates(
+                        RECONCILED_STATUSES, run.getWindowStart(), run.getWindowEnd())) {
+                    List<Candidate> batch = new ArrayList<>(batchSize);
+                    rows.forEach(row -> {
+                        batch.add(Candidate.of(row));
+                        if (batch.size() == batchSize) {
+                            submit(run.getId(), List.copyOf(batch), processingCutoff, counters, checkers, batchPermits);
+                            batch.clear();
+                        }
+                    });
+                    if (!batch.isEmpty()) {
+                        submit(run.getId(), List.copyOf(batch), processingCutoff, counters, checkers, batchPermits);
+                    }
+                }
+            });
+
+            // Wait for the batches still in flight
+            batchPermits.acquire(concurrency);
+            if (counters.failedBatches.isEmpty()) {
+                finishRun(run, counters, ReconciliationRunStatus.COMPLETED, null);
+            } else {
+                finishRun(run, counters, ReconciliationRunStatus.PARTIAL, describeFailedBatches(counters));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finishRun(run, counters, ReconciliationRunStatus.FAILED, "Interrupted");
+        } catch (Exception e) {
+            log.error("Reconciliation run {} failed: {}", run.getId(), e.getMessage());
+            finishRun(run, counters, ReconciliationRunStatus.FAILED, e.getMessage());
+        } finally {
+            checkers.shutdownNow();
+        }
+    }
+
+    private void submit(Long runId, List<Candidate> batch, LocalDateTime processingCutoff,
+                        RunCounters counters, ExecutorService checkers, Semaphore batchPermits) {
+        // Back-pressure: the cursor only advances while fewer than `concurrency` batches are in flight
+        batchPermits.acquireUninterruptibly();
+        try {
+            checkers.execute(() -> {
+                try {
+                    reconcileBatch(runId, batch, processingCutoff, counters);
+                } catch (Exception e) {
+                    FailedBatch failed = FailedBatch.of(batch, e);
+                    counters.failedBatches.add(failed);
+                    log.error("Reconciliation run {} failed a batch of payments {} to {}: {}",
+                            runId, failed.firstPaymentId(), failed.lastPaymentId(), e.getMessage());
+                } finally {
+                    batchPermits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            batchPermits.release();
+            throw e;
+        }
+    }
+
+    private void reconcileBatch(Long runId, List<Candidate> batch, LocalDateTime processingCutoff,
+                                RunCounters counters) {
+        List<ReconciliationDiscrepancy> discrepancies = new ArrayList<>();
+        for (Candidate candidate : batch) {
+            counters.scanned.incrementAndGet();
+            if (candidate.status() == PaymentStatus.PROCESSING
+                    && (candidate.processedAt() == null || candidate.processedAt().isAfter(processingCutoff))) {
+                counters.skipped.incrementAndGet();
+                continue;
+            }
+
+            ReconciliationDiscrepancy discrepancy = check(runId, candidate);
+            if (discrepancy == null) {
+                counters.matched.incrementAndGet();
+            } else {
+                discrepancies.add(discrepancy);
+            }
+        }
+
+        if (applyFixes) {
+            discrepancies.stream()
+                    .filter(discrepancy -> discrepancy.getAction() == ReconciliationAction.COMPLETE_PAYMENT
+                            || discrepancy.getAction() == ReconciliationAction.FAIL_PAYMENT)
+                    .forEach(discrepancy -> {
+                        if (applyFix(discrepancy)) {
+                            counters.fixed.incrementAndGet();
+                        }
+                    });
+        }
+
+        if (!discrepancies.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> discrepancyRepository.saveAll(discrepancies));
+            counters.discrepancies.addAndGet(discrepancies.size());
+        }
+    }
+
+    /**
+     * Compare one payment with the provider
+     *
+     * @return the discrepancy, or null if both sides agree
+     */
+    private ReconciliationDiscrepancy check(Long runId, Candidate candidate) {
+        boolean processing = candidate.status() == PaymentStatus.PROCESSING;
+        if (candidate.externalTransactionId() == null) {
+            return processing
+                    ? discrepancy(runId, candidate, null, DiscrepancyType.STUCK_WITHOUT_TRANSACTION,
+                            ReconciliationAction.MANUAL_REVIEW, "No provider transaction ID after the grace period")
+                    : discrepancy(runId, candidate, null, DiscrepancyType.MISSING_AT_PROVIDER,
+                            ReconciliationAction.MANUAL_REVIEW, "Completed without a provider transaction ID");
+        }
+
+        String providerStatus;
+        try {
+            providerStatus = paymentProviderService.checkPaymentStatus(candidate.externalTransactionId());
+        } catch (Exception e) {
+            return discrepancy(runId, candidate, null, DiscrepancyType.PROVIDER_ERROR,
+                    ReconciliationAction.NONE, e.getMessage());
+        }
+
+        return switch (ProviderPaymentStatus.fromProviderStatus(providerStatus)) {
+            case SUCCEEDED -> processing
+                    ? discrepancy(runId, candidate, providerStatus, DiscrepancyType.PROVIDER_SUCCEEDED,
+                            ReconciliationAction.COMPLETE_PAYMENT, null)
+                    : null;
+            case PENDING -> processing
+                    ? null
+                    : discrepancy(runId, candidate, providerStatus, DiscrepancyType.PROVIDER_PENDING,
+                            ReconciliationAction.NONE, null);
+            case FAILED -> discrepancy(runId, candidate, providerStatus, DiscrepancyType.PROVIDER_FAILED,
+                    processing ? ReconciliationAction.FAIL_PAYMENT : ReconciliationAction.MANUAL_REVIEW, null);
+            case NOT_FOUND -> discrepancy(runId, candidate, providerStatus, DiscrepancyType.MISSING_AT_PROVIDER,
+                    ReconciliationAction.MANUAL_REVIEW, null);
+            case UNKNOWN -> discrepancy(runId, candidate, providerStatus, DiscrepancyType.PROVIDER_ERROR,
+                    ReconciliationAction.NONE, "Unrecognised provider status");
+        };
+    }
+
+    /**
+     * Complete or fail a payment still stuck in PROCESSING
+     */
+    private boolean applyFix(ReconciliationDiscrepancy discrepancy) {
+        try {
+            Boolean applied = transactionTemplate.execute(status -> {
+                Payment payment = paymentRepository.findByIdForUpdate(discrepancy.getPaymentId()).orElse(null);
+                if (payment == null || payment.getStatus() != PaymentStatus.PROCESSING) {
+                    discrepancy.setDetail("Payment is " + (payment != null ? payment.getStatus() : "gone")
+                            + " by now; left unchanged");
+                    return false;
+                }
+
+                if (discrepancy.getAction() == ReconciliationAction.COMPLETE_PAYMENT) {
+                    if (payment.getExternalTransactionId() == null) {
+                        payment.setExternalTransactionId(discrepancy.getExternalTransactionId());
+                    }
+                    paymentService.completePayment(payment.getId());
+                } else {
+                    paymentService.failPayment(payment.getId(),
+                            "Reconciliation: provider reports " + discrepancy.getProviderStatus());
+                }
+                return true;
+            });
+            discrepancy.setActionApplied(Boolean.TRUE.equals(applied));
+        } catch (Exception e) {
+            log.warn("Reconciliation fix-up failed for payment {}: {}", discrepancy.getPaymentId(), e.getMessage());
+            discrepancy.setDetail(truncate("Fix-up failed: " + e.getMessage()));
+        }
+        return discrepancy.isActionApplied();
+    }
+
+    private ReconciliationDiscrepancy discrepancy(Long runId, Candidate candidate, String providerStatus,
+                                                  DiscrepancyType type, ReconciliationAction action, String detail) {
+        return ReconciliationDiscrepancy.builder()
+                .runId(runId)
+                .paymentId(candidate.id())
+                .externalTransactionId(candidate.externalTransactionId())
+                .localStatus(candidate.status())
+                .providerStatus(providerStatus)
+                .type(type)
+                .action(action)
+                .detail(truncate(detail))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void finishRun(ReconciliationRun run, RunCounters counters,
+                           ReconciliationRunStatus outcome, String failureReason) {
+        run.setStatus(outcome);
+        run.setScannedCount(counters.scanned.get());
+        run.setMatchedCount(counters.matched.get());
+        run.setSkippedCount(counters.skipped.get());
+        run.setDiscrepancyCount(counters.discrepancies.get());
+        run.setFixedCount(counters.fixed.get());
+        run.setFailedBatchCount(counters.failedBatches.size());
+        run.setFailureReason(truncate(failureReason));
+        run.setFinishedAt(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> runRepository.save(run));
+
+        log.info("Reconciliation run {} {}: {} scanned, {} matched, {} skipped, {} discrepancies, {} fixed, "
+                        + "{} failed batches", run.getId(), outcome, run.getScannedCount(), run.getMatchedCount(),
+                run.getSkippedCount(), run.getDiscrepancyCount(), run.getFixedCount(), run.getFailedBatchCount());
+    }
+
+    /**
+     * Payment ID ranges of the failed batches, followed by the first error
+     */
+    private static String describeFailedBatches(RunCounters counters) {
+        List<FailedBatch> failed = counters.failedBatches.stream()
+                .sorted(Comparator.comparing(FailedBatch::firstPaymentId))
+                .toList();
+        String ranges = failed.stream()
+                .map(batch -> batch.firstPaymentId() + "-" + batch.lastPaymentId())
+                .collect(Collectors.joining(", "));
+        return "Failed batches of payment IDs " + ranges + ": " + failed.get(0).error();
+    }
+
+    private ReconciliationRunDTO mapToRunDTO(ReconciliationRun run) {
+        return ReconciliationRunDTO.builder()
+                .id(run.getId())
+                .windowStart(run.getWindowStart())
+                .windowEnd(run.getWindowEnd())
+                .status(run.getStatus())
+                .scannedCount(run.getScannedCount())
+                .matchedCount(run.getMatchedCount())
+                .skippedCount(run.getSkippedCount())
+                .discrepancyCount(run.getDiscrepancyCount())
+                .fixedCount(run.getFixedCount())
+                .failedBatchCount(run.getFailedBatchCount())
+                .failureReason(run.getFailureReason())
+                .startedAt(run.getStartedAt())
+                .finishedAt(run.getFinishedAt())
+                .build();
+    }
+
+    private ReconciliationDiscrepancyDTO mapToDiscrepancyDTO(ReconciliationDiscrepancy discrepancy) {
+        return ReconciliationDiscrepancyDTO.builder()
+                .id(discrepancy.getId())
+                .paymentId(discrepancy.getPaymentId())
+                .externalTransactionId(discrepancy.getExternalTransactionId())
+                .localStatus(discrepancy.getLocalStatus())
+                .providerStatus(discrepancy.getProviderStatus())
+                .type(discrepancy.getType())
+                .action(discrepancy.getAction())
+                .actionApplied(discrepancy.isActionApplied())
+                .detail(discrepancy.getDetail())
+                .createdAt(discrepancy.getCreatedAt())
+                .build();
+    }
+
+    private static String truncate(String value) {
+        return value != null && value.length() > MAX_DETAIL_LENGTH ? value.substring(0, MAX_DETAIL_LENGTH) : value;
+    }
+
+    /**
+     * Detached copy of a streamed row, safe to hand to checker threads
+     */
+    private record Candidate(Long id, String externalTransactionId, PaymentStatus status, LocalDateTime processedAt) {
+
+        static Candidate of(ReconciliationCandidate row) {
+            return new Candidate(row.getId(), row.getExternalTransactionId(), row.getStatus(), row.getProcessedAt());
+        }
+    }
+
+    /**
+     * A batch that could not be reconciled, by the lowest and highest payment ID it held
+     */
+    private record FailedBatch(Long firstPaymentId, Long lastPaymentId, String error) {
+
+        static FailedBatch of(List<Candidate> batch, Exception error) {
+            LongSummaryStatistics ids = batch.stream().mapToLong(Candidate::id).summaryStatistics();
+            return new FailedBatch(ids.getMin(), ids.getMax(), error.getMessage());
+        }
+    }
+
+    private static final class RunCounters {
+        final AtomicLong scanned = new AtomicLong();
+        final AtomicLong matched = new AtomicLong();
+        final AtomicLong skipped = new AtomicLong();
+        final AtomicLong discrepancies = new AtomicLong();
+        final AtomicLong fixed = new AtomicLong();
+        final Queue<FailedBatch> failedBatches = new ConcurrentLinkedQueue<>();
+    }
+}
@@ -0,0 +1,45 @@
+package com.mshando.paymentservice.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Computes when a failed payment may be retried.
+ *
+ * The delay grows exponentially with the number of retries already made,
+ * capped at max-delay-seconds. The jitter share of each delay is randomised
+ * so that payments failed by the same outage do not all come due together.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Component
+public class RetryBackoffPolicy {
+
+    @Value("${payment.retries.base-delay-seconds:300}")
+    private long baseDelaySeconds;
+
+    @Value("${payment.retries.multiplier:2.0}")
+    private double multiplier;
+
+    @Value("${payment.retries.max-delay-seconds:21600}")
+    private long maxDelaySeconds;
+
+    @Value("${payment.retries.jitter:0.5}")
+    private double jitter;
+
+    /**
+     * Time of the next retry after the given number of retries has been made
+     */
+    public LocalDateTime nextRetryAt(int retryCount, LocalDateTime failedAt) {
+        return failedAt.plusSeconds(delaySeconds(retryCount));
+    }
+
+    long delaySeconds(int retryCount) {
+        double delay = Math.min(maxDelaySeconds, baseDelaySeconds * Math.pow(multiplier, retryCount));
+        return Math.round(delay * (1.0 - jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+}
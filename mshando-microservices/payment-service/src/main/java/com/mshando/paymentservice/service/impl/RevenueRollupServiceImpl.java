@@ -0,0 +1,335 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.mshando.paymentservice.dto.RevenueSummaryDTO;
+import com.mshando.paymentservice.event.PaymentStatusChangedEvent;
+import com.mshando.paymentservice.exception.InvalidPaymentOperationException;
+import com.mshando.paymentservice.model.PaymentRevenueRollup;
+import com.mshando.paymentservice.model.PaymentStatus;
+import com.mshando.paymentservice.model.PaymentType;
+import com.mshando.paymentservice.model.RollupGranularity;
+import com.mshando.paymentservice.repository.PaymentRevenueRollupRepository;
+import com.mshando.paymentservice.repository.PaymentRevenueRollupRepository.DayCount;
+import com.mshando.paymentservice.repository.PaymentRevenueRollupRepository.PaymentRevenueRow;
+import com.mshando.paymentservice.repository.PaymentRevenueRollupRepository.RevenueTotals;
+import com.mshando.paymentservice.service.RevenueRollupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of RevenueRollupService.
+ * 
+ * Status changes are applied to the hourly and daily buckets just before
+ * the payment transaction commits, so the shared bucket rows are only locked
+ * while it commits. Rebuilding a day and applying a status change to it are
+ * serialized by an advisory lock on the day: a rebuild waits for the
+ * payments it would count to commit together with their deltas, and a delta
+ * waits for a running rebuild and then lands on the rebuilt buckets. A range is answered from daily buckets for whole days,
+ * hourly buckets for the remaining whole hours, and the payments table for
+ * the partial hours at either edge. Buckets missed by a failed update are
+ * repaired by the nightly rebuild of the most recent days. Days whose
+ * buckets do not hold all of their payments, such as days before the
+ * rollups existed, are rebuilt when the service starts.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class RevenueRollupServiceImpl implements RevenueRollupService {
+
+    /**
+     * First key of the advisory locks taken on rollup days, keeping them apart from other advisory locks
+     */
+    static final int DAY_LOCK_NAMESPACE = 0x524f4c4c;
+
+    private final PaymentRevenueRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate deltaTransactionTemplate;
+
+    @Value("${payment.rollups.rebuild-days:2}")
+    private int rebuildDays;
+
+    @Value("${payment.rollups.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    public RevenueRollupServiceImpl(PaymentRevenueRollupRepository rollupRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // A savepoint within the payment transaction, so a failed update does not fail the payment
+        this.deltaTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.deltaTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+    }
+
+    /**
+     * Update the buckets as the last step of the transaction making the status change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        try {
+            applyStatusChange(event);
+        } catch (Exception e) {
+            log.error("Failed to update revenue rollups for payment {}: {}", event.getPaymentId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void applyStatusChange(PaymentStatusChangedEvent event) {
+        if (event.getPreviousStatus() == event.getStatus() || event.getCreatedAt() == null) {
+            return;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        deltaTransactionTemplate.executeWithoutResult(status -> {
+            // Shared, so status changes of one day do not wait for each other, only for its rebuild
+            rollupRepository.lockDayShared(DAY_LOCK_NAMESPACE, dayLockKey(event.getCreatedAt().toLocalDate()));
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                if (event.getPreviousStatus() != null) {
+                    applyDelta(delta(granularity, event, event.getPreviousStatus(), -1, now));
+                }
+                applyDelta(delta(granularity, event, event.getStatus(), 1, now));
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RevenueSummaryDTO> getRevenueSummary(LocalDateTime startDate, LocalDateTime endDate) {
+        if (!startDate.isBefore(endDate)) {
+            throw new InvalidPaymentOperationException("Start date must be before end date");
+        }
+        
+        Map<SummaryKey, RevenueSummaryDTO> summary = new HashMap<>();
+        LocalDateTime firstHour = ceil(RollupGranularity.HOURLY, startDate);
+        LocalDateTime lastHour = RollupGranularity.HOURLY.bucketStart(endDate);
+        
+        if (!firstHour.isBefore(lastHour)) {
+            // Less than one whole hour: read the payments directly
+            merge(summary, rollupRepository.sumPayments(startDate, endDate));
+        } else {
+            merge(summary, rollupRepository.sumPayments(startDate, firstHour));
+            merge(summary, rollupRepository.sumPayments(lastHour, endDate));
+            
+            LocalDateTime firstDay = ceil(RollupGranularity.DAILY, firstHour);
+            LocalDateTime lastDay = RollupGranularity.DAILY.bucketStart(lastHour);
+            if (firstDay.isBefore(lastDay)) {
+                merge(summary, rollupRepository.sumRollups(RollupGranularity.HOURLY, firstHour, firstDay));
+                merge(summary, rollupRepository.sumRollups(RollupGranularity.DAILY, firstDay, lastDay));
+                merge(summary, rollupRepository.sumRollups(RollupGranularity.HOURLY, lastDay, lastHour));
+            } else {
+                merge(summary, rollupRepository.sumRollups(RollupGranularity.HOURLY, firstHour, lastHour));
+            }
+        }
+        
+        return summary.values().stream()
+                .filter(totals -> totals.getPaymentCount() != 0)
+                .sorted(Comparator.comparing(RevenueSummaryDTO::getCurrency)
+                        .thenComparing(RevenueSummaryDTO::getPaymentType)
+                        .thenComparing(RevenueSummaryDTO::getStatus))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal calculateServiceFees(LocalDateTime startDate, LocalDateTime endDate) {
+        return getRevenueSummary(startDate, endDate).stream()
+                .filter(totals -> totals.getStatus() == PaymentStatus.COMPLETED)
+                .map(RevenueSummaryDTO::getServiceFees)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Override
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new InvalidPaymentOperationException("Start date must not be after end date");
+        }
+        
+        int days = 0;
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            LocalDate rebuiltDay = day;
+            int buckets = transactionTemplate.execute(status -> rebuildDay(rebuiltDay));
+            log.debug("Rebuilt {} revenue rollup buckets for {}", buckets, rebuiltDay);
+            days++;
+        }
+        
+        log.info("Rebuilt revenue rollups for {} days from {} to {}", days, startDate, endDate);
+        return days;
+    }
+
+    @Override
+    @Scheduled(cron = "${payment.rollups.rebuild-cron:0 30 2 * * *}")
+    public void rebuildRecentDays() {
+        LocalDate today = LocalDate.now();
+        rebuild(today.minusDays(rebuildDays), today);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        
+        try {
+            backfillIncompleteDays();
+        } catch (RuntimeException e) {
+            log.warn("Startup revenue rollup backfill did not finish: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild every day whose daily buckets do not count the same number of
+     * payments as the payments table. Each payment sits in exactly one status
+     * bucket, so the counts of a complete day match.
+     *
+     * @return number of days rebuilt
+     */
+    int backfillIncompleteDays() {
+        Map<LocalDate, Long> paymentsByDay = rollupRepository.countPaymentsByDay().stream()
+                .collect(Collectors.toMap(DayCount::getDay, DayCount::getPaymentCount));
+        Map<LocalDate, Long> rolledUpByDay = rollupRepository.countRolledUpByDay(RollupGranularity.DAILY).stream()
+                .collect(Collectors.toMap(DayCount::getDay, DayCount::getPaymentCount));
+        
+        TreeSet<LocalDate> incompleteDays = new TreeSet<>(paymentsByDay.keySet());
+        incompleteDays.addAll(rolledUpByDay.keySet());
+        incompleteDays.removeIf(day -> Objects.equals(paymentsByDay.getOrDefault(day, 0L),
+                rolledUpByDay.getOrDefault(day, 0L)));
+        
+        for (LocalDate day : incompleteDays) {
+            transactionTemplate.execute(status -> rebuildDay(day));
+        }
+        
+        if (!incompleteDays.isEmpty()) {
+            log.info("Rebuilt revenue rollups for {} incomplete days from {} to {}",
+                    incompleteDays.size(), incompleteDays.first(), incompleteDays.last());
+        }
+        return incompleteDays.size();
+    }
+
+    /**
+     * Replace the buckets of one day with totals recomputed from its payments.
+     * The day lock is taken first, so every payment read here has either
+     * committed its delta already or will apply it after this transaction,
+     * on the recomputed buckets.
+     */
+    private int rebuildDay(LocalDate day) {
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = from.plusDays(1);
+        LocalDateTime now = LocalDateTime.now();
+        
+        rollupRepository.lockDay(DAY_LOCK_NAMESPACE, dayLockKey(day));
+        rollupRepository.deleteBuckets(RollupGranularity.HOURLY, from, to);
+        rollupRepository.deleteBuckets(RollupGranularity.DAILY, from, to);
+        
+        Map<BucketKey, PaymentRevenueRollup> buckets = new HashMap<>();
+        try (Stream<PaymentRevenueRow> rows = rollupRepository.streamPayments(from, to)) {
+            rows.forEach(row -> {
+                BigDecimal fees = orZero(row.getServiceFees());
+                BigDecimal net = row.getNetAmount() != null ? row.getNetAmount() : row.getGrossAmount().subtract(fees);
+                for (RollupGranularity granularity : RollupGranularity.values()) {
+                    BucketKey key = new BucketKey(granularity, granularity.bucketStart(row.getCreatedAt()),
+                            row.getCurrency(), row.getPaymentType(), row.getStatus());
+                    buckets.computeIfAbsent(key, k -> k.newRollup(now))
+                            .add(1, row.getGrossAmount(), fees, net);
+                }
+            });
+        }
+        
+        rollupRepository.saveAll(buckets.values());
+        return buckets.size();
+    }
+
+    private void applyDelta(PaymentRevenueRollup delta) {
+        if (rollupRepository.applyDelta(delta) == 0) {
+            rollupRepository.createIfAbsent(delta);
+            rollupRepository.applyDelta(delta);
+        }
+    }
+
+    private PaymentRevenueRollup delta(RollupGranularity granularity, PaymentStatusChangedEvent event,
+                                       PaymentStatus status, int sign, LocalDateTime now) {
+        BigDecimal multiplier = BigDecimal.valueOf(sign);
+        BigDecimal fees = orZero(event.getServiceFee());
+        BigDecimal net = event.getNetAmount() != null ? event.getNetAmount() : event.getAmount().subtract(fees);
+        
+        PaymentRevenueRollup delta = new BucketKey(granularity, granularity.bucketStart(event.getCreatedAt()),
+                event.getCurrency(), event.getPaymentType(), status).newRollup(now);
+        delta.add(sign, event.getAmount().multiply(multiplier), fees.multiply(multiplier), net.multiply(multiplier));
+        return delta;
+    }
+
+    private void merge(Map<SummaryKey, RevenueSummaryDTO> summary, List<RevenueTotals> totals) {
+        for (RevenueTotals row : totals) {
+            RevenueSummaryDTO target = summary.computeIfAbsent(
+                    new SummaryKey(row.getCurrency(), row.getPaymentType(), row.getStatus()),
+                    key -> RevenueSummaryDTO.builder()
+                            .currency(key.currency())
+                            .paymentType(key.paymentType())
+                            .status(key.status())
+                            .grossAmount(BigDecimal.ZERO)
+                            .serviceFees(BigDecimal.ZERO)
+                            .netAmount(BigDecimal.ZERO)
+                            .build());
+            target.setPaymentCount(target.getPaymentCount() + row.getPaymentCount());
+            target.setGrossAmount(target.getGrossAmount().add(orZero(row.getGrossAmount())));
+            target.setServiceFees(target.getServiceFees().add(orZero(row.getServiceFees())));
+            target.setNetAmount(target.getNetAmount().add(orZero(row.getNetAmount())));
+        }
+    }
+
+    private static int dayLockKey(LocalDate day) {
+        return Math.toIntExact(day.toEpochDay());
+    }
+
+    /**
+     * Round up to the next bucket boundary
+     */
+    private static LocalDateTime ceil(RollupGranularity granularity, LocalDateTime time) {
+        LocalDateTime bucketStart = granularity.bucketStart(time);
+        return bucketStart.equals(time) ? time : granularity.nextBucketStart(time);
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private record SummaryKey(String currency, PaymentType paymentType, PaymentStatus status) {
+    }
+
+    private record BucketKey(RollupGranularity granularity, LocalDateTime bucketStart,
+                             String currency, PaymentType paymentType, PaymentStatus status) {
+
+        PaymentRevenueRollup newRollup(LocalDateTime now) {
+            return PaymentRevenueRollup.builder()
+                    .granularity(granularity)
+                    .bucketStart(bucketStart)
+                    .currency(currency)
+                    .paymentType(paymentType)
+                    .status(status)
+                    .updatedAt(now)
+                    .build();
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.mshando.paymentservice.service.impl;
 
+import com.mshando.paymentservice.dto.ProviderWebhookEventDTO;
 import com.mshando.paymentservice.model.Payment;
 import com.mshando.paymentservice.service.PaymentProviderService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
@@ -18,22 +21,23 @@ import java.util.UUID;
  * @version 1.0.0
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
+@ConditionalOnProperty(name = "payment.providers.mode", havingValue = "stripe", matchIfMissing = true)
 public class StripePaymentProviderServiceImpl implements PaymentProviderService {
     
     @Value("${stripe.api.key:sk_test_dummy}")
     private String stripeApiKey;
     
-    @Value("${stripe.webhook.secret:whsec_dummy}")
-    private String webhookSecret;
+    private final StripeWebhookParser webhookParser;
     
     @Override
-    public String processPayment(Payment payment) throws Exception {
-        log.info("Processing payment {} with Stripe", payment.getId());
+    public String processPayment(Payment payment, String idempotencyKey) throws Exception {
+        log.info("Processing payment {} with Stripe, idempotency key {}", payment.getId(), idempotencyKey);
         
         try {
             // Simulate Stripe payment processing
-            // In real implementation, this would call Stripe API
+            // In real implementation, this would call Stripe API with the key as the Idempotency-Key header
             
             // Mock successful payment
             String externalTransactionId = "stripe_" + UUID.randomUUID().toString();
@@ -101,4 +105,9 @@ public class StripePaymentProviderServiceImpl implements PaymentProviderService
             throw new Exception("Stripe payment cancellation failed: " + e.getMessage(), e);
         }
     }
+    
+    @Override
+    public ProviderWebhookEventDTO parseWebhookEvent(String payload, String signatureHeader) {
+        return webhookParser.parse(payload, signatureHeader);
+    }
 }
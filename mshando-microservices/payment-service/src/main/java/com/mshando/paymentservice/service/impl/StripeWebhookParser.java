@@ -0,0 +1,91 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mshando.paymentservice.dto.ProviderWebhookEventDTO;
+import com.mshando.paymentservice.exception.InvalidPaymentOperationException;
+import com.mshando.paymentservice.exception.WebhookSignatureException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Verifies and parses Stripe-shaped webhook requests.
+ * 
+ * Shared by the Stripe provider and the local stand-in provider, so that
+ * both accept the same signed events. Startup fails if the webhook receiver
+ * or the stub replay is enabled without a real webhook secret, and requests
+ * are rejected while none is configured.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class StripeWebhookParser {
+    
+    private final ObjectMapper objectMapper;
+    
+    @Value("${payment.providers.stripe.webhook-secret}")
+    private String webhookSecret;
+    
+    @Value("${payment.processing.webhook-enabled:false}")
+    private boolean webhooksEnabled;
+    
+    @Value("${payment.webhooks.stub-enabled:false}")
+    private boolean stubEnabled;
+    
+    @Value("${payment.webhooks.signature-tolerance-seconds:300}")
+    private long signatureToleranceSeconds;
+    
+    @PostConstruct
+    void checkSecret() {
+        if ((webhooksEnabled || stubEnabled) && !StripeWebhookSignature.isUsableSecret(webhookSecret)) {
+            throw new IllegalStateException("payment.providers.stripe.webhook-secret (STRIPE_WEBHOOK_SECRET) "
+                    + "must be set to the provider's endpoint secret when webhooks are enabled");
+        }
+    }
+    
+    /**
+     * Verify the signature header and parse the event
+     */
+    public ProviderWebhookEventDTO parse(String payload, String signatureHeader) {
+        if (!StripeWebhookSignature.isUsableSecret(webhookSecret)) {
+            throw new WebhookSignatureException("Webhook secret is not configured");
+        }
+        StripeWebhookSignature.verify(webhookSecret, payload, signatureHeader,
+                signatureToleranceSeconds, Instant.now().getEpochSecond());
+        
+        JsonNode event;
+        try {
+            event = objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            throw new InvalidPaymentOperationException("Malformed webhook payload");
+        }
+        
+        JsonNode object = event.path("data").path("object");
+        JsonNode paymentId = object.path("metadata").path("payment_id");
+        String externalTransactionId = object.path("id").asText(null);
+        if (!event.hasNonNull("id") || !event.hasNonNull("type")
+                || (paymentId.isMissingNode() && externalTransactionId == null)) {
+            throw new InvalidPaymentOperationException("Webhook event is missing its ID, type or payment reference");
+        }
+        
+        return ProviderWebhookEventDTO.builder()
+                .eventId(event.get("id").asText())
+                .eventType(event.get("type").asText())
+                .createdAt(LocalDateTime.ofInstant(
+                        Instant.ofEpochSecond(event.path("created").asLong(Instant.now().getEpochSecond())),
+                        ZoneId.systemDefault()))
+                .paymentId(paymentId.isMissingNode() ? null : paymentId.asLong())
+                .externalTransactionId(externalTransactionId)
+                .failureReason(object.path("last_payment_error").path("message").asText(null))
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.mshando.paymentservice.exception.WebhookSignatureException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Stripe-style webhook signatures.
+ * 
+ * The signature header has the form {@code t=<unix seconds>,v1=<hex HMAC>},
+ * where the HMAC-SHA256 is computed with the endpoint secret over
+ * {@code <t>.<payload>}. The timestamp bounds how long a captured request can
+ * be replayed.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+public final class StripeWebhookSignature {
+    
+    public static final String HEADER = "Stripe-Signature";
+    
+    private static final Pattern PLACEHOLDER_SECRET = Pattern.compile("(?i).*(dummy|placeholder|change[-_]?me|your[-_]).*");
+    
+    private StripeWebhookSignature() {
+    }
+    
+    /**
+     * Whether a secret can authenticate webhooks: set, and not one of the sample placeholders
+     */
+    public static boolean isUsableSecret(String secret) {
+        return secret != null && !secret.isBlank() && !PLACEHOLDER_SECRET.matcher(secret).matches();
+    }
+    
+    /**
+     * Build the signature header for a payload
+     */
+    public static String sign(String secret, long timestampSeconds, String payload) {
+        return "t=" + timestampSeconds + ",v1=" + hmac(secret, timestampSeconds + "." + payload);
+    }
+    
+    /**
+     * Verify a signature header against the payload
+     *
+     * @throws WebhookSignatureException if the header is missing, malformed, stale or does not match
+     */
+    public static void verify(String secret, String payload, String header,
+                              long toleranceSeconds, long nowSeconds) {
+        if (header == null || header.isBlank()) {
+            throw new WebhookSignatureException("Missing " + HEADER + " header");
+        }
+        
+        Long timestamp = null;
+        List<String> signatures = new ArrayList<>();
+        for (String part : header.split(",")) {
+            String[] pair = part.trim().split("=", 2);
+            if (pair.length != 2) {
+                continue;
+            }
+            if ("t".equals(pair[0])) {
+                try {
+                    timestamp = Long.parseLong(pair[1]);
+                } catch (NumberFormatException e) {
+                    throw new WebhookSignatureException("Malformed signature timestamp");
+                }
+            } else if ("v1".equals(pair[0])) {
+                signatures.add(pair[1]);
+            }
+        }
+        
+        if (timestamp == null || signatures.isEmpty()) {
+            throw new WebhookSignatureException("Malformed " + HEADER + " header");
+        }
+        
+        byte[] expected = hmac(secret, timestamp + "." + payload).getBytes(StandardCharsets.US_ASCII);
+        boolean matched = signatures.stream()
+                .anyMatch(signature -> MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII)));
+        if (!matched) {
+            throw new WebhookSignatureException("Signature does not match payload");
+        }
+        if (Math.abs(nowSeconds - timestamp) > toleranceSeconds) {
+            throw new WebhookSignatureException("Signature timestamp outside tolerance");
+        }
+    }
+    
+    private static String hmac(String secret, String content) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
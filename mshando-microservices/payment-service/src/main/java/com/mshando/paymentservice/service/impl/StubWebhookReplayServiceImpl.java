@@ -0,0 +1,136 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mshando.paymentservice.dto.WebhookReplayRequestDTO;
+import com.mshando.paymentservice.dto.WebhookReplayResultDTO;
+import com.mshando.paymentservice.service.WebhookReplayService;
+import com.mshando.paymentservice.service.WebhookService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stub payment provider that replays webhook event storms.
+ *
+ * Builds Stripe-shaped events for the given payments (informational events
+ * followed by a success or failure), signs them with the configured webhook
+ * secret and delivers them concurrently to WebhookService in-process,
+ * optionally duplicated and shuffled. Only available when
+ * payment.webhooks.stub-enabled is set.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "payment.webhooks.stub-enabled", havingValue = "true")
+public class StubWebhookReplayServiceImpl implements WebhookReplayService {
+
+    private final WebhookService webhookService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${payment.providers.stripe.webhook-secret}")
+    private String webhookSecret;
+
+    @Override
+    public WebhookReplayResultDTO replay(WebhookReplayRequestDTO request) {
+        List<String> deliveries = buildDeliveries(request);
+
+        AtomicLong stored = new AtomicLong();
+        AtomicLong duplicates = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+
+        ExecutorService senders = Executors.newFixedThreadPool(request.getConcurrency());
+        long started = System.nanoTime();
+        try {
+            CompletableFuture.allOf(deliveries.stream()
+                    .map(payload -> CompletableFuture.runAsync(() -> {
+                        String signature = StripeWebhookSignature.sign(
+                                webhookSecret, Instant.now().getEpochSecond(), payload);
+                        try {
+                            if (webhookService.receive(payload, signature)) {
+                                stored.incrementAndGet();
+                            } else {
+                                duplicates.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            rejected.incrementAndGet();
+                        }
+                    }, senders))
+                    .toArray(CompletableFuture[]::new))
+                    .join();
+        } finally {
+            senders.shutdown();
+        }
+        long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+
+        log.info("Replayed {} webhook deliveries in {} ms: {} stored, {} duplicates, {} rejected",
+                deliveries.size(), elapsedMs, stored.get(), duplicates.get(), rejected.get());
+
+        return WebhookReplayResultDTO.builder()
+                .delivered(deliveries.size())
+                .stored(stored.get())
+                .duplicates(duplicates.get())
+                .rejected(rejected.get())
+                .elapsedMs(elapsedMs)
+                .deliveriesPerSecond(deliveries.size() * 1000.0 / elapsedMs)
+                .pendingEvents(webhookService.getPendingEventCount())
+                .build();
+    }
+
+    private List<String> buildDeliveries(WebhookReplayRequestDTO request) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long created = Instant.now().getEpochSecond() - request.getEventsPerPayment();
+        List<String> deliveries = new ArrayList<>();
+
+        for (Long paymentId : request.getPaymentIds()) {
+            String transactionId = "pi_stub_" + UUID.randomUUID();
+            boolean fails = random.nextDouble() < request.getFailureRate();
+
+            for (int sequence = 1; sequence <= request.getEventsPerPayment(); sequence++) {
+                String type = sequence < request.getEventsPerPayment() ? "payment_intent.processing"
+                        : fails ? "payment_intent.payment_failed" : "payment_intent.succeeded";
+                String payload = buildEvent(type, created + sequence, paymentId, transactionId, fails);
+
+                deliveries.add(payload);
+                if (random.nextDouble() < request.getDuplicateRate()) {
+                    deliveries.add(payload);
+                }
+            }
+        }
+
+        if (request.isShuffle()) {
+            Collections.shuffle(deliveries, random);
+        }
+        return deliveries;
+    }
+
+    private String buildEvent(String type, long created, Long paymentId, String transactionId, boolean fails) {
+        ObjectNode event = objectMapper.createObjectNode()
+                .put("id", "evt_stub_" + UUID.randomUUID())
+                .put("type", type)
+                .put("created", created);
+        ObjectNode object = event.putObject("data").putObject("object")
+                .put("id", transactionId);
+        object.putObject("metadata").put("payment_id", String.valueOf(paymentId));
+        if (fails && type.endsWith("failed")) {
+            object.putObject("last_payment_error").put("message", "Your card was declined.");
+        }
+        return event.toString();
+    }
+}
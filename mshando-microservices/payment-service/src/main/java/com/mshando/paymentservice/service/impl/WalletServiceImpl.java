@@ -0,0 +1,252 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.mshando.paymentservice.dto.LedgerEntryDTO;
+import com.mshando.paymentservice.dto.WalletBalanceDTO;
+import com.mshando.paymentservice.exception.InvalidPaymentOperationException;
+import com.mshando.paymentservice.model.LedgerEntry;
+import com.mshando.paymentservice.model.Payment;
+import com.mshando.paymentservice.model.PaymentStatus;
+import com.mshando.paymentservice.model.WalletAccount;
+import com.mshando.paymentservice.model.WalletAccountType;
+import com.mshando.paymentservice.repository.LedgerEntryRepository;
+import com.mshando.paymentservice.repository.PaymentRepository;
+import com.mshando.paymentservice.repository.WalletAccountRepository;
+import com.mshando.paymentservice.service.WalletService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Implementation of WalletService.
+ * 
+ * A payment is posted in the same transaction that settles it. The affected
+ * accounts are locked in a fixed order (customer, tasker, platform) to avoid
+ * deadlocks, their balances are adjusted, and one entry per account is
+ * written. Entries of a payment always sum to zero.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class WalletServiceImpl implements WalletService {
+
+    private static final List<PaymentStatus> SETTLED_STATUSES =
+            List.of(PaymentStatus.COMPLETED, PaymentStatus.REFUNDED);
+
+    private final WalletAccountRepository walletAccountRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${payment.wallet.backfill-batch-size:500}")
+    private int backfillBatchSize;
+
+    @Value("${payment.wallet.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    public WalletServiceImpl(WalletAccountRepository walletAccountRepository,
+                             LedgerEntryRepository ledgerEntryRepository,
+                             PaymentRepository paymentRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.walletAccountRepository = walletAccountRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.paymentRepository = paymentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional
+    public void recordPayment(Payment payment) {
+        if (ledgerEntryRepository.existsByPaymentId(payment.getId())) {
+            log.debug("Payment {} is already posted to the ledger", payment.getId());
+            return;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        postingsFor(payment).forEach((key, amount) -> {
+            if (amount.signum() == 0) {
+                return;
+            }
+            
+            walletAccountRepository.createIfAbsent(key.ownerType().name(), key.ownerId(), payment.getCurrency(), now);
+            WalletAccount account = walletAccountRepository
+                    .findForUpdate(key.ownerType(), key.ownerId(), payment.getCurrency())
+                    .orElseThrow(() -> new IllegalStateException("Wallet account missing for " + key));
+            
+            BigDecimal balanceAfter = account.post(amount, now);
+            ledgerEntryRepository.save(LedgerEntry.builder()
+                    .accountId(account.getId())
+                    .paymentId(payment.getId())
+                    .paymentType(payment.getPaymentType())
+                    .amount(amount)
+                    .balanceAfter(balanceAfter)
+                    .createdAt(now)
+                    .build());
+        });
+        
+        log.debug("Posted payment {} to the ledger", payment.getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WalletBalanceDTO> getWallets(Long userId) {
+        return walletAccountRepository.findByOwnerIdAndOwnerTypeInOrderByOwnerTypeAscCurrencyAsc(
+                        userId, List.of(WalletAccountType.CUSTOMER, WalletAccountType.TASKER))
+                .stream()
+                .map(this::mapToBalanceDTO)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public WalletBalanceDTO getWallet(WalletAccountType ownerType, Long ownerId, String currency) {
+        return walletAccountRepository.findByOwnerTypeAndOwnerIdOrderByCurrency(ownerType, ownerId).stream()
+                .filter(account -> account.getCurrency().equalsIgnoreCase(currency))
+                .findFirst()
+                .map(this::mapToBalanceDTO)
+                .orElseGet(() -> WalletBalanceDTO.builder()
+                        .ownerType(ownerType)
+                        .ownerId(ownerId)
+                        .currency(currency.toUpperCase())
+                        .balance(BigDecimal.ZERO)
+                        .build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<LedgerEntryDTO> getEntries(WalletAccountType ownerType, Long ownerId, String currency, Pageable pageable) {
+        WalletAccount account = walletAccountRepository.findByOwnerTypeAndOwnerIdOrderByCurrency(ownerType, ownerId).stream()
+                .filter(candidate -> candidate.getCurrency().equalsIgnoreCase(currency))
+                .findFirst()
+                .orElseThrow(() -> new InvalidPaymentOperationException("No " + currency + " wallet for " + ownerType + " " + ownerId));
+        
+        return ledgerEntryRepository.findByAccountIdOrderByIdDesc(account.getId(), pageable)
+                .map(this::mapToEntryDTO);
+    }
+
+    /**
+     * Post payments settled before the ledger existed as soon as the service is up,
+     * so balances are complete without waiting for the nightly verification.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        
+        try {
+            postMissingPayments();
+        } catch (RuntimeException e) {
+            // Another instance may be posting the same payments; the nightly verification retries
+            log.warn("Startup ledger backfill did not finish: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public int postMissingPayments() {
+        int posted = 0;
+        long afterId = 0;
+        while (true) {
+            long lastId = afterId;
+            List<Payment> batch = paymentRepository.findUnpostedPayments(
+                    SETTLED_STATUSES, lastId, PageRequest.of(0, backfillBatchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(this::recordPayment));
+            posted += batch.size();
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+        
+        if (posted > 0) {
+            log.info("Posted {} settled payments missing from the ledger", posted);
+        }
+        return posted;
+    }
+
+    @Override
+    @Scheduled(cron = "${payment.wallet.verification-cron:0 0 2 * * *}")
+    public void verifyBalances() {
+        log.info("Verifying wallet balances against the ledger");
+        postMissingPayments();
+        
+        List<WalletAccountRepository.BalanceMismatch> mismatches = walletAccountRepository.findBalanceMismatches();
+        mismatches.forEach(mismatch -> log.error(
+                "Wallet account {} balance {} does not match its ledger balance {}",
+                mismatch.getAccountId(), mismatch.getBalance(), mismatch.getLedgerBalance()));
+        
+        List<WalletAccountRepository.CurrencyImbalance> imbalances = walletAccountRepository.findUnbalancedCurrencies();
+        imbalances.forEach(imbalance -> log.error(
+                "Ledger entries in {} do not balance: off by {}", imbalance.getCurrency(), imbalance.getImbalance()));
+        
+        log.info("Wallet verification finished: {} account mismatches, {} unbalanced currencies",
+                mismatches.size(), imbalances.size());
+    }
+
+    /**
+     * Split a payment into signed per-account amounts. Refunds carry negative
+     * amounts and therefore reverse the original posting.
+     */
+    private Map<AccountKey, BigDecimal> postingsFor(Payment payment) {
+        BigDecimal amount = payment.getAmount();
+        BigDecimal serviceFee = payment.getServiceFee() != null ? payment.getServiceFee() : BigDecimal.ZERO;
+        BigDecimal netAmount = payment.getNetAmount() != null ? payment.getNetAmount() : amount.subtract(serviceFee);
+        
+        // Sorted so that accounts are always locked in the same order
+        Map<AccountKey, BigDecimal> postings = new TreeMap<>(
+                Comparator.comparing(AccountKey::ownerType).thenComparing(AccountKey::ownerId));
+        postings.merge(new AccountKey(WalletAccountType.CUSTOMER, payment.getCustomerId()), amount.negate(), BigDecimal::add);
+        
+        AccountKey platform = new AccountKey(WalletAccountType.PLATFORM, WalletAccount.PLATFORM_OWNER_ID);
+        if (payment.getTaskerId() != null) {
+            postings.merge(new AccountKey(WalletAccountType.TASKER, payment.getTaskerId()), netAmount, BigDecimal::add);
+            postings.merge(platform, serviceFee, BigDecimal::add);
+        } else {
+            postings.merge(platform, amount, BigDecimal::add);
+        }
+        return postings;
+    }
+
+    private WalletBalanceDTO mapToBalanceDTO(WalletAccount account) {
+        return WalletBalanceDTO.builder()
+                .accountId(account.getId())
+                .ownerType(account.getOwnerType())
+                .ownerId(account.getOwnerId())
+                .currency(account.getCurrency())
+                .balance(account.getBalance())
+                .updatedAt(account.getUpdatedAt())
+                .build();
+    }
+
+    private LedgerEntryDTO mapToEntryDTO(LedgerEntry entry) {
+        return LedgerEntryDTO.builder()
+                .id(entry.getId())
+                .paymentId(entry.getPaymentId())
+                .paymentType(entry.getPaymentType())
+                .amount(entry.getAmount())
+                .balanceAfter(entry.getBalanceAfter())
+                .createdAt(entry.getCreatedAt())
+                .build();
+    }
+
+    private record AccountKey(WalletAccountType ownerType, Long ownerId) {
+    }
+}
@@ -0,0 +1,385 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.mshando.paymentservice.dto.ProviderWebhookEventDTO;
+import com.mshando.paymentservice.event.WebhookReceivedEvent;
+import com.mshando.paymentservice.model.Payment;
+import com.mshando.paymentservice.model.PaymentStatus;
+import com.mshando.paymentservice.model.WebhookEvent;
+import com.mshando.paymentservice.model.WebhookEventStatus;
+import com.mshando.paymentservice.repository.PaymentRepository;
+import com.mshando.paymentservice.repository.WebhookEventRepository;
+import com.mshando.paymentservice.service.PaymentProviderService;
+import com.mshando.paymentservice.service.PaymentService;
+import com.mshando.paymentservice.service.WebhookService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of WebhookService.
+ *
+ * Receiving only verifies the signature and inserts the event; a duplicate
+ * event ID is absorbed by the unique constraint. Processors lock a batch of
+ * the oldest due events (SKIP LOCKED), hold back payments that still have an
+ * earlier event locked or delayed elsewhere, and apply the rest ordered by
+ * provider creation time in one transaction. If the batch fails, its events
+ * are retried one per transaction so a poison event cannot block the others;
+ * it is marked FAILED after the allowed attempts.
+ *
+ * Successful and failed charges go through PaymentService.completePayment
+ * and failPayment, and only while the payment is still PROCESSING, so late
+ * or redelivered events never move a payment backwards.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class WebhookServiceImpl implements WebhookService, SmartLifecycle {
+
+    private static final Set<String> SUCCEEDED_TYPES = Set.of("payment_intent.succeeded", "charge.succeeded");
+    private static final Set<String> FAILED_TYPES = Set.of("payment_intent.payment_failed", "charge.failed");
+    private static final List<WebhookEventStatus> HANDLED_STATUSES =
+            List.of(WebhookEventStatus.PROCESSED, WebhookEventStatus.IGNORED);
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final WebhookEventRepository webhookEventRepository;
+    private final PaymentRepository paymentRepository;
+    private final PaymentService paymentService;
+    private final PaymentProviderService paymentProviderService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore wakeUpSignal = new Semaphore(0);
+
+    private volatile boolean running;
+    private ExecutorService processors;
+
+    @Value("${payment.webhooks.processing-enabled:true}")
+    private boolean processingEnabled;
+
+    @Value("${payment.webhooks.processor-count:2}")
+    private int processorCount;
+
+    @Value("${payment.webhooks.batch-size:100}")
+    private int batchSize;
+
+    @Value("${payment.webhooks.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${payment.webhooks.retry-delay-seconds:30}")
+    private long retryDelaySeconds;
+
+    @Value("${payment.webhooks.idle-poll-ms:2000}")
+    private long idlePollMs;
+
+    @Value("${payment.webhooks.retention-days:30}")
+    private int retentionDays;
+
+    public WebhookServiceImpl(WebhookEventRepository webhookEventRepository,
+                              PaymentRepository paymentRepository,
+                              PaymentService paymentService,
+                              PaymentProviderService paymentProviderService,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              PlatformTransactionManager transactionManager) {
+        this.webhookEventRepository = webhookEventRepository;
+        this.paymentRepository = paymentRepository;
+        this.paymentService = paymentService;
+        this.paymentProviderService = paymentProviderService;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional
+    public boolean receive(String payload, String signatureHeader) {
+        ProviderWebhookEventDTO received = paymentProviderService.parseWebhookEvent(payload, signatureHeader);
+        if (received.getPaymentId() == null && received.getExternalTransactionId() != null) {
+            // Key events by payment wherever possible, so that events carrying only the
+            // provider ID are ordered together with those carrying our payment ID
+            paymentRepository.findByExternalTransactionId(received.getExternalTransactionId())
+                    .ifPresent(payment -> received.setPaymentId(payment.getId()));
+        }
+
+        WebhookEvent event = WebhookEvent.builder()
+                .eventId(received.getEventId())
+                .eventType(received.getEventType())
+                .orderingKey(received.getOrderingKey())
+                .paymentId(received.getPaymentId())
+                .externalTransactionId(received.getExternalTransactionId())
+                .failureReason(truncate(received.getFailureReason()))
+                .providerCreatedAt(received.getCreatedAt())
+                .payload(payload)
+                .receivedAt(LocalDateTime.now())
+                .build();
+
+        if (webhookEventRepository.insertIfAbsent(event) == 0) {
+            log.debug("Ignoring duplicate delivery of webhook event {}", received.getEventId());
+            countOutcome("duplicate");
+            return false;
+        }
+
+        eventPublisher.publishEvent(new WebhookReceivedEvent(received.getEventId()));
+        countOutcome("received");
+        return true;
+    }
+
+    /**
+     * Wake a processor once the stored event is visible to other transactions
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWebhookReceived(WebhookReceivedEvent event) {
+        if (wakeUpSignal.availablePermits() < processorCount) {
+            wakeUpSignal.release();
+        }
+    }
+
+    @Override
+    public int processNextBatch() {
+        List<Long> attempted = new ArrayList<>();
+        try {
+            Integer applied = transactionTemplate.execute(status -> applyDueEvents(attempted));
+            return applied != null ? applied : 0;
+        } catch (RuntimeException e) {
+            log.warn("Webhook batch of {} events failed, applying them one by one: {}", attempted.size(), e.getMessage());
+            attempted.forEach(this::applySingle);
+            return attempted.size();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getPendingEventCount() {
+        return webhookEventRepository.countByStatus(WebhookEventStatus.PENDING);
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${payment.webhooks.purge-cron:0 45 3 * * *}")
+    public void purgeHandledEvents() {
+        int deleted = webhookEventRepository.deleteHandledBefore(
+                HANDLED_STATUSES, LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Purged {} handled webhook events", deleted);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!processingEnabled || running) {
+            return;
+        }
+
+        running = true;
+        AtomicInteger threadNumber = new AtomicInteger();
+        processors = Executors.newFixedThreadPool(processorCount,
+                runnable -> new Thread(runnable, "webhook-processor-" + threadNumber.incrementAndGet()));
+        for (int i = 0; i < processorCount; i++) {
+            processors.execute(this::runProcessor);
+        }
+        log.info("Started {} webhook processors", processorCount);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        wakeUpSignal.release(processorCount);
+        processors.shutdown();
+        try {
+            if (!processors.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                // Unfinished batches roll back and their events stay pending
+                processors.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            processors.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        log.info("Stopped webhook processors");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runProcessor() {
+        while (running) {
+            try {
+                if (processNextBatch() > 0) {
+                    continue;
+                }
+            } catch (Exception e) {
+                log.error("Webhook processor failed: {}", e.getMessage());
+            }
+
+            try {
+                wakeUpSignal.tryAcquire(idlePollMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Lock a batch of due events and apply those whose payment has no earlier
+     * event outstanding elsewhere
+     */
+    private int applyDueEvents(List<Long> attempted) {
+        LocalDateTime now = LocalDateTime.now();
+        List<WebhookEvent> events = webhookEventRepository.findDueEvents(
+                WebhookEventStatus.PENDING, now, PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<WebhookEvent>> byKey = events.stream()
+                .collect(Collectors.groupingBy(WebhookEvent::getOrderingKey, LinkedHashMap::new, Collectors.toList()));
+        Map<String, Long> blockedBefore = webhookEventRepository.findFirstPendingEvents(
+                        new ArrayList<>(byKey.keySet()), WebhookEventStatus.PENDING,
+                        events.stream().map(WebhookEvent::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(WebhookEventRepository.PendingKey::getOrderingKey,
+                        WebhookEventRepository.PendingKey::getFirstEventId));
+
+        byKey.forEach((orderingKey, keyEvents) -> {
+            Long earlierEventId = blockedBefore.get(orderingKey);
+            if (earlierEventId != null && earlierEventId < keyEvents.get(0).getId()) {
+                log.debug("Holding back webhook events for {} behind event row {}", orderingKey, earlierEventId);
+                return;
+            }
+
+            keyEvents.sort(Comparator.comparing(WebhookEvent::getProviderCreatedAt).thenComparing(WebhookEvent::getId));
+            for (WebhookEvent event : keyEvents) {
+                attempted.add(event.getId());
+                apply(event, now);
+            }
+        });
+        return attempted.size();
+    }
+
+    /**
+     * Apply one event in its own transaction after its batch failed
+     */
+    private void applySingle(Long eventRowId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> webhookEventRepository
+                    .findForUpdate(eventRowId, WebhookEventStatus.PENDING)
+                    .filter(event -> !hasEarlierPendingEvent(event))
+                    .ifPresent(event -> apply(event, LocalDateTime.now())));
+        } catch (RuntimeException e) {
+            log.error("Failed to apply webhook event row {}: {}", eventRowId, e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> recordFailure(eventRowId, e));
+        }
+    }
+
+    private boolean hasEarlierPendingEvent(WebhookEvent event) {
+        return webhookEventRepository.findFirstPendingEvents(
+                        List.of(event.getOrderingKey()), WebhookEventStatus.PENDING, List.of(event.getId()))
+                .stream()
+                .anyMatch(pending -> pending.getFirstEventId() < event.getId());
+    }
+
+    private void apply(WebhookEvent event, LocalDateTime now) {
+        event.setAttempts(event.getAttempts() + 1);
+
+        Optional<Payment> payment = findPaymentForUpdate(event);
+        if (payment.isEmpty()) {
+            finish(event, WebhookEventStatus.IGNORED, "Payment not found", now);
+            return;
+        }
+
+        Payment target = payment.get();
+        boolean succeeded = SUCCEEDED_TYPES.contains(event.getEventType());
+        if (!succeeded && !FAILED_TYPES.contains(event.getEventType())) {
+            finish(event, WebhookEventStatus.IGNORED, "Unsupported event type", now);
+            return;
+        }
+        if (target.getStatus() != PaymentStatus.PROCESSING) {
+            finish(event, WebhookEventStatus.IGNORED, "Payment is " + target.getStatus(), now);
+            return;
+        }
+
+        if (succeeded) {
+            if (target.getExternalTransactionId() == null) {
+                target.setExternalTransactionId(event.getExternalTransactionId());
+            }
+            paymentService.completePayment(target.getId());
+        } else {
+            paymentService.failPayment(target.getId(), event.getFailureReason() != null
+                    ? event.getFailureReason() : "Payment failed at provider");
+        }
+        finish(event, WebhookEventStatus.PROCESSED, null, now);
+    }
+
+    private Optional<Payment> findPaymentForUpdate(WebhookEvent event) {
+        Long paymentId = event.getPaymentId();
+        if (paymentId == null) {
+            paymentId = paymentRepository.findByExternalTransactionId(event.getExternalTransactionId())
+                    .map(Payment::getId)
+                    .orElse(null);
+        }
+        return paymentId != null ? paymentRepository.findByIdForUpdate(paymentId) : Optional.empty();
+    }
+
+    private void recordFailure(Long eventRowId, Exception cause) {
+        webhookEventRepository.findById(eventRowId).ifPresent(event -> {
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            if (attempts >= maxAttempts) {
+                finish(event, WebhookEventStatus.FAILED, truncate(cause.getMessage()), LocalDateTime.now());
+            } else {
+                event.setLastError(truncate(cause.getMessage()));
+                event.setAvailableAt(LocalDateTime.now().plusSeconds(retryDelaySeconds * attempts));
+            }
+        });
+    }
+
+    private void finish(WebhookEvent event, WebhookEventStatus outcome, String detail, LocalDateTime now) {
+        event.finish(outcome, detail, now);
+        countOutcome(outcome.name().toLowerCase());
+    }
+
+    private void countOutcome(String outcome) {
+        meterRegistry.counter("payment.webhook.events", "outcome", outcome).increment();
+    }
+
+    private static String truncate(String value) {
+        return value != null && value.length() > MAX_ERROR_LENGTH ? value.substring(0, MAX_ERROR_LENGTH) : value;
+    }
+}
@@ -0,0 +1,181 @@
+package com.mshando.paymentservice.controller;
+
+import com.mshando.paymentservice.exception.GlobalExceptionHandler;
+import com.mshando.paymentservice.service.IdempotencyService;
+import com.mshando.paymentservice.service.PaymentExportService;
+import com.mshando.paymentservice.service.PaymentService;
+import com.mshando.paymentservice.service.RevenueRollupService;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test suite for PaymentController payment exports on their own executor.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Payment Export Endpoint Tests")
+class PaymentControllerExportTest {
+
+    private static final String EXPORT_URL =
+            "/api/payments/export?startDate=2025-08-01T00:00:00&endDate=2025-09-01T00:00:00";
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private RevenueRollupService revenueRollupService;
+
+    @Mock
+    private PaymentExportService paymentExportService;
+
+    private ThreadPoolTaskExecutor exportExecutor;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        exportExecutor = new ThreadPoolTaskExecutor();
+        exportExecutor.setCorePoolSize(1);
+        exportExecutor.setMaxPoolSize(1);
+        exportExecutor.setQueueCapacity(0);
+        exportExecutor.setThreadNamePrefix("payment-export-");
+        exportExecutor.initialize();
+
+        PaymentController controller = new PaymentController(paymentService, idempotencyService,
+                revenueRollupService, paymentExportService, exportExecutor);
+        ReflectionTestUtils.setField(controller, "exportTimeoutMs", 10_000L);
+        controller.setMaxConcurrentExports(1);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        exportExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should stream the export from the export executor")
+    void shouldStreamOnExportExecutor() throws Exception {
+        AtomicReference<String> exportThread = new AtomicReference<>();
+        when(paymentExportService.exportPayments(any(), any(), any(), any())).thenAnswer(call -> {
+            exportThread.set(Thread.currentThread().getName());
+            OutputStream out = call.getArgument(3);
+            out.write("id,amount\n1,10.00\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult started = mockMvc.perform(get(EXPORT_URL))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, Matchers.startsWith("text/csv")))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, Matchers.containsString("payments-2025-08-01")))
+                .andExpect(content().string("id,amount\n1,10.00\n"));
+        assertThat(exportThread.get()).startsWith("payment-export-");
+    }
+
+    @Test
+    @DisplayName("Should reject an export with 503 while the export executor is saturated")
+    void shouldRejectExportWhenSaturated() throws Exception {
+        CountDownLatch exporting = new CountDownLatch(1);
+        CountDownLatch finishExport = new CountDownLatch(1);
+        when(paymentExportService.exportPayments(any(), any(), any(), any())).thenAnswer(call -> {
+            exporting.countDown();
+            finishExport.await(5, TimeUnit.SECONDS);
+            return 0L;
+        });
+
+        MvcResult running = mockMvc.perform(get(EXPORT_URL)).andReturn();
+        assertThat(exporting.await(5, TimeUnit.SECONDS)).isTrue();
+
+        mockMvc.perform(get(EXPORT_URL))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION));
+
+        finishExport.countDown();
+        running.getAsyncResult(TimeUnit.SECONDS.toMillis(5));
+        mockMvc.perform(asyncDispatch(running)).andExpect(status().isOk());
+        verify(paymentExportService, times(1)).exportPayments(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should refuse further writes once the export request has timed out")
+    void shouldStopWritingAfterTimeout() throws Exception {
+        CountDownLatch exporting = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        CountDownLatch exportDone = new CountDownLatch(1);
+        AtomicReference<Exception> writeFailure = new AtomicReference<>();
+        when(paymentExportService.exportPayments(any(), any(), any(), any())).thenAnswer(call -> {
+            exporting.countDown();
+            try {
+                resume.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                // A blocked database read does not stop on interrupt, so keep going
+                Thread.currentThread().interrupt();
+            }
+            try {
+                OutputStream out = call.getArgument(3);
+                out.write("id,amount\n".getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                writeFailure.set(e);
+                throw e;
+            } finally {
+                exportDone.countDown();
+            }
+            return 0L;
+        });
+
+        MvcResult started = mockMvc.perform(get(EXPORT_URL)).andReturn();
+        assertThat(exporting.await(5, TimeUnit.SECONDS)).isTrue();
+        MockAsyncContext asyncContext = (MockAsyncContext) started.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        resume.countDown();
+
+        assertThat(exportDone.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(writeFailure.get()).isInstanceOf(IOException.class);
+        assertThat(started.getResponse().getContentAsString()).doesNotContain("id,amount");
+    }
+}
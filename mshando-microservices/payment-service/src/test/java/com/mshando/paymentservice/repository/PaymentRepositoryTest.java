@@ -13,6 +13,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -210,21 +211,31 @@ class PaymentRepositoryTest extends BaseIntegrationTest {
     }
     
     @Test
-    @DisplayName("Should find retriable payments")
-    void shouldFindRetriablePayments() {
+    @DisplayName("Should find payments due for retry")
+    void shouldFindDueRetries() {
         // Given
-        Payment retriablePayment = TestDataFactory.createRetriablePayment();
+        LocalDateTime now = LocalDateTime.now();
+        Payment duePayment = TestDataFactory.createRetriablePayment();
+        duePayment.setNextRetryAt(now.minusMinutes(1));
+        Payment notYetDuePayment = TestDataFactory.createRetriablePayment();
+        notYetDuePayment.setNextRetryAt(now.plusMinutes(10));
         Payment maxRetriedPayment = TestDataFactory.createMaxRetriedPayment();
+        maxRetriedPayment.setNextRetryAt(now.minusMinutes(1));
         Payment completedPayment = TestDataFactory.createPaymentWithStatus(PaymentStatus.COMPLETED);
+        // Failed before retry times were recorded
+        Payment unscheduledPayment = TestDataFactory.createRetriablePayment();
+        unscheduledPayment.setNextRetryAt(null);
         
-        paymentRepository.saveAll(Arrays.asList(retriablePayment, maxRetriedPayment, completedPayment));
+        paymentRepository.saveAll(Arrays.asList(duePayment, notYetDuePayment, maxRetriedPayment, completedPayment,
+                unscheduledPayment));
         
         // When
-        List<Payment> result = paymentRepository.findRetriablePayments(PaymentStatus.FAILED);
+        List<Payment> result = paymentRepository.findDueRetries(PaymentStatus.FAILED, now, PageRequest.of(0, 10));
         
         // Then
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getRetryCount()).isLessThan(result.get(0).getMaxRetries());
+        assertThat(result).extracting(Payment::getId)
+                .containsExactly(unscheduledPayment.getId(), duePayment.getId());
+        assertThat(paymentRepository.countDueRetries(PaymentStatus.FAILED, now)).isEqualTo(2);
     }
     
     @Test
@@ -466,6 +477,58 @@ class PaymentRepositoryTest extends BaseIntegrationTest {
         assertThat(result.get(0).getCreatedAt()).isAfter(since);
     }
     
+    @Test
+    @Transactional
+    @DisplayName("Should find claimable payments oldest first, skipping active leases")
+    void shouldFindClaimablePaymentsOldestFirst() {
+        // Given
+        Payment first = paymentRepository.save(TestDataFactory.createPayment());
+        Payment second = paymentRepository.save(TestDataFactory.createPayment());
+        Payment retry = paymentRepository.save(TestDataFactory.createPaymentWithStatus(PaymentStatus.RETRY_PENDING));
+        Payment leased = TestDataFactory.createPayment();
+        leased.claim("other-worker", LocalDateTime.now().plusMinutes(5));
+        paymentRepository.save(leased);
+        paymentRepository.save(TestDataFactory.createPaymentWithStatus(PaymentStatus.COMPLETED));
+        
+        // When
+        List<Payment> result = paymentRepository.findClaimablePayments(
+                Arrays.asList(PaymentStatus.PENDING, PaymentStatus.RETRY_PENDING),
+                LocalDateTime.now(), LocalDateTime.now().minusMinutes(5), PageRequest.of(0, 10));
+        
+        // Then
+        assertThat(result).extracting(Payment::getId)
+                .containsExactly(first.getId(), second.getId(), retry.getId());
+    }
+    
+    @Test
+    @Transactional
+    @DisplayName("Should reclaim payments stalled in processing once their lease expires")
+    void shouldFindStalledProcessingPayments() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Payment expired = TestDataFactory.createPaymentWithStatus(PaymentStatus.PROCESSING);
+        expired.claim("stopped-worker", now.minusMinutes(1));
+        expired = paymentRepository.save(expired);
+        Payment inFlight = TestDataFactory.createPaymentWithStatus(PaymentStatus.PROCESSING);
+        inFlight.claim("busy-worker", now.plusMinutes(5));
+        paymentRepository.save(inFlight);
+        Payment unleasedOld = TestDataFactory.createPaymentWithStatus(PaymentStatus.PROCESSING);
+        unleasedOld.setProcessedAt(now.minusHours(1));
+        unleasedOld = paymentRepository.save(unleasedOld);
+        Payment unleasedRecent = TestDataFactory.createPaymentWithStatus(PaymentStatus.PROCESSING);
+        unleasedRecent.setProcessedAt(now.minusMinutes(1));
+        paymentRepository.save(unleasedRecent);
+        
+        // When
+        List<Payment> result = paymentRepository.findClaimablePayments(
+                Arrays.asList(PaymentStatus.PENDING, PaymentStatus.RETRY_PENDING),
+                now, now.minusMinutes(5), PageRequest.of(0, 10));
+        
+        // Then
+        assertThat(result).extracting(Payment::getId)
+                .containsExactly(expired.getId(), unleasedOld.getId());
+    }
+    
     @Test
     @DisplayName("Should handle payment entity business logic")
     void shouldHandlePaymentEntityBusinessLogic() {
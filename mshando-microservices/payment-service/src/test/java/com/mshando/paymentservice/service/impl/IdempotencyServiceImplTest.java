@@ -0,0 +1,163 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mshando.paymentservice.exception.IdempotencyConflictException;
+import com.mshando.paymentservice.model.IdempotencyRecord;
+import com.mshando.paymentservice.model.IdempotencyStatus;
+import com.mshando.paymentservice.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for IdempotencyServiceImpl locks on unfinished keys.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Idempotency Service Tests")
+class IdempotencyServiceImplTest {
+
+    private static final String KEY = "key-1";
+    private static final String SCOPE = "user:42";
+    private static final Long RECORD_ID = 5L;
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    private final AtomicInteger actionRuns = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(idempotencyRecordRepository, new ObjectMapper(),
+                transactionManager, 100, 60);
+        ReflectionTestUtils.setField(idempotencyService, "ttlHours", 24L);
+        ReflectionTestUtils.setField(idempotencyService, "inFlightWaitSeconds", 1L);
+        ReflectionTestUtils.setField(idempotencyService, "lockSeconds", 120L);
+    }
+
+    @Test
+    @DisplayName("Should take over a key left in progress once its lock has expired")
+    void shouldTakeOverStaleKey() {
+        IdempotencyRecord stale = inProgress(LocalDateTime.now().minusMinutes(1));
+        when(idempotencyRecordRepository.findByScopeAndIdempotencyKey(SCOPE, KEY)).thenReturn(Optional.of(stale));
+        when(idempotencyRecordRepository.takeOverLock(eq(RECORD_ID), any(), any(), any())).thenReturn(1);
+        when(idempotencyRecordRepository.markCompleted(eq(RECORD_ID), any(), eq(IdempotencyStatus.COMPLETED),
+                anyString(), any())).thenReturn(1);
+
+        Map<?, ?> response = execute();
+
+        assertThat(response.get("status")).isEqualTo("ok");
+        assertThat(actionRuns).hasValue(1);
+        ArgumentCaptor<LocalDateTime> takenUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> completedUnder = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(idempotencyRecordRepository).takeOverLock(eq(RECORD_ID), takenUntil.capture(), any(), any());
+        verify(idempotencyRecordRepository).markCompleted(eq(RECORD_ID), completedUnder.capture(),
+                eq(IdempotencyStatus.COMPLETED), anyString(), any());
+        assertThat(completedUnder.getValue()).isEqualTo(takenUntil.getValue()).isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Should take over a key reserved without a lock once it is older than the lock time")
+    void shouldTakeOverOldKeyWithoutLock() {
+        IdempotencyRecord legacy = inProgress(null);
+        legacy.setCreatedAt(LocalDateTime.now().minusMinutes(10));
+        when(idempotencyRecordRepository.findByScopeAndIdempotencyKey(SCOPE, KEY)).thenReturn(Optional.of(legacy));
+        when(idempotencyRecordRepository.takeOverLock(eq(RECORD_ID), any(), any(), any())).thenReturn(1);
+        when(idempotencyRecordRepository.markCompleted(eq(RECORD_ID), any(), any(), anyString(), any())).thenReturn(1);
+
+        execute();
+
+        assertThat(actionRuns).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a duplicate while the original request still holds the lock")
+    void shouldRejectWhileLocked() {
+        IdempotencyRecord running = inProgress(LocalDateTime.now().plusMinutes(1));
+        when(idempotencyRecordRepository.findByScopeAndIdempotencyKey(SCOPE, KEY)).thenReturn(Optional.of(running));
+
+        assertThatThrownBy(this::execute).isInstanceOf(IdempotencyConflictException.class);
+
+        assertThat(actionRuns).hasValue(0);
+        verify(idempotencyRecordRepository, never()).takeOverLock(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject a duplicate that loses the race to take over a stale key")
+    void shouldRejectLostTakeOver() {
+        IdempotencyRecord stale = inProgress(LocalDateTime.now().minusMinutes(1));
+        when(idempotencyRecordRepository.findByScopeAndIdempotencyKey(SCOPE, KEY)).thenReturn(Optional.of(stale));
+        when(idempotencyRecordRepository.takeOverLock(eq(RECORD_ID), any(), any(), any())).thenReturn(0);
+
+        assertThatThrownBy(this::execute).isInstanceOf(IdempotencyConflictException.class);
+
+        assertThat(actionRuns).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should release only its own lock when the action fails")
+    void shouldReleaseOwnLockOnFailure() {
+        when(idempotencyRecordRepository.findByScopeAndIdempotencyKey(SCOPE, KEY)).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class))).thenAnswer(call -> {
+            IdempotencyRecord record = call.getArgument(0);
+            record.setId(RECORD_ID);
+            return record;
+        });
+
+        assertThatThrownBy(() -> idempotencyService.execute(KEY, SCOPE, "create", Map.of("amount", 10),
+                Map.class, () -> {
+                    throw new IllegalStateException("provider down");
+                })).isInstanceOf(IllegalStateException.class);
+
+        ArgumentCaptor<IdempotencyRecord> reserved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).saveAndFlush(reserved.capture());
+        verify(idempotencyRecordRepository).releaseLock(RECORD_ID, reserved.getValue().getLockedUntil());
+        verify(idempotencyRecordRepository, never()).deleteById(any());
+    }
+
+    private Map<?, ?> execute() {
+        return idempotencyService.execute(KEY, SCOPE, "create", Map.of("amount", 10), Map.class, () -> {
+            actionRuns.incrementAndGet();
+            return Map.of("status", "ok");
+        });
+    }
+
+    private IdempotencyRecord inProgress(LocalDateTime lockedUntil) {
+        String fingerprint = (String) ReflectionTestUtils.invokeMethod(idempotencyService, "fingerprint",
+                "create", Map.of("amount", 10));
+        LocalDateTime now = LocalDateTime.now();
+        return IdempotencyRecord.builder()
+                .id(RECORD_ID)
+                .idempotencyKey(KEY)
+                .scope(SCOPE)
+                .operation("create")
+                .requestFingerprint(fingerprint)
+                .status(IdempotencyStatus.IN_PROGRESS)
+                .createdAt(now.minusMinutes(3))
+                .expiresAt(now.plusHours(23))
+                .lockedUntil(lockedUntil)
+                .build();
+    }
+}
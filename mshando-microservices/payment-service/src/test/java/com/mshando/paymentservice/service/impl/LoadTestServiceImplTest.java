@@ -0,0 +1,175 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.mshando.paymentservice.dto.LoadTestRequestDTO;
+import com.mshando.paymentservice.dto.LoadTestResultDTO;
+import com.mshando.paymentservice.dto.LoadTestResultDTO.LatencySummary;
+import com.mshando.paymentservice.dto.PaymentCreateDTO;
+import com.mshando.paymentservice.dto.PaymentResponseDTO;
+import com.mshando.paymentservice.event.PaymentStatusChangedEvent;
+import com.mshando.paymentservice.model.PaymentStatus;
+import com.mshando.paymentservice.model.PaymentType;
+import com.mshando.paymentservice.service.PaymentService;
+import com.mshando.paymentservice.service.PaymentWorkQueue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for LoadTestServiceImpl arrival scheduling and latency percentiles.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Load Test Service Tests")
+class LoadTestServiceImplTest {
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private PaymentWorkQueue paymentWorkQueue;
+
+    @Mock
+    private DataSource dataSource;
+
+    private LoadTestServiceImpl loadTestService;
+
+    private final AtomicLong paymentIds = new AtomicLong();
+
+    private final List<Long> createdAt = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        loadTestService = new LoadTestServiceImpl(paymentService, paymentWorkQueue, dataSource, Runnable::run);
+        ReflectionTestUtils.setField(loadTestService, "customerId", 1L);
+        ReflectionTestUtils.setField(loadTestService, "taskerId", 2L);
+        ReflectionTestUtils.setField(loadTestService, "sampleIntervalMs", 50L);
+    }
+
+    @Test
+    @DisplayName("Should start flows at the requested arrival rate")
+    void shouldStartFlowsAtArrivalRate() throws Exception {
+        settleEveryPayment(0);
+
+        LoadTestResultDTO result = loadTestService.run(request(20, 1, 8));
+
+        assertThat(result.getStarted()).isEqualTo(20);
+        assertThat(result.getCompleted()).isEqualTo(20);
+        // 20 flows at 20/s: the last one is due 950 ms after the first. The first create can
+        // start late while the pool warms up, which shortens the measured span a little
+        List<Long> sorted = createdAt.stream().sorted().toList();
+        long spanMs = TimeUnit.NANOSECONDS.toMillis(sorted.get(sorted.size() - 1) - sorted.get(0));
+        assertThat(spanMs).isBetween(850L, 1500L);
+        assertThat(result.getLatencies().get("endToEnd").getCount()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should measure latency from the due time when the service falls behind")
+    void shouldMeasureLatencyFromDueTime() throws Exception {
+        // One client thread and 100 ms per create: later flows start well after they were due
+        settleEveryPayment(100);
+
+        LoadTestResultDTO result = loadTestService.run(request(20, 1, 1));
+
+        LatencySummary create = result.getLatencies().get("create");
+        assertThat(create.getCount()).isEqualTo(20);
+        assertThat(create.getP50()).isGreaterThanOrEqualTo(100);
+        // The last flow waited behind 19 others of 100 ms each, less the 950 ms schedule
+        assertThat(create.getMax()).isGreaterThanOrEqualTo(1000);
+        assertThat(create.getMax()).isGreaterThan(create.getP50());
+    }
+
+    @Test
+    @DisplayName("Should report nearest-rank percentiles in milliseconds")
+    void shouldComputePercentiles() {
+        LoadTestServiceImpl.LatencyRecorder recorder = new LoadTestServiceImpl.LatencyRecorder(1000);
+        // Recorded out of order: 1 ms to 1000 ms
+        for (int ms = 1000; ms >= 1; ms--) {
+            recorder.record(TimeUnit.MILLISECONDS.toNanos(ms));
+        }
+
+        LatencySummary summary = recorder.summarize();
+
+        assertThat(summary.getCount()).isEqualTo(1000);
+        assertThat(summary.getMean()).isEqualTo(500.5);
+        assertThat(summary.getP50()).isEqualTo(500.0);
+        assertThat(summary.getP90()).isEqualTo(900.0);
+        assertThat(summary.getP99()).isEqualTo(990.0);
+        assertThat(summary.getP999()).isEqualTo(999.0);
+        assertThat(summary.getMax()).isEqualTo(1000.0);
+    }
+
+    @Test
+    @DisplayName("Should report small and empty samples without interpolation")
+    void shouldSummarizeSmallSamples() {
+        LoadTestServiceImpl.LatencyRecorder single = new LoadTestServiceImpl.LatencyRecorder(4);
+        single.record(1_234_567);
+        LatencySummary one = single.summarize();
+        assertThat(one.getP50()).isEqualTo(1.23);
+        assertThat(one.getP999()).isEqualTo(1.23);
+        assertThat(one.getMax()).isEqualTo(1.23);
+
+        LoadTestServiceImpl.LatencyRecorder full = new LoadTestServiceImpl.LatencyRecorder(2);
+        full.record(TimeUnit.MILLISECONDS.toNanos(5));
+        full.record(TimeUnit.MILLISECONDS.toNanos(7));
+        full.record(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(full.summarize().getCount()).isEqualTo(2);
+        assertThat(full.summarize().getMax()).isEqualTo(7.0);
+
+        assertThat(new LoadTestServiceImpl.LatencyRecorder(4).summarize().getCount()).isZero();
+    }
+
+    /**
+     * Create payments taking createMillis each and settle them as soon as processing is requested
+     */
+    private void settleEveryPayment(long createMillis) throws Exception {
+        when(paymentWorkQueue.getActiveWorkerCount()).thenReturn(0);
+        when(paymentService.createPayment(any(PaymentCreateDTO.class), anyString())).thenAnswer(call -> {
+            createdAt.add(System.nanoTime());
+            if (createMillis > 0) {
+                Thread.sleep(createMillis);
+            }
+            return PaymentResponseDTO.builder().id(paymentIds.incrementAndGet()).build();
+        });
+        when(paymentService.processPaymentAsync(anyLong())).thenAnswer(call -> {
+            Long paymentId = call.getArgument(0);
+            loadTestService.onPaymentStatusChanged(event(paymentId, PaymentStatus.PROCESSING));
+            loadTestService.onPaymentStatusChanged(event(paymentId, PaymentStatus.COMPLETED));
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    private static LoadTestRequestDTO request(double arrivalRate, int durationSeconds, int clientThreads) {
+        return LoadTestRequestDTO.builder()
+                .arrivalRate(arrivalRate)
+                .durationSeconds(durationSeconds)
+                .flowTimeoutSeconds(5)
+                .clientThreads(clientThreads)
+                .refundRatio(0)
+                .build();
+    }
+
+    private static PaymentStatusChangedEvent event(Long paymentId, PaymentStatus status) {
+        return PaymentStatusChangedEvent.builder()
+                .paymentId(paymentId)
+                .paymentType(PaymentType.TASK_PAYMENT)
+                .status(status)
+                .build();
+    }
+}
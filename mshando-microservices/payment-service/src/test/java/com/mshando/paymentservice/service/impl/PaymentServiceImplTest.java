@@ -0,0 +1,283 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.mshando.paymentservice.TestDataFactory;
+import com.mshando.paymentservice.dto.PaymentRefundDTO;
+import com.mshando.paymentservice.dto.PaymentResponseDTO;
+import com.mshando.paymentservice.dto.WalletBalanceDTO;
+import com.mshando.paymentservice.exception.InvalidPaymentOperationException;
+import com.mshando.paymentservice.model.Payment;
+import com.mshando.paymentservice.model.PaymentStatus;
+import com.mshando.paymentservice.model.WalletAccountType;
+import com.mshando.paymentservice.repository.PaymentRepository;
+import com.mshando.paymentservice.service.PaymentProviderService;
+import com.mshando.paymentservice.service.ProviderHealthService;
+import com.mshando.paymentservice.service.RevenueRollupService;
+import com.mshando.paymentservice.service.WalletService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.net.SocketTimeoutException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for PaymentServiceImpl processing, refunds and totals.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Payment Service Tests")
+class PaymentServiceImplTest {
+
+    private static final Long PAYMENT_ID = 11L;
+    private static final String WORKER_ID = "instance-1";
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentProviderService paymentProviderService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private WalletService walletService;
+
+    @Mock
+    private RevenueRollupService revenueRollupService;
+
+    @Mock
+    private ProviderHealthService providerHealthService;
+
+    @Mock
+    private RetryBackoffPolicy retryBackoffPolicy;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PaymentServiceImpl paymentService;
+
+    @BeforeEach
+    void setUp() {
+        paymentService = new PaymentServiceImpl(paymentRepository, paymentProviderService, eventPublisher,
+                walletService, revenueRollupService, providerHealthService, retryBackoffPolicy,
+                new TransactionTemplate(transactionManager), new SimpleMeterRegistry(), Runnable::run);
+        ReflectionTestUtils.setField(paymentService, "serviceFeePercentage", BigDecimal.TEN);
+        ReflectionTestUtils.setField(paymentService, "leaseSeconds", 300L);
+    }
+
+    @Test
+    @DisplayName("Should hold the worker's lease until the provider outcome is recorded")
+    void shouldKeepLeaseUntilOutcomeIsRecorded() throws Exception {
+        Payment payment = stored(PaymentStatus.PENDING);
+        payment.claim(WORKER_ID, LocalDateTime.now().plusMinutes(5));
+        when(paymentProviderService.processPayment(eq(payment), anyString())).thenAnswer(call -> {
+            assertThat(payment.getStatus()).isEqualTo(PaymentStatus.PROCESSING);
+            assertThat(payment.getClaimedBy()).isEqualTo(WORKER_ID);
+            return "txn_1";
+        });
+
+        paymentService.processClaimedPayment(PAYMENT_ID, WORKER_ID).join();
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(payment.getExternalTransactionId()).isEqualTo("txn_1");
+        assertThat(payment.getClaimedBy()).isNull();
+        assertThat(payment.getLeaseExpiresAt()).isNull();
+        verify(walletService).recordPayment(payment);
+    }
+
+    @Test
+    @DisplayName("Should lease payments processed on request so a stalled call is recovered")
+    void shouldLeaseDirectlyProcessedPayments() throws Exception {
+        Payment payment = stored(PaymentStatus.PENDING);
+        when(paymentProviderService.processPayment(eq(payment), anyString())).thenAnswer(call -> {
+            assertThat(payment.getClaimedBy()).isNotNull();
+            assertThat(payment.getLeaseExpiresAt()).isAfter(LocalDateTime.now());
+            throw new IllegalStateException("card declined");
+        });
+
+        paymentService.processPaymentAsync(PAYMENT_ID).join();
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        assertThat(payment.getClaimedBy()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should send a payment stalled in processing to the provider again")
+    void shouldResumeStalledPayment() throws Exception {
+        Payment payment = stored(PaymentStatus.PROCESSING);
+        payment.claim(WORKER_ID, LocalDateTime.now().plusMinutes(5));
+        when(paymentProviderService.processPayment(eq(payment), anyString())).thenReturn("txn_2");
+
+        paymentService.processClaimedPayment(PAYMENT_ID, WORKER_ID).join();
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(payment.getClaimedBy()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should drop a provider failure that arrives after another worker took over the claim")
+    void shouldDropLateFailureAfterTakeover() throws Exception {
+        Payment payment = stored(PaymentStatus.PROCESSING);
+        payment.claim(WORKER_ID, LocalDateTime.now().plusMinutes(5));
+        when(paymentProviderService.processPayment(eq(payment), anyString())).thenAnswer(call -> {
+            payment.claim("instance-2", LocalDateTime.now().plusMinutes(5));
+            throw new SocketTimeoutException("read timed out");
+        });
+
+        paymentService.processClaimedPayment(PAYMENT_ID, WORKER_ID).join();
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.PROCESSING);
+        assertThat(payment.getClaimedBy()).isEqualTo("instance-2");
+        assertThat(payment.getFailedAt()).isNull();
+        verifyNoInteractions(retryBackoffPolicy);
+    }
+
+    @Test
+    @DisplayName("Should drop a provider success for a payment finished while the call was in flight")
+    void shouldDropLateSuccessOfFinishedPayment() throws Exception {
+        Payment payment = stored(PaymentStatus.PROCESSING);
+        payment.claim(WORKER_ID, LocalDateTime.now().plusMinutes(5));
+        when(paymentProviderService.processPayment(eq(payment), anyString())).thenAnswer(call -> {
+            // Completed by a provider webhook in the meantime
+            payment.releaseClaim();
+            payment.setStatus(PaymentStatus.COMPLETED);
+            payment.setExternalTransactionId("txn_webhook");
+            return "txn_3";
+        });
+
+        paymentService.processClaimedPayment(PAYMENT_ID, WORKER_ID).join();
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(payment.getExternalTransactionId()).isEqualTo("txn_webhook");
+        verifyNoInteractions(walletService);
+    }
+
+    @Test
+    @DisplayName("Should charge a resumed payment with the idempotency key of its attempt")
+    void shouldReuseIdempotencyKeyWhenResumed() throws Exception {
+        Payment payment = stored(PaymentStatus.PROCESSING);
+        payment.claim(WORKER_ID, LocalDateTime.now().plusMinutes(5));
+        when(paymentProviderService.processPayment(eq(payment), anyString())).thenReturn("txn_4");
+
+        paymentService.processClaimedPayment(PAYMENT_ID, WORKER_ID).join();
+
+        verify(paymentProviderService).processPayment(payment, "payment-" + PAYMENT_ID + "-" + payment.getRetryCount());
+    }
+
+    @Test
+    @DisplayName("Should not process a payment whose claim another worker has taken over")
+    void shouldRejectLostClaim() throws Exception {
+        Payment payment = stored(PaymentStatus.PROCESSING);
+        payment.claim("instance-2", LocalDateTime.now().plusMinutes(5));
+
+        assertThatThrownBy(() -> paymentService.processClaimedPayment(PAYMENT_ID, WORKER_ID))
+                .isInstanceOf(InvalidPaymentOperationException.class);
+
+        verify(paymentProviderService, never()).processPayment(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should refuse to process a payment in processing on request")
+    void shouldRejectDirectProcessingOfProcessingPayment() throws Exception {
+        stored(PaymentStatus.PROCESSING);
+
+        assertThatThrownBy(() -> paymentService.processPaymentAsync(PAYMENT_ID))
+                .isInstanceOf(InvalidPaymentOperationException.class);
+
+        verify(paymentProviderService, never()).processPayment(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should call the provider for a refund between two short transactions")
+    void shouldRefundOutsideTransaction() throws Exception {
+        Payment original = stored(PaymentStatus.COMPLETED);
+        Payment[] refund = new Payment[1];
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(call -> {
+            Payment saved = call.getArgument(0);
+            if (saved.getId() == null) {
+                saved.setId(PAYMENT_ID + 1);
+                refund[0] = saved;
+                when(paymentRepository.findById(saved.getId())).thenReturn(Optional.of(saved));
+            }
+            return saved;
+        });
+        when(paymentProviderService.processRefund(eq(original), any(Payment.class))).thenAnswer(call -> {
+            // The refund was committed as pending before the call, and nothing is open during it
+            verify(transactionManager, times(1)).getTransaction(any());
+            verify(transactionManager, times(1)).commit(any());
+            assertThat(refund[0].getStatus()).isEqualTo(PaymentStatus.REFUND_PENDING);
+            return "refund_1";
+        });
+
+        PaymentResponseDTO result = paymentService.refundPayment(PAYMENT_ID,
+                PaymentRefundDTO.builder().reason("duplicate").build());
+
+        assertThat(result.getStatus()).isEqualTo(PaymentStatus.REFUNDED);
+        assertThat(original.getRefundedAt()).isNotNull();
+        verify(transactionManager, times(2)).commit(any());
+        verify(walletService).recordPayment(refund[0]);
+    }
+
+    @Test
+    @DisplayName("Should record a refund the provider rejected as failed")
+    void shouldRecordFailedRefund() throws Exception {
+        Payment original = stored(PaymentStatus.COMPLETED);
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(call -> {
+            Payment saved = call.getArgument(0);
+            if (saved.getId() == null) {
+                saved.setId(PAYMENT_ID + 1);
+                when(paymentRepository.findById(saved.getId())).thenReturn(Optional.of(saved));
+            }
+            return saved;
+        });
+        when(paymentProviderService.processRefund(eq(original), any(Payment.class)))
+                .thenThrow(new IllegalStateException("charge already refunded"));
+
+        PaymentResponseDTO result = paymentService.refundPayment(PAYMENT_ID,
+                PaymentRefundDTO.builder().reason("duplicate").build());
+
+        assertThat(result.getStatus()).isEqualTo(PaymentStatus.REFUND_FAILED);
+        assertThat(result.getFailureReason()).isEqualTo("charge already refunded");
+        assertThat(original.getRefundedAt()).isNull();
+        verifyNoInteractions(walletService);
+    }
+
+    @Test
+    @DisplayName("Should report totals from the wallet in the requested currency only")
+    void shouldReportTotalsInOneCurrency() {
+        when(walletService.getWallet(WalletAccountType.TASKER, 3L, "EUR"))
+                .thenReturn(WalletBalanceDTO.builder().currency("EUR").balance(new BigDecimal("45.00")).build());
+        when(walletService.getWallet(WalletAccountType.CUSTOMER, 2L, "EUR"))
+                .thenReturn(WalletBalanceDTO.builder().currency("EUR").balance(new BigDecimal("-50.00")).build());
+
+        assertThat(paymentService.calculateTaskerTotalEarnings(3L, "EUR")).isEqualByComparingTo("45.00");
+        assertThat(paymentService.calculateCustomerTotalPayments(2L, "EUR")).isEqualByComparingTo("50.00");
+    }
+
+    private Payment stored(PaymentStatus status) {
+        Payment payment = TestDataFactory.createPaymentWithStatus(status);
+        payment.setId(PAYMENT_ID);
+        payment.setPersistedStatus(status);
+        lenient().when(paymentRepository.findByIdForUpdate(PAYMENT_ID)).thenReturn(Optional.of(payment));
+        lenient().when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.of(payment));
+        lenient().when(paymentRepository.save(any(Payment.class))).thenAnswer(call -> call.getArgument(0));
+        return payment;
+    }
+}
@@ -0,0 +1,231 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.mshando.paymentservice.TestDataFactory;
+import com.mshando.paymentservice.dto.ReconciliationRunDTO;
+import com.mshando.paymentservice.model.DiscrepancyType;
+import com.mshando.paymentservice.model.Payment;
+import com.mshando.paymentservice.model.PaymentStatus;
+import com.mshando.paymentservice.model.ReconciliationAction;
+import com.mshando.paymentservice.model.ReconciliationDiscrepancy;
+import com.mshando.paymentservice.model.ReconciliationRun;
+import com.mshando.paymentservice.model.ReconciliationRunStatus;
+import com.mshando.paymentservice.repository.PaymentRepository;
+import com.mshando.paymentservice.repository.PaymentRepository.ReconciliationCandidate;
+import com.mshando.paymentservice.repository.ReconciliationDiscrepancyRepository;
+import com.mshando.paymentservice.repository.ReconciliationRunRepository;
+import com.mshando.paymentservice.service.PaymentProviderService;
+import com.mshando.paymentservice.service.PaymentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for ReconciliationServiceImpl matching payments and finishing runs.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Reconciliation Service Tests")
+class ReconciliationServiceImplTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 8, 1, 0, 0);
+    private static final LocalDateTime TO = FROM.plusDays(1);
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private ReconciliationRunRepository runRepository;
+
+    @Mock
+    private ReconciliationDiscrepancyRepository discrepancyRepository;
+
+    @Mock
+    private PaymentProviderService paymentProviderService;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReconciliationServiceImpl reconciliationService;
+
+    private final List<ReconciliationDiscrepancy> recorded = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        reconciliationService = new ReconciliationServiceImpl(paymentRepository, runRepository,
+                discrepancyRepository, paymentProviderService, paymentService, transactionManager);
+        ReflectionTestUtils.setField(reconciliationService, "batchSize", 2);
+        ReflectionTestUtils.setField(reconciliationService, "concurrency", 2);
+        ReflectionTestUtils.setField(reconciliationService, "processingGraceMinutes", 30L);
+        ReflectionTestUtils.setField(reconciliationService, "applyFixes", true);
+        when(runRepository.save(any(ReconciliationRun.class))).thenAnswer(call -> {
+            ReconciliationRun run = call.getArgument(0);
+            if (run.getId() == null) {
+                run.setId(1L);
+            }
+            return run;
+        });
+        lenient().when(discrepancyRepository.saveAll(anyList())).thenAnswer(call -> {
+            List<ReconciliationDiscrepancy> batch = call.getArgument(0);
+            recorded.addAll(batch);
+            return batch;
+        });
+    }
+
+    @Test
+    @DisplayName("Should match each payment against the provider and fix stuck payments")
+    void shouldMatchPaymentsAgainstProvider() throws Exception {
+        LocalDateTime stalled = LocalDateTime.now().minusHours(2);
+        candidates(
+                candidate(1L, "pi_ok", PaymentStatus.COMPLETED, stalled),
+                candidate(2L, "pi_done", PaymentStatus.PROCESSING, stalled),
+                candidate(3L, "pi_declined", PaymentStatus.COMPLETED, stalled),
+                candidate(4L, "pi_capturing", PaymentStatus.COMPLETED, stalled),
+                candidate(5L, null, PaymentStatus.PROCESSING, stalled),
+                candidate(6L, "pi_recent", PaymentStatus.PROCESSING, LocalDateTime.now()));
+        when(paymentProviderService.checkPaymentStatus(anyString())).thenAnswer(call -> switch ((String) call.getArgument(0)) {
+            case "pi_ok", "pi_done" -> "succeeded";
+            case "pi_declined" -> "requires_payment_method";
+            default -> "requires_capture";
+        });
+        Payment stuck = TestDataFactory.createPaymentWithStatus(PaymentStatus.PROCESSING);
+        stuck.setId(2L);
+        when(paymentRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(stuck));
+
+        ReconciliationRunDTO run = reconciliationService.reconcile(FROM, TO);
+
+        assertThat(run.getStatus()).isEqualTo(ReconciliationRunStatus.COMPLETED);
+        assertThat(run.getScannedCount()).isEqualTo(6);
+        assertThat(run.getMatchedCount()).isEqualTo(1);
+        assertThat(run.getSkippedCount()).isEqualTo(1);
+        assertThat(run.getDiscrepancyCount()).isEqualTo(4);
+        assertThat(run.getFixedCount()).isEqualTo(1);
+        assertThat(run.getFailedBatchCount()).isZero();
+
+        Map<Long, ReconciliationDiscrepancy> byPayment = recorded.stream()
+                .collect(Collectors.toMap(ReconciliationDiscrepancy::getPaymentId, Function.identity()));
+        assertThat(byPayment).containsOnlyKeys(2L, 3L, 4L, 5L);
+        assertThat(byPayment.get(2L).getType()).isEqualTo(DiscrepancyType.PROVIDER_SUCCEEDED);
+        assertThat(byPayment.get(2L).isActionApplied()).isTrue();
+        assertThat(byPayment.get(3L).getAction()).isEqualTo(ReconciliationAction.MANUAL_REVIEW);
+        assertThat(byPayment.get(4L).getType()).isEqualTo(DiscrepancyType.PROVIDER_PENDING);
+        assertThat(byPayment.get(4L).getAction()).isEqualTo(ReconciliationAction.NONE);
+        assertThat(byPayment.get(5L).getType()).isEqualTo(DiscrepancyType.STUCK_WITHOUT_TRANSACTION);
+        verify(paymentService).completePayment(2L);
+        verify(paymentService, never()).failPayment(any(), any());
+        verify(paymentProviderService, never()).checkPaymentStatus("pi_recent");
+    }
+
+    @Test
+    @DisplayName("Should leave a payment finished in the meantime unchanged")
+    void shouldNotFixPaymentFinishedMeanwhile() throws Exception {
+        candidates(candidate(2L, "pi_failed", PaymentStatus.PROCESSING, LocalDateTime.now().minusHours(2)));
+        when(paymentProviderService.checkPaymentStatus("pi_failed")).thenReturn("canceled");
+        Payment finished = TestDataFactory.createPaymentWithStatus(PaymentStatus.COMPLETED);
+        when(paymentRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(finished));
+
+        ReconciliationRunDTO run = reconciliationService.reconcile(FROM, TO);
+
+        assertThat(run.getFixedCount()).isZero();
+        assertThat(recorded).singleElement().satisfies(discrepancy -> {
+            assertThat(discrepancy.getAction()).isEqualTo(ReconciliationAction.FAIL_PAYMENT);
+            assertThat(discrepancy.isActionApplied()).isFalse();
+            assertThat(discrepancy.getDetail()).contains("COMPLETED by now");
+        });
+        verifyNoInteractions(paymentService);
+    }
+
+    @Test
+    @DisplayName("Should end a run with a failed batch as partial and record the batch's payment range")
+    void shouldMarkRunPartialWhenBatchFails() throws Exception {
+        LocalDateTime completed = LocalDateTime.now().minusHours(2);
+        candidates(
+                candidate(10L, "pi_1", PaymentStatus.COMPLETED, completed),
+                candidate(12L, "pi_2", PaymentStatus.COMPLETED, completed),
+                candidate(15L, "pi_3", PaymentStatus.COMPLETED, completed));
+        when(paymentProviderService.checkPaymentStatus(anyString())).thenReturn("not_found");
+        when(discrepancyRepository.saveAll(anyList())).thenAnswer(call -> {
+            List<ReconciliationDiscrepancy> batch = call.getArgument(0);
+            if (batch.stream().anyMatch(discrepancy -> discrepancy.getPaymentId() == 10L)) {
+                throw new IllegalStateException("connection reset");
+            }
+            recorded.addAll(batch);
+            return batch;
+        });
+
+        ReconciliationRunDTO run = reconciliationService.reconcile(FROM, TO);
+
+        assertThat(run.getStatus()).isEqualTo(ReconciliationRunStatus.PARTIAL);
+        assertThat(run.getFailedBatchCount()).isEqualTo(1);
+        assertThat(run.getFailureReason()).isEqualTo("Failed batches of payment IDs 10-12: connection reset");
+        assertThat(run.getFinishedAt()).isNotNull();
+        assertThat(recorded).extracting(ReconciliationDiscrepancy::getPaymentId).containsExactly(15L);
+    }
+
+    @Test
+    @DisplayName("Should end a run whose window cannot be read as failed")
+    void shouldMarkRunFailedWhenCursorFails() {
+        when(paymentRepository.streamReconciliationCandidates(anyList(), eq(FROM), eq(TO)))
+                .thenThrow(new IllegalStateException("statement timeout"));
+
+        ReconciliationRunDTO run = reconciliationService.reconcile(FROM, TO);
+
+        assertThat(run.getStatus()).isEqualTo(ReconciliationRunStatus.FAILED);
+        assertThat(run.getFailureReason()).isEqualTo("statement timeout");
+        assertThat(run.getFinishedAt()).isNotNull();
+        verify(runRepository, times(2)).save(any(ReconciliationRun.class));
+    }
+
+    private void candidates(ReconciliationCandidate... rows) {
+        when(paymentRepository.streamReconciliationCandidates(anyList(), eq(FROM), eq(TO)))
+                .thenReturn(Stream.of(rows).sorted(Comparator.comparing(ReconciliationCandidate::getId)));
+    }
+
+    private static ReconciliationCandidate candidate(Long id, String externalTransactionId,
+                                                     PaymentStatus status, LocalDateTime processedAt) {
+        return new ReconciliationCandidate() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getExternalTransactionId() {
+                return externalTransactionId;
+            }
+
+            @Override
+            public PaymentStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public LocalDateTime getProcessedAt() {
+                return processedAt;
+            }
+        };
+    }
+}
@@ -0,0 +1,136 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.mshando.paymentservice.event.PaymentStatusChangedEvent;
+import com.mshando.paymentservice.model.PaymentStatus;
+import com.mshando.paymentservice.model.PaymentType;
+import com.mshando.paymentservice.model.RollupGranularity;
+import com.mshando.paymentservice.repository.PaymentRevenueRollupRepository;
+import com.mshando.paymentservice.repository.PaymentRevenueRollupRepository.DayCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for RevenueRollupServiceImpl backfilling incomplete days and
+ * serializing rebuilds with status changes.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Revenue Rollup Service Tests")
+class RevenueRollupServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 8, 1);
+
+    @Mock
+    private PaymentRevenueRollupRepository rollupRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RevenueRollupServiceImpl rollupService;
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new RevenueRollupServiceImpl(rollupRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should rebuild only the days whose rollups do not count all of their payments")
+    void shouldRebuildIncompleteDays() {
+        when(rollupRepository.countPaymentsByDay()).thenReturn(List.of(
+                dayCount(DAY, 3), dayCount(DAY.plusDays(1), 5), dayCount(DAY.plusDays(2), 2)));
+        // Day 2 holds only the delta of a later status change, day 4 only payments since deleted
+        when(rollupRepository.countRolledUpByDay(RollupGranularity.DAILY)).thenReturn(List.of(
+                dayCount(DAY, 3), dayCount(DAY.plusDays(1), 0), dayCount(DAY.plusDays(3), 1)));
+        when(rollupRepository.streamPayments(any(), any())).thenAnswer(call -> Stream.empty());
+
+        int rebuilt = rollupService.backfillIncompleteDays();
+
+        assertThat(rebuilt).isEqualTo(3);
+        verify(rollupRepository).deleteBuckets(RollupGranularity.DAILY, DAY.plusDays(1).atStartOfDay(),
+                DAY.plusDays(2).atStartOfDay());
+        verify(rollupRepository).deleteBuckets(RollupGranularity.DAILY, DAY.plusDays(2).atStartOfDay(),
+                DAY.plusDays(3).atStartOfDay());
+        verify(rollupRepository).deleteBuckets(RollupGranularity.DAILY, DAY.plusDays(3).atStartOfDay(),
+                DAY.plusDays(4).atStartOfDay());
+        verify(rollupRepository, never()).deleteBuckets(any(), eq(DAY.atStartOfDay()), any());
+    }
+
+    @Test
+    @DisplayName("Should leave complete rollups untouched")
+    void shouldSkipCompleteHistory() {
+        when(rollupRepository.countPaymentsByDay()).thenReturn(List.of(dayCount(DAY, 3)));
+        when(rollupRepository.countRolledUpByDay(RollupGranularity.DAILY)).thenReturn(List.of(dayCount(DAY, 3)));
+
+        assertThat(rollupService.backfillIncompleteDays()).isZero();
+
+        verify(rollupRepository, never()).deleteBuckets(any(), any(), any());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should lock the day before rebuilding its buckets")
+    void shouldLockDayBeforeRebuild() {
+        when(rollupRepository.streamPayments(any(), any())).thenAnswer(call -> Stream.empty());
+
+        rollupService.rebuild(DAY, DAY);
+
+        InOrder inOrder = inOrder(rollupRepository);
+        inOrder.verify(rollupRepository).lockDay(RevenueRollupServiceImpl.DAY_LOCK_NAMESPACE, (int) DAY.toEpochDay());
+        inOrder.verify(rollupRepository).deleteBuckets(eq(RollupGranularity.HOURLY), any(), any());
+        inOrder.verify(rollupRepository).streamPayments(DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay());
+        verify(rollupRepository, never()).lockDayShared(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should apply a status change under a shared lock on the payment's day")
+    void shouldLockPaymentDayBeforeApplyingDelta() {
+        when(rollupRepository.applyDelta(any())).thenReturn(1);
+
+        rollupService.applyStatusChange(PaymentStatusChangedEvent.builder()
+                .paymentId(1L)
+                .createdAt(DAY.atTime(23, 59))
+                .currency("TZS")
+                .paymentType(PaymentType.TASK_PAYMENT)
+                .previousStatus(PaymentStatus.PROCESSING)
+                .status(PaymentStatus.COMPLETED)
+                .amount(new BigDecimal("1000.00"))
+                .build());
+
+        InOrder inOrder = inOrder(rollupRepository);
+        inOrder.verify(rollupRepository).lockDayShared(RevenueRollupServiceImpl.DAY_LOCK_NAMESPACE,
+                (int) DAY.toEpochDay());
+        inOrder.verify(rollupRepository, times(4)).applyDelta(any());
+        verify(rollupRepository, never()).lockDay(anyInt(), anyInt());
+    }
+
+    private static DayCount dayCount(LocalDate day, long paymentCount) {
+        return new DayCount() {
+            @Override
+            public LocalDate getDay() {
+                return day;
+            }
+
+            @Override
+            public Long getPaymentCount() {
+                return paymentCount;
+            }
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.mshando.paymentservice.exception.WebhookSignatureException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Test suite for StripeWebhookSignature.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@DisplayName("Stripe Webhook Signature Tests")
+class StripeWebhookSignatureTest {
+    
+    private static final String SECRET = "whsec_4c8e1f0a9b7d";
+    private static final String PAYLOAD = "{\"id\":\"evt_1\",\"type\":\"payment_intent.succeeded\"}";
+    private static final long NOW = 1_724_236_500L;
+    private static final long TOLERANCE = 300;
+    
+    @Test
+    @DisplayName("Should accept a valid signature")
+    void shouldAcceptValidSignature() {
+        String header = StripeWebhookSignature.sign(SECRET, NOW - 10, PAYLOAD);
+        
+        assertThatCode(() -> StripeWebhookSignature.verify(SECRET, PAYLOAD, header, TOLERANCE, NOW))
+                .doesNotThrowAnyException();
+    }
+    
+    @Test
+    @DisplayName("Should accept a header listing several signatures when one matches")
+    void shouldAcceptAnyMatchingSignature() {
+        String header = "t=" + NOW + ",v1=" + "0".repeat(64) + ","
+                + StripeWebhookSignature.sign(SECRET, NOW, PAYLOAD).split(",")[1];
+        
+        assertThatCode(() -> StripeWebhookSignature.verify(SECRET, PAYLOAD, header, TOLERANCE, NOW))
+                .doesNotThrowAnyException();
+    }
+    
+    @Test
+    @DisplayName("Should reject a tampered body")
+    void shouldRejectTamperedBody() {
+        String header = StripeWebhookSignature.sign(SECRET, NOW, PAYLOAD);
+        String tampered = PAYLOAD.replace("succeeded", "payment_failed");
+        
+        assertThatThrownBy(() -> StripeWebhookSignature.verify(SECRET, tampered, header, TOLERANCE, NOW))
+                .isInstanceOf(WebhookSignatureException.class)
+                .hasMessageContaining("does not match");
+    }
+    
+    @Test
+    @DisplayName("Should reject a signature made with another secret")
+    void shouldRejectWrongSecret() {
+        String header = StripeWebhookSignature.sign("whsec_attacker", NOW, PAYLOAD);
+        
+        assertThatThrownBy(() -> StripeWebhookSignature.verify(SECRET, PAYLOAD, header, TOLERANCE, NOW))
+                .isInstanceOf(WebhookSignatureException.class)
+                .hasMessageContaining("does not match");
+    }
+    
+    @Test
+    @DisplayName("Should reject a stale timestamp even with a valid signature")
+    void shouldRejectStaleTimestamp() {
+        String header = StripeWebhookSignature.sign(SECRET, NOW - TOLERANCE - 1, PAYLOAD);
+        
+        assertThatThrownBy(() -> StripeWebhookSignature.verify(SECRET, PAYLOAD, header, TOLERANCE, NOW))
+                .isInstanceOf(WebhookSignatureException.class)
+                .hasMessageContaining("tolerance");
+    }
+    
+    @Test
+    @DisplayName("Should reject missing or malformed headers")
+    void shouldRejectMalformedHeaders() {
+        assertThatThrownBy(() -> StripeWebhookSignature.verify(SECRET, PAYLOAD, null, TOLERANCE, NOW))
+                .isInstanceOf(WebhookSignatureException.class);
+        assertThatThrownBy(() -> StripeWebhookSignature.verify(SECRET, PAYLOAD, "v1=abc", TOLERANCE, NOW))
+                .isInstanceOf(WebhookSignatureException.class);
+        assertThatThrownBy(() -> StripeWebhookSignature.verify(SECRET, PAYLOAD, "t=x,v1=abc", TOLERANCE, NOW))
+                .isInstanceOf(WebhookSignatureException.class);
+    }
+    
+    @Test
+    @DisplayName("Should treat blank and sample secrets as unusable")
+    void shouldRejectPlaceholderSecrets() {
+        assertThat(StripeWebhookSignature.isUsableSecret(SECRET)).isTrue();
+        assertThat(StripeWebhookSignature.isUsableSecret(null)).isFalse();
+        assertThat(StripeWebhookSignature.isUsableSecret(" ")).isFalse();
+        assertThat(StripeWebhookSignature.isUsableSecret("whsec_dummy")).isFalse();
+        assertThat(StripeWebhookSignature.isUsableSecret("whsec_dummy_secret")).isFalse();
+        assertThat(StripeWebhookSignature.isUsableSecret("whsec_your_webhook_secret")).isFalse();
+    }
+}
@@ -0,0 +1,196 @@
+package com.mshando.paymentservice.service.impl;
+
+import com.mshando.paymentservice.TestDataFactory;
+import com.mshando.paymentservice.dto.ProviderWebhookEventDTO;
+import com.mshando.paymentservice.event.WebhookReceivedEvent;
+import com.mshando.paymentservice.model.Payment;
+import com.mshando.paymentservice.model.PaymentStatus;
+import com.mshando.paymentservice.model.WebhookEvent;
+import com.mshando.paymentservice.model.WebhookEventStatus;
+import com.mshando.paymentservice.repository.PaymentRepository;
+import com.mshando.paymentservice.repository.WebhookEventRepository;
+import com.mshando.paymentservice.service.PaymentProviderService;
+import com.mshando.paymentservice.service.PaymentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for WebhookServiceImpl receiving and applying provider events.
+ *
+ * @author Mshando Team
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Webhook Service Tests")
+class WebhookServiceImplTest {
+
+    private static final Long PAYMENT_ID = 7L;
+    private static final String TRANSACTION_ID = "pi_123";
+
+    @Mock
+    private WebhookEventRepository webhookEventRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private PaymentProviderService paymentProviderService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WebhookServiceImpl webhookService;
+
+    @BeforeEach
+    void setUp() {
+        webhookService = new WebhookServiceImpl(webhookEventRepository, paymentRepository, paymentService,
+                paymentProviderService, eventPublisher, new SimpleMeterRegistry(), transactionManager);
+        ReflectionTestUtils.setField(webhookService, "batchSize", 100);
+        ReflectionTestUtils.setField(webhookService, "processorCount", 2);
+    }
+
+    @Test
+    @DisplayName("Should store an event once and acknowledge redeliveries as duplicates")
+    void shouldAbsorbDuplicateDeliveries() {
+        when(paymentProviderService.parseWebhookEvent("payload", "sig"))
+                .thenAnswer(call -> receivedEvent("evt_1", "payment_intent.succeeded", PAYMENT_ID, 0));
+        when(webhookEventRepository.insertIfAbsent(any(WebhookEvent.class))).thenReturn(1, 0);
+
+        assertThat(webhookService.receive("payload", "sig")).isTrue();
+        assertThat(webhookService.receive("payload", "sig")).isFalse();
+
+        verify(eventPublisher, times(1)).publishEvent(any(WebhookReceivedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should key an event carrying only the provider ID by its payment")
+    void shouldResolvePaymentBeforeChoosingOrderingKey() {
+        Payment payment = processingPayment();
+        when(paymentProviderService.parseWebhookEvent("payload", "sig"))
+                .thenReturn(receivedEvent("evt_2", "charge.succeeded", null, 0));
+        when(paymentRepository.findByExternalTransactionId(TRANSACTION_ID)).thenReturn(Optional.of(payment));
+        when(webhookEventRepository.insertIfAbsent(any(WebhookEvent.class))).thenReturn(1);
+
+        webhookService.receive("payload", "sig");
+
+        ArgumentCaptor<WebhookEvent> stored = ArgumentCaptor.forClass(WebhookEvent.class);
+        verify(webhookEventRepository).insertIfAbsent(stored.capture());
+        assertThat(stored.getValue().getOrderingKey()).isEqualTo("payment:" + PAYMENT_ID);
+        assertThat(stored.getValue().getPaymentId()).isEqualTo(PAYMENT_ID);
+    }
+
+    @Test
+    @DisplayName("Should apply events received out of order in provider order")
+    void shouldApplyOutOfOrderEventsByProviderTime() {
+        Payment payment = processingPayment();
+        // The success was created after the failure but received first
+        WebhookEvent succeeded = storedEvent(1L, "evt_s", "payment_intent.succeeded", 20);
+        WebhookEvent failed = storedEvent(2L, "evt_f", "payment_intent.payment_failed", 10);
+        when(webhookEventRepository.findDueEvents(eq(WebhookEventStatus.PENDING), any(), any()))
+                .thenReturn(new ArrayList<>(List.of(succeeded, failed)));
+        when(webhookEventRepository.findFirstPendingEvents(anyList(), eq(WebhookEventStatus.PENDING), anyList()))
+                .thenReturn(List.of());
+        when(paymentRepository.findByIdForUpdate(PAYMENT_ID)).thenReturn(Optional.of(payment));
+        when(paymentService.failPayment(eq(PAYMENT_ID), anyString())).thenAnswer(call -> {
+            payment.setStatus(PaymentStatus.FAILED);
+            return null;
+        });
+
+        int applied = webhookService.processNextBatch();
+
+        assertThat(applied).isEqualTo(2);
+        verify(paymentService).failPayment(PAYMENT_ID, "Payment failed at provider");
+        verify(paymentService, never()).completePayment(any());
+        assertThat(failed.getStatus()).isEqualTo(WebhookEventStatus.PROCESSED);
+        assertThat(succeeded.getStatus()).isEqualTo(WebhookEventStatus.IGNORED);
+        assertThat(succeeded.getLastError()).isEqualTo("Payment is FAILED");
+    }
+
+    @Test
+    @DisplayName("Should hold back a payment's events while an earlier event is outstanding elsewhere")
+    void shouldHoldBackBehindEarlierEvent() {
+        WebhookEvent later = storedEvent(5L, "evt_5", "payment_intent.succeeded", 20);
+        when(webhookEventRepository.findDueEvents(eq(WebhookEventStatus.PENDING), any(), any()))
+                .thenReturn(new ArrayList<>(List.of(later)));
+        when(webhookEventRepository.findFirstPendingEvents(anyList(), eq(WebhookEventStatus.PENDING), anyList()))
+                .thenReturn(List.of(pendingKey("payment:" + PAYMENT_ID, 3L)));
+
+        int applied = webhookService.processNextBatch();
+
+        assertThat(applied).isZero();
+        assertThat(later.getStatus()).isEqualTo(WebhookEventStatus.PENDING);
+        verifyNoInteractions(paymentService);
+    }
+
+    private static Payment processingPayment() {
+        Payment payment = TestDataFactory.createPaymentWithStatus(PaymentStatus.PROCESSING);
+        payment.setId(PAYMENT_ID);
+        payment.setExternalTransactionId(TRANSACTION_ID);
+        return payment;
+    }
+
+    private static ProviderWebhookEventDTO receivedEvent(String eventId, String type, Long paymentId, int createdOffset) {
+        return ProviderWebhookEventDTO.builder()
+                .eventId(eventId)
+                .eventType(type)
+                .createdAt(LocalDateTime.now().plusSeconds(createdOffset))
+                .paymentId(paymentId)
+                .externalTransactionId(TRANSACTION_ID)
+                .build();
+    }
+
+    private static WebhookEvent storedEvent(Long id, String eventId, String type, int createdOffset) {
+        LocalDateTime now = LocalDateTime.now();
+        return WebhookEvent.builder()
+                .id(id)
+                .eventId(eventId)
+                .eventType(type)
+                .orderingKey("payment:" + PAYMENT_ID)
+                .paymentId(PAYMENT_ID)
+                .externalTransactionId(TRANSACTION_ID)
+                .providerCreatedAt(now.minusMinutes(1).plusSeconds(createdOffset))
+                .payload("{}")
+                .status(WebhookEventStatus.PENDING)
+                .availableAt(now)
+                .receivedAt(now)
+                .build();
+    }
+
+    private static WebhookEventRepository.PendingKey pendingKey(String orderingKey, Long firstEventId) {
+        return new WebhookEventRepository.PendingKey() {
+            @Override
+            public String getOrderingKey() {
+                return orderingKey;
+            }
+
+            @Override
+            public Long getFirstEventId() {
+                return firstEventId;
+            }
+        };
+    }
+}